@@ -0,0 +1,84 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.common;
+
+import org.citydb.benchmarks.fixture.OfflineDatabase;
+import org.citydb.benchmarks.fixture.SyntheticCityGML;
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.project.database.DatabaseType;
+import org.citydb.core.database.adapter.AbstractGeometryConverterAdapter;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeometryConverterAdapterBenchmark {
+    @Param({"5", "50", "500"})
+    private int vertices;
+
+    @Param({"1", "20"})
+    private int polygons;
+
+    private AbstractGeometryConverterAdapter postgis;
+    private AbstractGeometryConverterAdapter oracle;
+    private GeometryObject multiPolygon;
+    private Object ewkbGeometry;
+
+    @Setup
+    public void setup() throws SQLException {
+        postgis = OfflineDatabase.createAdapter(DatabaseType.POSTGIS).getGeometryConverter();
+        oracle = OfflineDatabase.createAdapter(DatabaseType.ORACLE).getGeometryConverter();
+        multiPolygon = new SyntheticCityGML().createMultiPolygonObject(polygons, vertices);
+        ewkbGeometry = postgis.getDatabaseObject(multiPolygon, null);
+    }
+
+    @Benchmark
+    public Object postgisEncode() throws SQLException {
+        return postgis.getDatabaseObject(multiPolygon, null);
+    }
+
+    @Benchmark
+    public GeometryObject postgisDecode() throws SQLException {
+        return postgis.getGeometry(ewkbGeometry);
+    }
+
+    @Benchmark
+    public String postgisConstructor() throws SQLException {
+        return postgis.getDatabaseObjectConstructor(multiPolygon);
+    }
+
+    @Benchmark
+    public String oracleConstructor() throws SQLException {
+        // the Oracle STRUCT encoding requires a live connection, so
+        // only the SQL constructor path can be measured offline
+        return oracle.getDatabaseObjectConstructor(multiPolygon);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.common;
+
+import org.citydb.benchmarks.fixture.OfflineDatabase;
+import org.citydb.benchmarks.fixture.SyntheticCityGML;
+import org.citydb.config.Config;
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.project.database.DatabaseType;
+import org.citydb.core.query.geometry.DatabaseSrsParser;
+import org.citydb.core.query.geometry.GeometryParseException;
+import org.citydb.core.query.geometry.SrsParseException;
+import org.citydb.core.query.geometry.gml.SimpleGMLParser;
+import org.citygml4j.CityGMLContext;
+import org.citygml4j.builder.jaxb.CityGMLBuilder;
+import org.openjdk.jmh.annotations.*;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SimpleGMLParserBenchmark {
+    @Param({"5", "50", "500"})
+    private int vertices;
+
+    private SimpleGMLParser parser;
+    private Element polygon;
+
+    @Setup
+    public void setup() throws Exception {
+        CityGMLBuilder cityGMLBuilder = CityGMLContext.getInstance().createCityGMLBuilder(getClass().getClassLoader());
+        parser = new SimpleGMLParser(cityGMLBuilder.createJAXBUnmarshaller(),
+                new DatabaseSrsParser(OfflineDatabase.createAdapter(DatabaseType.POSTGIS), new Config()));
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        polygon = factory.newDocumentBuilder()
+                .parse(new InputSource(new StringReader(new SyntheticCityGML().createPolygonXML(vertices))))
+                .getDocumentElement();
+    }
+
+    @Benchmark
+    public GeometryObject parseGeometry() throws GeometryParseException, SrsParseException {
+        return parser.parseGeometry(polygon);
+    }
+}
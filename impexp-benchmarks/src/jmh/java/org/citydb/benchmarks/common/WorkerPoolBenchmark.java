@@ -0,0 +1,103 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.common;
+
+import org.citydb.util.concurrent.DefaultWorker;
+import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.util.concurrent.WorkQueueType;
+import org.citydb.util.concurrent.WorkerPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WorkerPoolBenchmark {
+    private static final int ITEMS = 100_000;
+
+    @Param({"LOCKING", "LOCK_FREE"})
+    private WorkQueueType workQueueType;
+
+    @Param({"1", "4"})
+    private int poolSize;
+
+    @Param({"0", "100"})
+    private int tokens;
+
+    private WorkerPool<Integer> pool;
+    private volatile CountDownLatch latch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        pool = new WorkerPool<>(
+                "benchmark_pool",
+                poolSize,
+                poolSize,
+                PoolSizeAdaptationStrategy.AGGRESSIVE,
+                () -> new DefaultWorker<Integer>() {
+                    @Override
+                    public void doWork(Integer work) {
+                        Blackhole.consumeCPU(tokens);
+                        latch.countDown();
+                    }
+
+                    @Override
+                    public void shutdown() {
+                    }
+                },
+                poolSize * 1000,
+                false,
+                true,
+                workQueueType);
+
+        pool.prestartCoreWorkers();
+    }
+
+    @Setup(Level.Invocation)
+    public void resetLatch() {
+        latch = new CountDownLatch(ITEMS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pool.shutdownAndWait();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void addWork() throws InterruptedException {
+        for (int i = 0; i < ITEMS; i++) {
+            pool.addWork(i);
+        }
+
+        latch.await();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.exporter;
+
+import org.citydb.benchmarks.fixture.SyntheticCityGML;
+import org.citygml4j.CityGMLContext;
+import org.citygml4j.builder.jaxb.CityGMLBuilder;
+import org.citygml4j.builder.jaxb.marshal.JAXBMarshaller;
+import org.citygml4j.model.citygml.core.CityObjectMember;
+import org.citygml4j.model.module.citygml.CityGMLVersion;
+import org.citygml4j.util.xml.SAXEventBuffer;
+import org.citygml4j.util.xml.SAXWriter;
+import org.openjdk.jmh.annotations.*;
+import org.xml.sax.SAXException;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SAXEventBufferBenchmark {
+    @Param({"10", "100"})
+    private int roofPolygons;
+
+    private CityGMLBuilder cityGMLBuilder;
+    private JAXBElement<?> member;
+    private SAXEventBuffer buffer;
+    private SAXWriter saxWriter;
+
+    @Setup
+    public void setup() throws Exception {
+        cityGMLBuilder = CityGMLContext.getInstance().createCityGMLBuilder(getClass().getClassLoader());
+        JAXBMarshaller jaxbMarshaller = cityGMLBuilder.createJAXBMarshaller(CityGMLVersion.DEFAULT);
+        member = jaxbMarshaller.marshalJAXBElement(new CityObjectMember(new SyntheticCityGML().createBuilding(roofPolygons, 20)));
+        buffer = marshal();
+
+        saxWriter = new SAXWriter(OutputStream.nullOutputStream(), "UTF-8");
+        saxWriter.startDocument();
+    }
+
+    @TearDown
+    public void tearDown() throws SAXException {
+        saxWriter.endDocument();
+        saxWriter.close();
+    }
+
+    @Benchmark
+    public SAXEventBuffer marshal() throws JAXBException {
+        SAXEventBuffer buffer = new SAXEventBuffer();
+        Marshaller marshaller = cityGMLBuilder.getJAXBContext().createMarshaller();
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+        marshaller.marshal(member, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public void send() throws SAXException {
+        buffer.send(saxWriter, false);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.exporter;
+
+import org.citydb.core.writer.SequentialWriter;
+import org.citydb.util.concurrent.DefaultWorker;
+import org.citydb.util.concurrent.SingleWorkerPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class SequentialWriterBenchmark {
+    // random per-object work lets producers finish out of order
+    // so that objects have to be buffered by the writer
+    @Param({"0", "1000"})
+    private int maxTokens;
+
+    @Param({"100", "1000"})
+    private int capacity;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private SingleWorkerPool<Long> writerPool;
+    private SequentialWriter<Long> writer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        writerPool = new SingleWorkerPool<>(
+                "benchmark_writer",
+                () -> new DefaultWorker<Long>() {
+                    @Override
+                    public void doWork(Long work) {
+                        Blackhole.consumeCPU(10);
+                    }
+
+                    @Override
+                    public void shutdown() {
+                    }
+                },
+                1000,
+                false);
+
+        writerPool.prestartCoreWorkers();
+        writer = new SequentialWriter<>(writerPool, capacity);
+    }
+
+    @TearDown(Level.Iteration)
+    public void reset() {
+        // all sequence ids have been written once the producer threads
+        // are done, so the writer can simply start over
+        writerPool.awaitQueueEmpty();
+        writer.reset();
+        sequence.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        writer.logStatistics();
+        writerPool.shutdownAndWait();
+    }
+
+    @Benchmark
+    public void write() throws InterruptedException {
+        long sequenceId = sequence.getAndIncrement();
+        if (maxTokens > 0) {
+            Blackhole.consumeCPU(ThreadLocalRandom.current().nextInt(maxTokens));
+        }
+
+        writer.write(sequenceId, sequenceId);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.fixture;
+
+import org.citydb.config.project.database.DatabaseConnection;
+import org.citydb.config.project.database.DatabaseSrs;
+import org.citydb.config.project.database.DatabaseSrsType;
+import org.citydb.config.project.database.DatabaseType;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.adapter.oracle.OracleAdapter;
+import org.citydb.core.database.adapter.postgis.PostGISAdapter;
+import org.citydb.core.database.connection.DatabaseConnectionDetails;
+import org.citydb.core.database.connection.DatabaseMetaData;
+
+public class OfflineDatabase {
+
+    private OfflineDatabase() {
+    }
+
+    public static AbstractDatabaseAdapter createAdapter(DatabaseType type) {
+        // database adapter initialized with connection metadata only, so that
+        // conversion code can be used without an actual database connection
+        AbstractDatabaseAdapter adapter = type == DatabaseType.ORACLE ? new OracleAdapter() : new PostGISAdapter();
+
+        DatabaseConnection connection = new DatabaseConnection();
+        connection.setDatabaseType(type);
+        DatabaseConnectionDetails connectionDetails = new DatabaseConnectionDetails(connection);
+
+        DatabaseMetaData metaData = new DatabaseMetaData(connectionDetails);
+        metaData.setDatabaseMajorVersion(type == DatabaseType.ORACLE ? 19 : 15);
+        metaData.setReferenceSystem(new DatabaseSrs(SyntheticCityGML.SRID, SyntheticCityGML.SRS_NAME,
+                "ETRS89 / UTM zone 32N", "ETRS89 / UTM zone 32N", DatabaseSrsType.PROJECTED, true));
+
+        adapter.setConnectionDetails(connectionDetails);
+        adapter.setConnectionMetaData(metaData);
+        return adapter;
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.fixture;
+
+import org.citydb.config.geometry.GeometryObject;
+import org.citygml4j.model.citygml.building.Building;
+import org.citygml4j.model.gml.geometry.aggregates.MultiSurface;
+import org.citygml4j.model.gml.geometry.aggregates.MultiSurfaceProperty;
+import org.citygml4j.model.gml.geometry.complexes.CompositeSurface;
+import org.citygml4j.model.gml.geometry.primitives.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SyntheticCityGML {
+    public static final int SRID = 25832;
+    public static final String SRS_NAME = "EPSG:" + SRID;
+    public static final String GML_NAMESPACE = "http://www.opengis.net/gml";
+
+    private final Random random;
+    private int idCounter;
+
+    public SyntheticCityGML(long seed) {
+        random = new Random(seed);
+    }
+
+    public SyntheticCityGML() {
+        this(42);
+    }
+
+    public double[] createRing(int vertices) {
+        // closed, counter-clockwise ring on a tilted plane around a random center
+        double cx = 690000 + random.nextDouble() * 10000;
+        double cy = 5330000 + random.nextDouble() * 10000;
+        double cz = 500 + random.nextDouble() * 50;
+        double radius = 5 + random.nextDouble() * 20;
+
+        double[] coordinates = new double[(vertices + 1) * 3];
+        for (int i = 0; i < vertices; i++) {
+            double angle = 2 * Math.PI * i / vertices;
+            coordinates[i * 3] = cx + radius * Math.cos(angle);
+            coordinates[i * 3 + 1] = cy + radius * Math.sin(angle);
+            coordinates[i * 3 + 2] = cz + 0.1 * radius * Math.cos(angle);
+        }
+
+        System.arraycopy(coordinates, 0, coordinates, vertices * 3, 3);
+        return coordinates;
+    }
+
+    public Polygon createPolygon(int vertices) {
+        return createPolygon(createRing(vertices));
+    }
+
+    public Solid createBox(double width, double depth, double height) {
+        double x = 690000 + random.nextDouble() * 10000;
+        double y = 5330000 + random.nextDouble() * 10000;
+        double z = 500;
+
+        double[][] corners = {
+                {x, y, z}, {x + width, y, z}, {x + width, y + depth, z}, {x, y + depth, z},
+                {x, y, z + height}, {x + width, y, z + height}, {x + width, y + depth, z + height}, {x, y + depth, z + height}
+        };
+
+        int[][] faces = {
+                {0, 3, 2, 1}, {4, 5, 6, 7}, {0, 1, 5, 4},
+                {1, 2, 6, 5}, {2, 3, 7, 6}, {3, 0, 4, 7}
+        };
+
+        CompositeSurface shell = new CompositeSurface();
+        for (int[] face : faces) {
+            double[] ring = new double[15];
+            for (int i = 0; i < 5; i++) {
+                System.arraycopy(corners[face[i % 4]], 0, ring, i * 3, 3);
+            }
+
+            shell.addSurfaceMember(new SurfaceProperty(createPolygon(ring)));
+        }
+
+        Solid solid = new Solid();
+        solid.setExterior(new SurfaceProperty(shell));
+        solid.setSrsName(SRS_NAME);
+        solid.setId(nextId("SOLID"));
+        return solid;
+    }
+
+    public MultiSurface createMultiSurface(int polygons, int vertices) {
+        MultiSurface multiSurface = new MultiSurface();
+        for (int i = 0; i < polygons; i++) {
+            multiSurface.addSurfaceMember(new SurfaceProperty(createPolygon(vertices)));
+        }
+
+        multiSurface.setSrsName(SRS_NAME);
+        multiSurface.setId(nextId("MULTI_SURFACE"));
+        return multiSurface;
+    }
+
+    public Building createBuilding(int roofPolygons, int vertices) {
+        Building building = new Building();
+        building.setId(nextId("BUILDING"));
+        building.setLod2Solid(new SolidProperty(createBox(10 + random.nextDouble() * 20, 10 + random.nextDouble() * 20, 5 + random.nextDouble() * 30)));
+        building.setLod2MultiSurface(new MultiSurfaceProperty(createMultiSurface(roofPolygons, vertices)));
+        return building;
+    }
+
+    public GeometryObject createPolygonObject(int vertices) {
+        return GeometryObject.createPolygon(createRing(vertices), 3, SRID);
+    }
+
+    public GeometryObject createMultiPolygonObject(int polygons, int vertices) {
+        double[][] rings = new double[polygons][];
+        int[] exteriorRings = new int[polygons];
+        for (int i = 0; i < polygons; i++) {
+            rings[i] = createRing(vertices);
+            exteriorRings[i] = i;
+        }
+
+        return GeometryObject.createMultiPolygon(rings, exteriorRings, 3, SRID);
+    }
+
+    public String createPolygonXML(int vertices) {
+        StringBuilder posList = new StringBuilder();
+        for (double coordinate : createRing(vertices)) {
+            if (posList.length() > 0) {
+                posList.append(' ');
+            }
+
+            posList.append(coordinate);
+        }
+
+        return "<gml:Polygon xmlns:gml=\"" + GML_NAMESPACE + "\" srsName=\"" + SRS_NAME + "\" srsDimension=\"3\">" +
+                "<gml:exterior><gml:LinearRing><gml:posList>" + posList + "</gml:posList></gml:LinearRing></gml:exterior>" +
+                "</gml:Polygon>";
+    }
+
+    private Polygon createPolygon(double[] coordinates) {
+        List<Double> values = new ArrayList<>(coordinates.length);
+        for (double coordinate : coordinates) {
+            values.add(coordinate);
+        }
+
+        DirectPositionList posList = new DirectPositionList();
+        posList.setValue(values);
+        posList.setSrsDimension(3);
+
+        LinearRing ring = new LinearRing();
+        ring.setPosList(posList);
+
+        Polygon polygon = new Polygon();
+        polygon.setExterior(new Exterior(ring));
+        polygon.setSrsName(SRS_NAME);
+        polygon.setId(nextId("POLYGON"));
+        return polygon;
+    }
+
+    private String nextId(String prefix) {
+        return prefix + "_" + idCounter++;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.importer;
+
+import org.citydb.benchmarks.fixture.OfflineDatabase;
+import org.citydb.benchmarks.fixture.SyntheticCityGML;
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.project.database.DatabaseType;
+import org.citydb.core.operation.importer.CityGMLImportException;
+import org.citydb.core.operation.importer.util.GeometryConverter;
+import org.citygml4j.model.gml.geometry.primitives.Polygon;
+import org.citygml4j.model.gml.geometry.primitives.Solid;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GeometryConverterBenchmark {
+    @Param({"5", "50", "500"})
+    private int vertices;
+
+    private GeometryConverter converter;
+    private Polygon polygon;
+    private Solid solid;
+
+    @Setup
+    public void setup() {
+        SyntheticCityGML fixture = new SyntheticCityGML();
+        converter = new GeometryConverter(OfflineDatabase.createAdapter(DatabaseType.POSTGIS));
+        polygon = fixture.createPolygon(vertices);
+        solid = fixture.createBox(20, 15, 10);
+    }
+
+    @Benchmark
+    public GeometryObject getPolygon() throws CityGMLImportException {
+        return converter.getPolygon(polygon);
+    }
+
+    @Benchmark
+    public GeometryObject getSolid() throws CityGMLImportException {
+        return converter.getSolid(solid);
+    }
+}
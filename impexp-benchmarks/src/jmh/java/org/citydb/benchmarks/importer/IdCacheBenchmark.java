@@ -0,0 +1,96 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.benchmarks.importer;
+
+import org.citydb.core.operation.common.cache.IdCache;
+import org.citydb.core.operation.common.cache.IdCacheEntry;
+import org.citydb.core.operation.common.cache.MappedIdCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class IdCacheBenchmark {
+    private static final int PRELOADED_ENTRIES = 200_000;
+
+    // a capacity below the number of preloaded entries forces
+    // the cache to drain entries to the memory-mapped backend
+    @Param({"1000000", "20000"})
+    private int capacity;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private Path directory;
+    private IdCache cache;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("impexp-benchmark");
+        cache = new IdCache(new MappedIdCache(directory, "geometry", 10), capacity, 0.85f, 8);
+        for (int i = 0; i < PRELOADED_ENTRIES; i++) {
+            cache.put(key(i), i, i, false, null, 0);
+        }
+
+        sequence.set(PRELOADED_ENTRIES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException, IOException {
+        cache.shutdown();
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void put() {
+        long id = sequence.getAndIncrement();
+        cache.put(key(id), id, id, false, null, 0);
+    }
+
+    @Benchmark
+    public boolean lookupAndPut() {
+        long id = ThreadLocalRandom.current().nextLong(PRELOADED_ENTRIES * 2L);
+        return cache.lookupAndPut(key(id), id, 0);
+    }
+
+    @Benchmark
+    public IdCacheEntry get() {
+        return cache.get(key(ThreadLocalRandom.current().nextInt(PRELOADED_ENTRIES)));
+    }
+
+    private String key(long id) {
+        return "UUID_" + id;
+    }
+}
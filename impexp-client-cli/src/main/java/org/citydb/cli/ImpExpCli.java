@@ -41,6 +41,7 @@ import org.citydb.config.Config;
 import org.citydb.config.ProjectConfig;
 import org.citydb.config.i18n.Language;
 import org.citydb.config.project.global.LanguageType;
+import org.citydb.config.project.global.LogFileFormat;
 import org.citydb.config.project.global.LogFileMode;
 import org.citydb.config.project.global.LogLevel;
 import org.citydb.config.project.global.Logging;
@@ -59,6 +60,8 @@ import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.CoreConstants;
 import org.citydb.core.util.InternalProxySelector;
 import org.citydb.core.util.Util;
+import org.citydb.util.concurrent.WorkQueueType;
+import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.config.ConfigUtil;
 import org.citydb.util.log.Logger;
 import org.citygml4j.CityGMLContext;
@@ -113,6 +116,14 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
             description = "Write log messages to this file.")
     private Path logFile;
 
+    @CommandLine.Option(names = "--log-format", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<format>",
+            description = "Format of the log file: ${COMPLETION-CANDIDATES}. Use json to write one JSON object per line.")
+    private LogFileFormat logFormat;
+
+    @CommandLine.Option(names = "--work-queue", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<type>",
+            description = "Work queue used by worker pools: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}).")
+    private WorkQueueType workQueueType = WorkQueueType.LOCKING;
+
     @CommandLine.Option(names = "--pid-file", scope = CommandLine.ScopeType.INHERIT, paramLabel = "<file>",
             description = "Create a file containing the current process ID.")
     private Path pidFile;
@@ -301,6 +312,7 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
             }
 
             log.setConsoleLogLevel(logLevel);
+            WorkerPool.setDefaultWorkQueueType(workQueueType);
             subCommandName = commandLines.get(1).getCommandName();
             commandLineString = cmd.getCommandName() + " " + String.join(" ", args);
 
@@ -507,6 +519,10 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
             }
         }
 
+        if (logFormat != null) {
+            logging.getFile().setLogFileFormat(logFormat);
+        }
+
         // enable writing to log file
         if (logging.getFile().isActive()) {
             Path file = logging.getFile().isUseAlternativeLogFile() ?
@@ -514,7 +530,7 @@ public class ImpExpCli extends CliCommand implements CommandLine.IVersionProvide
                     CoreConstants.IMPEXP_DATA_DIR.resolve(CliConstants.LOG_DIR).resolve(log.getDefaultLogFileName());
 
             log.setFileLogLevel(logging.getFile().getLogLevel());
-            if (log.appendLogFile(file, logging.getFile().getLogFileMode())) {
+            if (log.appendLogFile(file, logging.getFile())) {
                 log.printToFile("*** Command line: " + commandLineString);
             } else {
                 logging.getFile().setActive(false);
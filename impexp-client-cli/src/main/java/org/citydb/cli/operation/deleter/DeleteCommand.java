@@ -68,6 +68,14 @@ public class DeleteCommand extends CliCommand {
             description = "Record deleted top-level features to this file.")
     private Path deleteLogFile;
 
+    @CommandLine.Option(names = "--bulk-delete",
+            description = "Delete city objects in chunks using set-based database operations.")
+    private boolean bulkDelete;
+
+    @CommandLine.Option(names = "--bulk-delete-chunk-size", paramLabel = "<number>",
+            description = "Number of city objects to delete per chunk in bulk delete mode (default: 1000).")
+    private Integer bulkDeleteChunkSize;
+
     @CommandLine.ArgGroup(exclusive = false)
     private CleanupOption cleanupOption;
 
@@ -156,6 +164,14 @@ public class DeleteCommand extends CliCommand {
             deleteConfig.getDeleteLog().setLogDeletedFeatures(true);
         }
 
+        if (bulkDelete) {
+            deleteConfig.getBulkDelete().setEnabled(true);
+        }
+
+        if (bulkDeleteChunkSize != null) {
+            deleteConfig.getBulkDelete().setChunkSize(bulkDeleteChunkSize);
+        }
+
         if (cleanupOption != null) {
             deleteConfig.setCleanupGlobalAppearances(cleanupOption.isCleanupGlobalAppearances());
         }
@@ -164,4 +180,12 @@ public class DeleteCommand extends CliCommand {
             deleteConfig.setContinuation(metadataOption.toContinuation());
         }
     }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (bulkDeleteChunkSize != null && bulkDeleteChunkSize <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The chunk size for bulk deletes must be a positive integer but was '" + bulkDeleteChunkSize + "'");
+        }
+    }
 }
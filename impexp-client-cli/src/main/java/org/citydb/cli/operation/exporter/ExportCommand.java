@@ -63,6 +63,10 @@ public class ExportCommand extends CliCommand {
             description = "Output format to use for compressed exports: ${COMPLETION-CANDIDATES}.")
     private CompressedFormat compressedFormat;
 
+    @CommandLine.Option(names = "--cityjson-seq",
+            description = "Write CityJSON output as CityJSON Text Sequence (CityJSONSeq) with one feature per line.")
+    private boolean cityJSONSeq;
+
     @CommandLine.Option(names = "--replace-ids",
             description = "Replace all object identifiers with UUIDs.")
     private Boolean replaceIds;
@@ -75,6 +79,22 @@ public class ExportCommand extends CliCommand {
             description = "Fail fast on errors (default: true).")
     private Boolean failFast;
 
+    @CommandLine.Option(names = "--client-side-transform",
+            description = "Transform coordinates to the target SRS on the client instead of the database.")
+    private boolean clientSideTransform;
+
+    @CommandLine.Option(names = "--concurrent-tiles", paramLabel = "<number>",
+            description = "Number of tiles to export concurrently in a tiled export (default: 1).")
+    private Integer concurrentTiles;
+
+    @CommandLine.Option(names = "--texture-writer-threads", paramLabel = "<number>",
+            description = "Number of threads used for writing texture files (default: 4).")
+    private Integer textureWriterThreads;
+
+    @CommandLine.Option(names = "--skip-identical-textures",
+            description = "Do not overwrite existing texture files that have identical content.")
+    private boolean skipIdenticalTextures;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
@@ -133,6 +153,10 @@ public class ExportCommand extends CliCommand {
                     OutputFormat.CITYGML);
         }
 
+        if (cityJSONSeq) {
+            exportConfig.getCityJSONOptions().setUseCityJSONSeq(true);
+        }
+
         if (replaceIds != null) {
             exportConfig.getResourceId().setReplaceWithUUIDs(replaceIds);
             exportConfig.getResourceId().setIdPrefix(idPrefix);
@@ -142,6 +166,10 @@ public class ExportCommand extends CliCommand {
             exportConfig.getGeneralOptions().setFailFastOnErrors(failFast);
         }
 
+        if (clientSideTransform) {
+            exportConfig.getGeneralOptions().setClientSideCoordinateTransformation(true);
+        }
+
         if (queryOption != null) {
             exportConfig.getAppearances().setExportAppearances(queryOption.isExportAppearances());
         }
@@ -149,5 +177,30 @@ public class ExportCommand extends CliCommand {
         if (threadPoolOption != null) {
             exportConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
+
+        if (concurrentTiles != null) {
+            exportConfig.getResources().setConcurrentTiles(concurrentTiles);
+        }
+
+        if (textureWriterThreads != null) {
+            exportConfig.getResources().setTextureWriterThreads(textureWriterThreads);
+        }
+
+        if (skipIdenticalTextures) {
+            exportConfig.getAppearances().setSkipIdenticalTextureFiles(true);
+        }
+    }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (concurrentTiles != null && concurrentTiles <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The number of concurrent tiles must be a positive integer but was '" + concurrentTiles + "'");
+        }
+
+        if (textureWriterThreads != null && textureWriterThreads <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The number of texture writer threads must be a positive integer but was '" + textureWriterThreads + "'");
+        }
     }
 }
@@ -38,6 +38,7 @@ import org.citydb.config.project.importer.ImportConfig;
 import org.citydb.config.project.importer.ImportList;
 import org.citydb.config.project.importer.ImportLogFileMode;
 import org.citydb.config.project.importer.ImportMode;
+import org.citydb.config.project.resources.IdCacheBackend;
 import org.citydb.core.database.DatabaseController;
 import org.citydb.core.operation.common.csv.IdListPreviewer;
 import org.citydb.core.operation.importer.CityGMLImportException;
@@ -80,10 +81,46 @@ public class ImportCommand extends CliCommand {
                     "to this file.")
     private Path duplicateLogFile;
 
+    @CommandLine.Option(names = "--single-pass-duplicates",
+            description = "Detect top-level features that already exist in the database while importing " +
+                    "instead of reading the input file(s) twice. With the import mode delete or terminate, " +
+                    "existing features are only deleted or terminated after the import and XLink resolution. " +
+                    "Until then, old and new features share the same gml:id and XLinks may resolve to the " +
+                    "existing feature.")
+    private boolean singlePassDuplicates;
+
     @CommandLine.Option(names = "--fail-fast", negatable = true,
             description = "Fail fast on errors (default: true).")
     private Boolean failFast;
 
+    @CommandLine.Option(names = "--bulk-load",
+            description = "Stream features into the database using bulk load operations where supported " +
+                    "(PostgreSQL only). Recommended for initial loads into an empty database.")
+    private boolean bulkLoad;
+
+    @CommandLine.Option(names = "--concurrent-files", paramLabel = "<number>",
+            description = "Number of input files to import concurrently using shared worker pools and caches " +
+                    "(default: 1).")
+    private Integer concurrentFiles;
+
+    @CommandLine.Option(names = "--mapped-id-cache",
+            description = "Spill gml:id caches to memory-mapped files in the local cache directory instead of " +
+                    "cache tables. Recommended for very large imports.")
+    private boolean mappedIdCache;
+
+    @CommandLine.Option(names = "--set-based-xlinks",
+            description = "Resolve XLinks to features with set-based SQL statements inside the database. " +
+                    "Requires the cache mode 'database'.")
+    private boolean setBasedXlinks;
+
+    @CommandLine.Option(names = "--deduplicate-textures",
+            description = "Store texture files with identical content only once in the database.")
+    private boolean deduplicateTextures;
+
+    @CommandLine.Option(names = "--texture-upload-threads", paramLabel = "<number>",
+            description = "Number of database connections used for uploading texture files (default: 4).")
+    private Integer textureUploadThreads;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
@@ -207,10 +244,38 @@ public class ImportCommand extends CliCommand {
             importConfig.getGeneralOptions().setFailFastOnErrors(failFast);
         }
 
+        if (bulkLoad) {
+            importConfig.getGeneralOptions().setBulkLoad(true);
+        }
+
+        if (singlePassDuplicates) {
+            importConfig.getGeneralOptions().setSinglePassDuplicateCheck(true);
+        }
+
+        if (concurrentFiles != null) {
+            importConfig.getResources().setConcurrentFiles(concurrentFiles);
+        }
+
+        if (mappedIdCache) {
+            importConfig.getResources().setIdCacheBackend(IdCacheBackend.MAPPED_FILE);
+        }
+
+        if (setBasedXlinks) {
+            importConfig.getResources().setSetBasedXlinkResolution(true);
+        }
+
+        if (textureUploadThreads != null) {
+            importConfig.getResources().setTextureUploadThreads(textureUploadThreads);
+        }
+
         if (metadataOption != null) {
             importConfig.setContinuation(metadataOption.toContinuation());
         }
 
+        if (deduplicateTextures) {
+            importConfig.getAppearances().setDeduplicateTextureFiles(true);
+        }
+
         if (filterOption != null) {
             importConfig.getAppearances().setImportAppearances(filterOption.isImportAppearances());
         }
@@ -219,4 +284,17 @@ public class ImportCommand extends CliCommand {
             importConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
     }
+
+    @Override
+    public void preprocess(CommandLine commandLine) throws Exception {
+        if (concurrentFiles != null && concurrentFiles <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The number of concurrent files must be a positive integer but was '" + concurrentFiles + "'");
+        }
+
+        if (textureUploadThreads != null && textureUploadThreads <= 0) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: The number of texture upload threads must be a positive integer but was '" + textureUploadThreads + "'");
+        }
+    }
 }
@@ -60,6 +60,10 @@ public class ExportVisCommand extends CliCommand {
             description = "Write JSON metadata file.")
     private boolean json;
 
+    @CommandLine.Option(names = "--database-transform",
+            description = "Transform coordinates to WGS84 in the database instead of the client.")
+    private boolean databaseTransform;
+
     @CommandLine.ArgGroup
     private ThreadPoolOption threadPoolOption;
 
@@ -143,6 +147,10 @@ public class ExportVisCommand extends CliCommand {
             visExportConfig.setWriteJSONFile(json);
         }
 
+        if (databaseTransform) {
+            visExportConfig.setClientSideCoordinateTransformation(false);
+        }
+
         if (threadPoolOption != null) {
             visExportConfig.getResources().setThreadPool(threadPoolOption.toThreadPool());
         }
@@ -44,8 +44,12 @@ public class GltfOption implements CliOption {
             description = "glTF version: 1.0, 2.0 (default: ${DEFAULT-VALUE}).")
     private String version;
 
+    @CommandLine.Option(names = "--gltf-use-converter",
+            description = "Use the external COLLADA2GLTF converter instead of the built-in glTF writer.")
+    private boolean useConverter;
+
     @CommandLine.Option(names = "--gltf-converter", paramLabel = "<file>",
-            description = "Path to the COLLADA2GLTF converter executable.")
+            description = "Path to the COLLADA2GLTF converter executable (implies --gltf-use-converter).")
     private Path file;
 
     @CommandLine.Option(names = "--gltf-embed-textures",
@@ -57,9 +61,19 @@ public class GltfOption implements CliOption {
     private boolean binaryGltf;
 
     @CommandLine.Option(names = "--gltf-draco-compression",
-            description = "Output meshes using Draco compression (requires glTF version 2.0).")
+            description = "Output meshes using Draco compression (requires glTF version 2.0, " +
+                    "implies --gltf-use-converter).")
     private boolean dracoCompression;
 
+    @CommandLine.Option(names = "--gltf-quantization",
+            description = "Output quantized meshes using KHR_mesh_quantization (built-in glTF writer only).")
+    private boolean quantization;
+
+    @CommandLine.Option(names = "--gltf-3d-tiles",
+            description = "Batch the models of each tile into a 3D Tiles b3dm file and create a tileset.json " +
+                    "(built-in glTF writer only).")
+    private boolean create3DTiles;
+
     @CommandLine.Option(names = {"-m", "--remove-collada"},
             description = "Only keep glTF and remove the COLLADA output.")
     private boolean removeCollada;
@@ -73,6 +87,9 @@ public class GltfOption implements CliOption {
         gltfOptions.setEmbedTextures(embedTextures);
         gltfOptions.setUseBinaryGltf(binaryGltf);
         gltfOptions.setUseDracoCompression(dracoCompression);
+        gltfOptions.setUseQuantization(quantization);
+        gltfOptions.setCreate3DTiles(create3DTiles);
+        gltfOptions.setUseExternalConverter(useConverter || file != null || dracoCompression);
         gltfOptions.setRemoveColladaFiles(removeCollada);
 
         if (file != null) {
@@ -102,5 +119,16 @@ public class GltfOption implements CliOption {
             throw new CommandLine.ParameterException(commandLine,
                     "Error: --gltf-draco-compression can only be used with glTF version 2.0");
         }
+
+        boolean useExternalConverter = useConverter || file != null || dracoCompression || gltfVersion == GltfVersion.v1_0;
+        if (quantization && useExternalConverter) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --gltf-quantization can only be used with the built-in glTF writer");
+        }
+
+        if (create3DTiles && useExternalConverter) {
+            throw new CommandLine.ParameterException(commandLine,
+                    "Error: --gltf-3d-tiles can only be used with the built-in glTF writer");
+        }
     }
 }
@@ -44,6 +44,7 @@ public class AppearancePanel extends InternalPreferencesComponent {
     private JLabel impAppOldLabel;
     private JCheckBox importAppearance;
     private JCheckBox importTextures;
+    private JCheckBox deduplicateTextures;
     private JTextField impAppOldText;
 
     public AppearancePanel(Config config) {
@@ -57,6 +58,7 @@ public class AppearancePanel extends InternalPreferencesComponent {
 
         if (importAppearance.isSelected() != appearances.isSetImportAppearance()) return true;
         if (importTextures.isSelected() != appearances.isSetImportTextureFiles()) return true;
+        if (deduplicateTextures.isSelected() != appearances.isDeduplicateTextureFiles()) return true;
         if (!impAppOldText.getText().equals(appearances.getThemeForTexturedSurface())) return true;
 
         return false;
@@ -65,6 +67,7 @@ public class AppearancePanel extends InternalPreferencesComponent {
     private void initGui() {
         importAppearance = new JCheckBox();
         importTextures = new JCheckBox();
+        deduplicateTextures = new JCheckBox();
         impAppOldLabel = new JLabel();
         impAppOldText = new JTextField();
 
@@ -74,10 +77,12 @@ public class AppearancePanel extends InternalPreferencesComponent {
         {
             JPanel content = new JPanel();
             content.setLayout(new GridBagLayout());
+            int lmargin = GuiUtil.getTextOffset(importTextures);
             {
                 content.add(importTextures, GuiUtil.setConstraints(0, 0, 2, 1, 1, 0, GridBagConstraints.BOTH, 0, 0, 0, 0));
-                content.add(impAppOldLabel, GuiUtil.setConstraints(0, 1, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 5));
-                content.add(impAppOldText, GuiUtil.setConstraints(1, 1, 1, 0, GridBagConstraints.BOTH, 5, 5, 0, 0));
+                content.add(deduplicateTextures, GuiUtil.setConstraints(0, 1, 2, 1, 1, 0, GridBagConstraints.BOTH, 5, lmargin, 0, 0));
+                content.add(impAppOldLabel, GuiUtil.setConstraints(0, 2, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 5));
+                content.add(impAppOldText, GuiUtil.setConstraints(1, 2, 1, 0, GridBagConstraints.BOTH, 5, 5, 0, 0));
             }
 
             appearancePanel = new TitledPanel().withToggleButton(importAppearance).build(content);
@@ -86,10 +91,12 @@ public class AppearancePanel extends InternalPreferencesComponent {
         add(appearancePanel, GuiUtil.setConstraints(0, 0, 1, 0, GridBagConstraints.BOTH, 0, 0, 0, 0));
 
         importAppearance.addActionListener(e -> setEnabledTheme());
+        importTextures.addActionListener(e -> setEnabledTheme());
     }
 
     private void setEnabledTheme() {
         importTextures.setEnabled(importAppearance.isSelected());
+        deduplicateTextures.setEnabled(importAppearance.isSelected() && importTextures.isSelected());
         impAppOldLabel.setEnabled(importAppearance.isSelected());
         impAppOldText.setEnabled(importAppearance.isSelected());
     }
@@ -98,6 +105,7 @@ public class AppearancePanel extends InternalPreferencesComponent {
     public void switchLocale(Locale locale) {
         appearancePanel.setTitle(Language.I18N.getString("pref.import.appearance.border.import"));
         importTextures.setText(Language.I18N.getString("pref.import.appearance.label.importTexture"));
+        deduplicateTextures.setText(Language.I18N.getString("pref.import.appearance.label.deduplicateTextures"));
         impAppOldLabel.setText(Language.I18N.getString("pref.import.appearance.label.texturedSurface.theme"));
     }
 
@@ -107,6 +115,7 @@ public class AppearancePanel extends InternalPreferencesComponent {
 
         importAppearance.setSelected(appearances.isSetImportAppearance());
         importTextures.setSelected(appearances.isSetImportTextureFiles());
+        deduplicateTextures.setSelected(appearances.isDeduplicateTextureFiles());
         impAppOldText.setText(appearances.getThemeForTexturedSurface());
 
         setEnabledTheme();
@@ -118,6 +127,7 @@ public class AppearancePanel extends InternalPreferencesComponent {
 
         appearances.setImportAppearances(importAppearance.isSelected());
         appearances.setImportTextureFiles(importTextures.isSelected());
+        appearances.setDeduplicateTextureFiles(deduplicateTextures.isSelected());
 
         String theme = impAppOldText.getText();
         if (theme == null || theme.trim().length() == 0)
@@ -420,11 +420,12 @@ public class ImportPanel extends DefaultViewComponent {
         chooser.setMultiSelectionEnabled(true);
         chooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
 
-        FileNameExtensionFilter filter = new FileNameExtensionFilter("CityGML Files (*.gml, *.xml, *.json, *.zip, *.gz, *.gzip)",
-                "gml", "xml", "json", "zip", "gz", "gzip");
+        FileNameExtensionFilter filter = new FileNameExtensionFilter("CityGML Files (*.gml, *.xml, *.json, *.jsonl, *.zip, *.gz, *.gzip)",
+                "gml", "xml", "json", "jsonl", "zip", "gz", "gzip");
         chooser.addChoosableFileFilter(filter);
         chooser.addChoosableFileFilter(new FileNameExtensionFilter("CityGML GML Files (*.gml, *.xml)", "gml", "xml"));
         chooser.addChoosableFileFilter(new FileNameExtensionFilter("CityJSON Files (*.json)", "json"));
+        chooser.addChoosableFileFilter(new FileNameExtensionFilter("CityJSONSeq Files (*.jsonl)", "jsonl"));
         chooser.addChoosableFileFilter(new FileNameExtensionFilter("ZIP Files (*.zip)", "zip"));
         chooser.addChoosableFileFilter(new FileNameExtensionFilter("Compressed Files (*.gz, *.gzip)", "gz", "gzip"));
         chooser.addChoosableFileFilter(chooser.getAcceptAllFileFilter());
@@ -391,7 +391,7 @@ public class LoggingPanel extends InternalPreferencesComponent {
                         Paths.get(logging.getFile().getAlternativeLogFile()) :
                         CoreConstants.IMPEXP_DATA_DIR.resolve(CliConstants.LOG_DIR).resolve(log.getDefaultLogFileName());
 
-                boolean success = log.appendLogFile(logFile, logging.getFile().getLogFileMode());
+                boolean success = log.appendLogFile(logFile, logging.getFile());
                 if (!success) {
                     useLogFile.setSelected(false);
                     useAlternativeLogFile.setSelected(false);
@@ -82,6 +82,7 @@ public class GeneralPanel extends InternalPreferencesComponent {
     private JFormattedTextField groupSizeText;
 
     private JCheckBox createGltfCheckbox;
+    private JCheckBox useGltfConverterCheckbox;
     private JLabel collada2gltfLabel;
     private JTextField gltfConverterBrowseText;
     private JButton gltfConverterBrowseButton;
@@ -91,6 +92,8 @@ public class GeneralPanel extends InternalPreferencesComponent {
     private JRadioButton exportGltfV1;
     private JRadioButton exportGltfV2;
     private JCheckBox enableGltfDracoCompression;
+    private JCheckBox enableGltfQuantization;
+    private JCheckBox create3DTilesCheckbox;
 
     private JCheckBox oneObjectPerRegion;
     private JLabel viewRefreshModeLabel;
@@ -151,6 +154,7 @@ public class GeneralPanel extends InternalPreferencesComponent {
 
         GltfOptions gltfOptions = visExportConfig.getGltfOptions();
         if (createGltfCheckbox.isSelected() != gltfOptions.isCreateGltfModel()) return true;
+        if (useGltfConverterCheckbox.isSelected() != gltfOptions.isUseExternalConverter()) return true;
         if (!gltfConverterBrowseText.getText().equals(gltfOptions.getPathToConverter())) return true;
         if (notCreateColladaCheckbox.isSelected() != gltfOptions.isRemoveColladaFiles()) return true;
         if (embedTexturesInGltfCheckbox.isSelected() != gltfOptions.isEmbedTextures()) return true;
@@ -158,6 +162,8 @@ public class GeneralPanel extends InternalPreferencesComponent {
         if (exportGltfV1.isSelected() && gltfOptions.getGltfVersion() != GltfVersion.v1_0) return true;
         if (exportGltfV2.isSelected() && gltfOptions.getGltfVersion() != GltfVersion.v2_0) return true;
         if (enableGltfDracoCompression.isSelected() != gltfOptions.isUseDracoCompression()) return true;
+        if (enableGltfQuantization.isSelected() != gltfOptions.isUseQuantization()) return true;
+        if (create3DTilesCheckbox.isSelected() != gltfOptions.isCreate3DTiles()) return true;
 
         if (oneObjectPerRegion.isSelected() != visExportConfig.isOneFilePerObject()) return true;
         if (!viewRefreshMode.getSelectedItem().equals(visExportConfig.getViewRefreshMode())) return true;
@@ -186,6 +192,7 @@ public class GeneralPanel extends InternalPreferencesComponent {
         packingAlgorithmsComboBox = new JComboBox<>();
 
         createGltfCheckbox = new JCheckBox();
+        useGltfConverterCheckbox = new JCheckBox();
         collada2gltfLabel = new JLabel();
         gltfConverterBrowseText = new JTextField();
         gltfConverterBrowseButton = new JButton();
@@ -195,6 +202,8 @@ public class GeneralPanel extends InternalPreferencesComponent {
         exportGltfV1 = new JRadioButton();
         exportGltfV2 = new JRadioButton();
         enableGltfDracoCompression = new JCheckBox();
+        enableGltfQuantization = new JCheckBox();
+        create3DTilesCheckbox = new JCheckBox();
 
         oneObjectPerRegion = new JCheckBox();
         viewRefreshModeLabel = new JLabel();
@@ -299,13 +308,16 @@ public class GeneralPanel extends InternalPreferencesComponent {
                 converter.add(collada2gltfLabel, GuiUtil.setConstraints(0, 0, 0, 0, GridBagConstraints.HORIZONTAL, 0, 0, 0, 5));
                 converter.add(gltfConverterBrowseText, GuiUtil.setConstraints(1, 0, 1, 0, GridBagConstraints.BOTH, 0, 5, 0, 5));
                 converter.add(gltfConverterBrowseButton, GuiUtil.setConstraints(2, 0, 0, 0, GridBagConstraints.HORIZONTAL, 0, 5, 0, 0));
-                content.add(converter, GuiUtil.setConstraints(0, 0, 1, 0, GridBagConstraints.HORIZONTAL, 0, 0, 0, 0));
-                content.add(notCreateColladaCheckbox, GuiUtil.setConstraints(0, 1, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
-                content.add(embedTexturesInGltfCheckbox, GuiUtil.setConstraints(0, 2, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
-                content.add(exportGltfBinary, GuiUtil.setConstraints(0, 3, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
-                content.add(exportGltfV1, GuiUtil.setConstraints(0, 4, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
-                content.add(exportGltfV2, GuiUtil.setConstraints(0, 5, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 5));
-                content.add(enableGltfDracoCompression, GuiUtil.setConstraints(0, 6, 0, 0, GridBagConstraints.BOTH, 5, lmargin, 0, 0));
+                content.add(useGltfConverterCheckbox, GuiUtil.setConstraints(0, 0, 0, 0, GridBagConstraints.BOTH, 0, 0, 0, 0));
+                content.add(converter, GuiUtil.setConstraints(0, 1, 1, 0, GridBagConstraints.HORIZONTAL, 5, lmargin, 0, 0));
+                content.add(notCreateColladaCheckbox, GuiUtil.setConstraints(0, 2, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
+                content.add(embedTexturesInGltfCheckbox, GuiUtil.setConstraints(0, 3, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
+                content.add(exportGltfBinary, GuiUtil.setConstraints(0, 4, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
+                content.add(exportGltfV1, GuiUtil.setConstraints(0, 5, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 0));
+                content.add(exportGltfV2, GuiUtil.setConstraints(0, 6, 0, 0, GridBagConstraints.BOTH, 5, 0, 0, 5));
+                content.add(enableGltfDracoCompression, GuiUtil.setConstraints(0, 7, 0, 0, GridBagConstraints.BOTH, 5, lmargin, 0, 0));
+                content.add(enableGltfQuantization, GuiUtil.setConstraints(0, 8, 0, 0, GridBagConstraints.BOTH, 5, lmargin, 0, 0));
+                content.add(create3DTilesCheckbox, GuiUtil.setConstraints(0, 9, 0, 0, GridBagConstraints.BOTH, 5, lmargin, 0, 0));
             }
 
             gltfPanel = new TitledPanel()
@@ -343,7 +355,9 @@ public class GeneralPanel extends InternalPreferencesComponent {
         kmzCheckbox.addActionListener(e -> excludeGltfAndKMZ(false));
         createGltfCheckbox.addActionListener(e -> setEnabledGltfComponents());
         gltfConverterBrowseButton.addActionListener(e -> browseGltfConverterFile(Language.I18N.getString("pref.visExport.dialog.gltf.title")));
-        exportGltfV1.addItemListener(e -> enableGltfDracoCompression.setEnabled(!exportGltfV1.isSelected()));
+        useGltfConverterCheckbox.addActionListener(e -> setEnabledGltfComponents());
+        enableGltfDracoCompression.addActionListener(e -> setEnabledGltfComponents());
+        exportGltfV1.addItemListener(e -> setEnabledGltfComponents());
 
         textureAtlasCheckbox.addActionListener(e -> {
             packingAlgorithmsComboBox.setEnabled(textureAtlasCheckbox.isSelected());
@@ -400,6 +414,7 @@ public class GeneralPanel extends InternalPreferencesComponent {
         groupObjectsCheckbox.setText(Language.I18N.getString("pref.visExport.label.groupObjects"));
 
         gltfPanel.setTitle(Language.I18N.getString("pref.visExport.border.createGlTF"));
+        useGltfConverterCheckbox.setText(Language.I18N.getString("pref.visExport.label.useGltfConverter"));
         collada2gltfLabel.setText(Language.I18N.getString("pref.visExport.label.collada2gltfTool"));
         gltfConverterBrowseButton.setText(Language.I18N.getString("common.button.browse"));
         notCreateColladaCheckbox.setText(Language.I18N.getString("pref.visExport.label.notCreateColladaFiles"));
@@ -408,6 +423,8 @@ public class GeneralPanel extends InternalPreferencesComponent {
         exportGltfV1.setText(Language.I18N.getString("pref.visExport.label.exportGltfV1"));
         exportGltfV2.setText(Language.I18N.getString("pref.visExport.label.exportGltfV2"));
         enableGltfDracoCompression.setText(Language.I18N.getString("pref.visExport.label.enableGltfDracoCompression"));
+        enableGltfQuantization.setText(Language.I18N.getString("pref.visExport.label.enableGltfQuantization"));
+        create3DTilesCheckbox.setText(Language.I18N.getString("pref.visExport.label.create3DTiles"));
 
         kmlRegionPanel.setTitle(Language.I18N.getString("pref.visExport.label.oneFeaturePerRegion"));
         visibleFromLabel.setText(Language.I18N.getString("pref.visExport.label.regionVisibleFrom"));
@@ -446,6 +463,7 @@ public class GeneralPanel extends InternalPreferencesComponent {
 
         GltfOptions gltfOptions = visExportConfig.getGltfOptions();
         createGltfCheckbox.setSelected(gltfOptions.isCreateGltfModel());
+        useGltfConverterCheckbox.setSelected(gltfOptions.isUseExternalConverter());
         gltfConverterBrowseText.setText(gltfOptions.getPathToConverter());
         notCreateColladaCheckbox.setSelected(gltfOptions.isRemoveColladaFiles());
         embedTexturesInGltfCheckbox.setSelected(gltfOptions.isEmbedTextures());
@@ -453,6 +471,8 @@ public class GeneralPanel extends InternalPreferencesComponent {
         exportGltfV1.setSelected(gltfOptions.getGltfVersion() == GltfVersion.v1_0);
         exportGltfV2.setSelected(gltfOptions.getGltfVersion() == GltfVersion.v2_0);
         enableGltfDracoCompression.setSelected(gltfOptions.isUseDracoCompression());
+        enableGltfQuantization.setSelected(gltfOptions.isUseQuantization());
+        create3DTilesCheckbox.setSelected(gltfOptions.isCreate3DTiles());
 
         oneObjectPerRegion.setSelected(visExportConfig.isOneFilePerObject());
         viewRefreshMode.setSelectedItem(visExportConfig.getViewRefreshMode());
@@ -486,12 +506,15 @@ public class GeneralPanel extends InternalPreferencesComponent {
 
         GltfOptions gltfOptions = visExportConfig.getGltfOptions();
         gltfOptions.setCreateGltfModel(createGltfCheckbox.isSelected());
+        gltfOptions.setUseExternalConverter(useGltfConverterCheckbox.isSelected());
         gltfOptions.setPathToConverter(gltfConverterBrowseText.getText());
         gltfOptions.setRemoveColladaFiles(notCreateColladaCheckbox.isSelected());
         gltfOptions.setEmbedTextures(embedTexturesInGltfCheckbox.isSelected());
         gltfOptions.setUseBinaryGltf(exportGltfBinary.isSelected());
         gltfOptions.setGltfVersion(exportGltfV1.isSelected() ? GltfVersion.v1_0 : GltfVersion.v2_0);
         gltfOptions.setUseDracoCompression(enableGltfDracoCompression.isSelected());
+        gltfOptions.setUseQuantization(enableGltfQuantization.isSelected());
+        gltfOptions.setCreate3DTiles(create3DTilesCheckbox.isSelected());
 
         visExportConfig.setOneFilePerObject(oneObjectPerRegion.isSelected());
         visExportConfig.setViewRefreshMode(viewRefreshMode.getSelectedItem().toString());
@@ -513,15 +536,22 @@ public class GeneralPanel extends InternalPreferencesComponent {
     }
 
     private void setEnabledGltfComponents() {
-        collada2gltfLabel.setEnabled(createGltfCheckbox.isSelected());
-        gltfConverterBrowseText.setEnabled(createGltfCheckbox.isSelected());
-        gltfConverterBrowseButton.setEnabled(createGltfCheckbox.isSelected());
+        // Draco compression is only available with the external converter
+        boolean useConverter = useGltfConverterCheckbox.isSelected() || exportGltfV1.isSelected()
+                || enableGltfDracoCompression.isSelected();
+
+        useGltfConverterCheckbox.setEnabled(createGltfCheckbox.isSelected());
+        collada2gltfLabel.setEnabled(createGltfCheckbox.isSelected() && useConverter);
+        gltfConverterBrowseText.setEnabled(createGltfCheckbox.isSelected() && useConverter);
+        gltfConverterBrowseButton.setEnabled(createGltfCheckbox.isSelected() && useConverter);
         notCreateColladaCheckbox.setEnabled(createGltfCheckbox.isSelected());
         embedTexturesInGltfCheckbox.setEnabled(createGltfCheckbox.isSelected());
         exportGltfBinary.setEnabled(createGltfCheckbox.isSelected());
         exportGltfV1.setEnabled(createGltfCheckbox.isSelected());
         exportGltfV2.setEnabled(createGltfCheckbox.isSelected());
         enableGltfDracoCompression.setEnabled(createGltfCheckbox.isSelected() && exportGltfV2.isSelected());
+        enableGltfQuantization.setEnabled(createGltfCheckbox.isSelected() && !useConverter);
+        create3DTilesCheckbox.setEnabled(createGltfCheckbox.isSelected() && !useConverter);
     }
 
     private void setEnabledKmlRegionComponents() {
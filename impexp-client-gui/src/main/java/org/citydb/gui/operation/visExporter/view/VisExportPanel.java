@@ -807,7 +807,8 @@ public class VisExportPanel extends DefaultViewComponent implements EventHandler
             }
 
             // check collada2gltf tool
-            if (config.getVisExportConfig().getGltfOptions().isCreateGltfModel()) {
+            if (config.getVisExportConfig().getGltfOptions().isCreateGltfModel()
+                    && config.getVisExportConfig().getGltfOptions().requiresExternalConverter()) {
                 Path collada2gltf = Paths.get(config.getVisExportConfig().getGltfOptions().getPathToConverter());
                 if (!collada2gltf.isAbsolute())
                     collada2gltf = CoreConstants.IMPEXP_HOME.resolve(collada2gltf);
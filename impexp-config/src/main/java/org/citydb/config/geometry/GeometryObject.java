@@ -285,6 +285,16 @@ public class GeometryObject {
         return coordinates;
     }
 
+    public GeometryObject copy() {
+        GeometryObject copy = new GeometryObject(geometryType, dimension, srid);
+        copy.elementTypes = elementTypes.clone();
+        copy.coordinates = new double[coordinates.length][];
+        for (int i = 0; i < coordinates.length; i++)
+            copy.coordinates[i] = coordinates[i].clone();
+
+        return copy;
+    }
+
     public void changeSrid(int srid) {
         if (this.srid != srid)
             this.srid = srid;
@@ -34,7 +34,8 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType(name = "ImportBatchingType", propOrder = {
         "featureBatchSize",
         "gmlIdCacheBatchSize",
-        "tempBatchSize"
+        "tempBatchSize",
+        "sequenceBlockSize"
 })
 public class ImportBatching {
     public static final int MAX_BATCH_SIZE = 65535;
@@ -48,6 +49,9 @@ public class ImportBatching {
     @XmlElement(defaultValue = "1000")
     @XmlSchemaType(name = "positiveInteger")
     private int tempBatchSize = 1000;
+    @XmlElement(defaultValue = "100")
+    @XmlSchemaType(name = "positiveInteger")
+    private int sequenceBlockSize = 100;
 
     public int getFeatureBatchSize() {
         return featureBatchSize > 0 ? featureBatchSize : 20;
@@ -76,4 +80,13 @@ public class ImportBatching {
             this.tempBatchSize = tempBatchSize;
     }
 
+    public int getSequenceBlockSize() {
+        return sequenceBlockSize > 0 ? sequenceBlockSize : 100;
+    }
+
+    public void setSequenceBlockSize(int sequenceBlockSize) {
+        if (sequenceBlockSize > 0 && sequenceBlockSize <= MAX_BATCH_SIZE)
+            this.sequenceBlockSize = sequenceBlockSize;
+    }
+
 }
@@ -46,6 +46,7 @@ import javax.xml.bind.annotation.XmlType;
         "deleteList",
         "cleanupGlobalAppearances",
         "autoCommit",
+        "bulkDelete",
         "computeNumberMatched",
         "continuation",
         "deleteLog"
@@ -62,6 +63,7 @@ public class DeleteConfig {
     private IdList deleteList;
     private boolean cleanupGlobalAppearances;
     private boolean autoCommit;
+    private BulkDelete bulkDelete;
     private ComputeNumberMatched computeNumberMatched;
     private Continuation continuation;
     private DeleteLog deleteLog;
@@ -69,6 +71,7 @@ public class DeleteConfig {
     public DeleteConfig() {
         query = new QueryConfig();
         simpleQuery = new SimpleQuery();
+        bulkDelete = new BulkDelete();
         computeNumberMatched = new ComputeNumberMatched();
         continuation = new Continuation();
         deleteLog = new DeleteLog();
@@ -144,6 +147,16 @@ public class DeleteConfig {
         this.autoCommit = autoCommit;
     }
 
+    public BulkDelete getBulkDelete() {
+        return bulkDelete;
+    }
+
+    public void setBulkDelete(BulkDelete bulkDelete) {
+        if (bulkDelete != null) {
+            this.bulkDelete = bulkDelete;
+        }
+    }
+
     public ComputeNumberMatched getComputeNumberMatched() {
         return computeNumberMatched;
     }
@@ -48,6 +48,8 @@ public class CityJSONOptions {
     private boolean addSequenceIdWhenSorting;
     @XmlElement(defaultValue = "false")
     private boolean removeDuplicateChildGeometries;
+    @XmlElement(defaultValue = "false")
+    private boolean useCityJSONSeq;
 
     public boolean isPrettyPrint() {
         return prettyPrint;
@@ -100,4 +102,12 @@ public class CityJSONOptions {
     public void setRemoveDuplicateChildGeometries(boolean removeDuplicateChildGeometries) {
         this.removeDuplicateChildGeometries = removeDuplicateChildGeometries;
     }
+
+    public boolean isUseCityJSONSeq() {
+        return useCityJSONSeq;
+    }
+
+    public void setUseCityJSONSeq(boolean useCityJSONSeq) {
+        this.useCityJSONSeq = useCityJSONSeq;
+    }
 }
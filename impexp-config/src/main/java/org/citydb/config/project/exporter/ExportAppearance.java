@@ -34,6 +34,7 @@ import javax.xml.bind.annotation.XmlType;
         "exportAppearances",
         "exportTextureFiles",
         "overwriteTextureFiles",
+        "skipIdenticalTextureFiles",
         "uniqueTextureFileNames",
         "texturePath"
 })
@@ -44,6 +45,8 @@ public class ExportAppearance {
     private Boolean exportTextureFiles = true;
     @XmlElement(defaultValue = "false")
     private Boolean overwriteTextureFiles = true;
+    @XmlElement(defaultValue = "false")
+    private Boolean skipIdenticalTextureFiles;
     private Boolean uniqueTextureFileNames = true;
     private TexturePath texturePath;
 
@@ -87,6 +90,14 @@ public class ExportAppearance {
         this.overwriteTextureFiles = overwriteTextureFiles;
     }
 
+    public boolean isSkipIdenticalTextureFiles() {
+        return skipIdenticalTextureFiles != null ? skipIdenticalTextureFiles : false;
+    }
+
+    public void setSkipIdenticalTextureFiles(boolean skipIdenticalTextureFiles) {
+        this.skipIdenticalTextureFiles = skipIdenticalTextureFiles;
+    }
+
     public boolean isSetUniqueTextureFileNames() {
         return uniqueTextureFileNames != null ? uniqueTextureFileNames : false;
     }
@@ -30,7 +30,6 @@ package org.citydb.config.project.exporter;
 import org.citydb.config.project.common.AffineTransformation;
 import org.citydb.config.project.common.Path;
 import org.citydb.config.project.query.QueryConfig;
-import org.citydb.config.project.resources.Resources;
 
 import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
@@ -67,7 +66,7 @@ public class ExportConfig {
     private AffineTransformation affineTransformation;
     private CityGMLOptions cityGMLOptions;
     private CityJSONOptions cityJSONOptions;
-    private Resources resources;
+    private ExportResources resources;
 
     public ExportConfig() {
         query = new QueryConfig();
@@ -81,7 +80,7 @@ public class ExportConfig {
         affineTransformation = new AffineTransformation();
         cityGMLOptions = new CityGMLOptions();
         cityJSONOptions = new CityJSONOptions();
-        resources = new Resources();
+        resources = new ExportResources();
     }
 
     public boolean isUseSimpleQuery() {
@@ -202,13 +201,13 @@ public class ExportConfig {
         }
     }
 
-    public Resources getResources() {
+    public ExportResources getResources() {
         return resources;
     }
 
-    public void setResources(Resources system) {
-        if (system != null) {
-            this.resources = system;
+    public void setResources(ExportResources resources) {
+        if (resources != null) {
+            this.resources = resources;
         }
     }
 
@@ -0,0 +1,67 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.config.project.exporter;
+
+import org.citydb.config.project.resources.Resources;
+
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
+import javax.xml.bind.annotation.XmlType;
+
+@XmlType(name = "ExportResourcesType", propOrder = {
+        "concurrentTiles",
+        "textureWriterThreads"
+})
+public class ExportResources extends Resources {
+    @XmlElement(defaultValue = "1")
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer concurrentTiles = 1;
+    @XmlElement(defaultValue = "4")
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer textureWriterThreads = 4;
+
+    public int getConcurrentTiles() {
+        return concurrentTiles != null && concurrentTiles > 0 ? concurrentTiles : 1;
+    }
+
+    public void setConcurrentTiles(int concurrentTiles) {
+        if (concurrentTiles > 0) {
+            this.concurrentTiles = concurrentTiles;
+        }
+    }
+
+    public int getTextureWriterThreads() {
+        return textureWriterThreads != null && textureWriterThreads > 0 ? textureWriterThreads : 4;
+    }
+
+    public void setTextureWriterThreads(int textureWriterThreads) {
+        if (textureWriterThreads > 0) {
+            this.textureWriterThreads = textureWriterThreads;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import java.nio.charset.StandardCharsets;
 @XmlType(name = "GeneralExportOptionsType", propOrder = {})
 public class GeneralOptions {
     private Boolean failFastOnErrors = true;
+    private Boolean clientSideCoordinateTransformation = false;
     private ComputeNumberMatched computeNumberMatched;
     private String fileEncoding;
     private OutputFormat compressedOutputFormat = OutputFormat.CITYGML;
@@ -58,6 +59,14 @@ public class GeneralOptions {
         this.failFastOnErrors = failFastOnErrors;
     }
 
+    public boolean isClientSideCoordinateTransformation() {
+        return clientSideCoordinateTransformation != null ? clientSideCoordinateTransformation : false;
+    }
+
+    public void setClientSideCoordinateTransformation(boolean clientSideCoordinateTransformation) {
+        this.clientSideCoordinateTransformation = clientSideCoordinateTransformation;
+    }
+
     public ComputeNumberMatched getComputeNumberMatched() {
         return computeNumberMatched;
     }
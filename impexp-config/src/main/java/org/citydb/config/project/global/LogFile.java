@@ -33,16 +33,26 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType(name = "LogFileType", propOrder = {
         "logLevel",
         "logFileMode",
+        "logFileFormat",
         "useAlternativeLogFile",
-        "alternativeLogFile"
+        "alternativeLogFile",
+        "asynchronous",
+        "bufferSize",
+        "flushInterval",
+        "overflowPolicy"
 })
 public class LogFile {
     @XmlAttribute
     private boolean active = false;
     private LogLevel logLevel;
     private LogFileMode logFileMode;
+    private LogFileFormat logFileFormat;
     private Boolean useAlternativeLogFile = false;
     private String alternativeLogFile;
+    private Boolean asynchronous = true;
+    private Integer bufferSize = 8192;
+    private Integer flushInterval = 1000;
+    private LogFileOverflowPolicy overflowPolicy;
 
     public boolean isActive() {
         return active;
@@ -68,6 +78,14 @@ public class LogFile {
         this.logFileMode = logFileMode;
     }
 
+    public LogFileFormat getLogFileFormat() {
+        return logFileFormat != null ? logFileFormat : LogFileFormat.TEXT;
+    }
+
+    public void setLogFileFormat(LogFileFormat logFileFormat) {
+        this.logFileFormat = logFileFormat;
+    }
+
     public boolean isUseAlternativeLogFile() {
         return useAlternativeLogFile != null && alternativeLogFile != null ? useAlternativeLogFile : false;
     }
@@ -83,4 +101,36 @@ public class LogFile {
     public void setAlternativeLogFile(String alternativeLogFile) {
         this.alternativeLogFile = alternativeLogFile;
     }
+
+    public boolean isAsynchronous() {
+        return asynchronous != null ? asynchronous : true;
+    }
+
+    public void setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
+    public int getBufferSize() {
+        return bufferSize != null && bufferSize > 0 ? bufferSize : 8192;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getFlushInterval() {
+        return flushInterval != null && flushInterval > 0 ? flushInterval : 1000;
+    }
+
+    public void setFlushInterval(int flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public LogFileOverflowPolicy getOverflowPolicy() {
+        return overflowPolicy != null ? overflowPolicy : LogFileOverflowPolicy.BLOCK;
+    }
+
+    public void setOverflowPolicy(LogFileOverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
 }
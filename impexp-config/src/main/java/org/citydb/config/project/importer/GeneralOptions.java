@@ -35,6 +35,8 @@ import java.nio.charset.StandardCharsets;
 public class GeneralOptions {
     private Boolean failFastOnErrors = true;
     private String fileEncoding;
+    private Boolean bulkLoad = false;
+    private Boolean singlePassDuplicateCheck = false;
 
     public boolean isFailFastOnErrors() {
         return failFastOnErrors != null ? failFastOnErrors : true;
@@ -55,4 +57,20 @@ public class GeneralOptions {
     public void setFileEncoding(String fileEncoding) {
         this.fileEncoding = fileEncoding;
     }
+
+    public boolean isBulkLoad() {
+        return bulkLoad != null ? bulkLoad : false;
+    }
+
+    public void setBulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+    }
+
+    public boolean isSinglePassDuplicateCheck() {
+        return singlePassDuplicateCheck != null ? singlePassDuplicateCheck : false;
+    }
+
+    public void setSinglePassDuplicateCheck(boolean singlePassDuplicateCheck) {
+        this.singlePassDuplicateCheck = singlePassDuplicateCheck;
+    }
 }
@@ -33,6 +33,7 @@ import javax.xml.bind.annotation.XmlType;
 @XmlType(name = "ImportAppearanceType", propOrder = {
         "importAppearances",
         "importTextureFiles",
+        "deduplicateTextureFiles",
         "themeForTexturedSurface"
 })
 public class ImportAppearance {
@@ -40,6 +41,8 @@ public class ImportAppearance {
     private Boolean importAppearances = true;
     @XmlElement(required = true, defaultValue = "true")
     private Boolean importTextureFiles = true;
+    @XmlElement(defaultValue = "false")
+    private Boolean deduplicateTextureFiles;
     @XmlElement(required = true, defaultValue = "rgbTexture")
     private String themeForTexturedSurface = "rgbTexture";
 
@@ -70,6 +73,14 @@ public class ImportAppearance {
         this.importTextureFiles = importTextureFiles;
     }
 
+    public boolean isDeduplicateTextureFiles() {
+        return deduplicateTextureFiles != null ? deduplicateTextureFiles : false;
+    }
+
+    public void setDeduplicateTextureFiles(boolean deduplicateTextureFiles) {
+        this.deduplicateTextureFiles = deduplicateTextureFiles;
+    }
+
     public String getThemeForTexturedSurface() {
         return themeForTexturedSurface;
     }
@@ -27,18 +27,41 @@
  */
 package org.citydb.config.project.importer;
 
+import org.citydb.config.project.resources.IdCacheBackend;
 import org.citydb.config.project.resources.IdCacheConfig;
 import org.citydb.config.project.resources.Resources;
 
 import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlSchemaType;
 import javax.xml.bind.annotation.XmlType;
 
 @XmlType(name = "ImportResourcesType", propOrder = {
-        "texImageCache"
+        "texImageCache",
+        "concurrentFiles",
+        "idCacheBackend",
+        "setBasedXlinkResolution",
+        "pipelinedTextureUpload",
+        "textureUploadThreads",
+        "textureUploadBufferSize"
 })
 public class ImportResources extends Resources {
     @XmlElement(required = true)
     private IdCacheConfig texImageCache;
+    @XmlElement(defaultValue = "1")
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer concurrentFiles = 1;
+    @XmlElement(defaultValue = "cacheTable")
+    private IdCacheBackend idCacheBackend = IdCacheBackend.CACHE_TABLE;
+    @XmlElement(defaultValue = "false")
+    private Boolean setBasedXlinkResolution = false;
+    @XmlElement(defaultValue = "true")
+    private Boolean pipelinedTextureUpload = true;
+    @XmlElement(defaultValue = "4")
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer textureUploadThreads = 4;
+    @XmlElement(defaultValue = "128")
+    @XmlSchemaType(name = "positiveInteger")
+    private Integer textureUploadBufferSize = 128;
 
     public ImportResources() {
         texImageCache = new IdCacheConfig();
@@ -51,4 +74,58 @@ public class ImportResources extends Resources {
     public void setTexImageCache(IdCacheConfig texImageCache) {
         this.texImageCache = texImageCache;
     }
+
+    public int getConcurrentFiles() {
+        return concurrentFiles != null && concurrentFiles > 0 ? concurrentFiles : 1;
+    }
+
+    public void setConcurrentFiles(int concurrentFiles) {
+        if (concurrentFiles > 0) {
+            this.concurrentFiles = concurrentFiles;
+        }
+    }
+
+    public IdCacheBackend getIdCacheBackend() {
+        return idCacheBackend != null ? idCacheBackend : IdCacheBackend.CACHE_TABLE;
+    }
+
+    public void setIdCacheBackend(IdCacheBackend idCacheBackend) {
+        this.idCacheBackend = idCacheBackend;
+    }
+
+    public boolean isSetBasedXlinkResolution() {
+        return setBasedXlinkResolution != null ? setBasedXlinkResolution : false;
+    }
+
+    public void setSetBasedXlinkResolution(boolean setBasedXlinkResolution) {
+        this.setBasedXlinkResolution = setBasedXlinkResolution;
+    }
+
+    public boolean isPipelinedTextureUpload() {
+        return pipelinedTextureUpload != null ? pipelinedTextureUpload : true;
+    }
+
+    public void setPipelinedTextureUpload(boolean pipelinedTextureUpload) {
+        this.pipelinedTextureUpload = pipelinedTextureUpload;
+    }
+
+    public int getTextureUploadThreads() {
+        return textureUploadThreads != null && textureUploadThreads > 0 ? textureUploadThreads : 4;
+    }
+
+    public void setTextureUploadThreads(int textureUploadThreads) {
+        if (textureUploadThreads > 0) {
+            this.textureUploadThreads = textureUploadThreads;
+        }
+    }
+
+    public int getTextureUploadBufferSize() {
+        return textureUploadBufferSize != null && textureUploadBufferSize > 0 ? textureUploadBufferSize : 128;
+    }
+
+    public void setTextureUploadBufferSize(int textureUploadBufferSize) {
+        if (textureUploadBufferSize > 0) {
+            this.textureUploadBufferSize = textureUploadBufferSize;
+        }
+    }
 }
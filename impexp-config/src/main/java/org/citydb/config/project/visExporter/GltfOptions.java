@@ -33,27 +33,32 @@ import java.io.File;
 import java.util.Locale;
 
 @XmlType(name = "GltfOptionsType", propOrder = {
+        "useExternalConverter",
         "pathToConverter",
         "gltfVersion",
         "removeColladaFiles",
         "embedTextures",
         "useBinaryGltf",
-        "useDracoCompression"
+        "useDracoCompression",
+        "useQuantization",
+        "create3DTiles"
 })
 public class GltfOptions {
     @XmlAttribute
     private boolean createGltfModel;
+    private Boolean useExternalConverter;
     private String pathToConverter;
     private GltfVersion gltfVersion;
     private Boolean removeColladaFiles;
     private Boolean embedTextures;
     private Boolean useBinaryGltf;
     private Boolean useDracoCompression;
+    private Boolean useQuantization;
+    private Boolean create3DTiles;
 
     public GltfOptions() {
         gltfVersion = GltfVersion.v2_0;
         embedTextures = true;
-        useDracoCompression = true;
 
         pathToConverter = "contribs" + File.separator + "collada2gltf";
         String osName = System.getProperty("os.name").toLowerCase(Locale.ROOT);
@@ -73,6 +78,19 @@ public class GltfOptions {
         this.createGltfModel = createGltfModel;
     }
 
+    public boolean isUseExternalConverter() {
+        return useExternalConverter != null ? useExternalConverter : false;
+    }
+
+    public void setUseExternalConverter(boolean useExternalConverter) {
+        this.useExternalConverter = useExternalConverter;
+    }
+
+    public boolean requiresExternalConverter() {
+        // the built-in glTF writer only supports glTF 2.0 without Draco compression
+        return isUseExternalConverter() || gltfVersion == GltfVersion.v1_0 || isUseDracoCompression();
+    }
+
     public String getPathToConverter() {
         return pathToConverter;
     }
@@ -118,10 +136,26 @@ public class GltfOptions {
     }
 
     public boolean isUseDracoCompression() {
-        return useDracoCompression != null ? useDracoCompression : true;
+        return useDracoCompression != null ? useDracoCompression : false;
     }
 
     public void setUseDracoCompression(boolean useDracoCompression) {
         this.useDracoCompression = useDracoCompression;
     }
+
+    public boolean isUseQuantization() {
+        return useQuantization != null ? useQuantization : false;
+    }
+
+    public void setUseQuantization(boolean useQuantization) {
+        this.useQuantization = useQuantization;
+    }
+
+    public boolean isCreate3DTiles() {
+        return create3DTiles != null ? create3DTiles : false;
+    }
+
+    public void setCreate3DTiles(boolean create3DTiles) {
+        this.create3DTiles = create3DTiles;
+    }
 }
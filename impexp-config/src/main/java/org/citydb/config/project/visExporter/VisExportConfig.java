@@ -82,6 +82,7 @@ import java.util.Map;
         "viewRefreshMode",
         "viewRefreshTime",
         "writeJSONFile",
+        "clientSideCoordinateTransformation",
         "appearanceTheme",
         "idPrefixes",
         "adePreferences",
@@ -143,6 +144,7 @@ public class VisExportConfig {
     private String viewRefreshMode;
     private double viewRefreshTime;
     private boolean writeJSONFile;
+    private Boolean clientSideCoordinateTransformation;
     private boolean exportAsKmz;
     private String appearanceTheme;
     private IdPrefixes idPrefixes;
@@ -378,6 +380,14 @@ public class VisExportConfig {
         return writeJSONFile;
     }
 
+    public boolean isClientSideCoordinateTransformation() {
+        return clientSideCoordinateTransformation != null ? clientSideCoordinateTransformation : true;
+    }
+
+    public void setClientSideCoordinateTransformation(boolean clientSideCoordinateTransformation) {
+        this.clientSideCoordinateTransformation = clientSideCoordinateTransformation;
+    }
+
     public void setOneFilePerObject(boolean oneFilePerObject) {
         this.oneFilePerObject = oneFilePerObject;
     }
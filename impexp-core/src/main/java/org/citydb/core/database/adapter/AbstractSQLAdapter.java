@@ -106,6 +106,10 @@ public abstract class AbstractSQLAdapter {
 
     public abstract BlobExportAdapter getBlobExportAdapter(Connection connection, BlobType type);
 
+    public abstract boolean supportsBulkLoad();
+
+    public abstract Connection getBulkLoadConnection(Connection connection);
+
     public String resolveDatabaseOperationName(String key) {
         if (databaseOperations == null) {
             try {
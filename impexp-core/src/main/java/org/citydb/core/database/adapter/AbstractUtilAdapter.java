@@ -93,6 +93,8 @@ public abstract class AbstractUtilAdapter {
 
     public abstract int cleanupGlobalAppearances(String schema, Connection connection) throws SQLException;
 
+    public abstract List<Long> deleteCityObjects(List<Long> ids, Connection connection) throws SQLException;
+
     public abstract BoundingBox createBoundingBox(String schema, long objectId, boolean onlyIfNull, Connection connection) throws SQLException;
 
     public abstract DatabaseSrs getWGS843D();
@@ -91,9 +91,14 @@ public class BlobExportAdapter {
             try (ResultSet rs = psBulk.executeQuery()) {
                 while (rs.next()) {
                     BatchEntry entry = batches.get(rs.getLong(1));
-                    if (entry != null
-                            && entry.canWrite.get()
-                            && writeToStream(rs.getBytes(2), entry.streamSupplier.get()))
+                    if (entry == null)
+                        continue;
+
+                    if (entry.blobConsumer != null) {
+                        byte[] buffer = rs.getBytes(2);
+                        if (buffer != null && buffer.length != 0 && entry.blobConsumer.accept(buffer))
+                            exported++;
+                    } else if (entry.canWrite.get() && writeToStream(rs.getBytes(2), entry.streamSupplier.get()))
                         exported++;
                 }
             }
@@ -149,13 +154,26 @@ public class BlobExportAdapter {
         OutputStream get() throws IOException;
     }
 
+    @FunctionalInterface
+    public interface BlobConsumer {
+        boolean accept(byte[] buffer) throws IOException;
+    }
+
     public static class BatchEntry {
         private final OutputStreamSupplier streamSupplier;
         private final Supplier<Boolean> canWrite;
+        private final BlobConsumer blobConsumer;
 
         public BatchEntry(OutputStreamSupplier streamSupplier, Supplier<Boolean> canWrite) {
             this.streamSupplier = streamSupplier;
             this.canWrite = canWrite;
+            blobConsumer = null;
+        }
+
+        public BatchEntry(BlobConsumer blobConsumer) {
+            this.blobConsumer = blobConsumer;
+            streamSupplier = null;
+            canWrite = null;
         }
     }
 }
@@ -27,6 +27,7 @@
  */
 package org.citydb.core.database.adapter;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -38,6 +39,8 @@ public class BlobImportAdapter {
     private final String schema;
 
     private PreparedStatement psUpdate;
+    private int batchSize = 1;
+    private int batchCounter;
 
     public BlobImportAdapter(Connection connection, BlobType blobType, String schema) {
         this.connection = connection;
@@ -45,16 +48,44 @@ public class BlobImportAdapter {
         this.schema = schema;
     }
 
+    public BlobImportAdapter withBatchSize(int batchSize) {
+        this.batchSize = Math.max(batchSize, 1);
+        return this;
+    }
+
     public void insert(long id, InputStream stream) throws SQLException {
+        prepareStatement();
+        psUpdate.setBinaryStream(1, stream);
+        psUpdate.setLong(2, id);
+        psUpdate.executeUpdate();
+    }
+
+    public int addBatch(long id, byte[] data) throws SQLException {
+        prepareStatement();
+        psUpdate.setBinaryStream(1, new ByteArrayInputStream(data), data.length);
+        psUpdate.setLong(2, id);
+        psUpdate.addBatch();
+        return ++batchCounter == batchSize ? executeBatch() : 0;
+    }
+
+    public int executeBatch() throws SQLException {
+        if (batchCounter == 0)
+            return 0;
+
+        try {
+            psUpdate.executeBatch();
+            return batchCounter;
+        } finally {
+            batchCounter = 0;
+        }
+    }
+
+    private void prepareStatement() throws SQLException {
         if (psUpdate == null) {
             psUpdate = connection.prepareStatement(blobType == BlobType.TEXTURE_IMAGE ?
                     "update " + schema + ".tex_image set tex_image_data=? where id=?" :
                     "update " + schema + ".implicit_geometry set library_object=? where id=?");
         }
-
-        psUpdate.setBinaryStream(1, stream);
-        psUpdate.setLong(2, id);
-        psUpdate.executeUpdate();
     }
 
     public void close() throws SQLException {
@@ -181,6 +181,17 @@ public class SQLAdapter extends AbstractSQLAdapter {
         return null;
     }
 
+    @Override
+    public boolean supportsBulkLoad() {
+        return false;
+    }
+
+    @Override
+    public Connection getBulkLoadConnection(Connection connection) {
+        // not required for cache tables
+        return connection;
+    }
+
     @Override
     public PredicateToken getBinarySpatialPredicate(SpatialOperatorName operator, Column targetColumn, GeometryObject geometry, boolean negate) {
         // not required for cache tables
@@ -189,6 +189,16 @@ public class SQLAdapter extends AbstractSQLAdapter {
         return new BlobExportAdapter(connection, type, databaseAdapter.getConnectionDetails().getSchema());
     }
 
+    @Override
+    public boolean supportsBulkLoad() {
+        return false;
+    }
+
+    @Override
+    public Connection getBulkLoadConnection(Connection connection) {
+        return connection;
+    }
+
     @Override
     public PredicateToken getBinarySpatialPredicate(SpatialOperatorName operator, Column targetColumn, GeometryObject geometry, boolean negate) {
         PlaceHolder<GeometryObject> geometryLiteral = new PlaceHolder<>(geometry);
@@ -27,6 +27,7 @@
  */
 package org.citydb.core.database.adapter.oracle;
 
+import oracle.jdbc.OracleConnection;
 import oracle.jdbc.OracleTypes;
 import oracle.spatial.geometry.JGeometry;
 import org.citydb.config.geometry.BoundingBox;
@@ -43,6 +44,8 @@ import org.citydb.core.database.connection.DatabaseMetaData.Versioning;
 import org.citydb.core.database.version.DatabaseVersion;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class UtilAdapter extends AbstractUtilAdapter {
@@ -361,6 +364,41 @@ public class UtilAdapter extends AbstractUtilAdapter {
         return 0;
     }
 
+    @Override
+    public List<Long> deleteCityObjects(List<Long> ids, Connection connection) throws SQLException {
+        List<Long> deleted = new ArrayList<>(ids.size());
+        String arrayType = databaseAdapter.getConnectionDetails().getSchema() + ".ID_ARRAY";
+
+        try {
+            String call = "{? = call " + databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_delete.delete_cityobject") + "(?)}";
+            interruptibleCallableStatement = connection.prepareCall(call);
+            interruptibleCallableStatement.registerOutParameter(1, OracleTypes.ARRAY, arrayType);
+            interruptibleCallableStatement.setArray(2, connection.unwrap(OracleConnection.class)
+                    .createOracleArray(arrayType, ids.toArray(new Long[0])));
+            interruptibleCallableStatement.execute();
+
+            Array result = interruptibleCallableStatement.getArray(1);
+            if (result != null) {
+                for (Object id : (Object[]) result.getArray()) {
+                    if (id != null)
+                        deleted.add(((Number) id).longValue());
+                }
+            }
+        } catch (SQLException e) {
+            if (!isInterrupted)
+                throw e;
+        } finally {
+            if (interruptibleCallableStatement != null) {
+                interruptibleCallableStatement.close();
+                interruptibleCallableStatement = null;
+            }
+
+            isInterrupted = false;
+        }
+
+        return deleted;
+    }
+
     private DatabaseSrsType getSrsType(String srsType) {
         if ("PROJECTED".equals(srsType))
             return DatabaseSrsType.PROJECTED;
@@ -0,0 +1,311 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.database.adapter.postgis;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.util.PGobject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class CopyConnectionHandler implements InvocationHandler {
+    private static final Pattern INSERT = Pattern.compile("^\\s*insert\\s+into\\s+([\\w.\"]+)\\s*\\(([^()]+)\\)\\s*values\\s*\\((.*)\\)\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern PASS_THROUGH = Pattern.compile("^st_geomfromewkt\\s*\\(\\s*\\?\\s*\\)$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern NUMBER = Pattern.compile("^-?\\d+(\\.\\d+)?$");
+    private static final Object PARAMETER = new Object();
+
+    private final Connection connection;
+    private CopyManager copyManager;
+
+    private CopyConnectionHandler(Connection connection) {
+        this.connection = connection;
+    }
+
+    static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CopyConnectionHandler.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new CopyConnectionHandler(connection));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("prepareStatement") && args.length == 1) {
+            CopyStatementHandler handler = createStatementHandler((String) args[0]);
+            if (handler != null) {
+                return Proxy.newProxyInstance(CopyConnectionHandler.class.getClassLoader(),
+                        new Class<?>[]{PreparedStatement.class},
+                        handler);
+            }
+        }
+
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private CopyManager getCopyManager() throws SQLException {
+        if (copyManager == null) {
+            copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        }
+
+        return copyManager;
+    }
+
+    private CopyStatementHandler createStatementHandler(String sql) {
+        Matcher matcher = INSERT.matcher(sql);
+        if (!matcher.matches()) {
+            return null;
+        }
+
+        String[] columns = matcher.group(2).split(",");
+        List<String> values = splitValues(matcher.group(3));
+        if (values == null || values.size() != columns.length) {
+            return null;
+        }
+
+        // only plain parameters and constant values can be streamed through COPY
+        Object[] template = new Object[values.size()];
+        int parameters = 0;
+        for (int i = 0; i < template.length; i++) {
+            String value = values.get(i);
+            if (value.equals("?") || PASS_THROUGH.matcher(value).matches()) {
+                template[i] = PARAMETER;
+                parameters++;
+            } else if (value.length() > 1 && value.startsWith("'") && value.endsWith("'")) {
+                template[i] = value.substring(1, value.length() - 1).replace("''", "'");
+            } else if (NUMBER.matcher(value).matches()) {
+                template[i] = value;
+            } else if (!value.equalsIgnoreCase("null")) {
+                return null;
+            }
+        }
+
+        StringBuilder copy = new StringBuilder("copy ").append(matcher.group(1)).append(" (");
+        for (int i = 0; i < columns.length; i++) {
+            copy.append(i > 0 ? ", " : "").append(columns[i].trim());
+        }
+
+        return new CopyStatementHandler(copy.append(") from stdin").toString(), template, parameters);
+    }
+
+    private List<String> splitValues(String values) {
+        List<String> result = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        boolean quoted = false;
+
+        for (int i = 0; i < values.length(); i++) {
+            char c = values.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted) {
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')' && --depth < 0) {
+                    return null;
+                } else if (c == ',' && depth == 0) {
+                    result.add(values.substring(start, i).trim());
+                    start = i + 1;
+                }
+            }
+        }
+
+        if (depth != 0 || quoted) {
+            return null;
+        }
+
+        result.add(values.substring(start).trim());
+        return result;
+    }
+
+    private class CopyStatementHandler implements InvocationHandler {
+        private final String copySql;
+        private final Object[] template;
+        private final Object[] parameters;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+        private final StringBuilder row = new StringBuilder();
+        private int rows;
+        private boolean isClosed;
+
+        CopyStatementHandler(String copySql, Object[] template, int parameters) {
+            this.copySql = copySql;
+            this.template = template;
+            this.parameters = new Object[parameters];
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                int index = (Integer) args[0];
+                if (index < 1 || index > parameters.length) {
+                    throw new SQLException("The parameter index " + index + " is out of range.");
+                }
+
+                parameters[index - 1] = name.equals("setNull") ? null : args[1];
+                return null;
+            }
+
+            switch (name) {
+                case "addBatch":
+                    addRow();
+                    return null;
+                case "executeBatch":
+                    return executeBatch();
+                case "executeUpdate":
+                    addRow();
+                    return executeBatch().length;
+                case "clearParameters":
+                    Arrays.fill(parameters, null);
+                    return null;
+                case "clearBatch":
+                    buffer.reset();
+                    rows = 0;
+                    return null;
+                case "close":
+                    isClosed = true;
+                    buffer.reset();
+                    rows = 0;
+                    return null;
+                case "isClosed":
+                    return isClosed;
+                case "getConnection":
+                    return connection;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return copySql;
+                default:
+                    throw new SQLFeatureNotSupportedException("The operation " + name + " is not supported in bulk load mode.");
+            }
+        }
+
+        private void addRow() {
+            row.setLength(0);
+            for (int i = 0, parameter = 0; i < template.length; i++) {
+                if (i > 0) {
+                    row.append('\t');
+                }
+
+                Object value = template[i] == PARAMETER ? parameters[parameter++] : template[i];
+                if (value == null) {
+                    row.append("\\N");
+                } else {
+                    escape(toText(value), row);
+                }
+            }
+
+            byte[] bytes = row.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+            buffer.write(bytes, 0, bytes.length);
+            rows++;
+        }
+
+        private int[] executeBatch() throws SQLException {
+            if (rows == 0) {
+                return new int[0];
+            }
+
+            try {
+                getCopyManager().copyIn(copySql, new ByteArrayInputStream(buffer.toByteArray()));
+                int[] result = new int[rows];
+                Arrays.fill(result, 1);
+                return result;
+            } catch (IOException e) {
+                throw new SQLException("Failed to execute '" + copySql + "'.", e);
+            } finally {
+                buffer.reset();
+                rows = 0;
+            }
+        }
+
+        private String toText(Object value) {
+            if (value instanceof PGobject) {
+                return ((PGobject) value).getValue();
+            } else if (value instanceof Boolean) {
+                return (Boolean) value ? "t" : "f";
+            } else if (value instanceof Timestamp) {
+                return ((Timestamp) value).toLocalDateTime().atZone(ZoneId.systemDefault()).toOffsetDateTime().toString();
+            } else if (value instanceof byte[]) {
+                StringBuilder hex = new StringBuilder("\\x");
+                for (byte b : (byte[]) value) {
+                    hex.append(String.format(Locale.ROOT, "%02x", b));
+                }
+
+                return hex.toString();
+            } else {
+                return value.toString();
+            }
+        }
+
+        private void escape(String value, StringBuilder builder) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '\\':
+                        builder.append("\\\\");
+                        break;
+                    case '\t':
+                        builder.append("\\t");
+                        break;
+                    case '\n':
+                        builder.append("\\n");
+                        break;
+                    case '\r':
+                        builder.append("\\r");
+                        break;
+                    default:
+                        builder.append(c);
+                }
+            }
+        }
+    }
+}
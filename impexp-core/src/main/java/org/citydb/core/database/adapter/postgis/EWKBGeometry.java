@@ -0,0 +1,74 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.database.adapter.postgis;
+
+import org.postgresql.util.PGobject;
+
+import java.sql.SQLException;
+
+public class EWKBGeometry extends PGobject {
+    private byte[] ewkb;
+
+    public EWKBGeometry() {
+        type = "geometry";
+    }
+
+    public EWKBGeometry(byte[] ewkb) {
+        this();
+        this.ewkb = ewkb;
+        value = EWKBWriter.toHex(ewkb);
+    }
+
+    @Override
+    public void setValue(String value) throws SQLException {
+        super.setValue(value);
+        ewkb = null;
+    }
+
+    public byte[] getBytes() {
+        if (ewkb == null && value != null)
+            ewkb = EWKBWriter.fromHex(value);
+
+        return ewkb;
+    }
+
+    @Override
+    public String toString() {
+        if (value != null) {
+            try {
+                String ewkt = GeometryConverterAdapter.convertToEWKT(new EWKBReader().read(getBytes()));
+                if (ewkt != null)
+                    return ewkt;
+            } catch (SQLException e) {
+                //
+            }
+        }
+
+        return super.toString();
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.database.adapter.postgis;
+
+import org.citydb.config.geometry.GeometryObject;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class EWKBReader {
+
+    public GeometryObject read(byte[] ewkb) throws SQLException {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(ewkb);
+            Header header = readHeader(buffer);
+            int dimension = header.hasZ ? 3 : 2;
+
+            switch (header.type) {
+                case EWKBWriter.POINT:
+                    return GeometryObject.createPoint(readPoint(buffer, header), dimension, header.srid);
+                case EWKBWriter.LINESTRING:
+                    return GeometryObject.createCurve(readCoordinates(buffer, header), dimension, header.srid);
+                case EWKBWriter.POLYGON:
+                    return GeometryObject.createPolygon(readRings(buffer, header), dimension, header.srid);
+                case EWKBWriter.MULTIPOINT: {
+                    double[][] coordinates = new double[buffer.getInt()][];
+                    for (int i = 0; i < coordinates.length; i++)
+                        coordinates[i] = readPoint(buffer, readHeader(buffer, EWKBWriter.POINT));
+
+                    return GeometryObject.createMultiPoint(coordinates, dimension, header.srid);
+                }
+                case EWKBWriter.MULTILINESTRING: {
+                    double[][] coordinates = new double[buffer.getInt()][];
+                    for (int i = 0; i < coordinates.length; i++)
+                        coordinates[i] = readCoordinates(buffer, readHeader(buffer, EWKBWriter.LINESTRING));
+
+                    return GeometryObject.createMultiCurve(coordinates, dimension, header.srid);
+                }
+                case EWKBWriter.MULTIPOLYGON:
+                case EWKBWriter.POLYHEDRALSURFACE: {
+                    int numPolygons = buffer.getInt();
+                    int[] exteriorRings = new int[numPolygons];
+                    List<double[]> rings = new ArrayList<>(numPolygons);
+
+                    for (int i = 0; i < numPolygons; i++) {
+                        exteriorRings[i] = rings.size();
+                        for (double[] ring : readRings(buffer, readHeader(buffer, EWKBWriter.POLYGON)))
+                            rings.add(ring);
+                    }
+
+                    double[][] coordinates = rings.toArray(new double[0][]);
+                    return header.type == EWKBWriter.MULTIPOLYGON ?
+                            GeometryObject.createMultiPolygon(coordinates, exteriorRings, dimension, header.srid) :
+                            GeometryObject.createSolid(coordinates, exteriorRings, header.srid);
+                }
+                default:
+                    throw new SQLException("Cannot convert PostGIS geometry type '" + header.type + "' to internal representation: Unsupported type.");
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new SQLException("Failed to parse EWKB geometry.", e);
+        }
+    }
+
+    private Header readHeader(ByteBuffer buffer) {
+        buffer.order(buffer.get() == 0 ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN);
+        int type = buffer.getInt();
+
+        Header header = new Header();
+        header.hasZ = (type & EWKBWriter.Z_FLAG) != 0;
+        header.hasM = (type & EWKBWriter.M_FLAG) != 0;
+        if ((type & EWKBWriter.SRID_FLAG) != 0)
+            header.srid = buffer.getInt();
+
+        // support ISO WKB type codes as well
+        type &= 0x0FFFFFFF;
+        int isoDimension = type / 1000;
+        if (isoDimension == 1 || isoDimension == 3)
+            header.hasZ = true;
+        if (isoDimension == 2 || isoDimension == 3)
+            header.hasM = true;
+
+        header.type = type % 1000;
+        return header;
+    }
+
+    private Header readHeader(ByteBuffer buffer, int expectedType) throws SQLException {
+        Header header = readHeader(buffer);
+        if (header.type != expectedType)
+            throw new SQLException("Unexpected geometry type '" + header.type + "' in EWKB geometry collection.");
+
+        return header;
+    }
+
+    private double[] readPoint(ByteBuffer buffer, Header header) {
+        double[] coordinates = new double[header.hasZ ? 3 : 2];
+        readCoordinates(buffer, header, coordinates, 1);
+        return coordinates;
+    }
+
+    private double[] readCoordinates(ByteBuffer buffer, Header header) {
+        int numPoints = buffer.getInt();
+        double[] coordinates = new double[numPoints * (header.hasZ ? 3 : 2)];
+        readCoordinates(buffer, header, coordinates, numPoints);
+        return coordinates;
+    }
+
+    private double[][] readRings(ByteBuffer buffer, Header header) {
+        double[][] rings = new double[buffer.getInt()][];
+        for (int i = 0; i < rings.length; i++)
+            rings[i] = readCoordinates(buffer, header);
+
+        return rings;
+    }
+
+    private void readCoordinates(ByteBuffer buffer, Header header, double[] coordinates, int numPoints) {
+        int dimension = header.hasZ ? 3 : 2;
+        for (int i = 0, element = 0; i < numPoints; i++) {
+            for (int j = 0; j < dimension; j++)
+                coordinates[element++] = buffer.getDouble();
+
+            // measures are not supported
+            if (header.hasM)
+                buffer.getDouble();
+        }
+    }
+
+    private static class Header {
+        private int type;
+        private int srid;
+        private boolean hasZ;
+        private boolean hasM;
+    }
+}
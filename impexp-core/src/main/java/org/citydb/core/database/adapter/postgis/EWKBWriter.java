@@ -0,0 +1,232 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.database.adapter.postgis;
+
+import org.citydb.config.geometry.ElementType;
+import org.citydb.config.geometry.GeometryObject;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+public class EWKBWriter {
+    static final int POINT = 1;
+    static final int LINESTRING = 2;
+    static final int POLYGON = 3;
+    static final int MULTIPOINT = 4;
+    static final int MULTILINESTRING = 5;
+    static final int MULTIPOLYGON = 6;
+    static final int POLYHEDRALSURFACE = 15;
+
+    static final int Z_FLAG = 0x80000000;
+    static final int M_FLAG = 0x40000000;
+    static final int SRID_FLAG = 0x20000000;
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    public byte[] write(GeometryObject geomObj) {
+        double[][] coordinates = geomObj.getCoordinates();
+        int dimension = geomObj.getDimension();
+        int zFlag = dimension == 3 ? Z_FLAG : 0;
+
+        switch (geomObj.getGeometryType()) {
+            case POINT: {
+                ByteBuffer buffer = allocate(9 + dimension * 8);
+                writeHeader(buffer, POINT | zFlag, geomObj.getSrid());
+                writeCoordinates(buffer, coordinates[0]);
+                return buffer.array();
+            }
+            case LINE_STRING: {
+                ByteBuffer buffer = allocate(9 + 4 + coordinates[0].length * 8);
+                writeHeader(buffer, LINESTRING | zFlag, geomObj.getSrid());
+                writeRing(buffer, coordinates[0], dimension);
+                return buffer.array();
+            }
+            case POLYGON: {
+                ByteBuffer buffer = allocate(9 + 4 + getRingsSize(coordinates, 0, coordinates.length));
+                writeHeader(buffer, POLYGON | zFlag, geomObj.getSrid());
+                writeRings(buffer, coordinates, 0, coordinates.length, dimension);
+                return buffer.array();
+            }
+            case ENVELOPE: {
+                double[][] rings = new double[][]{getEnvelopeRing(coordinates[0], dimension)};
+                ByteBuffer buffer = allocate(9 + 4 + getRingsSize(rings, 0, 1));
+                writeHeader(buffer, POLYGON | zFlag, geomObj.getSrid());
+                writeRings(buffer, rings, 0, 1, dimension);
+                return buffer.array();
+            }
+            case MULTI_POINT: {
+                ByteBuffer buffer = allocate(9 + 4 + coordinates.length * (5 + dimension * 8));
+                writeHeader(buffer, MULTIPOINT | zFlag, geomObj.getSrid());
+                buffer.putInt(coordinates.length);
+                for (double[] point : coordinates) {
+                    writeHeader(buffer, POINT | zFlag);
+                    writeCoordinates(buffer, point);
+                }
+
+                return buffer.array();
+            }
+            case MULTI_LINE_STRING: {
+                int size = 9 + 4;
+                for (double[] lineString : coordinates)
+                    size += 5 + 4 + lineString.length * 8;
+
+                ByteBuffer buffer = allocate(size);
+                writeHeader(buffer, MULTILINESTRING | zFlag, geomObj.getSrid());
+                buffer.putInt(coordinates.length);
+                for (double[] lineString : coordinates) {
+                    writeHeader(buffer, LINESTRING | zFlag);
+                    writeRing(buffer, lineString, dimension);
+                }
+
+                return buffer.array();
+            }
+            case MULTI_POLYGON:
+                return writePolygonCollection(geomObj, MULTIPOLYGON | zFlag);
+            case SOLID:
+                return writePolygonCollection(geomObj, POLYHEDRALSURFACE | zFlag);
+            default:
+                // composite solids are not supported
+                return null;
+        }
+    }
+
+    public String writeHex(GeometryObject geomObj) {
+        byte[] bytes = write(geomObj);
+        return bytes != null ? toHex(bytes) : null;
+    }
+
+    private byte[] writePolygonCollection(GeometryObject geomObj, int type) {
+        double[][] coordinates = geomObj.getCoordinates();
+        int dimension = geomObj.getDimension();
+        int zFlag = dimension == 3 ? Z_FLAG : 0;
+
+        int numPolygons = 0;
+        int size = 9 + 4;
+        for (int i = 0; i < geomObj.getNumElements(); i++) {
+            if (geomObj.getElementType(i) == ElementType.EXTERIOR_LINEAR_RING) {
+                numPolygons++;
+                size += 5 + 4;
+            }
+
+            size += 4 + coordinates[i].length * 8;
+        }
+
+        ByteBuffer buffer = allocate(size);
+        writeHeader(buffer, type, geomObj.getSrid());
+        buffer.putInt(numPolygons);
+
+        for (int i = 0; i < coordinates.length; ) {
+            int end = i + 1;
+            while (end < coordinates.length && geomObj.getElementType(end) != ElementType.EXTERIOR_LINEAR_RING)
+                end++;
+
+            writeHeader(buffer, POLYGON | zFlag);
+            writeRings(buffer, coordinates, i, end, dimension);
+            i = end;
+        }
+
+        return buffer.array();
+    }
+
+    private ByteBuffer allocate(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void writeHeader(ByteBuffer buffer, int type, int srid) {
+        // the SRID is only written for the outermost geometry
+        buffer.put((byte) 1);
+        buffer.putInt(type | SRID_FLAG);
+        buffer.putInt(srid);
+    }
+
+    private void writeHeader(ByteBuffer buffer, int type) {
+        buffer.put((byte) 1);
+        buffer.putInt(type);
+    }
+
+    private int getRingsSize(double[][] coordinates, int from, int to) {
+        int size = 0;
+        for (int i = from; i < to; i++)
+            size += 4 + coordinates[i].length * 8;
+
+        return size;
+    }
+
+    private void writeRings(ByteBuffer buffer, double[][] coordinates, int from, int to, int dimension) {
+        buffer.putInt(to - from);
+        for (int i = from; i < to; i++)
+            writeRing(buffer, coordinates[i], dimension);
+    }
+
+    private void writeRing(ByteBuffer buffer, double[] coordinates, int dimension) {
+        buffer.putInt(coordinates.length / dimension);
+        writeCoordinates(buffer, coordinates);
+    }
+
+    private void writeCoordinates(ByteBuffer buffer, double[] coordinates) {
+        for (double coordinate : coordinates)
+            buffer.putDouble(coordinate);
+    }
+
+    private double[] getEnvelopeRing(double[] envelope, int dimension) {
+        if (dimension == 3) {
+            return new double[]{
+                    envelope[0], envelope[1], envelope[2],
+                    envelope[3], envelope[1], envelope[2],
+                    envelope[3], envelope[4], envelope[5],
+                    envelope[0], envelope[4], envelope[5],
+                    envelope[0], envelope[1], envelope[2]};
+        } else {
+            return new double[]{
+                    envelope[0], envelope[1],
+                    envelope[2], envelope[1],
+                    envelope[2], envelope[3],
+                    envelope[0], envelope[3],
+                    envelope[0], envelope[1]};
+        }
+    }
+
+    static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            hex[j++] = HEX[(bytes[i] >> 4) & 0x0F];
+            hex[j++] = HEX[bytes[i] & 0x0F];
+        }
+
+        return new String(hex);
+    }
+
+    static byte[] fromHex(String hex) {
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0, j = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) ((Character.digit(hex.charAt(j++), 16) << 4) | Character.digit(hex.charAt(j++), 16));
+        }
+
+        return bytes;
+    }
+}
@@ -30,11 +30,13 @@ package org.citydb.core.database.adapter.postgis;
 import net.postgis.jdbc.PGbox2d;
 import net.postgis.jdbc.PGbox3d;
 import net.postgis.jdbc.PGgeometry;
-import net.postgis.jdbc.geometry.*;
+import net.postgis.jdbc.geometry.binary.BinaryWriter;
 import org.citydb.config.geometry.ElementType;
 import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.geometry.GeometryType;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.AbstractGeometryConverterAdapter;
+import org.postgresql.util.PGobject;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -43,6 +45,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class GeometryConverterAdapter extends AbstractGeometryConverterAdapter {
+    private final EWKBWriter ewkbWriter = new EWKBWriter();
+    private final EWKBReader ewkbReader = new EWKBReader();
 
     protected GeometryConverterAdapter(AbstractDatabaseAdapter databaseAdapter) {
         super(databaseAdapter);
@@ -60,10 +64,7 @@ public class GeometryConverterAdapter extends AbstractGeometryConverterAdapter {
 
     @Override
     public GeometryObject getEnvelope(Object geomObj) throws SQLException {
-        GeometryObject envelope = null;
-        if (geomObj instanceof PGgeometry)
-            envelope = getEnvelope(((PGgeometry) geomObj).getGeometry());
-        else if (geomObj instanceof PGbox2d) {
+        if (geomObj instanceof PGbox2d) {
             PGbox2d box = (PGbox2d) geomObj;
             return GeometryObject.createEnvelope(new double[]{box.getLLB().x, box.getLLB().y, 0, box.getURT().x, box.getURT().y, 0},
                     3, databaseAdapter.getConnectionMetaData().getReferenceSystem().getSrid());
@@ -73,26 +74,33 @@ public class GeometryConverterAdapter extends AbstractGeometryConverterAdapter {
                     3, databaseAdapter.getConnectionMetaData().getReferenceSystem().getSrid());
         }
 
-        return envelope;
+        GeometryObject geometry = read(geomObj);
+        return geometry != null ? getEnvelope(geometry) : null;
     }
 
-    private GeometryObject getEnvelope(Geometry geometry) {
+    private GeometryObject getEnvelope(GeometryObject geometry) {
         double[] coordinates = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
-
-        for (int i = 0; i < geometry.numPoints(); ++i) {
-            Point point = geometry.getPoint(i);
-            if (point.x < coordinates[0])
-                coordinates[0] = point.x;
-            if (point.y < coordinates[1])
-                coordinates[1] = point.y;
-            if (point.z < coordinates[2])
-                coordinates[2] = point.z;
-            if (point.x > coordinates[3])
-                coordinates[3] = point.x;
-            if (point.y > coordinates[4])
-                coordinates[4] = point.y;
-            if (point.z > coordinates[5])
-                coordinates[5] = point.z;
+        int dimension = geometry.getDimension();
+
+        for (double[] element : geometry.getCoordinates()) {
+            for (int i = 0; i < element.length; i += dimension) {
+                double x = element[i];
+                double y = element[i + 1];
+                double z = dimension == 3 ? element[i + 2] : 0;
+
+                if (x < coordinates[0])
+                    coordinates[0] = x;
+                if (y < coordinates[1])
+                    coordinates[1] = y;
+                if (z < coordinates[2])
+                    coordinates[2] = z;
+                if (x > coordinates[3])
+                    coordinates[3] = x;
+                if (y > coordinates[4])
+                    coordinates[4] = y;
+                if (z > coordinates[5])
+                    coordinates[5] = z;
+            }
         }
 
         return GeometryObject.createEnvelope(coordinates, 3, geometry.getSrid());
@@ -100,289 +108,80 @@ public class GeometryConverterAdapter extends AbstractGeometryConverterAdapter {
 
     @Override
     public GeometryObject getPoint(Object geomObj) throws SQLException {
-        GeometryObject point = null;
-
-        if (geomObj instanceof PGgeometry) {
-            Geometry geometry = ((PGgeometry) geomObj).getGeometry();
-            if (geometry.getType() != Geometry.POINT)
-                return null;
-
-            point = getPoint((Point) geometry);
-        }
-
-        return point;
-    }
-
-    private GeometryObject getPoint(Point point) {
-        return GeometryObject.createPoint(getPointCoordinates(point), point.getDimension(), point.getSrid());
-    }
-
-    private double[] getPointCoordinates(Point point) {
-        int dimension = point.getDimension();
-        double[] coordinates = new double[dimension];
-
-        coordinates[0] = point.x;
-        coordinates[1] = point.y;
-        if (dimension == 3)
-            coordinates[2] = point.z;
-
-        return coordinates;
+        GeometryObject geometry = read(geomObj);
+        return geometry != null && geometry.getGeometryType() == GeometryType.POINT ? geometry : null;
     }
 
     @Override
     public GeometryObject getMultiPoint(Object geomObj) throws SQLException {
-        GeometryObject multiPoint = null;
-
-        if (geomObj instanceof PGgeometry) {
-            Geometry geometry = ((PGgeometry) geomObj).getGeometry();
-            if (geometry.getType() == Geometry.MULTIPOINT) {
-                multiPoint = getMultiPoint((MultiPoint) geometry);
-            } else if (geometry.getType() == Geometry.POINT) {
-                Point pointObj = (Point) geometry;
-                double[][] coordiantes = new double[1][];
-                coordiantes[0] = getPointCoordinates(pointObj);
-
-                multiPoint = GeometryObject.createMultiPoint(coordiantes, pointObj.getDimension(), pointObj.getSrid());
-            }
+        GeometryObject geometry = read(geomObj);
+        if (geometry != null) {
+            if (geometry.getGeometryType() == GeometryType.MULTI_POINT)
+                return geometry;
+            else if (geometry.getGeometryType() == GeometryType.POINT)
+                return GeometryObject.createMultiPoint(geometry.getCoordinates(), geometry.getDimension(), geometry.getSrid());
         }
 
-        return multiPoint;
-    }
-
-    private GeometryObject getMultiPoint(MultiPoint multiPoint) {
-        double[][] coordinates = new double[multiPoint.numPoints()][];
-        int dimension = multiPoint.getDimension();
-
-        if (dimension == 3) {
-            for (int i = 0; i < multiPoint.numPoints(); i++) {
-                Point point = multiPoint.getPoint(i);
-                coordinates[i] = new double[3];
-
-                coordinates[i][0] = point.x;
-                coordinates[i][1] = point.y;
-                coordinates[i][2] = point.z;
-            }
-        } else {
-            for (int i = 0; i < multiPoint.numPoints(); i++) {
-                Point point = multiPoint.getPoint(i);
-                coordinates[i] = new double[2];
-
-                coordinates[i][0] = point.x;
-                coordinates[i][1] = point.y;
-            }
-        }
-
-        return GeometryObject.createMultiPoint(coordinates, dimension, multiPoint.getSrid());
+        return null;
     }
 
     @Override
     public GeometryObject getCurve(Object geomObj) throws SQLException {
-        GeometryObject curve = null;
-
-        if (geomObj instanceof PGgeometry) {
-            Geometry geometry = ((PGgeometry) geomObj).getGeometry();
-            if (geometry.getType() != Geometry.LINESTRING)
-                return null;
-
-            curve = getCurve((LineString) geometry);
-        }
-
-        return curve;
-    }
-
-    private GeometryObject getCurve(LineString lineString) {
-        return GeometryObject.createCurve(getCurveCoordinates(lineString), lineString.getDimension(), lineString.getSrid());
-    }
-
-    private double[] getCurveCoordinates(LineString lineString) {
-        int dimension = lineString.getDimension();
-        double[] coordinates = new double[lineString.numPoints() * dimension];
-        int element = 0;
-
-        if (dimension == 3) {
-            for (Point point : lineString.getPoints()) {
-                coordinates[element++] = point.x;
-                coordinates[element++] = point.y;
-                coordinates[element++] = point.z;
-            }
-        } else {
-            for (Point point : lineString.getPoints()) {
-                coordinates[element++] = point.x;
-                coordinates[element++] = point.y;
-            }
-        }
-
-        return coordinates;
+        GeometryObject geometry = read(geomObj);
+        return geometry != null && geometry.getGeometryType() == GeometryType.LINE_STRING ? geometry : null;
     }
 
     @Override
     public GeometryObject getMultiCurve(Object geomObj) throws SQLException {
-        GeometryObject multiCurve = null;
-
-        if (geomObj instanceof PGgeometry) {
-            Geometry geometry = ((PGgeometry) geomObj).getGeometry();
-            if (geometry.getType() == Geometry.MULTILINESTRING) {
-                multiCurve = getMultiCurve((MultiLineString) geometry);
-            } else if (geometry.getType() == Geometry.LINESTRING) {
-                LineString lineStringObj = (LineString) geometry;
-                double[][] coordiantes = new double[1][];
-                coordiantes[0] = getCurveCoordinates(lineStringObj);
-
-                multiCurve = GeometryObject.createMultiPoint(coordiantes, lineStringObj.getDimension(), lineStringObj.getSrid());
-            }
+        GeometryObject geometry = read(geomObj);
+        if (geometry != null) {
+            if (geometry.getGeometryType() == GeometryType.MULTI_LINE_STRING)
+                return geometry;
+            else if (geometry.getGeometryType() == GeometryType.LINE_STRING)
+                return GeometryObject.createMultiCurve(geometry.getCoordinates(), geometry.getDimension(), geometry.getSrid());
         }
 
-        return multiCurve;
-    }
-
-    private GeometryObject getMultiCurve(MultiLineString multiLineString) {
-        double[][] coordinates = new double[multiLineString.numLines()][];
-        int dimension = multiLineString.getDimension();
-
-        for (int i = 0; i < multiLineString.numLines(); i++) {
-            LineString lineString = multiLineString.getLine(i);
-            coordinates[i] = new double[lineString.numPoints() * dimension];
-            int element = 0;
-
-            if (dimension == 3) {
-                for (Point point : lineString.getPoints()) {
-                    coordinates[i][element++] = point.x;
-                    coordinates[i][element++] = point.y;
-                    coordinates[i][element++] = point.z;
-                }
-            } else {
-                for (Point point : lineString.getPoints()) {
-                    coordinates[i][element++] = point.x;
-                    coordinates[i][element++] = point.y;
-                }
-            }
-        }
-
-        return GeometryObject.createMultiCurve(coordinates, dimension, multiLineString.getSrid());
+        return null;
     }
 
     @Override
     public GeometryObject getPolygon(Object geomObj) throws SQLException {
-        GeometryObject polygon = null;
-
-        if (geomObj instanceof PGgeometry) {
-            Geometry geometry = ((PGgeometry) geomObj).getGeometry();
-            if (geometry.getType() != Geometry.POLYGON)
-                return null;
-
-            polygon = getPolygon((Polygon) geometry);
-        }
-
-        return polygon;
-    }
-
-    private GeometryObject getPolygon(Polygon polygon) {
-        return GeometryObject.createPolygon(getPolygonCoordinates(polygon), polygon.getDimension(), polygon.getSrid());
-    }
-
-    private double[][] getPolygonCoordinates(Polygon polygon) {
-        double[][] coordinates = new double[polygon.numRings()][];
-        int dimension = polygon.getDimension();
-
-        for (int i = 0; i < polygon.numRings(); i++) {
-            LinearRing ring = polygon.getRing(i);
-            coordinates[i] = new double[ring.numPoints() * dimension];
-            int element = 0;
-
-            if (dimension == 3) {
-                for (Point point : ring.getPoints()) {
-                    coordinates[i][element++] = point.x;
-                    coordinates[i][element++] = point.y;
-                    coordinates[i][element++] = point.z;
-                }
-            } else {
-                for (Point point : ring.getPoints()) {
-                    coordinates[i][element++] = point.x;
-                    coordinates[i][element++] = point.y;
-                }
-            }
-        }
-
-        return coordinates;
+        GeometryObject geometry = read(geomObj);
+        return geometry != null && geometry.getGeometryType() == GeometryType.POLYGON ? geometry : null;
     }
 
     @Override
     public GeometryObject getMultiPolygon(Object geomObj) throws SQLException {
-        GeometryObject multiPolygon = null;
-
-        if (geomObj instanceof PGgeometry) {
-            Geometry geometry = ((PGgeometry) geomObj).getGeometry();
-            if (geometry.getType() == Geometry.MULTIPOLYGON) {
-                multiPolygon = getMultiPolygon((MultiPolygon) geometry);
-            } else if (geometry.getType() == Geometry.POLYGON) {
-                Polygon polygonObj = (Polygon) geometry;
-                double[][] coordinates = getPolygonCoordinates(polygonObj);
-                int[] exteriorRings = new int[]{0};
-
-                multiPolygon = GeometryObject.createMultiPolygon(coordinates, exteriorRings, polygonObj.getDimension(), polygonObj.getSrid());
-            }
+        GeometryObject geometry = read(geomObj);
+        if (geometry != null) {
+            if (geometry.getGeometryType() == GeometryType.MULTI_POLYGON)
+                return geometry;
+            else if (geometry.getGeometryType() == GeometryType.POLYGON)
+                return GeometryObject.createMultiPolygon(geometry.getCoordinates(), new int[]{0}, geometry.getDimension(), geometry.getSrid());
         }
 
-        return multiPolygon;
-    }
-
-    private GeometryObject getMultiPolygon(MultiPolygon multiPolygon) throws SQLException {
-        int numRings = 0;
-        for (Polygon polygon : multiPolygon.getPolygons())
-            numRings += polygon.numRings();
-
-        int[] exteriorRings = new int[multiPolygon.numPolygons()];
-        double[][] coordinates = new double[numRings][];
-        int dimension = multiPolygon.getDimension();
-
-        int ringNo = 0;
-        for (int i = 0; i < multiPolygon.numPolygons(); i++) {
-            Polygon polygon = multiPolygon.getPolygon(i);
-            exteriorRings[i] = ringNo;
-
-            for (int j = 0; j < polygon.numRings(); j++, ringNo++) {
-                LinearRing ring = polygon.getRing(j);
-                coordinates[ringNo] = new double[ring.numPoints() * dimension];
-                int element = 0;
-
-                if (dimension == 3) {
-                    for (Point point : ring.getPoints()) {
-                        coordinates[ringNo][element++] = point.x;
-                        coordinates[ringNo][element++] = point.y;
-                        coordinates[ringNo][element++] = point.z;
-                    }
-                } else {
-                    for (Point point : ring.getPoints()) {
-                        coordinates[ringNo][element++] = point.x;
-                        coordinates[ringNo][element++] = point.y;
-                    }
-                }
-            }
-        }
-
-        return GeometryObject.createMultiPolygon(coordinates, exteriorRings, dimension, multiPolygon.getSrid());
+        return null;
     }
 
     @Override
     public GeometryObject getGeometry(Object geomObj) throws SQLException {
-        if (geomObj instanceof PGgeometry) {
-            Geometry geometry = ((PGgeometry) geomObj).getGeometry();
-            switch (geometry.getType()) {
-                case Geometry.POINT:
-                    return getPoint((Point) geometry);
-                case Geometry.MULTIPOINT:
-                    return getMultiPoint((MultiPoint) geometry);
-                case Geometry.LINESTRING:
-                    return getCurve((LineString) geometry);
-                case Geometry.MULTILINESTRING:
-                    return getMultiCurve((MultiLineString) geometry);
-                case Geometry.POLYGON:
-                    return getPolygon((Polygon) geometry);
-                case Geometry.MULTIPOLYGON:
-                    return getMultiPolygon((MultiPolygon) geometry);
-                default:
-                    throw new SQLException("Cannot convert PostGIS geometry type '" + geometry.getType() + "' to internal representation: Unsupported type.");
-            }
+        return read(geomObj);
+    }
+
+    private GeometryObject read(Object geomObj) throws SQLException {
+        if (geomObj instanceof EWKBGeometry) {
+            byte[] ewkb = ((EWKBGeometry) geomObj).getBytes();
+            return ewkb != null ? ewkbReader.read(ewkb) : null;
+        } else if (geomObj instanceof PGgeometry) {
+            // geometry objects parsed by the PostGIS JDBC driver
+            return ewkbReader.read(new BinaryWriter().writeBinary(((PGgeometry) geomObj).getGeometry()));
+        } else if (geomObj instanceof PGobject) {
+            PGobject object = (PGobject) geomObj;
+            return "geometry".equals(object.getType()) && object.getValue() != null ?
+                    ewkbReader.read(EWKBWriter.fromHex(object.getValue())) :
+                    null;
+        } else if (geomObj instanceof byte[]) {
+            return ewkbReader.read((byte[]) geomObj);
         }
 
         return null;
@@ -390,43 +189,26 @@ public class GeometryConverterAdapter extends AbstractGeometryConverterAdapter {
 
     @Override
     public Object getDatabaseObject(GeometryObject geomObj, Connection connection) throws SQLException {
-        Object geometry = null;
+        if (geomObj.getGeometryType() == GeometryType.COMPOSITE_SOLID)
+            return null;
 
-        switch (geomObj.getGeometryType()) {
-            case POLYGON:
-            case LINE_STRING:
-            case POINT:
-            case MULTI_LINE_STRING:
-            case MULTI_POINT:
-            case ENVELOPE:
-            case MULTI_POLYGON:
-                String text = convertToEWKT(geomObj);
-                if (text != null) {
-                    geometry = new PGgeometry(GeometryBuilder.geomFromString(text));
-                }
-                break;
-            case SOLID:
-                // the current PostGIS JDBC driver lacks support for geometry objects of type PolyhedralSurface
-                // thus, we return the EWKT only
-                // TODO: rework as soon as the JDBC driver supports PolyhedralSurface
-                geometry = convertToEWKT(geomObj);
-                break;
-            case COMPOSITE_SOLID:
-                return null;
-        }
-
-        if (geometry == null)
+        byte[] ewkb = ewkbWriter.write(geomObj);
+        if (ewkb == null)
             throw new SQLException("Failed to convert geometry to internal database representation.");
 
-        return geometry;
+        return new EWKBGeometry(ewkb);
     }
 
     @Override
     public String getDatabaseObjectConstructor(GeometryObject geomObj) throws SQLException {
-        return "'" + getDatabaseObject(geomObj, null) + "'";
+        String ewkt = convertToEWKT(geomObj);
+        if (ewkt == null)
+            throw new SQLException("Failed to convert geometry to internal database representation.");
+
+        return "'" + ewkt + "'";
     }
 
-    private String convertToEWKT(GeometryObject geomObj) {
+    static String convertToEWKT(GeometryObject geomObj) {
         double[][] coordinates = geomObj.getCoordinates();
         int dimension = geomObj.getDimension();
 
@@ -549,7 +331,7 @@ public class GeometryConverterAdapter extends AbstractGeometryConverterAdapter {
         return ewkt.toString();
     }
 
-    private String convertPolygonCollectionToEWKT(GeometryObject geomObj, StringBuilder ewkt) {
+    private static String convertPolygonCollectionToEWKT(GeometryObject geomObj, StringBuilder ewkt) {
         double[][] coordinates = geomObj.getCoordinates();
         int dimension = geomObj.getDimension();
 
@@ -67,7 +67,9 @@ public class PostGISAdapter extends AbstractDatabaseAdapter {
 
     @Override
     public String getJDBCUrl(String server, int port, String database) {
-        return "jdbc:postgresql://" + server + ":" + port + "/" + database + "?defaultRowFetchSize=10000&reWriteBatchedInserts=true";
+        // geometry values are mapped to EWKB-based objects instead of the objects of the PostGIS JDBC driver
+        return "jdbc:postgresql://" + server + ":" + port + "/" + database + "?defaultRowFetchSize=10000&reWriteBatchedInserts=true" +
+                "&datatype.geometry=" + EWKBGeometry.class.getName();
     }
 
     @Override
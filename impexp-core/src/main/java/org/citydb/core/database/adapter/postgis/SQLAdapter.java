@@ -194,6 +194,17 @@ public class SQLAdapter extends AbstractSQLAdapter {
         return new BlobExportAdapter(connection, type, databaseAdapter.getConnectionDetails().getSchema());
     }
 
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    @Override
+    public Connection getBulkLoadConnection(Connection connection) {
+        // streams rows of prepared insert statements into the tables using COPY FROM STDIN
+        return CopyConnectionHandler.wrap(connection);
+    }
+
     @Override
     public PredicateToken getBinarySpatialPredicate(SpatialOperatorName operator, Column targetColumn, GeometryObject geometry, boolean negate) {
         PlaceHolder<GeometryObject> placeHolder = new PlaceHolder<>(geometry);
@@ -27,8 +27,6 @@
  */
 package org.citydb.core.database.adapter.postgis;
 
-import net.postgis.jdbc.PGgeometry;
-import net.postgis.jdbc.geometry.Geometry;
 import org.citydb.config.geometry.BoundingBox;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.geometry.Position;
@@ -43,6 +41,8 @@ import org.citydb.core.database.connection.DatabaseMetaData.Versioning;
 import org.citydb.core.database.version.DatabaseVersion;
 
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class UtilAdapter extends AbstractUtilAdapter {
     private final DatabaseSrs WGS843D_SRS = new DatabaseSrs(4326, "", "", "", DatabaseSrsType.GEOGRAPHIC2D, true);
@@ -193,15 +193,10 @@ public class UtilAdapter extends AbstractUtilAdapter {
                         }
                     }
 
-                    if (geomObject instanceof PGgeometry) {
-                        Geometry geom = ((PGgeometry) geomObject).getGeometry();
-
-                        double xMin = geom.getPoint(0).x;
-                        double yMin = geom.getPoint(0).y;
-                        double xMax = geom.getPoint(2).x;
-                        double yMax = geom.getPoint(2).y;
-
-                        bbox = new BoundingBox(new Position(xMin, yMin), new Position(xMax, yMax));
+                    GeometryObject envelope = databaseAdapter.getGeometryConverter().getEnvelope(geomObject);
+                    if (envelope != null) {
+                        double[] coordinates = envelope.getCoordinates(0);
+                        bbox = new BoundingBox(new Position(coordinates[0], coordinates[1]), new Position(coordinates[3], coordinates[4]));
                         bbox.setSrs(databaseAdapter.getConnectionMetaData().getReferenceSystem().getSrid());
                     }
                 }
@@ -339,6 +334,38 @@ public class UtilAdapter extends AbstractUtilAdapter {
         return deleted;
     }
 
+    @Override
+    public List<Long> deleteCityObjects(List<Long> ids, Connection connection) throws SQLException {
+        List<Long> deleted = new ArrayList<>(ids.size());
+        String type = databaseAdapter.getConnectionMetaData().getCityDBVersion().compareTo(4, 2, 0) < 0 ?
+                "integer" :
+                "bigint";
+
+        try {
+            interruptiblePreparedStatement = connection.prepareStatement("select * from "
+                    + databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_delete.delete_cityobject")
+                    + "(?)");
+            interruptiblePreparedStatement.setArray(1, connection.createArrayOf(type, ids.toArray()));
+
+            try (ResultSet rs = interruptiblePreparedStatement.executeQuery()) {
+                while (rs.next())
+                    deleted.add(rs.getLong(1));
+            }
+        } catch (SQLException e) {
+            if (!isInterrupted)
+                throw e;
+        } finally {
+            if (interruptiblePreparedStatement != null) {
+                interruptiblePreparedStatement.close();
+                interruptiblePreparedStatement = null;
+            }
+
+            isInterrupted = false;
+        }
+
+        return deleted;
+    }
+
     private DatabaseSrsType getSrsType(String srsType) {
         if ("PROJCS".equals(srsType))
             return DatabaseSrsType.PROJECTED;
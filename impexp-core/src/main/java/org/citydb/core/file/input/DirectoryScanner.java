@@ -54,6 +54,7 @@ import java.util.zip.GZIPInputStream;
 public class DirectoryScanner {
     private final TikaConfig tikaConfig;
     private final Pattern contentFile;
+    private final Pattern sequenceFile;
     private final Matcher matcher;
 
     private volatile boolean shouldRun = true;
@@ -61,7 +62,8 @@ public class DirectoryScanner {
 
     public DirectoryScanner() throws TikaException, IOException {
         tikaConfig = new TikaConfig();
-        contentFile = Pattern.compile("(?i).+\\.((gml)|(xml)|(json)|(cityjson)|(gz)|(gzip))$");
+        contentFile = Pattern.compile("(?i).+\\.((gml)|(xml)|(json)|(cityjson)|(jsonl)|(cityjsonl)|(gz)|(gzip))$");
+        sequenceFile = Pattern.compile("(?i).+\\.((jsonl)|(cityjsonl))$");
         matcher = Pattern.compile("").matcher("");
 
         // map additional file extensions to mime types
@@ -82,7 +84,7 @@ public class DirectoryScanner {
     }
 
     public String[] getDefaultFileEndings() {
-        return new String[]{"gml", "xml", "json", "cityjson", "gz", "gzip", "zip"};
+        return new String[]{"gml", "xml", "json", "cityjson", "jsonl", "cityjsonl", "gz", "gzip", "zip"};
     }
 
     public List<InputFile> listFiles(List<Path> bases, String... fileEndings) throws IOException {
@@ -214,6 +216,10 @@ public class DirectoryScanner {
     }
 
     private MediaType getMediaType(Path file) {
+        if (isSequenceFile(file.getFileName().toString())) {
+            return InputFile.APPLICATION_CITYJSON_SEQ;
+        }
+
         try (InputStream stream = TikaInputStream.get(file)) {
             Metadata metadata = new Metadata();
             metadata.set(TikaCoreProperties.RESOURCE_NAME_KEY, file.toString());
@@ -224,6 +230,10 @@ public class DirectoryScanner {
     }
 
     private MediaType getMediaType(InputStream stream, String fileName) {
+        if (fileName != null && isSequenceFile(fileName)) {
+            return InputFile.APPLICATION_CITYJSON_SEQ;
+        }
+
         try {
             Metadata metadata = new Metadata();
             if (fileName != null) {
@@ -238,6 +248,13 @@ public class DirectoryScanner {
 
     private boolean isSupportedContentType(MediaType mediaType) {
         return mediaType.equals(InputFile.APPLICATION_XML)
-                || mediaType.equals(InputFile.APPLICATION_JSON);
+                || mediaType.equals(InputFile.APPLICATION_JSON)
+                || mediaType.equals(InputFile.APPLICATION_CITYJSON_SEQ);
+    }
+
+    private boolean isSequenceFile(String fileName) {
+        // CityJSONSeq files cannot be told apart from CityJSON files by content
+        // detection since the first line is a regular CityJSON object
+        return sequenceFile.matcher(fileName).matches();
     }
 }
@@ -106,6 +106,9 @@ public class CacheTable extends AbstractCacheTable {
             case DUPLICATE_LIST:
                 this.model = CacheTableDuplicateList.getInstance();
                 break;
+            case BULK_DELETE:
+                this.model = CacheTableBulkDelete.getInstance();
+                break;
             default:
                 throw new IllegalArgumentException("Unsupported cache table type " + model);
         }
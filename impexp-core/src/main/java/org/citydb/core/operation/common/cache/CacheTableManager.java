@@ -53,16 +53,40 @@ import java.util.stream.Stream;
 public class CacheTableManager {
     private final String cacheDir;
     private final Cache primaryCache;
+    private final CacheTableManager parent;
 
-    private final Map<CacheMode, Cache> caches = new ConcurrentHashMap<>();
+    private final Map<CacheMode, Cache> caches;
     private final Map<CacheTableModel, CacheTable> cacheTables = new ConcurrentHashMap<>();
     private final Map<CacheTableModel, BranchCacheTable> branchCacheTables = new ConcurrentHashMap<>();
 
     public CacheTableManager(org.citydb.config.project.global.Cache cacheConfig) throws SQLException, IOException {
         cacheDir = cacheConfig.getLocalCachePath();
+        parent = null;
+        caches = new ConcurrentHashMap<>();
         primaryCache = getOrCreateCache(cacheConfig.getCacheMode());
     }
 
+    private CacheTableManager(CacheTableManager parent) {
+        this.parent = parent;
+        cacheDir = parent.cacheDir;
+        caches = parent.caches;
+        primaryCache = parent.primaryCache;
+    }
+
+    public CacheTableManager newSession() {
+        // a session shares the cache connections of this manager but keeps track of
+        // its own cache tables. Closing the session only drops the tables created
+        // through the session and leaves the connections open.
+        return new CacheTableManager(parent != null ? parent : this);
+    }
+
+    public Path createLocalCacheDir() throws IOException {
+        Path localCacheDir = checkAndGetCacheDir().resolve(UUID.randomUUID().toString());
+        Files.createDirectories(localCacheDir);
+        Logger.getInstance().debug("Created local cache at directory '" + localCacheDir + "'.");
+        return localCacheDir;
+    }
+
     public AbstractDatabaseAdapter getCacheAdapter() {
         return primaryCache.adapter;
     }
@@ -166,6 +190,9 @@ public class CacheTableManager {
 
     public synchronized void close() throws SQLException {
         dropAll();
+        if (parent != null) {
+            return;
+        }
 
         for (Cache cache : caches.values()) {
             cache.connection.close();
@@ -205,6 +232,10 @@ public class CacheTableManager {
     }
 
     private synchronized Cache getOrCreateCache(CacheMode mode) throws SQLException {
+        if (parent != null) {
+            return parent.getOrCreateCache(mode);
+        }
+
         Cache cache = caches.get(mode);
         if (cache == null) {
             AbstractDatabaseAdapter adapter;
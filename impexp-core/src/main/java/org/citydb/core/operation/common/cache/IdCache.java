@@ -29,7 +29,9 @@ package org.citydb.core.operation.common.cache;
 
 import org.citydb.util.log.Logger;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -180,6 +182,35 @@ public class IdCache {
         }
     }
 
+    public boolean copyToCacheTable(CacheTable cacheTable, int batchSize) throws SQLException {
+        // entries that have been drained to the backend must be copied as well.
+        // this is only possible if the backend lives in the same database.
+        if (backUp && !cacheModel.copyToCacheTable(cacheTable))
+            return false;
+
+        try (PreparedStatement ps = cacheTable.getConnection().prepareStatement("insert into " + cacheTable.getTableName() +
+                " (GMLID, ID, MAPPING, OBJECTCLASS_ID) values (?, ?, ?, ?)")) {
+            int batchCounter = 0;
+            for (Map.Entry<String, IdCacheEntry> entry : map.entrySet()) {
+                ps.setString(1, entry.getKey());
+                ps.setLong(2, entry.getValue().getId());
+                ps.setString(3, entry.getValue().getMapping());
+                ps.setInt(4, entry.getValue().getObjectClassId());
+
+                ps.addBatch();
+                if (++batchCounter == batchSize) {
+                    ps.executeBatch();
+                    batchCounter = 0;
+                }
+            }
+
+            if (batchCounter > 0)
+                ps.executeBatch();
+        }
+
+        return true;
+    }
+
     public void shutdown() throws SQLException {
         cacheModel.close();
     }
@@ -38,4 +38,8 @@ public interface IdCachingModel {
     void close() throws SQLException;
 
     String getType();
+
+    default boolean copyToCacheTable(CacheTable cacheTable) throws SQLException {
+        return false;
+    }
 }
@@ -0,0 +1,419 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.cache;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class MappedIdCache implements IdCachingModel {
+    // layout of a slot in the hash table: 64-bit key hash, offset of the key in the
+    // string heap, id, root id, offset of the mapping in the string heap, objectclass id
+    // and flags. An empty slot is marked by a key hash of 0.
+    private static final int SLOT_SIZE = 48;
+    private static final int KEY_OFFSET = 8;
+    private static final int ID = 16;
+    private static final int ROOT_ID = 24;
+    private static final int MAPPING_OFFSET = 32;
+    private static final int OBJECTCLASS_ID = 40;
+    private static final int FLAGS = 44;
+    private static final int REVERSE = 1;
+
+    private static final int INITIAL_CAPACITY = 1 << 16;
+    private static final int MAX_SLOTS_PER_SEGMENT = 1 << 24;
+    private static final int HEAP_SEGMENT_SIZE = 1 << 24;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private final Path directory;
+    private final String type;
+    private final String fileName;
+    private final Partition[] partitions;
+
+    public MappedIdCache(Path directory, String type, int partitions) {
+        this.directory = directory;
+        this.type = type;
+        fileName = type.replaceAll("\\s+", "_");
+        this.partitions = new Partition[partitions];
+
+        for (int i = 0; i < partitions; i++) {
+            this.partitions[i] = new Partition(i);
+        }
+    }
+
+    @Override
+    public void drainToDB(ConcurrentHashMap<String, IdCacheEntry> map, int drain) throws SQLException {
+        int drainCounter = 0;
+
+        try {
+            // firstly, try and write those entries which have not been requested so far
+            Iterator<Map.Entry<String, IdCacheEntry>> iter = map.entrySet().iterator();
+            while (drainCounter <= drain && iter.hasNext()) {
+                Map.Entry<String, IdCacheEntry> entry = iter.next();
+                if (!entry.getValue().isRequested()) {
+                    put(entry.getKey(), entry.getValue());
+                    iter.remove();
+                    ++drainCounter;
+                }
+            }
+
+            // secondly, drain remaining entries until drain limit
+            iter = map.entrySet().iterator();
+            while (drainCounter <= drain && iter.hasNext()) {
+                Map.Entry<String, IdCacheEntry> entry = iter.next();
+                put(entry.getKey(), entry.getValue());
+                iter.remove();
+                ++drainCounter;
+            }
+        } catch (IOException e) {
+            throw new SQLException("Failed to write entries to memory-mapped " + type + " cache.", e);
+        }
+    }
+
+    @Override
+    public IdCacheEntry lookupDB(String key) throws SQLException {
+        long hash = hash(key);
+        Partition partition = getPartition(hash);
+
+        partition.lock.readLock().lock();
+        try {
+            if (partition.table == null) {
+                return null;
+            }
+
+            long slot = partition.find(hash, key.getBytes(StandardCharsets.UTF_8));
+            if (slot < 0) {
+                return null;
+            }
+
+            MappedFile table = partition.table;
+            long position = slot * SLOT_SIZE;
+            long mappingOffset = table.getLong(position + MAPPING_OFFSET);
+
+            return new IdCacheEntry(table.getLong(position + ID),
+                    table.getLong(position + ROOT_ID),
+                    (table.getInt(position + FLAGS) & REVERSE) != 0,
+                    mappingOffset >= 0 ? new String(partition.heap.getBytes(mappingOffset), StandardCharsets.UTF_8) : null,
+                    table.getInt(position + OBJECTCLASS_ID));
+        } finally {
+            partition.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        IOException exception = null;
+        for (Partition partition : partitions) {
+            try {
+                partition.close();
+            } catch (IOException e) {
+                exception = e;
+            }
+        }
+
+        try {
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            // mapped files might not have been released yet on some platforms
+            directory.toFile().deleteOnExit();
+        }
+
+        if (exception != null) {
+            throw new SQLException("Failed to close memory-mapped " + type + " cache.", exception);
+        }
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    private void put(String key, IdCacheEntry entry) throws IOException {
+        long hash = hash(key);
+        Partition partition = getPartition(hash);
+
+        partition.lock.writeLock().lock();
+        try {
+            partition.put(hash, key, entry);
+        } finally {
+            partition.lock.writeLock().unlock();
+        }
+    }
+
+    private Partition getPartition(long hash) {
+        return partitions[(int) ((hash >>> 33) % partitions.length)];
+    }
+
+    private long hash(String key) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + key.charAt(i);
+        }
+
+        // spread the bits of the hash value
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash != 0 ? hash : 1;
+    }
+
+    private class Partition {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final int index;
+
+        private MappedFile table;
+        private MappedFile heap;
+        private long capacity;
+        private long size;
+        private long heapSize;
+        private int generation;
+
+        Partition(int index) {
+            this.index = index;
+        }
+
+        void put(long hash, String key, IdCacheEntry entry) throws IOException {
+            if (table == null) {
+                heap = new MappedFile(directory.resolve(fileName + "_" + index + ".heap"));
+                table = createTable(INITIAL_CAPACITY);
+            } else if (size + 1 > capacity * LOAD_FACTOR) {
+                resize();
+            }
+
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            long slot = find(hash, bytes);
+            if (slot >= 0) {
+                // keep the first entry for a key like the cache tables do
+                return;
+            }
+
+            long position = (-slot - 1) * SLOT_SIZE;
+            table.putLong(position, hash);
+            table.putLong(position + KEY_OFFSET, append(bytes));
+            table.putLong(position + ID, entry.getId());
+            table.putLong(position + ROOT_ID, entry.getRootId());
+            table.putLong(position + MAPPING_OFFSET, entry.getMapping() != null ?
+                    append(entry.getMapping().getBytes(StandardCharsets.UTF_8)) : -1);
+            table.putInt(position + OBJECTCLASS_ID, entry.getObjectClassId());
+            table.putInt(position + FLAGS, entry.isReverse() ? REVERSE : 0);
+            size++;
+        }
+
+        long find(long hash, byte[] key) {
+            long mask = capacity - 1;
+            long slot = hash & mask;
+
+            while (true) {
+                long position = slot * SLOT_SIZE;
+                long candidate = table.getLong(position);
+                if (candidate == 0) {
+                    // return insertion point for absent keys
+                    return -slot - 1;
+                }
+
+                // compare the stored gml:id to rule out hash collisions
+                if (candidate == hash && equals(table.getLong(position + KEY_OFFSET), key)) {
+                    return slot;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private boolean equals(long offset, byte[] key) {
+            int length = heap.getInt(offset);
+            if (length != key.length) {
+                return false;
+            }
+
+            offset += 4;
+            for (int i = 0; i < length; i++) {
+                if (heap.getByte(offset + i) != key[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private long append(byte[] bytes) throws IOException {
+            int length = bytes.length + 4;
+            if (length > HEAP_SEGMENT_SIZE) {
+                throw new IOException("The cache value exceeds the maximum length of " + (HEAP_SEGMENT_SIZE - 4) + " bytes.");
+            }
+
+            // values must not cross segment boundaries
+            long remaining = HEAP_SEGMENT_SIZE - heapSize % HEAP_SEGMENT_SIZE;
+            if (remaining < length) {
+                heapSize += remaining;
+            }
+
+            long offset = heapSize;
+            heap.ensureCapacity(offset + length, HEAP_SEGMENT_SIZE);
+            heap.putInt(offset, bytes.length);
+            heap.putBytes(offset + 4, bytes);
+            heapSize += length;
+
+            return offset;
+        }
+
+        private MappedFile createTable(long capacity) throws IOException {
+            MappedFile table = new MappedFile(directory.resolve(fileName + "_" + index + "_" + generation++ + ".table"));
+            table.ensureCapacity(capacity * SLOT_SIZE, Math.min(capacity, MAX_SLOTS_PER_SEGMENT) * SLOT_SIZE);
+            this.capacity = capacity;
+            return table;
+        }
+
+        private void resize() throws IOException {
+            MappedFile oldTable = table;
+            long oldCapacity = capacity;
+
+            table = createTable(oldCapacity << 1);
+            long mask = capacity - 1;
+            byte[] slot = new byte[SLOT_SIZE];
+
+            for (long i = 0; i < oldCapacity; i++) {
+                long position = i * SLOT_SIZE;
+                long hash = oldTable.getLong(position);
+                if (hash != 0) {
+                    long target = hash & mask;
+                    while (table.getLong(target * SLOT_SIZE) != 0) {
+                        target = (target + 1) & mask;
+                    }
+
+                    oldTable.getBytes(position, slot);
+                    table.putBytes(target * SLOT_SIZE, slot);
+                }
+            }
+
+            oldTable.close();
+        }
+
+        void close() throws IOException {
+            lock.writeLock().lock();
+            try {
+                if (table != null) {
+                    table.close();
+                    heap.close();
+                    table = null;
+                    heap = null;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private static class MappedFile {
+        private final Path file;
+        private final FileChannel channel;
+        private final List<MappedByteBuffer> segments = new ArrayList<>();
+        private long segmentSize;
+
+        MappedFile(Path file) throws IOException {
+            this.file = file;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.SPARSE);
+        }
+
+        void ensureCapacity(long capacity, long segmentSize) throws IOException {
+            if (this.segmentSize == 0) {
+                this.segmentSize = segmentSize;
+            }
+
+            while (segments.size() * this.segmentSize < capacity) {
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE,
+                        segments.size() * this.segmentSize, this.segmentSize));
+            }
+        }
+
+        long getLong(long position) {
+            return segments.get((int) (position / segmentSize)).getLong((int) (position % segmentSize));
+        }
+
+        int getInt(long position) {
+            return segments.get((int) (position / segmentSize)).getInt((int) (position % segmentSize));
+        }
+
+        byte getByte(long position) {
+            return segments.get((int) (position / segmentSize)).get((int) (position % segmentSize));
+        }
+
+        byte[] getBytes(long position) {
+            byte[] bytes = new byte[getInt(position)];
+            getBytes(position + 4, bytes);
+            return bytes;
+        }
+
+        void getBytes(long position, byte[] bytes) {
+            ByteBuffer buffer = segments.get((int) (position / segmentSize)).duplicate();
+            buffer.position((int) (position % segmentSize));
+            buffer.get(bytes);
+        }
+
+        void putLong(long position, long value) {
+            segments.get((int) (position / segmentSize)).putLong((int) (position % segmentSize), value);
+        }
+
+        void putInt(long position, int value) {
+            segments.get((int) (position / segmentSize)).putInt((int) (position % segmentSize), value);
+        }
+
+        void putBytes(long position, byte[] bytes) {
+            ByteBuffer buffer = segments.get((int) (position / segmentSize)).duplicate();
+            buffer.position((int) (position % segmentSize));
+            buffer.put(bytes);
+        }
+
+        void close() throws IOException {
+            segments.clear();
+            channel.close();
+
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // mapped files might not have been released yet on some platforms
+                file.toFile().deleteOnExit();
+            }
+        }
+    }
+}
@@ -29,6 +29,10 @@ package org.citydb.core.operation.common.cache.model;
 
 import org.citydb.core.database.adapter.AbstractSQLAdapter;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
 public class CacheTableBasic extends AbstractCacheTableModel {
     public static CacheTableBasic instance = null;
 
@@ -44,6 +48,14 @@ public class CacheTableBasic extends AbstractCacheTableModel {
         return CacheTableModel.BASIC;
     }
 
+    @Override
+    public void createIndexes(Connection conn, String tableName, String properties) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("create index idx_" + tableName + " on " + tableName + " (ID) " + properties);
+            stmt.executeUpdate("create index idx2_" + tableName + " on " + tableName + " (GMLID) " + properties);
+        }
+    }
+
     @Override
     protected String getColumns(AbstractSQLAdapter sqlAdapter) {
         return "(" +
@@ -48,7 +48,8 @@ public enum CacheTableModel {
     GROUP_TO_CITYOBJECT("GTC"),
     GLOBAL_APPEARANCE("GA"),
     ID_LIST("IDL"),
-    DUPLICATE_LIST("DUL");
+    DUPLICATE_LIST("DUL"),
+    BULK_DELETE("BD");
 
     private final String value;
 
@@ -0,0 +1,164 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.common.util;
+
+import org.citydb.config.geometry.GeometryObject;
+import org.citydb.config.geometry.GeometryType;
+import org.citydb.config.project.database.DatabaseSrs;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.api.referencing.operation.TransformException;
+import org.geotools.referencing.CRS;
+
+public class CoordinateTransformer {
+    private final MathTransform transform;
+    private final int sourceSrid;
+    private final int targetSrid;
+    private final int sourceDimension;
+    private final int targetDimension;
+    private final boolean swapSourceAxes;
+    private final boolean swapTargetAxes;
+
+    private double[] sourceBuffer = new double[0];
+    private double[] targetBuffer = new double[0];
+
+    // instances are not thread-safe and are meant to be owned by a single worker thread
+    public CoordinateTransformer(DatabaseSrs sourceSrs, DatabaseSrs targetSrs, AbstractDatabaseAdapter databaseAdapter) throws FactoryException {
+        CoordinateReferenceSystem sourceCrs = databaseAdapter.getUtil().decodeDatabaseSrs(sourceSrs);
+        CoordinateReferenceSystem targetCrs = databaseAdapter.getUtil().decodeDatabaseSrs(targetSrs);
+
+        // a lenient transformation silently drops the datum shift if no Bursa-Wolf parameters are known,
+        // so callers have to fall back to the database in that case
+        transform = CRS.findMathTransform(sourceCrs, targetCrs, false);
+        sourceSrid = sourceSrs.getSrid();
+        targetSrid = targetSrs.getSrid();
+        sourceDimension = transform.getSourceDimensions();
+        targetDimension = transform.getTargetDimensions();
+
+        // database coordinates are always stored in x/y order
+        swapSourceAxes = CRS.getAxisOrder(sourceCrs) == CRS.AxisOrder.NORTH_EAST;
+        swapTargetAxes = CRS.getAxisOrder(targetCrs) == CRS.AxisOrder.NORTH_EAST;
+    }
+
+    public int getSourceSrid() {
+        return sourceSrid;
+    }
+
+    public int getTargetSrid() {
+        return targetSrid;
+    }
+
+    public boolean transform(GeometryObject geometryObject) {
+        if (geometryObject == null || geometryObject.getSrid() != sourceSrid) {
+            return true;
+        }
+
+        try {
+            if (geometryObject.getGeometryType() == GeometryType.ENVELOPE) {
+                transformEnvelope(geometryObject.getCoordinates(0), geometryObject.getDimension());
+            } else {
+                for (double[] coordinates : geometryObject.getCoordinates()) {
+                    transformCoordinates(coordinates, geometryObject.getDimension());
+                }
+            }
+
+            geometryObject.setSrid(targetSrid);
+            return true;
+        } catch (TransformException e) {
+            return false;
+        }
+    }
+
+    public void transformCoordinates(double[] coordinates, int dimension) throws TransformException {
+        int numPoints = coordinates.length / dimension;
+        if (numPoints == 0) {
+            return;
+        }
+
+        double[] source = getSourceBuffer(numPoints * sourceDimension);
+        for (int i = 0, j = 0; i < numPoints * dimension; i += dimension, j += sourceDimension) {
+            source[j] = swapSourceAxes ? coordinates[i + 1] : coordinates[i];
+            source[j + 1] = swapSourceAxes ? coordinates[i] : coordinates[i + 1];
+            if (sourceDimension > 2) {
+                source[j + 2] = dimension > 2 ? coordinates[i + 2] : 0;
+            }
+        }
+
+        double[] target = getTargetBuffer(numPoints * targetDimension);
+        transform.transform(source, 0, target, 0, numPoints);
+
+        for (int i = 0, j = 0; i < numPoints * dimension; i += dimension, j += targetDimension) {
+            coordinates[i] = swapTargetAxes ? target[j + 1] : target[j];
+            coordinates[i + 1] = swapTargetAxes ? target[j] : target[j + 1];
+            if (dimension > 2 && targetDimension > 2) {
+                coordinates[i + 2] = target[j + 2];
+            }
+        }
+    }
+
+    public void transformEnvelope(double[] envelope, int dimension) throws TransformException {
+        double minX = envelope[0], minY = envelope[1];
+        double maxX = envelope[dimension], maxY = envelope[dimension + 1];
+
+        // transform all corners since the envelope may be rotated or curved in the target system
+        double[] corners = dimension == 2 ?
+                new double[]{minX, minY, maxX, minY, maxX, maxY, minX, maxY} :
+                new double[]{minX, minY, envelope[2], maxX, minY, envelope[2], maxX, maxY, envelope[5], minX, maxY, envelope[5]};
+        transformCoordinates(corners, dimension);
+
+        for (int i = 0; i < dimension; i++) {
+            envelope[i] = Double.MAX_VALUE;
+            envelope[dimension + i] = -Double.MAX_VALUE;
+        }
+
+        for (int i = 0; i < corners.length; i += dimension) {
+            for (int j = 0; j < dimension; j++) {
+                envelope[j] = Math.min(envelope[j], corners[i + j]);
+                envelope[dimension + j] = Math.max(envelope[dimension + j], corners[i + j]);
+            }
+        }
+    }
+
+    private double[] getSourceBuffer(int size) {
+        if (sourceBuffer.length < size) {
+            sourceBuffer = new double[size];
+        }
+
+        return sourceBuffer;
+    }
+
+    private double[] getTargetBuffer(int size) {
+        if (targetBuffer.length < size) {
+            targetBuffer = new double[size];
+        }
+
+        return targetBuffer;
+    }
+}
@@ -37,6 +37,7 @@ import org.citydb.core.operation.deleter.util.DeleteLogger;
 import org.citydb.core.operation.deleter.util.InternalConfig;
 import org.citydb.util.concurrent.Worker;
 import org.citydb.util.event.Event;
+import org.citydb.util.event.EventAggregator;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.*;
@@ -45,7 +46,7 @@ import org.citydb.util.log.Logger;
 import java.io.IOException;
 import java.sql.*;
 import java.time.OffsetDateTime;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -58,6 +59,8 @@ public class DBDeleteWorker extends Worker<DBSplittingResult> implements EventHa
     private final DeleteLogger deleteLogger;
     private final InternalConfig internalConfig;
     private final EventDispatcher eventDispatcher;
+    private final EventAggregator eventAggregator;
+    private final Map<Integer, Long> objectCounter = new HashMap<>();
     private final DeleteMode mode;
 
     private volatile boolean shouldRun = true;
@@ -76,6 +79,7 @@ public class DBDeleteWorker extends Worker<DBSplittingResult> implements EventHa
         this.internalConfig = internalConfig;
         this.eventDispatcher = eventDispatcher;
 
+        eventAggregator = eventDispatcher.getEventAggregator();
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
 
         mode = config.getDeleteConfig().getMode();
@@ -133,6 +137,10 @@ public class DBDeleteWorker extends Worker<DBSplittingResult> implements EventHa
                 log.logStackTrace(e);
             }
 
+            if (!objectCounter.isEmpty()) {
+                eventDispatcher.triggerEvent(new ObjectCounterEvent(objectCounter, eventChannel));
+            }
+
             eventDispatcher.removeEventHandler(this);
         }
     }
@@ -183,10 +191,9 @@ public class DBDeleteWorker extends Worker<DBSplittingResult> implements EventHa
                 log.debug(work.getObjectType() + " (ID = " + objectId + ") is already deleted.");
             }
 
-            Map<Integer, Long> objectCounter = Collections.singletonMap(work.getObjectType().getObjectClassId(), 1L);
-            eventDispatcher.triggerEvent(new ObjectCounterEvent(objectCounter, eventChannel));
-            eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, 1L));
-            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+            objectCounter.merge(work.getObjectType().getObjectClassId(), 1L, Long::sum);
+            eventAggregator.updateCounter(CounterType.TOPLEVEL_FEATURE, 1);
+            eventAggregator.updateProgress(1);
         } catch (SQLException e) {
             eventDispatcher.triggerSyncEvent(new InterruptEvent("Failed to " + mode.value() + " " + work.getObjectType() + " (ID = " + work.getId() + ").", LogLevel.ERROR, e, eventChannel));
         } catch (IOException e) {
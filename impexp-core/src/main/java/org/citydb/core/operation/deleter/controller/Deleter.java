@@ -33,6 +33,7 @@ import org.citydb.config.project.common.IdList;
 import org.citydb.config.project.database.Workspace;
 import org.citydb.config.project.deleter.DeleteMode;
 import org.citydb.config.project.global.CacheMode;
+import org.citydb.config.project.global.LogLevel;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.IndexStatusInfo;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
@@ -166,6 +167,8 @@ public class Deleter implements EventHandler {
                         autoCommit,
                         config.getDatabaseConfig().getActiveConnection());
                 log.info("Log file of deleted top-level features: " + deleteLogger.getLogFilePath().toString());
+                deleteLogger.setErrorHandler(e -> eventDispatcher.triggerEvent(new InterruptEvent(
+                        "A fatal error occurred while updating the delete log.", LogLevel.ERROR, e, eventChannel)));
             } catch (IOException e) {
                 throw new DeleteException("Failed to create log file for deleted top-level features.", e);
             }
@@ -202,6 +205,7 @@ public class Deleter implements EventHandler {
                 .withAutoCommit(autoCommit);
         CacheTableManager cacheTableManager = null;
         CacheTable cacheTable = null;
+        CacheTable bulkDeleteTable = null;
 
         try {
             if (config.getDeleteConfig().isUseDeleteList()
@@ -237,6 +241,23 @@ public class Deleter implements EventHandler {
                 }
             }
 
+            // use set-based bulk deletes if requested. the top-level features to be deleted
+            // are collected in a temporary database table and deleted in chunks
+            if (!preview
+                    && mode == DeleteMode.DELETE
+                    && config.getDeleteConfig().getBulkDelete().isEnabled()) {
+                log.info("Using bulk delete with a chunk size of " + config.getDeleteConfig().getBulkDelete().getChunkSize() + ".");
+                try {
+                    if (cacheTableManager == null) {
+                        cacheTableManager = new CacheTableManager(config.getGlobalConfig().getCache());
+                    }
+
+                    bulkDeleteTable = cacheTableManager.createCacheTable(CacheTableModel.BULK_DELETE, CacheMode.DATABASE);
+                } catch (SQLException | IOException e) {
+                    throw new DeleteException("Failed to initialize temporary bulk delete cache.", e);
+                }
+            }
+
             if (preview) {
                 eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("delete.dialog.title.preview")));
                 log.info("Running " + mode.value() + " in preview mode. Affected city objects will not be " +
@@ -279,6 +300,7 @@ public class Deleter implements EventHandler {
                         dbWorkerPool,
                         query,
                         cacheTable,
+                        bulkDeleteTable,
                         deleteLogger,
                         internalConfig,
                         config,
@@ -30,6 +30,7 @@ package org.citydb.core.operation.deleter.database;
 import org.citydb.config.Config;
 import org.citydb.config.project.common.IdColumnType;
 import org.citydb.config.project.deleter.DeleteMode;
+import org.citydb.config.project.global.LogLevel;
 import org.citydb.config.project.global.UpdatingPersonMode;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.connection.ConnectionManager;
@@ -75,10 +76,7 @@ import org.citygml4j.model.module.citygml.CoreModule;
 import java.io.IOException;
 import java.sql.*;
 import java.time.Instant;
-import java.util.Collections;
-import java.util.GregorianCalendar;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 
 public class DeleteManager {
     private final Logger log = Logger.getInstance();
@@ -88,6 +86,7 @@ public class DeleteManager {
     private final Query query;
     private final Config config;
     private final CacheTable cacheTable;
+    private final CacheTable bulkDeleteTable;
     private final DeleteLogger deleteLogger;
     private final InternalConfig internalConfig;
     private final EventDispatcher eventDispatcher;
@@ -100,6 +99,7 @@ public class DeleteManager {
     private final boolean preview;
 
     private volatile boolean shouldRun = true;
+    private volatile boolean isBulkDeleting;
     private boolean calculateNumberMatched;
     private PreparedStatement interruptibleStmt;
 
@@ -109,6 +109,7 @@ public class DeleteManager {
             WorkerPool<DBSplittingResult> dbWorkerPool,
             Query query,
             CacheTable cacheTable,
+            CacheTable bulkDeleteTable,
             DeleteLogger deleteLogger,
             InternalConfig internalConfig,
             Config config,
@@ -120,6 +121,7 @@ public class DeleteManager {
         this.dbWorkerPool = dbWorkerPool;
         this.query = query;
         this.cacheTable = cacheTable;
+        this.bulkDeleteTable = bulkDeleteTable;
         this.deleteLogger = deleteLogger;
         this.internalConfig = internalConfig;
         this.config = config;
@@ -128,9 +130,13 @@ public class DeleteManager {
         this.preview = preview;
 
         databaseAdapter = DatabaseConnectionPool.getInstance().getActiveDatabaseAdapter();
-        connection = cacheTable != null ?
-                cacheTable.getConnection() :
-                DatabaseConnectionPool.getInstance().getConnection();
+        if (cacheTable != null) {
+            connection = cacheTable.getConnection();
+        } else if (bulkDeleteTable != null) {
+            connection = bulkDeleteTable.getConnection();
+        } else {
+            connection = DatabaseConnectionPool.getInstance().getConnection();
+        }
 
         connection.setAutoCommit(false);
 
@@ -163,6 +169,10 @@ public class DeleteManager {
                 //
             }
         }
+
+        if (isBulkDeleting) {
+            databaseAdapter.getUtil().interruptDatabaseOperation();
+        }
     }
 
     public void deleteObjects() throws SQLException, IOException, QueryBuildException {
@@ -177,7 +187,7 @@ public class DeleteManager {
             }
         } finally {
             // do not close cache table connection
-            if (connection != null && cacheTable == null) {
+            if (connection != null && cacheTable == null && bulkDeleteTable == null) {
                 connection.close();
             }
         }
@@ -249,6 +259,8 @@ public class DeleteManager {
 
             eventDispatcher.triggerEvent(new ObjectCounterEvent(counter, eventChannel));
             eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, updated));
+        } else if (bulkDeleteTable != null) {
+            doBulkDelete(select);
         } else {
             doDelete(select, hits);
         }
@@ -282,6 +294,112 @@ public class DeleteManager {
         }
     }
 
+    private void doBulkDelete(Select select) throws SQLException {
+        // collect the affected top-level features in a temporary table
+        Table table = new Table(select);
+        Select candidates = new Select().addProjection(
+                table.getColumn(MappingConstants.ID),
+                table.getColumn(MappingConstants.OBJECTCLASS_ID),
+                table.getColumn(MappingConstants.GMLID));
+
+        long hits;
+        try {
+            interruptibleStmt = connection.prepareStatement("insert into " + bulkDeleteTable.getTableName() +
+                    " (ID, OBJECTCLASS_ID, GMLID) " + candidates);
+            databaseAdapter.getSQLAdapter().fillPlaceHolders(candidates, interruptibleStmt, connection);
+            hits = interruptibleStmt.executeLargeUpdate();
+        } catch (SQLException e) {
+            if (shouldRun) {
+                throw e;
+            } else {
+                return;
+            }
+        } finally {
+            if (interruptibleStmt != null) {
+                interruptibleStmt.close();
+            }
+        }
+
+        if (hits == 0) {
+            log.info("No top-level feature matches the query expression.");
+            return;
+        }
+
+        int chunkSize = config.getDeleteConfig().getBulkDelete().getChunkSize();
+        log.debug("Deleting " + hits + " top-level feature(s) in chunks of " + chunkSize + ".");
+        eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) hits));
+
+        // delete the top-level features chunk by chunk using set-based operations
+        try (PreparedStatement stmt = connection.prepareStatement("select ID, OBJECTCLASS_ID, GMLID from " +
+                bulkDeleteTable.getTableName() + " order by ID")) {
+            stmt.setFetchSize(chunkSize);
+            try (ResultSet rs = stmt.executeQuery()) {
+                List<DBSplittingResult> chunk = new ArrayList<>(chunkSize);
+                while (shouldRun && rs.next()) {
+                    long id = rs.getLong(1);
+                    int objectClassId = rs.getInt(2);
+                    String gmlId = rs.getString(3);
+
+                    AbstractObjectType<?> objectType = schemaMapping.getAbstractObjectType(objectClassId);
+                    if (objectType == null) {
+                        log.error("Failed to map the object class id '" + objectClassId + "' to an object type (ID: " + id + ").");
+                        continue;
+                    }
+
+                    chunk.add(new DBSplittingResult(id, objectType, gmlId));
+                    if (chunk.size() == chunkSize) {
+                        deleteChunk(chunk);
+                        chunk.clear();
+                    }
+                }
+
+                if (shouldRun && !chunk.isEmpty()) {
+                    deleteChunk(chunk);
+                }
+            }
+        }
+    }
+
+    private void deleteChunk(List<DBSplittingResult> chunk) {
+        try {
+            isBulkDeleting = true;
+            List<Long> ids = new ArrayList<>(chunk.size());
+            chunk.forEach(object -> ids.add(object.getId()));
+
+            Set<Long> deleted = new HashSet<>(databaseAdapter.getUtil().deleteCityObjects(ids, connectionManager.getConnection()));
+            if (!shouldRun) {
+                return;
+            }
+
+            Map<Integer, Long> objectCounter = new HashMap<>();
+            for (DBSplittingResult object : chunk) {
+                if (deleted.contains(object.getId())) {
+                    log.debug(object.getObjectType() + " (ID = " + object.getId() + ") deleted.");
+                    if (deleteLogger != null) {
+                        deleteLogger.write(object.getObjectType().getPath(), object.getId(), object.getGmlId());
+                    }
+                } else {
+                    log.debug(object.getObjectType() + " (ID = " + object.getId() + ") is already deleted.");
+                }
+
+                objectCounter.merge(object.getObjectType().getObjectClassId(), 1L, Long::sum);
+            }
+
+            eventDispatcher.triggerEvent(new ObjectCounterEvent(objectCounter, eventChannel));
+            eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, chunk.size()));
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, chunk.size()));
+        } catch (SQLException e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("Failed to delete a chunk of " + chunk.size() +
+                    " top-level features (IDs " + chunk.get(0).getId() + " to " + chunk.get(chunk.size() - 1).getId() + ").",
+                    LogLevel.ERROR, e, eventChannel));
+        } catch (IOException e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("A fatal error occurred while updating the delete log.",
+                    LogLevel.ERROR, e, eventChannel));
+        } finally {
+            isBulkDeleting = false;
+        }
+    }
+
     private long doTerminate(Select select) throws SQLException, IOException {
         if (deleteLogger != null) {
             try (PreparedStatement stmt = databaseAdapter.getSQLAdapter().prepareStatement(select, connection);
@@ -31,6 +31,7 @@ package org.citydb.core.operation.deleter.util;
 import org.citydb.config.project.database.DatabaseConnection;
 import org.citydb.config.project.deleter.DeleteMode;
 import org.citydb.core.util.CoreConstants;
+import org.citydb.util.log.AsyncLogWriter;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -39,11 +40,14 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class DeleteLogger {
     private final LocalDateTime date = LocalDateTime.now();
     private final Path logFile;
     private final BufferedWriter writer;
+    private final AsyncLogWriter logWriter;
     private final DeleteMode mode;
 
     public DeleteLogger(Path logFile, DeleteMode mode, boolean autoCommit, DatabaseConnection connection) throws IOException {
@@ -62,12 +66,17 @@ public class DeleteLogger {
         this.mode = mode;
         writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8);
         writeHeader(autoCommit, connection);
+        logWriter = new AsyncLogWriter(writer, 8192, 1, TimeUnit.SECONDS);
     }
 
     public Path getLogFilePath() {
         return logFile;
     }
 
+    public void setErrorHandler(Consumer<IOException> errorHandler) {
+        logWriter.withErrorHandler(errorHandler);
+    }
+
     private void writeHeader(boolean autoCommit, DatabaseConnection connection) throws IOException {
         writer.write('#' + getClass().getPackage().getImplementationTitle() +
                 ", version \"" + getClass().getPackage().getImplementationVersion() + "\"");
@@ -87,12 +96,12 @@ public class DeleteLogger {
     }
 
     private void writeFooter(boolean success) throws IOException {
-        writer.write("#" + (mode == DeleteMode.TERMINATE ? "Terminate" : "Delete"));
-        writer.write(success ? " successfully finished." : " aborted.");
+        logWriter.write("#" + (mode == DeleteMode.TERMINATE ? "Terminate" : "Delete") +
+                (success ? " successfully finished." : " aborted."));
     }
 
     public void write(String type, long id, String gmlId) throws IOException {
-        writer.write(type + "," + id + "," + (gmlId != null ? gmlId : "") + System.lineSeparator());
+        logWriter.write(type + "," + id + "," + (gmlId != null ? gmlId : ""));
     }
 
     public String getDefaultLogFileName() {
@@ -101,6 +110,6 @@ public class DeleteLogger {
 
     public void close(boolean success) throws IOException {
         writeFooter(success);
-        writer.close();
+        logWriter.close();
     }
 }
\ No newline at end of file
@@ -52,6 +52,7 @@ import org.citydb.core.util.CoreConstants;
 import org.citydb.util.concurrent.Worker;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.Event;
+import org.citydb.util.event.EventAggregator;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.*;
@@ -75,6 +76,7 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
     private final CityGMLExportManager exporter;
     private final FeatureWriter featureWriter;
     private final EventDispatcher eventDispatcher;
+    private final EventAggregator eventAggregator;
     private final InternalConfig internalConfig;
     private final boolean replaceIds;
     private final boolean useTiling;
@@ -83,8 +85,6 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
 
     private Tile activeTile;
     private DatabaseSrs targetSrs;
-    private int globalAppearanceCounter = 0;
-    private int topLevelFeatureCounter = 0;
 
     public DBExportWorker(Connection connection,
                           AbstractDatabaseAdapter databaseAdapter,
@@ -102,6 +102,7 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
         this.connection = connection;
         this.featureWriter = featureWriter;
         this.eventDispatcher = eventDispatcher;
+        eventAggregator = eventDispatcher.getEventAggregator();
         this.internalConfig = internalConfig;
 
         replaceIds = config.getExportConfig().getResourceId().isReplaceWithUUIDs();
@@ -156,9 +157,6 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
                 }
             }
 
-            eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, topLevelFeatureCounter));
-            eventDispatcher.triggerEvent(new CounterEvent(CounterType.GLOBAL_APPEARANCE, globalAppearanceCounter));
-            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, topLevelFeatureCounter + globalAppearanceCounter));
             eventDispatcher.triggerEvent(new ObjectCounterEvent(exporter.getAndResetObjectCounter(), eventChannel));
             eventDispatcher.triggerEvent(new GeometryCounterEvent(exporter.getAndResetGeometryCounter(), eventChannel));
         } finally {
@@ -189,10 +187,9 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
             AbstractFeature feature = null;
             if (work.getObjectType().getObjectClassId() == MappingConstants.APPEARANCE_OBJECTCLASS_ID) {
                 feature = exporter.exportGlobalAppearance(work.getId());
-                if (feature != null && ++globalAppearanceCounter == 20) {
-                    eventDispatcher.triggerEvent(new CounterEvent(CounterType.GLOBAL_APPEARANCE, globalAppearanceCounter));
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, globalAppearanceCounter));
-                    globalAppearanceCounter = 0;
+                if (feature != null) {
+                    eventAggregator.updateCounter(CounterType.GLOBAL_APPEARANCE, 1);
+                    eventAggregator.updateProgress(1);
                 }
             } else {
                 if (!useTiling || isOnTile(work.getEnvelope())) {
@@ -208,11 +205,8 @@ public class DBExportWorker extends Worker<DBSplittingResult> implements EventHa
                             }
                         }
 
-                        if (++topLevelFeatureCounter == 20) {
-                            eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, topLevelFeatureCounter));
-                            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, topLevelFeatureCounter));
-                            topLevelFeatureCounter = 0;
-                        }
+                        eventAggregator.updateCounter(CounterType.TOPLEVEL_FEATURE, 1);
+                        eventAggregator.updateProgress(1);
                     }
                 }
             }
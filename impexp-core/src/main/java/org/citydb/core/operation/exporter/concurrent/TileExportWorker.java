@@ -0,0 +1,110 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.concurrent;
+
+import org.citydb.config.project.global.LogLevel;
+import org.citydb.core.operation.exporter.CityGMLExportException;
+import org.citydb.core.operation.exporter.controller.TileExporter;
+import org.citydb.core.query.filter.tiling.Tile;
+import org.citydb.util.concurrent.Worker;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.EventType;
+import org.citydb.util.event.global.InterruptEvent;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TileExportWorker extends Worker<Tile> implements EventHandler {
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile boolean shouldRun = true;
+    private volatile boolean shouldWork = true;
+
+    private final TileExporter tileExporter;
+    private final EventDispatcher eventDispatcher;
+
+    public TileExportWorker(TileExporter tileExporter, EventDispatcher eventDispatcher) {
+        this.tileExporter = tileExporter;
+        this.eventDispatcher = eventDispatcher;
+
+        eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
+    }
+
+    @Override
+    public void interrupt() {
+        shouldRun = false;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (firstWork != null) {
+                doWork(firstWork);
+                firstWork = null;
+            }
+
+            while (shouldRun) {
+                try {
+                    Tile work = workQueue.take();
+                    doWork(work);
+                } catch (InterruptedException ie) {
+                    // re-check state
+                }
+            }
+        } finally {
+            eventDispatcher.removeEventHandler(this);
+        }
+    }
+
+    private void doWork(Tile work) {
+        final ReentrantLock runLock = this.runLock;
+        runLock.lock();
+
+        try {
+            if (!shouldWork) {
+                return;
+            }
+
+            tileExporter.export(work);
+        } catch (CityGMLExportException e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent(e.getMessage(), LogLevel.ERROR, e, eventChannel));
+        } catch (Throwable e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("A fatal error occurred during export of tile [" +
+                    work.getRow() + "," + work.getColumn() + "].", LogLevel.ERROR, e, eventChannel));
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        if (event.getChannel() == eventChannel) {
+            shouldWork = false;
+        }
+    }
+}
@@ -28,35 +28,24 @@
 package org.citydb.core.operation.exporter.controller;
 
 import org.citydb.config.Config;
-import org.citydb.config.i18n.Language;
 import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.database.Workspace;
 import org.citydb.config.project.exporter.OutputFormat;
-import org.citydb.config.project.exporter.SimpleTilingOptions;
 import org.citydb.config.project.exporter.XLink;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.IndexStatusInfo.IndexType;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.core.file.FileType;
-import org.citydb.core.file.OutputFile;
 import org.citydb.core.file.output.OutputFileFactory;
 import org.citydb.core.operation.common.cache.CacheTableManager;
-import org.citydb.core.operation.common.cache.IdCacheManager;
-import org.citydb.core.operation.common.cache.IdCacheType;
 import org.citydb.core.operation.common.util.AffineTransformer;
-import org.citydb.core.operation.common.xlink.DBXlink;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.CityGMLExportException.ErrorCode;
-import org.citydb.core.operation.exporter.cache.GeometryGmlIdCache;
-import org.citydb.core.operation.exporter.cache.ObjectGmlIdCache;
-import org.citydb.core.operation.exporter.concurrent.DBExportWorkerFactory;
-import org.citydb.core.operation.exporter.concurrent.DBExportXlinkWorkerFactory;
-import org.citydb.core.operation.exporter.database.content.DBSplitter;
-import org.citydb.core.operation.exporter.database.content.DBSplittingResult;
+import org.citydb.core.operation.exporter.concurrent.TileExportWorkerFactory;
 import org.citydb.core.operation.exporter.util.InternalConfig;
 import org.citydb.core.operation.exporter.writer.FeatureWriteException;
-import org.citydb.core.operation.exporter.writer.FeatureWriter;
 import org.citydb.core.operation.exporter.writer.FeatureWriterFactory;
 import org.citydb.core.operation.exporter.writer.FeatureWriterFactoryBuilder;
 import org.citydb.core.plugin.PluginException;
@@ -68,9 +57,6 @@ import org.citydb.core.query.Query;
 import org.citydb.core.query.builder.QueryBuildException;
 import org.citydb.core.query.builder.config.ConfigQueryBuilder;
 import org.citydb.core.query.filter.FilterException;
-import org.citydb.core.query.filter.selection.Predicate;
-import org.citydb.core.query.filter.selection.SelectionFilter;
-import org.citydb.core.query.filter.selection.operator.logical.LogicalOperationFactory;
 import org.citydb.core.query.filter.tiling.Tile;
 import org.citydb.core.query.filter.tiling.Tiling;
 import org.citydb.core.registry.ObjectRegistry;
@@ -86,6 +72,7 @@ import org.citygml4j.builder.jaxb.CityGMLBuilder;
 import org.citygml4j.model.citygml.cityobjectgroup.CityObjectGroup;
 import org.citygml4j.model.gml.GMLClass;
 import org.citygml4j.model.module.citygml.CityGMLModuleType;
+import org.geotools.api.referencing.FactoryException;
 
 import java.io.File;
 import java.io.IOException;
@@ -117,9 +104,7 @@ public class Exporter implements EventHandler {
     private final Map<Integer, Long> totalObjectCounter = new HashMap<>();
     private final Map<GMLClass, Long> totalGeometryCounter = new EnumMap<>(GMLClass.class);
 
-    private DBSplitter dbSplitter;
-    private WorkerPool<DBSplittingResult> dbWorkerPool;
-    private WorkerPool<DBXlink> xlinkExporterPool;
+    private volatile TileExporter tileExporter;
     private boolean useTiling;
 
     private volatile boolean shouldRun = true;
@@ -260,6 +245,17 @@ public class Exporter implements EventHandler {
             if (targetSrs.is3D() != databaseAdapter.getConnectionMetaData().getReferenceSystem().is3D()) {
                 throw new CityGMLExportException("Dimensionality of reference system for geometry transformation does not match.");
             }
+
+            if (config.getExportConfig().getGeneralOptions().isClientSideCoordinateTransformation()) {
+                try {
+                    // check once whether GeoTools can resolve an exact transformation between both reference systems
+                    new CoordinateTransformer(databaseAdapter.getConnectionMetaData().getReferenceSystem(), targetSrs, databaseAdapter);
+                    internalConfig.setTransformCoordinatesOnClient(true);
+                    log.debug("Coordinates are transformed on the client side.");
+                } catch (FactoryException e) {
+                    log.warn("Failed to create a client-side coordinate transformation to SRID " + targetSrs.getSrid() + ". Coordinates are transformed in the database instead.", e);
+                }
+            }
         }
 
         // affine transformation
@@ -300,8 +296,6 @@ public class Exporter implements EventHandler {
 
         // tiling
         Tiling tiling = query.getTiling();
-        SimpleTilingOptions tilingOptions = null;
-        Predicate predicate = null;
         useTiling = query.isSetTiling();
         int rows = useTiling ? tiling.getRows() : 1;
         int columns = useTiling ? tiling.getColumns() : 1;
@@ -310,12 +304,11 @@ public class Exporter implements EventHandler {
             try {
                 // transform tiling extent to database srs
                 tiling.transformExtent(databaseAdapter.getConnectionMetaData().getReferenceSystem(), databaseAdapter);
-                predicate = query.isSetSelection() ? query.getSelection().getPredicate() : null;
-                tilingOptions = tiling.getTilingOptions() instanceof SimpleTilingOptions ? (SimpleTilingOptions) tiling.getTilingOptions() : new SimpleTilingOptions();
             } catch (FilterException e) {
                 throw new CityGMLExportException("Failed to transform tiling extent.", e);
             }
-        } else if (outputFormat == OutputFormat.CITYJSON) {
+        } else if (outputFormat == OutputFormat.CITYJSON
+                && !config.getExportConfig().getCityJSONOptions().isUseCityJSONSeq()) {
             // log warning if CityJSON is used without tiling
             log.warn("To avoid memory issues, a tiled export should be used for CityJSON.");
         }
@@ -369,257 +362,50 @@ public class Exporter implements EventHandler {
             }
         }
 
-        int remainingTiles = rows * columns;
-
-        for (int row = 0; shouldRun && row < rows; row++) {
-            for (int column = 0; shouldRun && column < columns; column++) {
-                String fileName = outputFile.getFileName().toString();
-                Path folder = outputFile.getParent();
-                if (folder == null)
-                    folder = Paths.get("").toAbsolutePath().normalize();
-
-                if (useTiling && tilingOptions != null) {
-                    Tile tile;
-                    try {
-                        tile = tiling.getTileAt(row, column);
-                        tiling.setActiveTile(tile);
-
-                        Predicate bboxFilter = tile.getFilterPredicate(databaseAdapter);
-                        query.setSelection(predicate != null ?
-                                new SelectionFilter(LogicalOperationFactory.AND(predicate, bboxFilter)) :
-                                new SelectionFilter(bboxFilter));
-                    } catch (FilterException e) {
-                        throw new CityGMLExportException("Failed to get tile at [" + row + "," + column + "].", e);
-                    }
-
-                    // adapt output folder for tile
-                    if (tilingOptions.isUseSubDir()) {
-                        String tilePath = tilingOptions.getSubDir().formatAndResolveTokens(row, column, tile.getExtent());
-                        folder = folder.resolve(tilePath);
-                    }
-
-                    // adapt filename for tile
-                    if (tilingOptions.isUseFilenameSuffix()) {
-                        String suffix = tilingOptions.getFilenameSuffix().formatAndResolveTokens(row, column, tile.getExtent());
-                        String extension = Util.getFileExtension(fileName);
-
-                        fileName = tilingOptions.isUseSuffixAsFilename() ?
-                                suffix :
-                                Util.stripFileExtension(fileName) + suffix;
-
-                        if (!extension.isEmpty()) {
-                            fileName += "." + extension;
-                        }
-                    }
-                }
-
-                IdCacheManager idCacheManager = null;
-                FeatureWriter writer = null;
-                OutputFile file = null;
-
-                try {
-                    eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("export.dialog.cityObj.msg")));
-                    eventDispatcher.triggerEvent(new StatusDialogTitle(fileName));
-                    eventDispatcher.triggerEvent(new CounterEvent(CounterType.REMAINING_TILES, --remainingTiles));
-
-                    try {
-                        file = fileFactory.createOutputFile(folder.resolve(fileName), outputFormat);
-                        internalConfig.setOutputFile(file);
-                    } catch (IOException e) {
-                        throw new CityGMLExportException("Failed to create output file '" + folder.resolve(fileName) + "'.", e);
-                    }
-
-                    // create relative folder for texture files
-                    if (exportAppearance && !textureFolderIsAbsolute &&
-                            (file.getType() == FileType.ARCHIVE || !Files.isDirectory(Paths.get(file.resolve(textureFolder))))) {
-                        try {
-                            file.createDirectories(textureFolder);
-                            log.info("Created texture files folder '" + textureFolder + "'.");
-                        } catch (IOException e) {
-                            throw new CityGMLExportException("Failed to create texture files folder '" + textureFolder + "'.", e);
-                        }
-                    }
-
-                    // create output writer
-                    try {
-                        writer = writerFactory.createFeatureWriter(file.openStream());
-                    } catch (FeatureWriteException | IOException e) {
-                        throw new CityGMLExportException("Failed to open file '" + file.getFile() + "' for writing.", e);
-                    }
-
-                    // create instance of gml:id lookup server manager...
-                    idCacheManager = new IdCacheManager();
-
-                    // ...and start servers
-                    try {
-                        idCacheManager.initCache(
-                                IdCacheType.GEOMETRY,
-                                new GeometryGmlIdCache(cacheTableManager,
-                                        config.getExportConfig().getResources().getIdCache().getGeometry().getPartitions(),
-                                        config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
-                                config.getExportConfig().getResources().getIdCache().getGeometry().getCacheSize(),
-                                config.getExportConfig().getResources().getIdCache().getGeometry().getPageFactor(),
-                                config.getExportConfig().getResources().getThreadPool().getMaxThreads());
-
-                        idCacheManager.initCache(
-                                IdCacheType.OBJECT,
-                                new ObjectGmlIdCache(cacheTableManager,
-                                        config.getExportConfig().getResources().getIdCache().getFeature().getPartitions(),
-                                        config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
-                                config.getExportConfig().getResources().getIdCache().getFeature().getCacheSize(),
-                                config.getExportConfig().getResources().getIdCache().getFeature().getPageFactor(),
-                                config.getExportConfig().getResources().getThreadPool().getMaxThreads());
-                    } catch (SQLException e) {
-                        throw new CityGMLExportException("Failed to initialize internal gml:id caches.", e);
-                    }
-
-                    // create worker pools
-                    // here we have an open issue: queue sizes are fix...
-                    xlinkExporterPool = new WorkerPool<>(
-                            "xlink_exporter_pool",
-                            1,
-                            Math.max(1, config.getExportConfig().getResources().getThreadPool().getMaxThreads() / 2),
-                            PoolSizeAdaptationStrategy.AGGRESSIVE,
-                            new DBExportXlinkWorkerFactory(internalConfig, config, eventDispatcher),
-                            300,
-                            false);
-
-                    dbWorkerPool = new WorkerPool<>(
-                            "db_exporter_pool",
-                            config.getExportConfig().getResources().getThreadPool().getMinThreads(),
-                            config.getExportConfig().getResources().getThreadPool().getMaxThreads(),
-                            PoolSizeAdaptationStrategy.AGGRESSIVE,
-                            new DBExportWorkerFactory(
-                                    schemaMapping,
-                                    cityGMLBuilder,
-                                    writer,
-                                    xlinkExporterPool,
-                                    idCacheManager,
-                                    cacheTableManager,
-                                    query,
-                                    affineTransformer,
-                                    internalConfig,
-                                    config,
-                                    eventDispatcher),
-                            300,
-                            false);
-
-                    // set channel for events triggered by workers
-                    xlinkExporterPool.setEventSource(eventChannel);
-                    dbWorkerPool.setEventSource(eventChannel);
-
-                    // prestart pool workers
-                    xlinkExporterPool.prestartCoreWorkers();
-                    dbWorkerPool.prestartCoreWorkers();
-
-                    // fail if we could not start a single import worker
-                    if (dbWorkerPool.getPoolSize() == 0) {
-                        throw new CityGMLExportException("Failed to start database export worker pool. Check the database connection pool settings.");
-                    }
-
-                    log.info("Exporting to file: " + file.getFile());
-
-                    // get database splitter and start query
-                    try {
-                        dbSplitter = new DBSplitter(
-                                writer,
-                                schemaMapping,
-                                dbWorkerPool,
-                                query,
-                                idCacheManager.getCache(IdCacheType.OBJECT),
-                                cacheTableManager,
-                                eventDispatcher,
-                                internalConfig,
-                                config);
-
-                        if (shouldRun) {
-                            dbSplitter.setMetadataProviders(metadataProviders);
-                            dbSplitter.startQuery();
-                        }
-                    } catch (SQLException | QueryBuildException | FilterException e) {
-                        throw new CityGMLExportException("Failed to query the database.", e);
-                    } catch (FeatureWriteException e) {
-                        throw new CityGMLExportException("Failed to write to output file.", e);
-                    }
-
-                    try {
-                        dbWorkerPool.shutdownAndWait();
-                        xlinkExporterPool.shutdownAndWait();
-                    } catch (InterruptedException e) {
-                        throw new CityGMLExportException("Failed to shutdown worker pools.", e);
-                    }
-
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
-                    eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("export.dialog.finish.msg")));
-                } finally {
-                    // close writer before closing output file
-                    if (writer != null) {
-                        try {
-                            writer.close();
-                        } catch (FeatureWriteException e) {
-                            setException("Failed to close output writer.", e);
-                            shouldRun = false;
-                        }
-                    }
-
-                    if (file != null) {
-                        try {
-                            file.close();
-                        } catch (IOException e) {
-                            setException("Failed to close output file.", e);
-                            shouldRun = false;
-                        }
-                    }
-
-                    // clean up
-                    if (xlinkExporterPool != null && !xlinkExporterPool.isTerminated()) {
-                        xlinkExporterPool.shutdownNow();
-                    }
-
-                    if (dbWorkerPool != null && !dbWorkerPool.isTerminated()) {
-                        dbWorkerPool.shutdownNow();
-                    }
-
-                    try {
-                        eventDispatcher.flushEvents();
-                    } catch (InterruptedException e) {
-                        //
-                    }
-
-                    if (idCacheManager != null) {
-                        try {
-                            idCacheManager.shutdownAll();
-                        } catch (SQLException e) {
-                            setException("Failed to clean the gml:id caches.", e);
-                            shouldRun = false;
-                        }
+        tileExporter = new TileExporter(
+                outputFile,
+                query,
+                writerFactory,
+                fileFactory,
+                cacheTableManager,
+                affineTransformer,
+                metadataProviders,
+                schemaMapping,
+                cityGMLBuilder,
+                databaseAdapter,
+                internalConfig,
+                config,
+                eventDispatcher,
+                eventChannel);
+
+        int concurrentTiles = useTiling ?
+                Math.min(config.getExportConfig().getResources().getConcurrentTiles(), rows * columns) :
+                1;
+
+        if (concurrentTiles > 1) {
+            log.info("Exporting up to " + concurrentTiles + " tiles concurrently.");
+            tileExporter.withConcurrentTiles(concurrentTiles);
+            exportConcurrently(tiling, rows, columns, concurrentTiles);
+        } else {
+            for (int row = 0; shouldRun && row < rows; row++) {
+                for (int column = 0; shouldRun && column < columns; column++) {
+                    tileExporter.export(useTiling ? getTileAt(tiling, row, column) : null);
+
+                    // show exported features
+                    if (!objectCounter.isEmpty()) {
+                        log.info("Exported city objects:");
+                        Map<String, Long> typeNames = Util.mapObjectCounter(objectCounter, schemaMapping);
+                        typeNames.keySet().forEach(object -> log.info(object + ": " + typeNames.get(object)));
                     }
 
-                    if (cacheTableManager != null) {
-                        try {
-                            log.info("Cleaning temporary cache.");
-                            cacheTableManager.dropAll();
-                        } catch (SQLException e) {
-                            setException("Failed to clean the temporary cache.", e);
-                            shouldRun = false;
-                        }
+                    // show processed geometries
+                    if (!geometryCounter.isEmpty()) {
+                        log.info("Processed geometry objects: " + geometryCounter.values().stream().reduce(0L, Long::sum));
                     }
-                }
 
-                // show exported features
-                if (!objectCounter.isEmpty()) {
-                    log.info("Exported city objects:");
-                    Map<String, Long> typeNames = Util.mapObjectCounter(objectCounter, schemaMapping);
-                    typeNames.keySet().forEach(object -> log.info(object + ": " + typeNames.get(object)));
+                    objectCounter.clear();
+                    geometryCounter.clear();
                 }
-
-                // show processed geometries
-                if (!geometryCounter.isEmpty()) {
-                    log.info("Processed geometry objects: " + geometryCounter.values().stream().reduce(0L, Long::sum));
-                }
-
-                objectCounter.clear();
-                geometryCounter.clear();
             }
         }
 
@@ -643,6 +429,48 @@ public class Exporter implements EventHandler {
         return shouldRun;
     }
 
+    private void exportConcurrently(Tiling tiling, int rows, int columns, int concurrentTiles) throws CityGMLExportException {
+        // each worker exports one tile at a time using its own writer and
+        // worker pools, so up to concurrentTiles tiles are processed in parallel
+        WorkerPool<Tile> tileExporterPool = new WorkerPool<>(
+                "tile_exporter_pool",
+                concurrentTiles,
+                concurrentTiles,
+                PoolSizeAdaptationStrategy.NONE,
+                new TileExportWorkerFactory(tileExporter, eventDispatcher),
+                concurrentTiles,
+                false);
+
+        try {
+            tileExporterPool.setEventSource(eventChannel);
+            tileExporterPool.prestartCoreWorkers();
+
+            for (int row = 0; shouldRun && row < rows; row++) {
+                for (int column = 0; shouldRun && column < columns; column++) {
+                    tileExporterPool.addWork(getTileAt(tiling, row, column));
+                }
+            }
+
+            try {
+                tileExporterPool.shutdownAndWait();
+            } catch (InterruptedException e) {
+                throw new CityGMLExportException("Failed to shutdown worker pools.", e);
+            }
+        } finally {
+            if (!tileExporterPool.isTerminated()) {
+                tileExporterPool.shutdownNow();
+            }
+        }
+    }
+
+    private Tile getTileAt(Tiling tiling, int row, int column) throws CityGMLExportException {
+        try {
+            return tiling.getTileAt(row, column);
+        } catch (FilterException e) {
+            throw new CityGMLExportException("Failed to get tile at [" + row + "," + column + "].", e);
+        }
+    }
+
     private void setOutputFormatOptions(OutputFormat outputFormat, InternalConfig internalConfig) {
         internalConfig.setOutputFormat(outputFormat);
 
@@ -696,16 +524,8 @@ public class Exporter implements EventHandler {
                     }
                 }
 
-                if (dbSplitter != null) {
-                    dbSplitter.shutdown();
-                }
-
-                if (dbWorkerPool != null) {
-                    dbWorkerPool.drainWorkQueue();
-                }
-
-                if (xlinkExporterPool != null) {
-                    xlinkExporterPool.drainWorkQueue();
+                if (tileExporter != null) {
+                    tileExporter.shutdown();
                 }
             }
         }
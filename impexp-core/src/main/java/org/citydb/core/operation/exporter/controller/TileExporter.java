@@ -0,0 +1,473 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.controller;
+
+import org.citydb.config.Config;
+import org.citydb.config.i18n.Language;
+import org.citydb.config.project.exporter.SimpleTilingOptions;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.file.FileType;
+import org.citydb.core.file.OutputFile;
+import org.citydb.core.file.output.OutputFileFactory;
+import org.citydb.core.operation.common.cache.CacheTableManager;
+import org.citydb.core.operation.common.cache.IdCacheManager;
+import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citydb.core.operation.common.xlink.DBXlink;
+import org.citydb.core.operation.exporter.CityGMLExportException;
+import org.citydb.core.operation.exporter.cache.GeometryGmlIdCache;
+import org.citydb.core.operation.exporter.cache.ObjectGmlIdCache;
+import org.citydb.core.operation.exporter.concurrent.DBExportWorkerFactory;
+import org.citydb.core.operation.exporter.concurrent.DBExportXlinkWorkerFactory;
+import org.citydb.core.operation.exporter.database.content.DBSplitter;
+import org.citydb.core.operation.exporter.database.content.DBSplittingResult;
+import org.citydb.core.operation.exporter.util.InternalConfig;
+import org.citydb.core.operation.exporter.util.TextureFileWriter;
+import org.citydb.core.operation.exporter.writer.FeatureWriteException;
+import org.citydb.core.operation.exporter.writer.FeatureWriter;
+import org.citydb.core.operation.exporter.writer.FeatureWriterFactory;
+import org.citydb.core.plugin.extension.exporter.MetadataProvider;
+import org.citydb.core.query.Query;
+import org.citydb.core.query.builder.QueryBuildException;
+import org.citydb.core.query.filter.FilterException;
+import org.citydb.core.query.filter.selection.Predicate;
+import org.citydb.core.query.filter.selection.SelectionFilter;
+import org.citydb.core.query.filter.selection.operator.logical.LogicalOperationFactory;
+import org.citydb.core.query.filter.tiling.Tile;
+import org.citydb.core.query.filter.tiling.Tiling;
+import org.citydb.core.util.Util;
+import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.util.concurrent.WorkerPool;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.global.CounterEvent;
+import org.citydb.util.event.global.CounterType;
+import org.citydb.util.event.global.StatusDialogMessage;
+import org.citydb.util.event.global.StatusDialogProgressBar;
+import org.citydb.util.event.global.StatusDialogTitle;
+import org.citydb.util.log.Logger;
+import org.citygml4j.builder.jaxb.CityGMLBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TileExporter {
+    private final Logger log = Logger.getInstance();
+    private final Set<TileContext> activeTiles = ConcurrentHashMap.newKeySet();
+
+    private final Path outputFile;
+    private final Query query;
+    private final FeatureWriterFactory writerFactory;
+    private final OutputFileFactory fileFactory;
+    private final CacheTableManager cacheTableManager;
+    private final AffineTransformer affineTransformer;
+    private final List<MetadataProvider> metadataProviders;
+    private final SchemaMapping schemaMapping;
+    private final CityGMLBuilder cityGMLBuilder;
+    private final AbstractDatabaseAdapter databaseAdapter;
+    private final InternalConfig internalConfig;
+    private final Config config;
+    private final EventDispatcher eventDispatcher;
+    private final Object eventChannel;
+
+    private final Predicate predicate;
+    private final SimpleTilingOptions tilingOptions;
+    private final AtomicInteger remainingTiles;
+    private int minThreads;
+    private int maxThreads;
+
+    private volatile boolean shouldRun = true;
+
+    public TileExporter(Path outputFile,
+                        Query query,
+                        FeatureWriterFactory writerFactory,
+                        OutputFileFactory fileFactory,
+                        CacheTableManager cacheTableManager,
+                        AffineTransformer affineTransformer,
+                        List<MetadataProvider> metadataProviders,
+                        SchemaMapping schemaMapping,
+                        CityGMLBuilder cityGMLBuilder,
+                        AbstractDatabaseAdapter databaseAdapter,
+                        InternalConfig internalConfig,
+                        Config config,
+                        EventDispatcher eventDispatcher,
+                        Object eventChannel) {
+        this.outputFile = outputFile;
+        this.query = query;
+        this.writerFactory = writerFactory;
+        this.fileFactory = fileFactory;
+        this.cacheTableManager = cacheTableManager;
+        this.affineTransformer = affineTransformer;
+        this.metadataProviders = metadataProviders;
+        this.schemaMapping = schemaMapping;
+        this.cityGMLBuilder = cityGMLBuilder;
+        this.databaseAdapter = databaseAdapter;
+        this.internalConfig = internalConfig;
+        this.config = config;
+        this.eventDispatcher = eventDispatcher;
+        this.eventChannel = eventChannel;
+
+        if (query.isSetTiling()) {
+            Tiling tiling = query.getTiling();
+            predicate = query.isSetSelection() ? query.getSelection().getPredicate() : null;
+            tilingOptions = tiling.getTilingOptions() instanceof SimpleTilingOptions ?
+                    (SimpleTilingOptions) tiling.getTilingOptions() :
+                    new SimpleTilingOptions();
+            remainingTiles = new AtomicInteger(tiling.getRows() * tiling.getColumns());
+        } else {
+            predicate = null;
+            tilingOptions = null;
+            remainingTiles = new AtomicInteger(1);
+        }
+
+        minThreads = config.getExportConfig().getResources().getThreadPool().getMinThreads();
+        maxThreads = config.getExportConfig().getResources().getThreadPool().getMaxThreads();
+    }
+
+    public TileExporter withConcurrentTiles(int concurrentTiles) {
+        if (concurrentTiles > 1) {
+            // tiles exported in parallel share the database connections
+            // available for the export, so split the thread pool accordingly
+            maxThreads = Math.max(1, maxThreads / concurrentTiles);
+            minThreads = Math.min(minThreads, maxThreads);
+        }
+
+        return this;
+    }
+
+    public void export(Tile tile) throws CityGMLExportException {
+        if (!shouldRun) {
+            return;
+        }
+
+        TileContext context = new TileContext();
+        String fileName = outputFile.getFileName().toString();
+        Path folder = outputFile.getParent();
+        if (folder == null) {
+            folder = Paths.get("").toAbsolutePath().normalize();
+        }
+
+        // every tile works on its own copy of the query and the internal config
+        // so that tiles can be exported concurrently
+        Query query = new Query(this.query);
+        InternalConfig internalConfig = new InternalConfig(this.internalConfig);
+
+        if (tile != null && tilingOptions != null) {
+            try {
+                Tiling tiling = new Tiling(query.getTiling());
+                tiling.setActiveTile(tile);
+                query.setTiling(tiling);
+
+                Predicate bboxFilter = tile.getFilterPredicate(databaseAdapter);
+                query.setSelection(predicate != null ?
+                        new SelectionFilter(LogicalOperationFactory.AND(predicate, bboxFilter)) :
+                        new SelectionFilter(bboxFilter));
+            } catch (FilterException e) {
+                throw new CityGMLExportException("Failed to get tile at [" + tile.getRow() + "," + tile.getColumn() + "].", e);
+            }
+
+            // adapt output folder for tile
+            if (tilingOptions.isUseSubDir()) {
+                String tilePath = tilingOptions.getSubDir().formatAndResolveTokens(tile.getRow(), tile.getColumn(), tile.getExtent());
+                folder = folder.resolve(tilePath);
+            }
+
+            // adapt filename for tile
+            if (tilingOptions.isUseFilenameSuffix()) {
+                String suffix = tilingOptions.getFilenameSuffix().formatAndResolveTokens(tile.getRow(), tile.getColumn(), tile.getExtent());
+                String extension = Util.getFileExtension(fileName);
+
+                fileName = tilingOptions.isUseSuffixAsFilename() ?
+                        suffix :
+                        Util.stripFileExtension(fileName) + suffix;
+
+                if (!extension.isEmpty()) {
+                    fileName += "." + extension;
+                }
+            }
+        }
+
+        IdCacheManager idCacheManager = null;
+        FeatureWriter writer = null;
+        OutputFile file = null;
+        TextureFileWriter textureFileWriter = null;
+        CityGMLExportException exception = null;
+        activeTiles.add(context);
+
+        // cache tables are created in a separate session so that they can
+        // be dropped without affecting other tiles
+        CacheTableManager cacheTableManager = this.cacheTableManager.newSession();
+
+        try {
+            eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("export.dialog.cityObj.msg")));
+            eventDispatcher.triggerEvent(new StatusDialogTitle(fileName));
+            eventDispatcher.triggerEvent(new CounterEvent(CounterType.REMAINING_TILES, remainingTiles.decrementAndGet()));
+
+            try {
+                file = fileFactory.createOutputFile(folder.resolve(fileName), internalConfig.getOutputFormat());
+                internalConfig.setOutputFile(file);
+            } catch (IOException e) {
+                throw new CityGMLExportException("Failed to create output file '" + folder.resolve(fileName) + "'.", e);
+            }
+
+            // create relative folder for texture files
+            String textureFolder = internalConfig.getExportTextureURI();
+            if (config.getExportConfig().getAppearances().isSetExportAppearance()
+                    && !new File(textureFolder).isAbsolute()
+                    && (file.getType() == FileType.ARCHIVE || !Files.isDirectory(Paths.get(file.resolve(textureFolder))))) {
+                try {
+                    file.createDirectories(textureFolder);
+                    log.info("Created texture files folder '" + textureFolder + "'.");
+                } catch (IOException e) {
+                    throw new CityGMLExportException("Failed to create texture files folder '" + textureFolder + "'.", e);
+                }
+            }
+
+            // write texture files in a separate pool of writer threads
+            if (config.getExportConfig().getAppearances().isSetExportAppearance()
+                    && config.getExportConfig().getAppearances().isSetExportTextureFiles()) {
+                textureFileWriter = new TextureFileWriter(file,
+                        config.getExportConfig().getResources().getTextureWriterThreads(),
+                        config.getExportConfig().getAppearances().isSetOverwriteTextureFiles(),
+                        config.getExportConfig().getAppearances().isSkipIdenticalTextureFiles(),
+                        eventDispatcher);
+                internalConfig.setTextureFileWriter(textureFileWriter);
+            }
+
+            // create output writer
+            try {
+                writer = writerFactory.createFeatureWriter(file.openStream());
+            } catch (FeatureWriteException | IOException e) {
+                throw new CityGMLExportException("Failed to open file '" + file.getFile() + "' for writing.", e);
+            }
+
+            // create instance of gml:id lookup server manager...
+            idCacheManager = new IdCacheManager();
+
+            // ...and start servers
+            try {
+                idCacheManager.initCache(
+                        IdCacheType.GEOMETRY,
+                        new GeometryGmlIdCache(cacheTableManager,
+                                config.getExportConfig().getResources().getIdCache().getGeometry().getPartitions(),
+                                config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
+                        config.getExportConfig().getResources().getIdCache().getGeometry().getCacheSize(),
+                        config.getExportConfig().getResources().getIdCache().getGeometry().getPageFactor(),
+                        maxThreads);
+
+                idCacheManager.initCache(
+                        IdCacheType.OBJECT,
+                        new ObjectGmlIdCache(cacheTableManager,
+                                config.getExportConfig().getResources().getIdCache().getFeature().getPartitions(),
+                                config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize()),
+                        config.getExportConfig().getResources().getIdCache().getFeature().getCacheSize(),
+                        config.getExportConfig().getResources().getIdCache().getFeature().getPageFactor(),
+                        maxThreads);
+            } catch (SQLException e) {
+                throw new CityGMLExportException("Failed to initialize internal gml:id caches.", e);
+            }
+
+            // create worker pools
+            // here we have an open issue: queue sizes are fix...
+            context.xlinkExporterPool = new WorkerPool<>(
+                    "xlink_exporter_pool",
+                    1,
+                    Math.max(1, maxThreads / 2),
+                    PoolSizeAdaptationStrategy.AGGRESSIVE,
+                    new DBExportXlinkWorkerFactory(internalConfig, config, eventDispatcher),
+                    300,
+                    false);
+
+            context.dbWorkerPool = new WorkerPool<>(
+                    "db_exporter_pool",
+                    minThreads,
+                    maxThreads,
+                    PoolSizeAdaptationStrategy.AGGRESSIVE,
+                    new DBExportWorkerFactory(
+                            schemaMapping,
+                            cityGMLBuilder,
+                            writer,
+                            context.xlinkExporterPool,
+                            idCacheManager,
+                            cacheTableManager,
+                            query,
+                            affineTransformer,
+                            internalConfig,
+                            config,
+                            eventDispatcher),
+                    300,
+                    false);
+
+            // set channel for events triggered by workers
+            context.xlinkExporterPool.setEventSource(eventChannel);
+            context.dbWorkerPool.setEventSource(eventChannel);
+
+            // prestart pool workers
+            context.xlinkExporterPool.prestartCoreWorkers();
+            context.dbWorkerPool.prestartCoreWorkers();
+
+            // fail if we could not start a single import worker
+            if (context.dbWorkerPool.getPoolSize() == 0) {
+                throw new CityGMLExportException("Failed to start database export worker pool. Check the database connection pool settings.");
+            }
+
+            log.info("Exporting to file: " + file.getFile());
+
+            // get database splitter and start query
+            try {
+                context.dbSplitter = new DBSplitter(
+                        writer,
+                        schemaMapping,
+                        context.dbWorkerPool,
+                        query,
+                        idCacheManager.getCache(IdCacheType.OBJECT),
+                        cacheTableManager,
+                        eventDispatcher,
+                        internalConfig,
+                        config);
+
+                if (shouldRun) {
+                    context.dbSplitter.setMetadataProviders(metadataProviders);
+                    context.dbSplitter.startQuery();
+                }
+            } catch (SQLException | QueryBuildException | FilterException e) {
+                throw new CityGMLExportException("Failed to query the database.", e);
+            } catch (FeatureWriteException e) {
+                throw new CityGMLExportException("Failed to write to output file.", e);
+            }
+
+            try {
+                context.dbWorkerPool.shutdownAndWait();
+                context.xlinkExporterPool.shutdownAndWait();
+                if (textureFileWriter != null) {
+                    textureFileWriter.shutdownAndWait();
+                }
+            } catch (InterruptedException e) {
+                throw new CityGMLExportException("Failed to shutdown worker pools.", e);
+            }
+
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
+            eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("export.dialog.finish.msg")));
+        } finally {
+            activeTiles.remove(context);
+
+            if (textureFileWriter != null) {
+                textureFileWriter.shutdownNow();
+            }
+
+            // close writer before closing output file
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (FeatureWriteException e) {
+                    exception = new CityGMLExportException("Failed to close output writer.", e);
+                }
+            }
+
+            if (file != null) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    if (exception == null) {
+                        exception = new CityGMLExportException("Failed to close output file.", e);
+                    }
+                }
+            }
+
+            // clean up
+            if (context.xlinkExporterPool != null && !context.xlinkExporterPool.isTerminated()) {
+                context.xlinkExporterPool.shutdownNow();
+            }
+
+            if (context.dbWorkerPool != null && !context.dbWorkerPool.isTerminated()) {
+                context.dbWorkerPool.shutdownNow();
+            }
+
+            try {
+                eventDispatcher.flushEvents();
+            } catch (InterruptedException e) {
+                //
+            }
+
+            if (idCacheManager != null) {
+                try {
+                    idCacheManager.shutdownAll();
+                } catch (SQLException e) {
+                    if (exception == null) {
+                        exception = new CityGMLExportException("Failed to clean the gml:id caches.", e);
+                    }
+                }
+            }
+
+            try {
+                log.info("Cleaning temporary cache.");
+                cacheTableManager.close();
+            } catch (SQLException e) {
+                if (exception == null) {
+                    exception = new CityGMLExportException("Failed to clean the temporary cache.", e);
+                }
+            }
+        }
+
+        if (exception != null) {
+            shouldRun = false;
+            throw exception;
+        }
+    }
+
+    public void shutdown() {
+        shouldRun = false;
+        for (TileContext context : activeTiles) {
+            if (context.dbSplitter != null) {
+                context.dbSplitter.shutdown();
+            }
+
+            if (context.dbWorkerPool != null) {
+                context.dbWorkerPool.drainWorkQueue();
+            }
+
+            if (context.xlinkExporterPool != null) {
+                context.xlinkExporterPool.drainWorkQueue();
+            }
+        }
+    }
+
+    private static class TileContext {
+        private volatile DBSplitter dbSplitter;
+        private volatile WorkerPool<DBSplittingResult> dbWorkerPool;
+        private volatile WorkerPool<DBXlink> xlinkExporterPool;
+    }
+}
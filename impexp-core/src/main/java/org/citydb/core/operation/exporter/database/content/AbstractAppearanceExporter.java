@@ -32,6 +32,7 @@ import org.citydb.config.geometry.GeometryObject;
 import org.citydb.core.database.schema.TableEnum;
 import org.citydb.core.database.schema.mapping.FeatureType;
 import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.common.xlink.DBXlinkTextureFile;
 import org.citydb.core.operation.exporter.CityGMLExportException;
@@ -78,6 +79,7 @@ public abstract class AbstractAppearanceExporter extends AbstractTypeExporter {
     private final String separator;
     private final HashSet<Long> texImageIds;
     private final boolean affineTransformation;
+    private final CoordinateTransformer coordinateTransformer;
 
     private final List<Table> appearanceADEHookTables;
     private final List<Table> surfaceDataADEHookTables;
@@ -99,6 +101,7 @@ public abstract class AbstractAppearanceExporter extends AbstractTypeExporter {
         noOfBuckets = exporter.getExportConfig().getAppearances().getTexturePath().getNoOfBuckets();
         useBuckets = exporter.getExportConfig().getAppearances().getTexturePath().isUseBuckets() && noOfBuckets > 0;
         affineTransformation = exporter.getExportConfig().getAffineTransformation().isEnabled();
+        coordinateTransformer = exporter.getCoordinateTransformer();
 
         textureURI = exporter.getInternalConfig().getExportTextureURI();
         separator = new File(textureURI).isAbsolute() ? File.separator : "/";
@@ -420,7 +423,7 @@ public abstract class AbstractAppearanceExporter extends AbstractTypeExporter {
             Object referencePointObj = rs.getObject(31);
             if (!rs.wasNull()) {
                 GeometryObject pointObj = exporter.getDatabaseAdapter().getGeometryConverter().getPoint(referencePointObj);
-                if (pointObj != null) {
+                if (pointObj != null && (coordinateTransformer == null || coordinateTransformer.transform(pointObj))) {
                     double[] point = pointObj.getCoordinates(0);
                     Point referencePoint = new Point();
 
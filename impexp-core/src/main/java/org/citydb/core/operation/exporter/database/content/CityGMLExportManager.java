@@ -43,6 +43,7 @@ import org.citydb.core.database.schema.mapping.*;
 import org.citydb.core.operation.common.cache.*;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.util.*;
@@ -94,6 +95,7 @@ import org.citygml4j.model.gml.geometry.AbstractGeometry;
 import org.citygml4j.model.module.citygml.CityGMLVersion;
 import org.citygml4j.util.gmlid.DefaultGMLIdManager;
 import org.citygml4j.xml.io.reader.MissingADESchemaException;
+import org.geotools.api.referencing.FactoryException;
 import org.w3c.dom.Document;
 
 import javax.xml.bind.JAXBException;
@@ -135,6 +137,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
     private LodGeometryChecker lodGeometryChecker;
     private AppearanceRemover appearanceRemover;
     private AffineTransformer affineTransformer;
+    private CoordinateTransformer coordinateTransformer;
     private IdReplacer idReplacer;
     private Document document;
 
@@ -181,6 +184,15 @@ public class CityGMLExportManager implements CityGMLExportHelper {
             this.affineTransformer = affineTransformer;
         }
 
+        if (internalConfig.isTransformCoordinatesOnClient()) {
+            try {
+                coordinateTransformer = new CoordinateTransformer(databaseAdapter.getConnectionMetaData().getReferenceSystem(),
+                        query.getTargetSrs(), databaseAdapter);
+            } catch (FactoryException e) {
+                throw new CityGMLExportException("Failed to create coordinate transformer.", e);
+            }
+        }
+
         if (config.getExportConfig().getResourceId().isReplaceWithUUIDs()) {
             idReplacer = new IdReplacer().withPrefix(config.getExportConfig().getResourceId().getIdPrefix());
         }
@@ -563,7 +575,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
             gmlConverter = new GMLConverter(query.isSetTargetSrs() ?
                     query.getTargetSrs().getGMLSrsName() :
                     databaseAdapter.getConnectionMetaData().getReferenceSystem().getGMLSrsName(),
-                    affineTransformer, config);
+                    affineTransformer, coordinateTransformer, config);
         }
 
         return gmlConverter;
@@ -616,6 +628,10 @@ public class CityGMLExportManager implements CityGMLExportHelper {
         return affineTransformer;
     }
 
+    public CoordinateTransformer getCoordinateTransformer() {
+        return coordinateTransformer;
+    }
+
     public IdReplacer getIdReplacer() {
         return idReplacer;
     }
@@ -631,7 +647,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public ProjectionToken getGeometryColumn(Column column) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 column :
                 new Function(databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null"),
                         column.getName(), column, new IntegerLiteral(query.getTargetSrs().getSrid()));
@@ -639,7 +655,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public ProjectionToken getGeometryColumn(Column column, String asName) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 new Column(column.getTable(), column.getName(), asName) :
                 new Function(databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null"),
                         asName, column, new IntegerLiteral(query.getTargetSrs().getSrid()));
@@ -647,7 +663,7 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public String getGeometryColumn(String columnName) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 columnName :
                 databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null") +
                         "(" + columnName + ", " + query.getTargetSrs().getSrid() + ") as " + columnName.replaceFirst(".*?\\.", "");
@@ -655,12 +671,16 @@ public class CityGMLExportManager implements CityGMLExportHelper {
 
     @Override
     public String getGeometryColumn(String columnName, String asName) {
-        return (!internalConfig.isTransformCoordinates()) ?
+        return !isTransformCoordinatesInDatabase() ?
                 columnName + " as " + asName :
                 databaseAdapter.getSQLAdapter().resolveDatabaseOperationName("citydb_srs.transform_or_null") +
                         "(" + columnName + ", " + query.getTargetSrs().getSrid() + ") as " + asName;
     }
 
+    private boolean isTransformCoordinatesInDatabase() {
+        return internalConfig.isTransformCoordinates() && !internalConfig.isTransformCoordinatesOnClient();
+    }
+
     @Override
     public void logOrThrowErrorMessage(String message) throws CityGMLExportException {
         logOrThrowErrorMessage(message, null);
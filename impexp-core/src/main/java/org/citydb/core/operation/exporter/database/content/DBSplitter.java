@@ -45,6 +45,7 @@ import org.citydb.core.operation.common.cache.CacheTable;
 import org.citydb.core.operation.common.cache.CacheTableManager;
 import org.citydb.core.operation.common.cache.IdCache;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.exporter.util.InternalConfig;
 import org.citydb.core.operation.exporter.writer.FeatureWriteException;
 import org.citydb.core.operation.exporter.writer.FeatureWriter;
@@ -82,6 +83,8 @@ import org.citydb.util.log.Logger;
 import org.citygml4j.model.module.citygml.AppearanceModule;
 import org.citygml4j.model.module.citygml.CityObjectGroupModule;
 import org.citygml4j.model.module.citygml.CoreModule;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.operation.TransformException;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -548,7 +551,15 @@ public class DBSplitter {
     }
 
     private BoundingBox getSpatialExtent(GeometryObject extentObj) throws SQLException {
-        if (internalConfig.isTransformCoordinates()) {
+        if (internalConfig.isTransformCoordinatesOnClient()) {
+            extentObj = extentObj.toEnvelope();
+            try {
+                new CoordinateTransformer(databaseAdapter.getConnectionMetaData().getReferenceSystem(), query.getTargetSrs(), databaseAdapter)
+                        .transformEnvelope(extentObj.getCoordinates(0), extentObj.getDimension());
+            } catch (FactoryException | TransformException e) {
+                throw new SQLException("Failed to transform the spatial extent to SRID " + query.getTargetSrs().getSrid() + ".", e);
+            }
+        } else if (internalConfig.isTransformCoordinates()) {
             extentObj = databaseAdapter.getUtil().transform(extentObj, query.getTargetSrs()).toEnvelope();
         }
 
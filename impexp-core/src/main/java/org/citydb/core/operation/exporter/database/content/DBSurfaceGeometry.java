@@ -30,6 +30,7 @@ package org.citydb.core.operation.exporter.database.content;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.core.database.schema.TableEnum;
 import org.citydb.core.database.schema.XlinkType;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.operation.exporter.CityGMLExportException;
 import org.citydb.core.operation.exporter.util.DefaultGeometrySetterHandler;
 import org.citydb.core.operation.exporter.util.GeometrySetter;
@@ -64,6 +65,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
     private final boolean exportAppearance;
     private final boolean useXLink;
     private final boolean affineTransformation;
+    private final CoordinateTransformer coordinateTransformer;
 
     public DBSurfaceGeometry(Connection connection, CityGMLExportManager exporter) throws SQLException {
         this.exporter = exporter;
@@ -73,6 +75,7 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
         exportAppearance = exporter.getInternalConfig().getGlobalAppearanceMode() != InternalConfig.GlobalAppearanceMode.SKIP;
         useXLink = exporter.getInternalConfig().isExportGeometryReferences();
         affineTransformation = exporter.getExportConfig().getAffineTransformation().isEnabled();
+        coordinateTransformer = exporter.getCoordinateTransformer();
         String schema = exporter.getDatabaseAdapter().getConnectionDetails().getSchema();
 
         Table table = new Table(TableEnum.SURFACE_GEOMETRY.getName(), schema);
@@ -247,6 +250,12 @@ public class DBSurfaceGeometry implements DBExporter, SurfaceGeometryExporter {
                         ": " + e.getMessage());
                 return;
             }
+
+            if (!geomTree.isImplicit && coordinateTransformer != null && !coordinateTransformer.transform(geometry)) {
+                exporter.logOrThrowErrorMessage("Skipping " + exporter.getGeometrySignature(GMLClass.POLYGON, id) +
+                        ": Failed to transform coordinates to SRID " + coordinateTransformer.getTargetSrid() + ".");
+                return;
+            }
         }
 
         geomNode.geometry = geometry;
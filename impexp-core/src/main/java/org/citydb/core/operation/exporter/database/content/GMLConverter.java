@@ -31,6 +31,7 @@ import org.citydb.config.Config;
 import org.citydb.config.geometry.GeometryObject;
 import org.citydb.config.geometry.GeometryType;
 import org.citydb.core.operation.common.util.AffineTransformer;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citygml4j.model.gml.geometry.AbstractGeometry;
 import org.citygml4j.model.gml.geometry.GeometryProperty;
 import org.citygml4j.model.gml.geometry.aggregates.MultiCurve;
@@ -48,6 +49,7 @@ public class GMLConverter {
     private final String srsName;
 
     private AffineTransformer affineTransformer;
+    private CoordinateTransformer coordinateTransformer;
     private boolean affineTransformation;
 
     public GMLConverter(String srsName) {
@@ -55,7 +57,12 @@ public class GMLConverter {
     }
 
     public GMLConverter(String srsName, AffineTransformer affineTransformer, Config config) {
+        this(srsName, affineTransformer, null, config);
+    }
+
+    public GMLConverter(String srsName, AffineTransformer affineTransformer, CoordinateTransformer coordinateTransformer, Config config) {
         this(srsName);
+        this.coordinateTransformer = coordinateTransformer;
 
         affineTransformation = config.getExportConfig().getAffineTransformation().isEnabled();
         if (affineTransformation) {
@@ -68,6 +75,10 @@ public class GMLConverter {
     }
 
     public Point getPoint(GeometryObject geomObj, boolean setSrsName) {
+        if (!transformCoordinates(geomObj)) {
+            return null;
+        }
+
         Point point = null;
 
         if (geomObj != null && geomObj.getGeometryType() == GeometryType.POINT) {
@@ -116,6 +127,10 @@ public class GMLConverter {
     }
 
     public MultiPoint getMultiPoint(GeometryObject geomObj, boolean setSrsName) {
+        if (!transformCoordinates(geomObj)) {
+            return null;
+        }
+
         MultiPoint multiPoint = null;
 
         if (geomObj != null) {
@@ -210,6 +225,10 @@ public class GMLConverter {
     }
 
     public LineString getLineString(GeometryObject geomObj, boolean setSrsName) {
+        if (!transformCoordinates(geomObj)) {
+            return null;
+        }
+
         LineString lineString = null;
 
         if (geomObj != null && geomObj.getGeometryType() == GeometryType.LINE_STRING) {
@@ -253,6 +272,10 @@ public class GMLConverter {
     }
 
     public MultiCurve getMultiCurve(GeometryObject geomObj, boolean setSrsName) {
+        if (!transformCoordinates(geomObj)) {
+            return null;
+        }
+
         MultiCurve multiCurve = null;
 
         if (geomObj != null) {
@@ -440,6 +463,10 @@ public class GMLConverter {
     }
 
     public Polygon getPolygon(GeometryObject geomObj, boolean setSrsName) {
+        if (!transformCoordinates(geomObj)) {
+            return null;
+        }
+
         Polygon polygon = null;
 
         if (geomObj != null && geomObj.getGeometryType() == GeometryType.POLYGON) {
@@ -504,4 +531,8 @@ public class GMLConverter {
         return polygonProperty;
     }
 
+    private boolean transformCoordinates(GeometryObject geomObj) {
+        // geometries that cannot be transformed are skipped like with citydb_srs.transform_or_null
+        return coordinateTransformer == null || coordinateTransformer.transform(geomObj);
+    }
 }
@@ -33,6 +33,7 @@ import org.citydb.core.database.adapter.BlobType;
 import org.citydb.core.file.FileType;
 import org.citydb.core.file.OutputFile;
 import org.citydb.core.operation.common.xlink.DBXlinkTextureFile;
+import org.citydb.core.operation.exporter.util.TextureFileWriter;
 import org.citydb.util.event.global.CounterEvent;
 import org.citydb.util.event.global.CounterType;
 import org.citydb.util.log.Logger;
@@ -51,6 +52,7 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
     private final DBXlinkExporterManager exporterManager;
     private final OutputFile outputFile;
     private final BlobExportAdapter blobExporter;
+    private final TextureFileWriter textureFileWriter;
     private final String textureURI;
     private final boolean isAbsoluteTextureURI;
     private final String separator;
@@ -63,6 +65,7 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
         this.exporterManager = exporterManager;
 
         outputFile = exporterManager.getInternalConfig().getOutputFile();
+        textureFileWriter = exporterManager.getInternalConfig().getTextureFileWriter();
         textureURI = exporterManager.getInternalConfig().getExportTextureURI();
         isAbsoluteTextureURI = new File(textureURI).isAbsolute();
         separator = isAbsoluteTextureURI ? File.separator : "/";
@@ -117,6 +120,16 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
         }
 
         try {
+            if (textureFileWriter != null) {
+                // texture files are written by a separate pool of writer threads
+                // that also keeps track of the number of exported texture images
+                blobExporter.addBatch(xlink.getId(), new BlobExportAdapter.BatchEntry(
+                        buffer -> textureFileWriter.write(buffer, file, file == null ?
+                                outputFile.resolve(textureURI, fileURI) :
+                                null)));
+                return true;
+            }
+
             int exported = blobExporter.addBatch(xlink.getId(), new BlobExportAdapter.BatchEntry(
                     () -> file != null ?
                             Files.newOutputStream(file) :
@@ -137,7 +150,7 @@ public class DBXlinkExporterTextureImage implements DBXlinkExporter {
     public void close() throws SQLException {
         try {
             int exported = blobExporter.executeBatch();
-            if (exported > 0)
+            if (exported > 0 && textureFileWriter == null)
                 exporterManager.propagateEvent(new CounterEvent(CounterType.TEXTURE_IMAGE, exported));
         } catch (IOException e) {
             log.error("Failed to batch export texture files.", e);
@@ -35,7 +35,9 @@ public class InternalConfig {
     private OutputFile outputFile;
     private OutputFormat outputFormat;
     private String exportTextureURI;
+    private TextureFileWriter textureFileWriter;
     private boolean transformCoordinates = false;
+    private boolean transformCoordinatesOnClient;
     private GlobalAppearanceMode globalAppearanceMode = GlobalAppearanceMode.SKIP;
     private boolean registerGmlIdInCache = false;
     private boolean exportFeatureReferences = true;
@@ -47,6 +49,22 @@ public class InternalConfig {
         CONVERT
     }
 
+    public InternalConfig() {
+    }
+
+    public InternalConfig(InternalConfig other) {
+        outputFile = other.outputFile;
+        outputFormat = other.outputFormat;
+        exportTextureURI = other.exportTextureURI;
+        textureFileWriter = other.textureFileWriter;
+        transformCoordinates = other.transformCoordinates;
+        transformCoordinatesOnClient = other.transformCoordinatesOnClient;
+        globalAppearanceMode = other.globalAppearanceMode;
+        registerGmlIdInCache = other.registerGmlIdInCache;
+        exportFeatureReferences = other.exportFeatureReferences;
+        exportGeometryReferences = other.exportGeometryReferences;
+    }
+
     public OutputFile getOutputFile() {
         return outputFile;
     }
@@ -55,6 +73,14 @@ public class InternalConfig {
         this.outputFile = outputFile;
     }
 
+    public TextureFileWriter getTextureFileWriter() {
+        return textureFileWriter;
+    }
+
+    public void setTextureFileWriter(TextureFileWriter textureFileWriter) {
+        this.textureFileWriter = textureFileWriter;
+    }
+
     public OutputFormat getOutputFormat() {
         return outputFormat != null ? outputFormat : OutputFormat.CITYGML;
     }
@@ -79,6 +105,14 @@ public class InternalConfig {
         this.transformCoordinates = transformCoordinates;
     }
 
+    public boolean isTransformCoordinatesOnClient() {
+        return transformCoordinatesOnClient;
+    }
+
+    public void setTransformCoordinatesOnClient(boolean transformCoordinatesOnClient) {
+        this.transformCoordinatesOnClient = transformCoordinatesOnClient;
+    }
+
     public GlobalAppearanceMode getGlobalAppearanceMode() {
         return globalAppearanceMode;
     }
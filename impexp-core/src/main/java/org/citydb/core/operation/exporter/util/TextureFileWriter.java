@@ -0,0 +1,183 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.util;
+
+import org.citydb.core.file.OutputFile;
+import org.citydb.core.util.Util;
+import org.citydb.util.event.EventAggregator;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.global.CounterType;
+import org.citydb.util.log.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TextureFileWriter {
+    private final Logger log = Logger.getInstance();
+    private final OutputFile outputFile;
+    private final boolean overwriteTextureFiles;
+    private final boolean skipIdenticalTextureFiles;
+    private final EventAggregator eventAggregator;
+    private final ThreadPoolExecutor service;
+    private final LongAdder files = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final long start;
+
+    public TextureFileWriter(OutputFile outputFile,
+                             int threads,
+                             boolean overwriteTextureFiles,
+                             boolean skipIdenticalTextureFiles,
+                             EventDispatcher eventDispatcher) {
+        this.outputFile = outputFile;
+        this.overwriteTextureFiles = overwriteTextureFiles;
+        this.skipIdenticalTextureFiles = skipIdenticalTextureFiles;
+        eventAggregator = eventDispatcher.getEventAggregator();
+
+        // a bounded queue limits the number of texture images held in memory. if
+        // the queue is full, the fetching thread writes the texture file itself
+        threads = Math.max(threads, 1);
+        service = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 8),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "texture_writer");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+
+        start = System.currentTimeMillis();
+    }
+
+    public boolean write(byte[] buffer, Path file, String entryName) {
+        if (service.isShutdown()) {
+            return false;
+        }
+
+        service.execute(() -> writeFile(buffer, file, entryName));
+        return true;
+    }
+
+    public void shutdownAndWait() throws InterruptedException {
+        service.shutdown();
+        while (!service.awaitTermination(1, TimeUnit.SECONDS)) {
+            // wait for pending texture files
+        }
+
+        long count = files.sum();
+        if (count > 0) {
+            long elapsed = System.currentTimeMillis() - start;
+            double megabytes = bytes.sum() / (1024d * 1024d);
+            log.info("Wrote " + count + " texture file(s) (" + String.format(Locale.ENGLISH, "%.1f MB", megabytes) +
+                    " in " + Util.formatElapsedTime(elapsed) + ", " +
+                    String.format(Locale.ENGLISH, "%.1f MB/s", megabytes / (Math.max(elapsed, 1) / 1000d)) + ").");
+        }
+
+        if (skipped.sum() > 0) {
+            log.info("Skipped " + skipped.sum() + " existing texture file(s) with identical content.");
+        }
+    }
+
+    public void shutdownNow() {
+        service.shutdownNow();
+    }
+
+    private void writeFile(byte[] buffer, Path file, String entryName) {
+        try {
+            if (file != null) {
+                if (Files.exists(file)) {
+                    if (!overwriteTextureFiles) {
+                        return;
+                    } else if (skipIdenticalTextureFiles && isIdentical(file, buffer)) {
+                        skipped.increment();
+                        eventAggregator.updateCounter(CounterType.TEXTURE_IMAGE, 1);
+                        return;
+                    }
+                }
+
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+                    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+                    while (byteBuffer.hasRemaining()) {
+                        channel.write(byteBuffer);
+                    }
+                }
+            } else {
+                try (OutputStream stream = outputFile.newOutputStream(entryName)) {
+                    stream.write(buffer);
+                }
+            }
+
+            files.increment();
+            bytes.add(buffer.length);
+            eventAggregator.updateCounter(CounterType.TEXTURE_IMAGE, 1);
+        } catch (IOException e) {
+            log.error("Failed to write texture file '" + (file != null ? file : entryName) + "'.", e);
+        }
+    }
+
+    private boolean isIdentical(Path file, byte[] buffer) throws IOException {
+        if (Files.size(file) != buffer.length) {
+            return false;
+        }
+
+        MessageDigest fileDigest;
+        MessageDigest bufferDigest;
+        try {
+            fileDigest = MessageDigest.getInstance("SHA-256");
+            bufferDigest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return false;
+        }
+
+        byte[] chunk = new byte[65536];
+        try (InputStream stream = Files.newInputStream(file)) {
+            int read;
+            while ((read = stream.read(chunk)) != -1) {
+                fileDigest.update(chunk, 0, read);
+            }
+        }
+
+        return MessageDigest.isEqual(fileDigest.digest(), bufferDigest.digest(buffer));
+    }
+}
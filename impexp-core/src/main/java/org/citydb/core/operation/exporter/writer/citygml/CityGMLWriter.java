@@ -202,8 +202,12 @@ public class CityGMLWriter implements FeatureWriter, EventHandler {
     @Override
     public void close() throws FeatureWriteException {
         try {
-            if (useSequentialWriting && sequentialWriter.isInterrupted())
-                sequentialWriter.writeCache();
+            if (useSequentialWriting) {
+                if (sequentialWriter.isInterrupted())
+                    sequentialWriter.writeCache();
+
+                sequentialWriter.logStatistics();
+            }
 
             writerPool.shutdownAndWait();
             writeEndDocument();
@@ -0,0 +1,376 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.exporter.writer.cityjson;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.citydb.config.Config;
+import org.citydb.config.geometry.BoundingBox;
+import org.citydb.config.project.database.DatabaseSrs;
+import org.citydb.config.project.exporter.CityJSONOptions;
+import org.citydb.core.operation.exporter.util.Metadata;
+import org.citydb.core.operation.exporter.writer.FeatureWriteException;
+import org.citydb.core.operation.exporter.writer.FeatureWriter;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.core.writer.CityJSONSeqWriterWorkerFactory;
+import org.citydb.core.writer.SequentialWriter;
+import org.citydb.util.concurrent.SingleWorkerPool;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.EventType;
+import org.citygml4j.CityGMLContext;
+import org.citygml4j.builder.cityjson.json.io.writer.CityJSONOutputFactory;
+import org.citygml4j.builder.cityjson.json.io.writer.CityJSONWriteException;
+import org.citygml4j.builder.cityjson.marshal.util.DefaultTextureVerticesBuilder;
+import org.citygml4j.builder.cityjson.marshal.util.DefaultVerticesBuilder;
+import org.citygml4j.model.citygml.core.AbstractCityObject;
+import org.citygml4j.model.citygml.core.CityModel;
+import org.citygml4j.model.citygml.core.CityObjectMember;
+import org.citygml4j.model.gml.feature.AbstractFeature;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes CityJSON Text Sequences (CityJSONSeq). The first line is a CityJSON header
+ * holding the metadata and the vertex transformation. Every following line is a
+ * self-contained CityJSONFeature with local vertex indices. Features are encoded
+ * by the calling export workers, so neither city objects nor vertices are kept in
+ * memory after they have been written.
+ */
+public class CityJSONSeqWriter implements FeatureWriter, EventHandler {
+    private final Writer writer;
+    private final CityJSONOutputFactory factory;
+    private final CityJSONOptions cityJSONOptions;
+    private final DatabaseSrs targetSrs;
+    private final boolean useSequentialWriting;
+    private final boolean addSequenceId;
+    private final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
+    private final SingleWorkerPool<String> writerPool;
+    private final EventDispatcher eventDispatcher;
+    private final double[] translate = new double[3];
+    private final double scale;
+
+    private Metadata metadata;
+    private SequentialWriter<String> sequentialWriter;
+    private boolean hasHeader;
+
+    CityJSONSeqWriter(Writer writer, CityJSONOutputFactory factory, Config config, DatabaseSrs targetSrs, boolean useSequentialWriting, Object eventChannel) {
+        this.writer = writer;
+        this.factory = factory;
+        this.targetSrs = targetSrs;
+        this.useSequentialWriting = useSequentialWriting;
+
+        cityJSONOptions = config.getExportConfig().getCityJSONOptions();
+        addSequenceId = cityJSONOptions.isAddSequenceIdWhenSorting();
+        scale = Math.pow(10, -cityJSONOptions.getSignificantDigits());
+
+        eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
+        eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
+
+        writerPool = new SingleWorkerPool<>(
+                "cityjson_writer_pool",
+                new CityJSONSeqWriterWorkerFactory(writer, eventDispatcher),
+                config.getExportConfig().getResources().getThreadPool().getMaxThreads() * 2,
+                false);
+
+        writerPool.setEventSource(eventChannel);
+        writerPool.prestartCoreWorkers();
+
+        if (useSequentialWriting) {
+            sequentialWriter = new SequentialWriter<>(writerPool);
+        }
+    }
+
+    @Override
+    public void writeHeader() throws FeatureWriteException {
+        if (hasHeader) {
+            return;
+        }
+
+        // all features share the transformation of the header. we therefore
+        // have to fix it before the first feature is written
+        if (metadata != null && metadata.isSetSpatialExtent()) {
+            BoundingBox extent = metadata.getSpatialExtent();
+            translate[0] = extent.getLowerCorner().getX();
+            translate[1] = extent.getLowerCorner().getY();
+            translate[2] = extent.is3D() ? extent.getLowerCorner().getZ() : 0;
+        }
+
+        JsonObject header = new JsonObject();
+        header.addProperty("type", "CityJSON");
+        header.addProperty("version", "1.1");
+
+        JsonObject transform = new JsonObject();
+        transform.add("scale", toArray(scale, scale, scale));
+        transform.add("translate", toArray(translate));
+        header.add("transform", transform);
+
+        JsonObject metadata = createMetadata();
+        if (metadata.size() > 0) {
+            header.add("metadata", metadata);
+        }
+
+        header.add("CityObjects", new JsonObject());
+        header.add("vertices", new JsonArray());
+
+        writerPool.addWork(gson.toJson(header));
+        hasHeader = true;
+    }
+
+    @Override
+    public void write(AbstractFeature feature, long sequenceId) throws FeatureWriteException {
+        if (feature instanceof AbstractCityObject) {
+            JsonObject cityJSONFeature = createFeature((AbstractCityObject) feature, sequenceId);
+            if (cityJSONFeature == null) {
+                return;
+            }
+
+            String line = gson.toJson(cityJSONFeature);
+            if (!useSequentialWriting) {
+                writerPool.addWork(line);
+            } else {
+                try {
+                    sequentialWriter.write(line, sequenceId);
+                } catch (InterruptedException e) {
+                    throw new FeatureWriteException("Failed to write city object with gml:id '" + feature.getId() + "'.", e);
+                }
+            }
+        }
+    }
+
+    private JsonObject createFeature(AbstractCityObject cityObject, long sequenceId) throws FeatureWriteException {
+        // encode the city object as CityJSON document of its own so that
+        // vertex and texture vertex indices are local to this feature
+        CityModel cityModel = new CityModel();
+        cityModel.addCityObjectMember(new CityObjectMember(cityObject));
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try {
+            org.citygml4j.builder.cityjson.json.io.writer.CityJSONWriter writer =
+                    factory.createCityJSONWriter(buffer, StandardCharsets.UTF_8.name());
+            writer.setIndent("");
+            writer.setVerticesBuilder(new DefaultVerticesBuilder()
+                    .withSignificantDigits(cityJSONOptions.getSignificantDigits()));
+            writer.setTextureVerticesBuilder(new DefaultTextureVerticesBuilder()
+                    .withSignificantDigits(cityJSONOptions.getSignificantTextureDigits()));
+
+            CityGMLContext context = CityGMLContext.getInstance();
+            if (context.hasADEContexts()) {
+                writer.setExtensions(context.getADEContexts());
+            }
+
+            writer.write(cityModel);
+            writer.close();
+        } catch (CityJSONWriteException e) {
+            throw new FeatureWriteException("Failed to encode city object with gml:id '" + cityObject.getId() + "'.", e);
+        }
+
+        JsonObject document;
+        try {
+            document = JsonParser.parseString(new String(buffer.toByteArray(), StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            throw new FeatureWriteException("Failed to encode city object with gml:id '" + cityObject.getId() + "'.", e);
+        }
+
+        JsonObject cityObjects = document.getAsJsonObject("CityObjects");
+        if (cityObjects == null || cityObjects.size() == 0) {
+            return null;
+        }
+
+        String id = cityObject.getId();
+        if (id == null || !cityObjects.has(id)) {
+            id = cityObjects.keySet().iterator().next();
+        }
+
+        for (Map.Entry<String, JsonElement> entry : cityObjects.entrySet()) {
+            updateLods(entry.getValue().getAsJsonObject());
+        }
+
+        if (useSequentialWriting && addSequenceId && sequenceId >= 0) {
+            JsonObject parent = cityObjects.getAsJsonObject(id);
+            JsonObject attributes = parent.getAsJsonObject("attributes");
+            if (attributes == null) {
+                attributes = new JsonObject();
+                parent.add("attributes", attributes);
+            }
+
+            attributes.addProperty("sequenceId", sequenceId);
+        }
+
+        JsonObject feature = new JsonObject();
+        feature.addProperty("type", "CityJSONFeature");
+        feature.addProperty("id", id);
+        feature.add("CityObjects", cityObjects);
+        feature.add("vertices", toLocalVertices(document.getAsJsonArray("vertices")));
+
+        JsonElement appearance = document.get("appearance");
+        if (appearance != null) {
+            feature.add("appearance", appearance);
+        }
+
+        return feature;
+    }
+
+    private JsonArray toLocalVertices(JsonArray vertices) {
+        if (vertices == null) {
+            return new JsonArray();
+        }
+
+        JsonArray result = new JsonArray(vertices.size());
+        for (JsonElement element : vertices) {
+            JsonArray vertex = element.getAsJsonArray();
+            JsonArray quantized = new JsonArray(3);
+            for (int i = 0; i < 3; i++) {
+                quantized.add(Math.round((vertex.get(i).getAsDouble() - translate[i]) / scale));
+            }
+
+            result.add(quantized);
+        }
+
+        return result;
+    }
+
+    private void updateLods(JsonObject cityObject) {
+        // CityJSON 1.1 encodes the LoD of a geometry as string
+        JsonElement geometries = cityObject.get("geometry");
+        if (geometries != null && geometries.isJsonArray()) {
+            for (JsonElement element : geometries.getAsJsonArray()) {
+                if (element.isJsonObject()) {
+                    JsonObject geometry = element.getAsJsonObject();
+                    JsonElement lod = geometry.get("lod");
+                    if (lod != null && lod.isJsonPrimitive() && lod.getAsJsonPrimitive().isNumber()) {
+                        geometry.addProperty("lod", BigDecimal.valueOf(lod.getAsDouble()).stripTrailingZeros().toPlainString());
+                    }
+                }
+            }
+        }
+    }
+
+    private JsonObject createMetadata() {
+        JsonObject metadata = new JsonObject();
+        if (targetSrs != null) {
+            metadata.addProperty("referenceSystem", "https://www.opengis.net/def/crs/EPSG/0/" + targetSrs.getSrid());
+        }
+
+        if (this.metadata != null) {
+            if (this.metadata.isSetDatasetName()) {
+                metadata.addProperty("title", this.metadata.getDatasetName());
+            }
+
+            if (this.metadata.isSetSpatialExtent()
+                    && this.metadata.getSpatialExtent().is3D()) {
+                BoundingBox bbox = this.metadata.getSpatialExtent();
+                metadata.add("geographicalExtent", toArray(
+                        bbox.getLowerCorner().getX(), bbox.getLowerCorner().getY(), bbox.getLowerCorner().getZ(),
+                        bbox.getUpperCorner().getX(), bbox.getUpperCorner().getY(), bbox.getUpperCorner().getZ()));
+            }
+        }
+
+        return metadata;
+    }
+
+    private JsonArray toArray(double... values) {
+        JsonArray array = new JsonArray(values.length);
+        for (double value : values) {
+            array.add(value);
+        }
+
+        return array;
+    }
+
+    @Override
+    public void updateSequenceId(long sequenceId) throws FeatureWriteException {
+        if (useSequentialWriting) {
+            try {
+                sequentialWriter.updateSequenceId(sequenceId);
+            } catch (InterruptedException e) {
+                throw new FeatureWriteException("Failed to update sequence id.", e);
+            }
+        }
+    }
+
+    @Override
+    public void useIndentation(boolean useIndentation) {
+        // every feature must be written on a single line
+    }
+
+    @Override
+    public Metadata getMetadata() {
+        if (metadata == null) {
+            metadata = new Metadata();
+        }
+
+        return metadata;
+    }
+
+    @Override
+    public boolean supportsFlatHierarchies() {
+        // nested features must be part of the CityJSONFeature of their parent
+        return false;
+    }
+
+    @Override
+    public void close() throws FeatureWriteException {
+        try {
+            writeHeader();
+
+            if (useSequentialWriting) {
+                sequentialWriter.logStatistics();
+            }
+
+            writerPool.shutdownAndWait();
+            writer.close();
+        } catch (InterruptedException | IOException e) {
+            throw new FeatureWriteException("Failed to close CityJSONSeq writer.", e);
+        } finally {
+            if (!writerPool.isTerminated()) {
+                writerPool.shutdownNow();
+            }
+
+            eventDispatcher.removeEventHandler(this);
+        }
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        if (useSequentialWriting) {
+            sequentialWriter.interrupt();
+        }
+    }
+}
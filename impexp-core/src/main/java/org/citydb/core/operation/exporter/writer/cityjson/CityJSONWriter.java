@@ -157,6 +157,10 @@ public class CityJSONWriter implements FeatureWriter, EventHandler {
     @Override
     public void close() throws FeatureWriteException {
         try {
+            if (useSequentialWriting) {
+                sequentialWriter.logStatistics();
+            }
+
             writerPool.shutdownAndWait();
 
             // add metadata
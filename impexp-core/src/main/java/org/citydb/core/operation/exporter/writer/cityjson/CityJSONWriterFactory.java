@@ -45,7 +45,11 @@ import org.citygml4j.builder.cityjson.marshal.util.DefaultTextureVerticesBuilder
 import org.citygml4j.builder.cityjson.marshal.util.DefaultVerticesBuilder;
 import org.citygml4j.builder.cityjson.marshal.util.DefaultVerticesTransformer;
 
+import java.io.BufferedWriter;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 
 public class CityJSONWriterFactory implements FeatureWriterFactory {
     private final CityGMLContext context = CityGMLContext.getInstance();
@@ -73,6 +77,16 @@ public class CityJSONWriterFactory implements FeatureWriterFactory {
 
     @Override
     public FeatureWriter createFeatureWriter(OutputStream outputStream) throws FeatureWriteException {
+        if (config.getExportConfig().getCityJSONOptions().isUseCityJSONSeq()) {
+            try {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream,
+                        config.getExportConfig().getGeneralOptions().getFileEncoding()));
+                return new CityJSONSeqWriter(writer, factory, config, targetSrs, useSequentialWriting, eventChannel);
+            } catch (UnsupportedEncodingException e) {
+                throw new FeatureWriteException("Failed to create CityJSONSeq writer.", e);
+            }
+        }
+
         CityJSONChunkWriter chunkWriter;
         try {
             chunkWriter = factory.createCityJSONChunkWriter(outputStream, config.getExportConfig().getGeneralOptions().getFileEncoding());
@@ -34,6 +34,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -196,6 +197,25 @@ public class ObjectGmlIdCache implements IdCachingModel {
         return "object";
     }
 
+    @Override
+    public boolean copyToCacheTable(CacheTable cacheTable) throws SQLException {
+        for (CacheTable backUpTable : backUpTables) {
+            if (backUpTable != null && backUpTable.getConnection() != cacheTable.getConnection())
+                return false;
+        }
+
+        try (Statement stmt = cacheTable.getConnection().createStatement()) {
+            for (CacheTable backUpTable : backUpTables) {
+                if (backUpTable != null) {
+                    stmt.executeUpdate("insert into " + cacheTable.getTableName() + " (GMLID, ID, MAPPING, OBJECTCLASS_ID) " +
+                            "select GMLID, ID, MAPPING, OBJECTCLASS_ID from " + backUpTable.getTableName());
+                }
+            }
+        }
+
+        return true;
+    }
+
     private void enableIndexesOnCacheTable(int partition) throws SQLException {
         final ReentrantLock lock = this.mainLock;
         lock.lock();
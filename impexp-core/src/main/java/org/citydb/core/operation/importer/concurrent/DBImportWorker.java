@@ -31,18 +31,21 @@ import org.citydb.config.Config;
 import org.citydb.config.project.global.LogLevel;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.file.InputFile;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.util.AffineTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.importer.CityGMLImportException;
 import org.citydb.core.operation.importer.database.content.CityGMLImportManager;
 import org.citydb.core.operation.importer.filter.CityGMLFilter;
+import org.citydb.core.operation.importer.util.DuplicateDetector;
 import org.citydb.core.operation.importer.util.ImportLogger;
 import org.citydb.core.operation.importer.util.ImportLogger.ImportLogEntry;
 import org.citydb.core.operation.importer.util.InternalConfig;
 import org.citydb.core.plugin.PluginException;
 import org.citydb.core.plugin.PluginManager;
 import org.citydb.core.plugin.extension.importer.FeatureImportExtension;
+import org.citydb.core.util.CoreConstants;
 import org.citydb.util.concurrent.Worker;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.Event;
@@ -59,7 +62,10 @@ import org.citygml4j.util.bbox.BoundingBoxOptions;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class DBImportWorker extends Worker<CityGML> implements EventHandler {
@@ -69,14 +75,27 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 
     private final Connection connection;
     private final boolean isManagedTransaction;
+    private final AbstractDatabaseAdapter databaseAdapter;
+    private final SchemaMapping schemaMapping;
+    private final CityGMLBuilder cityGMLBuilder;
+    private final WorkerPool<DBXlink> xlinkPool;
+    private final IdCacheManager idCacheManager;
     private final CityGMLFilter filter;
+    private final AffineTransformer affineTransformer;
     private final ImportLogger importLogger;
+    private final InternalConfig internalConfig;
+    private final Map<InputFile, InternalConfig> internalConfigs;
+    private final Config config;
     private final EventDispatcher eventDispatcher;
 
     private final BoundingBoxOptions bboxOptions;
-    private final CityGMLImportManager importer;
+    private final Map<InternalConfig, CityGMLImportManager> importers;
+    private final int maxImporters;
     private final List<FeatureImportExtension> plugins;
 
+    private CityGMLImportManager importer;
+    private DuplicateDetector.Checker duplicateChecker;
+
     private int globalAppearanceCounter = 0;
     private int topLevelFeatureCounter = 0;
     private int commitAfter;
@@ -92,23 +111,30 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
                           AffineTransformer affineTransformer,
                           ImportLogger importLogger,
                           InternalConfig internalConfig,
+                          Map<InputFile, InternalConfig> internalConfigs,
                           Config config,
                           EventDispatcher eventDispatcher) throws SQLException {
         this.connection = connection;
         this.isManagedTransaction = isManagedTransaction;
+        this.databaseAdapter = databaseAdapter;
+        this.schemaMapping = schemaMapping;
+        this.cityGMLBuilder = cityGMLBuilder;
+        this.xlinkPool = xlinkPool;
+        this.idCacheManager = idCacheManager;
         this.filter = filter;
+        this.affineTransformer = affineTransformer;
         this.importLogger = importLogger;
+        this.internalConfig = internalConfig;
+        this.internalConfigs = internalConfigs;
+        this.config = config;
         this.eventDispatcher = eventDispatcher;
 
-        importer = new CityGMLImportManager(connection,
-                databaseAdapter,
-                schemaMapping,
-                cityGMLBuilder,
-                xlinkPool,
-                idCacheManager,
-                affineTransformer,
-                internalConfig,
-                config);
+        // when importing several files concurrently, features of different files are passed
+        // to this worker. we keep one import manager per file since the import statements
+        // depend on the file-specific settings of the internal config
+        importers = new LinkedHashMap<>(16, 0.75f, true);
+        maxImporters = Math.max(config.getImportConfig().getResources().getConcurrentFiles(), 1);
+        importer = createImportManager(internalConfig);
 
         commitAfter = config.getDatabaseConfig().getImportBatching().getFeatureBatchSize();
         if (commitAfter > databaseAdapter.getMaxBatchSize()) {
@@ -123,6 +149,11 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
     }
 
+    public DBImportWorker withDuplicateChecker(DuplicateDetector.Checker duplicateChecker) {
+        this.duplicateChecker = duplicateChecker;
+        return this;
+    }
+
     @Override
     public void interrupt() {
         shouldRun = false;
@@ -147,12 +178,11 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
 
             try {
                 if (shouldWork) {
-                    importer.executeBatch();
-                    if (!isManagedTransaction) {
-                        connection.commit();
+                    if (duplicateChecker != null) {
+                        importDuplicateCandidates();
                     }
 
-                    updateImportContext();
+                    commit();
                 }
             } catch (IOException e) {
                 eventDispatcher.triggerSyncEvent(new InterruptEvent("A fatal error occurred while updating the import log.", LogLevel.ERROR, e, eventChannel));
@@ -168,10 +198,20 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
                 eventDispatcher.triggerSyncEvent(new InterruptEvent("A fatal error occurred during import.", LogLevel.ERROR, e, eventChannel));
             }
         } finally {
-            try {
-                importer.close();
-            } catch (CityGMLImportException | SQLException e) {
-                //
+            if (duplicateChecker != null) {
+                try {
+                    duplicateChecker.close();
+                } catch (SQLException e) {
+                    //
+                }
+            }
+
+            for (CityGMLImportManager importer : importers.values()) {
+                try {
+                    importer.close();
+                } catch (CityGMLImportException | SQLException e) {
+                    //
+                }
             }
 
             if (!isManagedTransaction) {
@@ -195,6 +235,10 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
                 return;
             }
 
+            if (internalConfigs != null) {
+                importer = getImportManager(work);
+            }
+
             if (work instanceof AbstractFeature) {
                 AbstractFeature feature = (AbstractFeature) work;
 
@@ -228,6 +272,16 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
                         return;
                     }
 
+                    // features whose gml:id might already exist in the database are
+                    // collected and checked in batches before they are imported
+                    if (duplicateChecker != null && duplicateChecker.offer(feature, getInputFileName(feature))) {
+                        if (duplicateChecker.isFull()) {
+                            importDuplicateCandidates();
+                        }
+
+                        return;
+                    }
+
                     id = importer.importObject(feature);
                     if (id != 0) {
                         topLevelFeatureCounter++;
@@ -237,12 +291,7 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
                 if (id == 0) {
                     importer.logOrThrowErrorMessage("Failed to import object " + importer.getObjectSignature(feature) + ".");
                 } else if (globalAppearanceCounter + topLevelFeatureCounter == commitAfter) {
-                    importer.executeBatch();
-                    if (!isManagedTransaction) {
-                        connection.commit();
-                    }
-
-                    updateImportContext();
+                    commit();
                 }
             } else {
                 importer.logOrThrowErrorMessage((work instanceof AbstractGML ?
@@ -265,20 +314,110 @@ public class DBImportWorker extends Worker<CityGML> implements EventHandler {
         }
     }
 
+    private void importDuplicateCandidates() throws CityGMLImportException, SQLException, IOException {
+        for (AbstractFeature feature : duplicateChecker.confirm()) {
+            if (internalConfigs != null) {
+                importer = getImportManager(feature);
+            }
+
+            long id = importer.importObject(feature);
+            if (id == 0) {
+                importer.logOrThrowErrorMessage("Failed to import object " + importer.getObjectSignature(feature) + ".");
+            } else if (globalAppearanceCounter + ++topLevelFeatureCounter == commitAfter) {
+                commit();
+            }
+        }
+    }
+
+    private String getInputFileName(AbstractFeature feature) {
+        Object inputFile = feature.getLocalProperty(CoreConstants.IMPORT_INPUT_FILE);
+        if (!(inputFile instanceof InputFile)) {
+            inputFile = internalConfig.getInputFile();
+        }
+
+        return inputFile != null ? ((InputFile) inputFile).getFile().toAbsolutePath().toString() : "";
+    }
+
+    private CityGMLImportManager getImportManager(CityGML work) throws CityGMLImportException, SQLException, IOException {
+        InternalConfig internalConfig = null;
+        if (work instanceof AbstractGML) {
+            Object inputFile = ((AbstractGML) work).getLocalProperty(CoreConstants.IMPORT_INPUT_FILE);
+            if (inputFile != null) {
+                internalConfig = internalConfigs.get(inputFile);
+            }
+        }
+
+        if (internalConfig == null) {
+            internalConfig = this.internalConfig;
+        }
+
+        CityGMLImportManager importer = importers.get(internalConfig);
+        if (importer == null) {
+            if (importers.size() >= maxImporters) {
+                // release the least recently used import manager. its pending
+                // batches and counters are committed before it is closed
+                commit();
+                Iterator<CityGMLImportManager> iterator = importers.values().iterator();
+                iterator.next().close();
+                iterator.remove();
+            }
+
+            importer = createImportManager(internalConfig);
+        }
+
+        return importer;
+    }
+
+    private CityGMLImportManager createImportManager(InternalConfig internalConfig) throws SQLException {
+        CityGMLImportManager importer = new CityGMLImportManager(connection,
+                databaseAdapter,
+                schemaMapping,
+                cityGMLBuilder,
+                xlinkPool,
+                idCacheManager,
+                affineTransformer,
+                internalConfig,
+                config);
+
+        importers.put(internalConfig, importer);
+        return importer;
+    }
+
+    private void commit() throws CityGMLImportException, SQLException, IOException {
+        for (CityGMLImportManager importer : importers.values()) {
+            importer.executeBatch();
+        }
+
+        if (!isManagedTransaction) {
+            connection.commit();
+        }
+
+        updateImportContext();
+    }
+
     private void updateImportContext() throws IOException {
-        eventDispatcher.triggerEvent(new ObjectCounterEvent(importer.getAndResetObjectCounter(), eventChannel));
-        eventDispatcher.triggerEvent(new GeometryCounterEvent(importer.getAndResetGeometryCounter(), eventChannel));
+        for (Map.Entry<InternalConfig, CityGMLImportManager> entry : importers.entrySet()) {
+            CityGMLImportManager importer = entry.getValue();
+            eventDispatcher.triggerEvent(new ObjectCounterEvent(importer.getAndResetObjectCounter(), eventChannel));
+            eventDispatcher.triggerEvent(new GeometryCounterEvent(importer.getAndResetGeometryCounter(), eventChannel));
+
+            // log imported top-level features
+            if (importLogger != null) {
+                InputFile inputFile = entry.getKey().getInputFile();
+                for (ImportLogEntry logEntry : importer.getAndResetImportLogEntries()) {
+                    if (internalConfigs != null) {
+                        importLogger.write(logEntry, inputFile != null ? inputFile.getFile() : null);
+                    } else {
+                        importLogger.write(logEntry);
+                    }
+                }
+            }
+        }
+
         eventDispatcher.triggerEvent(new CounterEvent(CounterType.GLOBAL_APPEARANCE, globalAppearanceCounter));
         eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, topLevelFeatureCounter));
         globalAppearanceCounter = 0;
         topLevelFeatureCounter = 0;
-
-        // log imported top-level features
-        if (importLogger != null) {
-            for (ImportLogEntry entry : importer.getAndResetImportLogEntries()) {
-                importLogger.write(entry);
-            }
-        }
     }
 
     @Override
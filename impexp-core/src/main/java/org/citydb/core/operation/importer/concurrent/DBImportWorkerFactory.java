@@ -32,10 +32,12 @@ import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.connection.ConnectionManager;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.file.InputFile;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.util.AffineTransformer;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.importer.filter.CityGMLFilter;
+import org.citydb.core.operation.importer.util.DuplicateDetector;
 import org.citydb.core.operation.importer.util.ImportLogger;
 import org.citydb.core.operation.importer.util.InternalConfig;
 import org.citydb.util.concurrent.Worker;
@@ -48,6 +50,7 @@ import org.citygml4j.model.citygml.CityGML;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 
 public class DBImportWorkerFactory implements WorkerFactory<CityGML> {
     private final Logger log = Logger.getInstance();
@@ -66,6 +69,9 @@ public class DBImportWorkerFactory implements WorkerFactory<CityGML> {
     private final Config config;
     private final EventDispatcher eventDispatcher;
 
+    private Map<InputFile, InternalConfig> internalConfigs;
+    private DuplicateDetector duplicateDetector;
+
     public DBImportWorkerFactory(ConnectionManager connectionManager,
                                  boolean isManagedTransaction,
                                  AbstractDatabaseAdapter databaseAdapter,
@@ -125,6 +131,16 @@ public class DBImportWorkerFactory implements WorkerFactory<CityGML> {
                 filter, affineTransformer, importLogger, internalConfig, config, eventDispatcher);
     }
 
+    public DBImportWorkerFactory withInternalConfigs(Map<InputFile, InternalConfig> internalConfigs) {
+        this.internalConfigs = internalConfigs;
+        return this;
+    }
+
+    public DBImportWorkerFactory withDuplicateDetector(DuplicateDetector duplicateDetector) {
+        this.duplicateDetector = duplicateDetector;
+        return this;
+    }
+
     @Override
     public Worker<CityGML> createWorker() {
         DBImportWorker dbWorker = null;
@@ -135,8 +151,13 @@ public class DBImportWorkerFactory implements WorkerFactory<CityGML> {
                 connection.setAutoCommit(false);
             }
 
+            DuplicateDetector.Checker duplicateChecker = duplicateDetector != null ?
+                    duplicateDetector.createChecker(connection) :
+                    null;
+
             dbWorker = new DBImportWorker(connection, isManagedTransaction, databaseAdapter, schemaMapping, cityGMLBuilder,
-                    xlinkWorkerPool, idCacheManager, filter, affineTransformer, importLogger, internalConfig, config, eventDispatcher);
+                    xlinkWorkerPool, idCacheManager, filter, affineTransformer, importLogger, internalConfig, internalConfigs, config,
+                    eventDispatcher).withDuplicateChecker(duplicateChecker);
         } catch (SQLException e) {
             log.error("Failed to create import worker.", e);
         }
@@ -29,11 +29,14 @@ package org.citydb.core.operation.importer.concurrent;
 
 import org.citydb.config.Config;
 import org.citydb.config.project.global.LogLevel;
+import org.citydb.core.file.InputFile;
+import org.citydb.core.util.CoreConstants;
 import org.citydb.util.concurrent.Worker;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.global.InterruptEvent;
 import org.citygml4j.model.citygml.CityGML;
+import org.citygml4j.model.gml.base.AbstractGML;
 import org.citygml4j.xml.io.reader.MissingADESchemaException;
 import org.citygml4j.xml.io.reader.UnmarshalException;
 import org.citygml4j.xml.io.reader.XMLChunk;
@@ -44,13 +47,16 @@ public class FeatureReaderWorker extends Worker<XMLChunk> {
     private final ReentrantLock runLock = new ReentrantLock();
     private volatile boolean shouldRun = true;
 
+    private final InputFile inputFile;
     private final WorkerPool<CityGML> workerPool;
     private final EventDispatcher eventDispatcher;
     private final boolean useValidation;
 
-    public FeatureReaderWorker(WorkerPool<CityGML> workerPool,
+    public FeatureReaderWorker(InputFile inputFile,
+                               WorkerPool<CityGML> workerPool,
                                Config config,
                                EventDispatcher eventDispatcher) {
+        this.inputFile = inputFile;
         this.workerPool = workerPool;
         this.eventDispatcher = eventDispatcher;
 
@@ -87,6 +93,10 @@ public class FeatureReaderWorker extends Worker<XMLChunk> {
             try {
                 CityGML cityGML = work.unmarshal();
                 if (!useValidation || work.hasPassedXMLValidation()) {
+                    if (cityGML instanceof AbstractGML) {
+                        ((AbstractGML) cityGML).setLocalProperty(CoreConstants.IMPORT_INPUT_FILE, inputFile);
+                    }
+
                     workerPool.addWork(cityGML);
                 }
             } catch (UnmarshalException e) {
@@ -28,6 +28,7 @@
 package org.citydb.core.operation.importer.concurrent;
 
 import org.citydb.config.Config;
+import org.citydb.core.file.InputFile;
 import org.citydb.util.concurrent.Worker;
 import org.citydb.util.concurrent.WorkerFactory;
 import org.citydb.util.concurrent.WorkerPool;
@@ -36,13 +37,16 @@ import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.xml.io.reader.XMLChunk;
 
 public class FeatureReaderWorkerFactory implements WorkerFactory<XMLChunk> {
+    private final InputFile inputFile;
     private final WorkerPool<CityGML> workerPool;
     private final Config config;
     private final EventDispatcher eventDispatcher;
 
-    public FeatureReaderWorkerFactory(WorkerPool<CityGML> workerPool,
+    public FeatureReaderWorkerFactory(InputFile inputFile,
+                                      WorkerPool<CityGML> workerPool,
                                       Config config,
                                       EventDispatcher eventDispatcher) {
+        this.inputFile = inputFile;
         this.workerPool = workerPool;
         this.config = config;
         this.eventDispatcher = eventDispatcher;
@@ -50,6 +54,6 @@ public class FeatureReaderWorkerFactory implements WorkerFactory<XMLChunk> {
 
     @Override
     public Worker<XMLChunk> createWorker() {
-        return new FeatureReaderWorker(workerPool, config, eventDispatcher);
+        return new FeatureReaderWorker(inputFile, workerPool, config, eventDispatcher);
     }
 }
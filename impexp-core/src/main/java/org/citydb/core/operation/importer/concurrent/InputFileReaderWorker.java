@@ -0,0 +1,144 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.concurrent;
+
+import org.citydb.config.Config;
+import org.citydb.config.project.global.LogLevel;
+import org.citydb.core.file.InputFile;
+import org.citydb.core.operation.importer.filter.CityGMLFilter;
+import org.citydb.core.operation.importer.reader.FeatureReadException;
+import org.citydb.core.operation.importer.reader.FeatureReader;
+import org.citydb.core.operation.importer.reader.FeatureReaderFactory;
+import org.citydb.core.operation.importer.reader.FeatureReaderFactoryBuilder;
+import org.citydb.util.concurrent.Worker;
+import org.citydb.util.concurrent.WorkerPool;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.EventType;
+import org.citydb.util.event.global.InterruptEvent;
+import org.citydb.util.log.Logger;
+import org.citygml4j.model.citygml.CityGML;
+
+import java.io.IOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class InputFileReaderWorker extends Worker<InputFile> implements EventHandler {
+    private final Logger log = Logger.getInstance();
+    private final ReentrantLock runLock = new ReentrantLock();
+    private volatile boolean shouldRun = true;
+    private volatile boolean shouldWork = true;
+
+    private final WorkerPool<CityGML> dbWorkerPool;
+    private final FeatureReaderFactoryBuilder builder;
+    private final CityGMLFilter filter;
+    private final Config config;
+    private final EventDispatcher eventDispatcher;
+
+    public InputFileReaderWorker(WorkerPool<CityGML> dbWorkerPool,
+                                 FeatureReaderFactoryBuilder builder,
+                                 CityGMLFilter filter,
+                                 Config config,
+                                 EventDispatcher eventDispatcher) {
+        this.dbWorkerPool = dbWorkerPool;
+        this.builder = builder;
+        this.filter = filter;
+        this.config = config;
+        this.eventDispatcher = eventDispatcher;
+
+        eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
+    }
+
+    @Override
+    public void interrupt() {
+        shouldRun = false;
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (firstWork != null) {
+                doWork(firstWork);
+                firstWork = null;
+            }
+
+            while (shouldRun) {
+                try {
+                    InputFile work = workQueue.take();
+                    doWork(work);
+                } catch (InterruptedException ie) {
+                    // re-check state
+                }
+            }
+        } finally {
+            eventDispatcher.removeEventHandler(this);
+        }
+    }
+
+    private void doWork(InputFile work) {
+        final ReentrantLock runLock = this.runLock;
+        runLock.lock();
+
+        try (InputFile file = work) {
+            if (!shouldWork) {
+                return;
+            }
+
+            FeatureReaderFactory factory = builder.buildFactory(file, filter, eventChannel, config);
+            log.info("Importing file: " + file.getFile());
+
+            try (FeatureReader reader = factory.createFeatureReader()) {
+                reader.read(file, dbWorkerPool);
+
+                // show XML validation errors
+                if (reader.getValidationErrors() > 0) {
+                    log.warn(reader.getValidationErrors() + " error(s) encountered while validating the document '" +
+                            file.getFile() + "'.");
+                }
+            }
+        } catch (FeatureReadException e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("Failed to read input file '" + work.getFile() + "'.",
+                    LogLevel.ERROR, e, eventChannel));
+        } catch (IOException e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("Failed to process input file '" + work.getFile() + "'.",
+                    LogLevel.ERROR, e, eventChannel));
+        } catch (Throwable e) {
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("A fatal error occurred during parsing of input file.",
+                    LogLevel.ERROR, e, eventChannel));
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        if (event.getChannel() == eventChannel) {
+            shouldWork = false;
+        }
+    }
+}
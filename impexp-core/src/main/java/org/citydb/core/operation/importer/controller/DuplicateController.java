@@ -37,6 +37,9 @@ import org.citydb.config.project.deleter.DeleteMode;
 import org.citydb.config.project.global.CacheMode;
 import org.citydb.config.project.importer.Continuation;
 import org.citydb.config.project.importer.ImportMode;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.connection.DatabaseConnectionPool;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
 import org.citydb.core.file.FileType;
 import org.citydb.core.file.InputFile;
 import org.citydb.core.file.input.AbstractArchiveInputFile;
@@ -55,6 +58,7 @@ import org.citydb.core.operation.importer.reader.FeatureReadException;
 import org.citydb.core.operation.importer.reader.FeatureReader;
 import org.citydb.core.operation.importer.reader.FeatureReaderFactory;
 import org.citydb.core.operation.importer.reader.FeatureReaderFactoryBuilder;
+import org.citydb.core.operation.importer.util.DuplicateDetector;
 import org.citydb.core.operation.importer.util.DuplicateLogger;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.util.concurrent.SingleWorkerPool;
@@ -73,6 +77,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -85,6 +90,7 @@ public class DuplicateController implements EventHandler {
 
     private volatile boolean shouldRun = true;
     private DuplicateLogger duplicateLogger;
+    private DuplicateDetector duplicateDetector;
 
     public DuplicateController(Object eventChannel) {
         this.eventChannel = eventChannel;
@@ -132,15 +138,7 @@ public class DuplicateController implements EventHandler {
         log.info("Checking database for duplicate top-level features...");
         eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.duplicates.check")));
 
-        try {
-            duplicateLogger = new DuplicateLogger(config.getImportConfig().getDuplicateLog(),
-                    config.getDatabaseConfig().getActiveConnection());
-            if (!duplicateLogger.isTemporary()) {
-                log.info("Log file of duplicate top-level features: " + duplicateLogger.getLogFilePath().toString());
-            }
-        } catch (IOException e) {
-            throw new CityGMLImportException("Failed to create log file for duplicate top-level features.", e);
-        }
+        duplicateLogger = createDuplicateLogger();
 
         DuplicateCheckerWorker worker;
         try {
@@ -198,6 +196,59 @@ public class DuplicateController implements EventHandler {
         return duplicates > 0;
     }
 
+    public DuplicateDetector createDuplicateDetector(SchemaMapping schemaMapping, AbstractDatabaseAdapter databaseAdapter) throws CityGMLImportException {
+        log.info("Loading gml:ids of existing top-level features for duplicate detection...");
+        eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.duplicates.check")));
+        duplicateLogger = createDuplicateLogger();
+
+        DuplicateDetector duplicateDetector = new DuplicateDetector(schemaMapping, databaseAdapter,
+                duplicateLogger, config.getImportConfig().getMode());
+
+        try (Connection connection = DatabaseConnectionPool.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            duplicateDetector.load(connection);
+        } catch (SQLException e) {
+            closeDuplicateLog(false);
+            if (duplicateLogger.isTemporary()) {
+                deleteDuplicateLog();
+            }
+
+            throw new CityGMLImportException("Failed to load gml:ids of existing top-level features.", e);
+        }
+
+        this.duplicateDetector = duplicateDetector;
+        return duplicateDetector;
+    }
+
+    public boolean finishDuplicateDetection(boolean success) throws CityGMLImportException {
+        if (duplicateDetector == null) {
+            return false;
+        }
+
+        long duplicates = duplicateDetector.getNumberOfDuplicates();
+        duplicateDetector = null;
+
+        try {
+            duplicateLogger.close(success);
+        } catch (IOException e) {
+            throw new CityGMLImportException("Failed to close the duplicate log. It is most likely corrupt.", e);
+        }
+
+        if (success) {
+            log.info(duplicates > 0 ?
+                    "Found " + duplicates + " duplicate top-level features in the database." :
+                    "No duplicate top-level features found.");
+        }
+
+        // a temporary log is only consumed when deleting or terminating duplicates
+        if (duplicateLogger.isTemporary()
+                && (!success || duplicates == 0 || !isDeleteMode(config.getImportConfig().getMode()))) {
+            deleteDuplicateLog();
+        }
+
+        return duplicates > 0;
+    }
+
     public void doDelete() throws CityGMLImportException {
         if (duplicateLogger != null) {
             eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
@@ -290,6 +341,32 @@ public class DuplicateController implements EventHandler {
         return duplicateListCacheTable;
     }
 
+    private DuplicateLogger createDuplicateLogger() throws CityGMLImportException {
+        try {
+            DuplicateLogger duplicateLogger = new DuplicateLogger(config.getImportConfig().getDuplicateLog(),
+                    config.getDatabaseConfig().getActiveConnection());
+            if (!duplicateLogger.isTemporary()) {
+                log.info("Log file of duplicate top-level features: " + duplicateLogger.getLogFilePath().toString());
+            }
+
+            return duplicateLogger;
+        } catch (IOException e) {
+            throw new CityGMLImportException("Failed to create log file for duplicate top-level features.", e);
+        }
+    }
+
+    private boolean isDeleteMode(ImportMode mode) {
+        return mode == ImportMode.DELETE_EXISTING || mode == ImportMode.TERMINATE_EXISTING;
+    }
+
+    private void closeDuplicateLog(boolean success) {
+        try {
+            duplicateLogger.close(success);
+        } catch (IOException e) {
+            log.error("Failed to close the duplicate log. It is most likely corrupt.", e);
+        }
+    }
+
     private void deleteDuplicateLog() {
         try {
             Files.deleteIfExists(duplicateLogger.getLogFilePath());
@@ -32,8 +32,10 @@ import org.citydb.config.Config;
 import org.citydb.config.i18n.Language;
 import org.citydb.config.project.database.Workspace;
 import org.citydb.config.project.global.CacheMode;
+import org.citydb.config.project.global.LogLevel;
 import org.citydb.config.project.importer.ImportList;
 import org.citydb.config.project.importer.ImportMode;
+import org.citydb.config.project.resources.IdCacheBackend;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.AbstractUtilAdapter;
 import org.citydb.core.database.adapter.IndexStatusInfo;
@@ -50,6 +52,8 @@ import org.citydb.core.operation.common.cache.CacheTable;
 import org.citydb.core.operation.common.cache.CacheTableManager;
 import org.citydb.core.operation.common.cache.IdCacheManager;
 import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.cache.IdCachingModel;
+import org.citydb.core.operation.common.cache.MappedIdCache;
 import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.csv.IdListException;
 import org.citydb.core.operation.common.csv.IdListImporter;
@@ -63,7 +67,11 @@ import org.citydb.core.operation.importer.cache.TextureImageCache;
 import org.citydb.core.operation.importer.concurrent.DBImportWorkerFactory;
 import org.citydb.core.operation.importer.concurrent.DBImportXlinkResolverWorkerFactory;
 import org.citydb.core.operation.importer.concurrent.DBImportXlinkWorkerFactory;
+import org.citydb.core.operation.importer.concurrent.InputFileReaderWorkerFactory;
+import org.citydb.core.operation.importer.database.SequenceStatistics;
+import org.citydb.core.operation.importer.database.xlink.resolver.DBXlinkSetResolver;
 import org.citydb.core.operation.importer.database.xlink.resolver.DBXlinkSplitter;
+import org.citydb.core.operation.importer.database.xlink.resolver.TextureImageUploader;
 import org.citydb.core.operation.importer.filter.CityGMLFilter;
 import org.citydb.core.operation.importer.filter.CityGMLFilterBuilder;
 import org.citydb.core.operation.importer.filter.selection.id.DuplicateListFilter;
@@ -71,8 +79,10 @@ import org.citydb.core.operation.importer.reader.FeatureReadException;
 import org.citydb.core.operation.importer.reader.FeatureReader;
 import org.citydb.core.operation.importer.reader.FeatureReaderFactory;
 import org.citydb.core.operation.importer.reader.FeatureReaderFactoryBuilder;
+import org.citydb.core.operation.importer.util.DuplicateDetector;
 import org.citydb.core.operation.importer.util.ImportLogger;
 import org.citydb.core.operation.importer.util.InternalConfig;
+import org.citydb.core.operation.importer.util.TextureFileHasher;
 import org.citydb.core.plugin.PluginException;
 import org.citydb.core.plugin.PluginManager;
 import org.citydb.core.plugin.extension.importer.FeatureImportExtension;
@@ -100,6 +110,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class Importer implements EventHandler {
@@ -124,6 +135,9 @@ public class Importer implements EventHandler {
     private CacheTableManager cacheTableManager;
     private CacheTable importListCacheTable;
     private CacheTable duplicateListCacheTable;
+    private DuplicateController duplicateController;
+    private DuplicateDetector duplicateDetector;
+    private TextureFileHasher textureFileHasher;
 
     public Importer() {
         cityGMLBuilder = ObjectRegistry.getInstance().getCityGMLBuilder();
@@ -177,6 +191,18 @@ public class Importer implements EventHandler {
                 }
             }
 
+            if (textureFileHasher != null) {
+                textureFileHasher.shutdown();
+            }
+
+            if (duplicateDetector != null) {
+                try {
+                    duplicateController.finishDuplicateDetection(false);
+                } catch (CityGMLImportException e) {
+                    log.error(e.getMessage(), e.getCause());
+                }
+            }
+
             if (cacheTableManager != null) {
                 try {
                     log.debug("Closing temporary cache.");
@@ -195,14 +221,6 @@ public class Importer implements EventHandler {
     }
 
     private boolean process(List<Path> inputFiles) throws CityGMLImportException {
-        // worker pool settings
-        int minThreads = config.getImportConfig().getResources().getThreadPool().getMinThreads();
-        int maxThreads = config.getImportConfig().getResources().getThreadPool().getMaxThreads();
-        int queueSize = maxThreads * 2;
-
-        // gml:id lookup cache update
-        int lookupCacheBatchSize = config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize();
-
         // log workspace
         if (databaseAdapter.hasVersioningSupport() && databaseAdapter.getConnectionDetails().isSetWorkspace()) {
             Workspace workspace = databaseAdapter.getConnectionDetails().getWorkspace();
@@ -211,6 +229,27 @@ public class Importer implements EventHandler {
             }
         }
 
+        // check bulk load support
+        if (config.getImportConfig().getGeneralOptions().isBulkLoad()) {
+            if (databaseAdapter.getSQLAdapter().supportsBulkLoad()) {
+                log.info("Using bulk load mode for inserting features.");
+            } else {
+                log.warn("Bulk load mode is not supported by " + databaseAdapter.getDatabaseType() + ". Using batched inserts instead.");
+            }
+        }
+
+        if (config.getImportConfig().getResources().getIdCacheBackend() == IdCacheBackend.MAPPED_FILE) {
+            log.info("Spilling gml:id caches to memory-mapped files in the local cache directory.");
+        }
+
+        // create texture file hasher for content-based deduplication
+        if (config.getImportConfig().getAppearances().isSetImportAppearance()
+                && config.getImportConfig().getAppearances().isSetImportTextureFiles()
+                && config.getImportConfig().getAppearances().isDeduplicateTextureFiles()) {
+            log.info("Deduplicating texture files by content.");
+            textureFileHasher = new TextureFileHasher(config.getImportConfig().getResources().getThreadPool().getMaxThreads());
+        }
+
         // deactivate database indexes
         if (shouldRun && (config.getImportConfig().getIndexes().isSpatialIndexModeDeactivate()
                 || config.getImportConfig().getIndexes().isSpatialIndexModeDeactivateActivate()
@@ -250,6 +289,8 @@ public class Importer implements EventHandler {
                         config.getImportConfig().getImportLog(),
                         config.getDatabaseConfig().getActiveConnection());
                 log.info("Log file of imported top-level features: " + importLogger.getLogFilePath().toString());
+                importLogger.setErrorHandler(e -> eventDispatcher.triggerEvent(new InterruptEvent(
+                        "A fatal error occurred while updating the import log.", LogLevel.ERROR, e, eventChannel)));
             } catch (IOException e) {
                 throw new CityGMLImportException("Failed to create log file for imported top-level features.", e);
             }
@@ -352,8 +393,17 @@ public class Importer implements EventHandler {
         // process duplicate top-level features
         if (shouldRun && (config.getImportConfig().getMode() != ImportMode.IMPORT_ALL
                 || config.getImportConfig().getDuplicateLog().isSetLogDuplicates())) {
-            DuplicateController duplicateController = new DuplicateController(eventChannel);
-            if (duplicateController.doCheck(files, filter) && shouldRun) {
+            duplicateController = new DuplicateController(eventChannel);
+            if (config.getImportConfig().getGeneralOptions().isSinglePassDuplicateCheck()) {
+                // duplicates are detected by the import workers while importing the features
+                duplicateDetector = duplicateController.createDuplicateDetector(schemaMapping, databaseAdapter);
+                if (config.getImportConfig().getMode() == ImportMode.DELETE_EXISTING
+                        || config.getImportConfig().getMode() == ImportMode.TERMINATE_EXISTING) {
+                    log.info("Existing top-level features are " +
+                            (config.getImportConfig().getMode() == ImportMode.DELETE_EXISTING ? "deleted" : "terminated") +
+                            " after the import. Until then, XLinks may also resolve against these features.");
+                }
+            } else if (duplicateController.doCheck(files, filter) && shouldRun) {
                 switch (config.getImportConfig().getMode()) {
                     case IMPORT_ALL:
                         log.info("Duplicate top-level features are also imported.");
@@ -376,256 +426,142 @@ public class Importer implements EventHandler {
 
         // create reader factory builder
         FeatureReaderFactoryBuilder builder = new FeatureReaderFactoryBuilder();
-
-        IdCacheManager idCacheManager = null;
-        WorkerPool<CityGML> dbWorkerPool = null;
-        WorkerPool<DBXlink> xlinkPool = null;
-        WorkerPool<DBXlink> xlinkResolverPool = null;
-        DBXlinkSplitter splitter;
-
-        while (shouldRun && fileCounter < files.size()) {
-            // check whether we reached the counter limit
-            if (filter.isSetCounterFilter() && !filter.getCounterFilter().isCountSatisfied()) {
-                break;
+        SequenceStatistics sequenceStatistics = new SequenceStatistics();
+
+        // check whether files can be imported concurrently
+        int concurrentFiles = Math.min(config.getImportConfig().getResources().getConcurrentFiles(), files.size());
+        if (concurrentFiles > 1) {
+            if (filter.isSetCounterFilter()) {
+                log.warn("Concurrent import of files is not supported when using a counter filter. Importing files sequentially.");
+                concurrentFiles = 1;
+            } else if (config.getImportConfig().getCityGMLOptions().getXMLValidation().isSetUseXMLValidation()) {
+                log.warn("Concurrent import of files is not supported when using XML validation. Importing files sequentially.");
+                concurrentFiles = 1;
+            } else if (files.stream().anyMatch(file -> file.getType() == FileType.ARCHIVE)) {
+                log.warn("Concurrent import of files is not supported for archive files. Importing files sequentially.");
+                concurrentFiles = 1;
             }
+        }
 
-            InternalConfig internalConfig = new InternalConfig();
-
-            try (InputFile file = files.get(fileCounter++)) {
-                internalConfig.setInputFile(file);
-                Path contentFile = file.getType() != FileType.ARCHIVE ?
-                        file.getFile() :
-                        Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
-
-                eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString()));
-                eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.cityObj.msg")));
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
-                eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, --remainingFiles));
-
-                // update import log
-                if (importLogger != null) {
-                    importLogger.setInputFile(contentFile);
+        if (concurrentFiles > 1) {
+            importConcurrently(files, concurrentFiles, filter, affineTransformer, builder, sequenceStatistics);
+        } else {
+            IdCacheManager idCacheManager = null;
+            WorkerPool<CityGML> dbWorkerPool = null;
+            WorkerPool<DBXlink> xlinkPool = null;
+            WorkerPool<DBXlink> xlinkResolverPool = null;
+
+            while (shouldRun && fileCounter < files.size()) {
+                // check whether we reached the counter limit
+                if (filter.isSetCounterFilter() && !filter.getCounterFilter().isCountSatisfied()) {
+                    break;
                 }
 
-                // set metadata
-                internalConfig.setMetadata(config.getImportConfig().getContinuation());
-
-                // set gml:id codespace starting from version 3.1
-                if (databaseAdapter.getConnectionMetaData().getCityDBVersion().compareTo(3, 1, 0) >= 0) {
-                    if (config.getImportConfig().getResourceId().isSetNoneCodeSpaceMode()) {
-                        internalConfig.setCurrentGmlIdCodespace(null);
-                    } else if (config.getImportConfig().getResourceId().isSetRelativeCodeSpaceMode()) {
-                        internalConfig.setCurrentGmlIdCodespace(file.getFile().getFileName().toString());
-                    } else if (config.getImportConfig().getResourceId().isSetAbsoluteCodeSpaceMode()) {
-                        internalConfig.setCurrentGmlIdCodespace(file.getFile().toString());
-                    } else if (config.getImportConfig().getResourceId().isSetUserCodeSpaceMode()) {
-                        String codespace = config.getImportConfig().getResourceId().getCodeSpace();
-                        if (codespace != null && !codespace.isEmpty()) {
-                            internalConfig.setCurrentGmlIdCodespace(codespace);
-                        }
-                    }
-                }
+                try (InputFile file = files.get(fileCounter++)) {
+                    InternalConfig internalConfig = createInternalConfig(file, sequenceStatistics);
+                    Path contentFile = file.getType() != FileType.ARCHIVE ?
+                            file.getFile() :
+                            Paths.get(file.getFile().toString(), ((AbstractArchiveInputFile) file).getContentFile());
 
-                // create instance of gml:id lookup server manager...
-                idCacheManager = new IdCacheManager();
+                    eventDispatcher.triggerEvent(new StatusDialogTitle(contentFile.getFileName().toString()));
+                    eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.cityObj.msg")));
+                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
+                    eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, --remainingFiles));
 
-                // ...and start servers
-                try {
-                    idCacheManager.initCache(
-                            IdCacheType.GEOMETRY,
-                            new GeometryGmlIdCache(cacheTableManager,
-                                    config.getImportConfig().getResources().getIdCache().getGeometry().getPartitions(),
-                                    lookupCacheBatchSize),
-                            config.getImportConfig().getResources().getIdCache().getGeometry().getCacheSize(),
-                            config.getImportConfig().getResources().getIdCache().getGeometry().getPageFactor(),
-                            maxThreads);
-
-                    idCacheManager.initCache(
-                            IdCacheType.OBJECT,
-                            new ObjectGmlIdCache(cacheTableManager,
-                                    config.getImportConfig().getResources().getIdCache().getFeature().getPartitions(),
-                                    lookupCacheBatchSize),
-                            config.getImportConfig().getResources().getIdCache().getFeature().getCacheSize(),
-                            config.getImportConfig().getResources().getIdCache().getFeature().getPageFactor(),
-                            maxThreads);
-
-                    if (config.getImportConfig().getAppearances().isSetImportAppearance() &&
-                            config.getImportConfig().getAppearances().isSetImportTextureFiles()) {
-                        idCacheManager.initCache(
-                                IdCacheType.TEXTURE_IMAGE,
-                                new TextureImageCache(cacheTableManager,
-                                        config.getImportConfig().getResources().getTexImageCache().getPartitions(),
-                                        lookupCacheBatchSize),
-                                config.getImportConfig().getResources().getTexImageCache().getCacheSize(),
-                                config.getImportConfig().getResources().getTexImageCache().getPageFactor(),
-                                maxThreads);
+                    // update import log
+                    if (importLogger != null) {
+                        importLogger.setInputFile(contentFile);
                     }
-                } catch (SQLException e) {
-                    throw new CityGMLImportException("Failed to initialize internal gml:id caches.", e);
-                }
 
-                // creating worker pools needed for data import
-                // this pool is for registering xlinks
-                xlinkPool = new WorkerPool<>(
-                        "xlink_importer_pool",
-                        minThreads,
-                        maxThreads,
-                        PoolSizeAdaptationStrategy.AGGRESSIVE,
-                        new DBImportXlinkWorkerFactory(cacheTableManager, config, eventDispatcher),
-                        queueSize,
-                        false);
-
-                // this pool basically works on the data import
-                dbWorkerPool = new WorkerPool<>(
-                        "db_importer_pool",
-                        minThreads,
-                        maxThreads,
-                        PoolSizeAdaptationStrategy.AGGRESSIVE,
-                        new DBImportWorkerFactory(schemaMapping,
-                                cityGMLBuilder,
-                                xlinkPool,
-                                idCacheManager,
-                                filter,
-                                affineTransformer,
-                                importLogger,
-                                internalConfig,
-                                config,
-                                eventDispatcher),
-                        queueSize,
-                        false);
-
-                // set channel for events triggered by workers
-                xlinkPool.setEventSource(eventChannel);
-                dbWorkerPool.setEventSource(eventChannel);
-
-                // prestart threads
-                xlinkPool.prestartCoreWorkers();
-                dbWorkerPool.prestartCoreWorkers();
-
-                // fail if we could not start a single import worker
-                if (dbWorkerPool.getPoolSize() == 0) {
-                    throw new CityGMLImportException("Failed to start database import worker pool. Check the database connection pool settings.");
-                }
-
-                FeatureReaderFactory factory;
-                try {
-                    factory = builder.buildFactory(file, filter, eventChannel, config);
-                } catch (FeatureReadException e) {
-                    throw new CityGMLImportException("Failed to read input file '" + contentFile + "'.", e);
-                }
+                    // create instance of gml:id lookup server manager
+                    idCacheManager = createIdCacheManager();
+
+                    // creating worker pools needed for data import
+                    // this pool is for registering xlinks
+                    xlinkPool = createXlinkPool();
+
+                    // this pool basically works on the data import
+                    dbWorkerPool = createDBWorkerPool(new DBImportWorkerFactory(schemaMapping,
+                            cityGMLBuilder,
+                            xlinkPool,
+                            idCacheManager,
+                            filter,
+                            affineTransformer,
+                            importLogger,
+                            internalConfig,
+                            config,
+                            eventDispatcher).withDuplicateDetector(duplicateDetector));
+
+                    FeatureReaderFactory factory;
+                    try {
+                        factory = builder.buildFactory(file, filter, eventChannel, config);
+                    } catch (FeatureReadException e) {
+                        throw new CityGMLImportException("Failed to read input file '" + contentFile + "'.", e);
+                    }
 
-                log.info("Importing file: " + contentFile);
+                    log.info("Importing file: " + contentFile);
 
-                try (FeatureReader reader = factory.createFeatureReader()) {
-                    reader.read(file, dbWorkerPool);
+                    try (FeatureReader reader = factory.createFeatureReader()) {
+                        reader.read(file, dbWorkerPool);
 
-                    // show XML validation errors
-                    if (reader.getValidationErrors() > 0) {
-                        log.warn(reader.getValidationErrors() + " error(s) encountered while validating the document.");
+                        // show XML validation errors
+                        if (reader.getValidationErrors() > 0) {
+                            log.warn(reader.getValidationErrors() + " error(s) encountered while validating the document.");
+                        }
+                    } catch (FeatureReadException e) {
+                        throw new CityGMLImportException("Failed to read input file.", e);
                     }
-                } catch (FeatureReadException e) {
-                    throw new CityGMLImportException("Failed to read input file.", e);
-                }
 
-                // we are done with parsing the file. so shutdown the workers.
-                // the xlink pool is not shutdown because we need it afterwards
-                try {
-                    dbWorkerPool.shutdownAndWait();
-                    xlinkPool.join();
-                } catch (InterruptedException e) {
-                    throw new CityGMLImportException("Failed to shutdown worker pools.", e);
-                }
+                    // we are done with parsing the file. so shutdown the workers.
+                    // the xlink pool is not shutdown because we need it afterwards
+                    try {
+                        dbWorkerPool.shutdownAndWait();
+                        xlinkPool.join();
+                    } catch (InterruptedException e) {
+                        throw new CityGMLImportException("Failed to shutdown worker pools.", e);
+                    }
 
-                if (shouldRun) {
-                    // get an xlink resolver pool
-                    log.info("Resolving XLink references.");
-                    xlinkResolverPool = new WorkerPool<>(
-                            "xlink_resolver_pool",
-                            minThreads,
-                            maxThreads,
-                            PoolSizeAdaptationStrategy.AGGRESSIVE,
-                            new DBImportXlinkResolverWorkerFactory(file,
-                                    xlinkPool,
-                                    idCacheManager,
-                                    cacheTableManager,
-                                    config,
-                                    eventDispatcher),
-                            queueSize,
-                            false);
-
-                    // set channel for events triggered by workers
-                    xlinkResolverPool.setEventSource(eventChannel);
-
-                    // prestart its workers
-                    xlinkResolverPool.prestartCoreWorkers();
-
-                    // resolve xlinks based on temp tables
                     if (shouldRun) {
-                        splitter = new DBXlinkSplitter(cacheTableManager,
-                                xlinkResolverPool,
-                                xlinkPool,
-                                eventChannel,
-                                eventDispatcher);
-
-                        splitter.startQuery();
+                        xlinkResolverPool = createXlinkResolverPool(file, xlinkPool, idCacheManager);
+                        resolveXlinks(file, xlinkResolverPool, xlinkPool, idCacheManager);
                     }
 
-                    // shutdown worker pools
+                    // shutdown tmp xlink pool
                     try {
-                        xlinkResolverPool.shutdownAndWait();
+                        xlinkPool.shutdownAndWait();
                     } catch (InterruptedException e) {
                         throw new CityGMLImportException("Failed to shutdown worker pools.", e);
                     }
-                }
-
-                // shutdown tmp xlink pool
-                try {
-                    xlinkPool.shutdownAndWait();
-                } catch (InterruptedException e) {
-                    throw new CityGMLImportException("Failed to shutdown worker pools.", e);
-                }
 
-                eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.finish.msg")));
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
-            } catch (IOException e) {
-                throw new CityGMLImportException("Failed to process import file.", e);
-            } finally {
-                if (dbWorkerPool != null && !dbWorkerPool.isTerminated()) {
-                    dbWorkerPool.shutdownNow();
-                }
-
-                if (xlinkResolverPool != null && !xlinkResolverPool.isTerminated()) {
-                    xlinkResolverPool.shutdownNow();
-                }
-
-                if (xlinkPool != null && !xlinkPool.isTerminated()) {
-                    xlinkPool.shutdownNow();
-                }
-
-                try {
-                    eventDispatcher.flushEvents();
-                } catch (InterruptedException e) {
-                    //
+                    eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.finish.msg")));
+                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
+                } catch (IOException e) {
+                    throw new CityGMLImportException("Failed to process import file.", e);
+                } finally {
+                    cleanup(dbWorkerPool, xlinkResolverPool, xlinkPool, idCacheManager);
                 }
+            }
+        }
 
-                if (idCacheManager != null) {
-                    try {
-                        idCacheManager.shutdownAll();
-                    } catch (SQLException e) {
-                        setException("Failed to clean the gml:id caches.", e);
-                        shouldRun = false;
-                    }
-                }
+        // process duplicate top-level features detected during import. in contrast to the
+        // two-pass check, existing features are deleted or terminated only after the new
+        // features have been imported and their XLinks have been resolved
+        if (duplicateDetector != null) {
+            boolean hasDuplicates = duplicateController.finishDuplicateDetection(shouldRun);
+            duplicateDetector = null;
 
-                if (cacheTableManager != null) {
-                    try {
-                        log.info("Cleaning temporary cache.");
-                        cacheTableManager.dropIf(table -> table != importListCacheTable
-                                && table != duplicateListCacheTable);
-                    } catch (SQLException e) {
-                        setException("Failed to clean the temporary cache.", e);
-                        shouldRun = false;
-                    }
+            if (hasDuplicates && shouldRun) {
+                switch (config.getImportConfig().getMode()) {
+                    case IMPORT_ALL:
+                        log.info("Duplicate top-level features have also been imported.");
+                        break;
+                    case SKIP_EXISTING:
+                        log.info("Skipped top-level features that already exist in the database.");
+                        break;
+                    case DELETE_EXISTING:
+                    case TERMINATE_EXISTING:
+                        duplicateController.doDelete();
+                        break;
                 }
             }
         }
@@ -662,6 +598,19 @@ public class Importer implements EventHandler {
             log.info("No city objects were imported.");
         }
 
+        if (textureFileHasher != null && textureFileHasher.getDuplicates() > 0) {
+            log.info("Texture files with duplicate content: " + textureFileHasher.getDuplicates());
+        }
+
+        // show sequence usage
+        if (!sequenceStatistics.isEmpty()) {
+            log.debug("Sequence values retrieved in blocks of " + config.getDatabaseConfig().getImportBatching().getSequenceBlockSize() + ":");
+            for (String sequence : sequenceStatistics.getSequences()) {
+                log.debug(sequence + ": " + sequenceStatistics.getValues(sequence) + " value(s), "
+                        + sequenceStatistics.getRefills(sequence) + " database round trip(s).");
+            }
+        }
+
         if (exception != null) {
             throw exception;
         }
@@ -669,6 +618,357 @@ public class Importer implements EventHandler {
         return shouldRun;
     }
 
+    private void importConcurrently(List<InputFile> files, int concurrentFiles, CityGMLFilter filter,
+                                    AffineTransformer affineTransformer, FeatureReaderFactoryBuilder builder,
+                                    SequenceStatistics sequenceStatistics) throws CityGMLImportException {
+        log.info("Importing up to " + concurrentFiles + " files concurrently.");
+
+        // features of all files are imported by a single database worker pool. the workers
+        // look up the internal config of the file a feature has been read from. file paths are
+        // stored as absolute paths since xlinks are resolved for all files at the end
+        Map<InputFile, InternalConfig> internalConfigs = new ConcurrentHashMap<>();
+        InternalConfig defaultConfig = createInternalConfig(null, sequenceStatistics);
+        defaultConfig.setUseAbsoluteFilePaths(true);
+
+        IdCacheManager idCacheManager = null;
+        WorkerPool<CityGML> dbWorkerPool = null;
+        WorkerPool<DBXlink> xlinkPool = null;
+        WorkerPool<DBXlink> xlinkResolverPool = null;
+        WorkerPool<InputFile> readerPool = null;
+
+        eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.cityObj.msg")));
+        eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
+
+        try {
+            idCacheManager = createIdCacheManager();
+            xlinkPool = createXlinkPool();
+            dbWorkerPool = createDBWorkerPool(new DBImportWorkerFactory(schemaMapping,
+                    cityGMLBuilder,
+                    xlinkPool,
+                    idCacheManager,
+                    filter,
+                    affineTransformer,
+                    importLogger,
+                    defaultConfig,
+                    config,
+                    eventDispatcher).withInternalConfigs(internalConfigs)
+                    .withDuplicateDetector(duplicateDetector));
+
+            // this pool reads the input files and passes their features to the database workers
+            readerPool = new WorkerPool<>(
+                    "file_reader_pool",
+                    concurrentFiles,
+                    concurrentFiles,
+                    PoolSizeAdaptationStrategy.NONE,
+                    new InputFileReaderWorkerFactory(dbWorkerPool, builder, filter, config, eventDispatcher),
+                    concurrentFiles,
+                    false);
+
+            readerPool.setEventSource(eventChannel);
+            readerPool.prestartCoreWorkers();
+
+            int remainingFiles = files.size();
+            for (InputFile file : files) {
+                if (!shouldRun) {
+                    break;
+                }
+
+                InternalConfig internalConfig = createInternalConfig(file, sequenceStatistics);
+                internalConfig.setUseAbsoluteFilePaths(true);
+                internalConfigs.put(file, internalConfig);
+
+                eventDispatcher.triggerEvent(new CounterEvent(CounterType.FILE, --remainingFiles));
+                readerPool.addWork(file);
+            }
+
+            // we are done with parsing the files. so shutdown the workers.
+            // the xlink pool is not shutdown because we need it afterwards
+            try {
+                readerPool.shutdownAndWait();
+                dbWorkerPool.shutdownAndWait();
+                xlinkPool.join();
+            } catch (InterruptedException e) {
+                throw new CityGMLImportException("Failed to shutdown worker pools.", e);
+            }
+
+            if (shouldRun) {
+                xlinkResolverPool = createXlinkResolverPool(null, xlinkPool, idCacheManager);
+                resolveXlinks(null, xlinkResolverPool, xlinkPool, idCacheManager);
+            }
+
+            // shutdown tmp xlink pool
+            try {
+                xlinkPool.shutdownAndWait();
+            } catch (InterruptedException e) {
+                throw new CityGMLImportException("Failed to shutdown worker pools.", e);
+            }
+
+            eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.finish.msg")));
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(true));
+        } finally {
+            if (readerPool != null && !readerPool.isTerminated()) {
+                readerPool.shutdownNow();
+            }
+
+            cleanup(dbWorkerPool, xlinkResolverPool, xlinkPool, idCacheManager);
+        }
+    }
+
+    private InternalConfig createInternalConfig(InputFile file, SequenceStatistics sequenceStatistics) {
+        InternalConfig internalConfig = new InternalConfig();
+        internalConfig.setInputFile(file);
+
+        // set metadata
+        internalConfig.setMetadata(config.getImportConfig().getContinuation());
+        internalConfig.setSequenceStatistics(sequenceStatistics);
+        internalConfig.setTextureFileHasher(textureFileHasher);
+
+        // set gml:id codespace starting from version 3.1
+        if (databaseAdapter.getConnectionMetaData().getCityDBVersion().compareTo(3, 1, 0) >= 0) {
+            if (config.getImportConfig().getResourceId().isSetNoneCodeSpaceMode()) {
+                internalConfig.setCurrentGmlIdCodespace(null);
+            } else if (config.getImportConfig().getResourceId().isSetRelativeCodeSpaceMode()) {
+                if (file != null) {
+                    internalConfig.setCurrentGmlIdCodespace(file.getFile().getFileName().toString());
+                }
+            } else if (config.getImportConfig().getResourceId().isSetAbsoluteCodeSpaceMode()) {
+                if (file != null) {
+                    internalConfig.setCurrentGmlIdCodespace(file.getFile().toString());
+                }
+            } else if (config.getImportConfig().getResourceId().isSetUserCodeSpaceMode()) {
+                String codespace = config.getImportConfig().getResourceId().getCodeSpace();
+                if (codespace != null && !codespace.isEmpty()) {
+                    internalConfig.setCurrentGmlIdCodespace(codespace);
+                }
+            }
+        }
+
+        return internalConfig;
+    }
+
+    private IdCacheManager createIdCacheManager() throws CityGMLImportException {
+        int maxThreads = config.getImportConfig().getResources().getThreadPool().getMaxThreads();
+        int lookupCacheBatchSize = config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize();
+        IdCacheManager idCacheManager = new IdCacheManager();
+
+        try {
+            idCacheManager.initCache(
+                    IdCacheType.GEOMETRY,
+                    createIdCachingModel(IdCacheType.GEOMETRY,
+                            config.getImportConfig().getResources().getIdCache().getGeometry().getPartitions(),
+                            lookupCacheBatchSize),
+                    config.getImportConfig().getResources().getIdCache().getGeometry().getCacheSize(),
+                    config.getImportConfig().getResources().getIdCache().getGeometry().getPageFactor(),
+                    maxThreads);
+
+            idCacheManager.initCache(
+                    IdCacheType.OBJECT,
+                    createIdCachingModel(IdCacheType.OBJECT,
+                            config.getImportConfig().getResources().getIdCache().getFeature().getPartitions(),
+                            lookupCacheBatchSize),
+                    config.getImportConfig().getResources().getIdCache().getFeature().getCacheSize(),
+                    config.getImportConfig().getResources().getIdCache().getFeature().getPageFactor(),
+                    maxThreads);
+
+            if (config.getImportConfig().getAppearances().isSetImportAppearance() &&
+                    config.getImportConfig().getAppearances().isSetImportTextureFiles()) {
+                idCacheManager.initCache(
+                        IdCacheType.TEXTURE_IMAGE,
+                        createIdCachingModel(IdCacheType.TEXTURE_IMAGE,
+                                config.getImportConfig().getResources().getTexImageCache().getPartitions(),
+                                lookupCacheBatchSize),
+                        config.getImportConfig().getResources().getTexImageCache().getCacheSize(),
+                        config.getImportConfig().getResources().getTexImageCache().getPageFactor(),
+                        maxThreads);
+            }
+        } catch (SQLException e) {
+            throw new CityGMLImportException("Failed to initialize internal gml:id caches.", e);
+        }
+
+        return idCacheManager;
+    }
+
+    private IdCachingModel createIdCachingModel(IdCacheType type, int partitions, int batchSize) throws SQLException {
+        if (config.getImportConfig().getResources().getIdCacheBackend() == IdCacheBackend.MAPPED_FILE) {
+            String name = type == IdCacheType.GEOMETRY ? "geometry" :
+                    type == IdCacheType.OBJECT ? "object" : "texture image";
+
+            try {
+                return new MappedIdCache(cacheTableManager.createLocalCacheDir(), name, partitions);
+            } catch (IOException e) {
+                throw new SQLException("Failed to create memory-mapped " + name + " cache.", e);
+            }
+        }
+
+        switch (type) {
+            case GEOMETRY:
+                return new GeometryGmlIdCache(cacheTableManager, partitions, batchSize);
+            case OBJECT:
+                return new ObjectGmlIdCache(cacheTableManager, partitions, batchSize);
+            default:
+                return new TextureImageCache(cacheTableManager, partitions, batchSize);
+        }
+    }
+
+    private WorkerPool<DBXlink> createXlinkPool() {
+        int minThreads = config.getImportConfig().getResources().getThreadPool().getMinThreads();
+        int maxThreads = config.getImportConfig().getResources().getThreadPool().getMaxThreads();
+
+        WorkerPool<DBXlink> xlinkPool = new WorkerPool<>(
+                "xlink_importer_pool",
+                minThreads,
+                maxThreads,
+                PoolSizeAdaptationStrategy.AGGRESSIVE,
+                new DBImportXlinkWorkerFactory(cacheTableManager, config, eventDispatcher),
+                maxThreads * 2,
+                false);
+
+        // set channel for events triggered by workers
+        xlinkPool.setEventSource(eventChannel);
+        xlinkPool.prestartCoreWorkers();
+
+        return xlinkPool;
+    }
+
+    private WorkerPool<CityGML> createDBWorkerPool(DBImportWorkerFactory workerFactory) throws CityGMLImportException {
+        int minThreads = config.getImportConfig().getResources().getThreadPool().getMinThreads();
+        int maxThreads = config.getImportConfig().getResources().getThreadPool().getMaxThreads();
+
+        WorkerPool<CityGML> dbWorkerPool = new WorkerPool<>(
+                "db_importer_pool",
+                minThreads,
+                maxThreads,
+                PoolSizeAdaptationStrategy.AGGRESSIVE,
+                workerFactory,
+                maxThreads * 2,
+                false);
+
+        // set channel for events triggered by workers
+        dbWorkerPool.setEventSource(eventChannel);
+        dbWorkerPool.prestartCoreWorkers();
+
+        // fail if we could not start a single import worker
+        if (dbWorkerPool.getPoolSize() == 0) {
+            throw new CityGMLImportException("Failed to start database import worker pool. Check the database connection pool settings.");
+        }
+
+        return dbWorkerPool;
+    }
+
+    private WorkerPool<DBXlink> createXlinkResolverPool(InputFile file, WorkerPool<DBXlink> xlinkPool, IdCacheManager idCacheManager) {
+        int minThreads = config.getImportConfig().getResources().getThreadPool().getMinThreads();
+        int maxThreads = config.getImportConfig().getResources().getThreadPool().getMaxThreads();
+
+        // get an xlink resolver pool
+        log.info("Resolving XLink references.");
+        WorkerPool<DBXlink> xlinkResolverPool = new WorkerPool<>(
+                "xlink_resolver_pool",
+                minThreads,
+                maxThreads,
+                PoolSizeAdaptationStrategy.AGGRESSIVE,
+                new DBImportXlinkResolverWorkerFactory(file,
+                        xlinkPool,
+                        idCacheManager,
+                        cacheTableManager,
+                        config,
+                        eventDispatcher),
+                maxThreads * 2,
+                false);
+
+        // set channel for events triggered by workers
+        xlinkResolverPool.setEventSource(eventChannel);
+
+        // prestart its workers
+        xlinkResolverPool.prestartCoreWorkers();
+
+        return xlinkResolverPool;
+    }
+
+    private void resolveXlinks(InputFile file, WorkerPool<DBXlink> xlinkResolverPool, WorkerPool<DBXlink> xlinkPool, IdCacheManager idCacheManager) throws CityGMLImportException {
+        // resolve xlinks based on temp tables
+        if (shouldRun) {
+            DBXlinkSetResolver setResolver = null;
+            if (config.getImportConfig().getResources().isSetBasedXlinkResolution()) {
+                if (config.getGlobalConfig().getCache().getCacheMode() == CacheMode.DATABASE) {
+                    setResolver = new DBXlinkSetResolver(cacheTableManager,
+                            idCacheManager,
+                            config.getDatabaseConfig().getImportBatching().getGmlIdCacheBatchSize(),
+                            eventDispatcher);
+                } else {
+                    log.warn("Set-based XLink resolution requires cache tables in the database. Resolving XLinks one by one.");
+                }
+            }
+
+            TextureImageUploader textureImageUploader = null;
+            if (config.getImportConfig().getResources().isPipelinedTextureUpload()) {
+                textureImageUploader = new TextureImageUploader(file,
+                        config.getImportConfig().getResources().getTextureUploadThreads(),
+                        config.getImportConfig().getResources().getTextureUploadBufferSize(),
+                        databaseAdapter,
+                        eventChannel,
+                        eventDispatcher);
+            }
+
+            DBXlinkSplitter splitter = new DBXlinkSplitter(cacheTableManager,
+                    xlinkResolverPool,
+                    xlinkPool,
+                    setResolver,
+                    textureImageUploader,
+                    eventChannel,
+                    eventDispatcher);
+
+            splitter.startQuery();
+        }
+
+        // shutdown worker pools
+        try {
+            xlinkResolverPool.shutdownAndWait();
+        } catch (InterruptedException e) {
+            throw new CityGMLImportException("Failed to shutdown worker pools.", e);
+        }
+    }
+
+    private void cleanup(WorkerPool<CityGML> dbWorkerPool, WorkerPool<DBXlink> xlinkResolverPool,
+                         WorkerPool<DBXlink> xlinkPool, IdCacheManager idCacheManager) {
+        if (dbWorkerPool != null && !dbWorkerPool.isTerminated()) {
+            dbWorkerPool.shutdownNow();
+        }
+
+        if (xlinkResolverPool != null && !xlinkResolverPool.isTerminated()) {
+            xlinkResolverPool.shutdownNow();
+        }
+
+        if (xlinkPool != null && !xlinkPool.isTerminated()) {
+            xlinkPool.shutdownNow();
+        }
+
+        try {
+            eventDispatcher.flushEvents();
+        } catch (InterruptedException e) {
+            //
+        }
+
+        if (idCacheManager != null) {
+            try {
+                idCacheManager.shutdownAll();
+            } catch (SQLException e) {
+                setException("Failed to clean the gml:id caches.", e);
+                shouldRun = false;
+            }
+        }
+
+        if (cacheTableManager != null) {
+            try {
+                log.info("Cleaning temporary cache.");
+                cacheTableManager.dropIf(table -> table != importListCacheTable
+                        && table != duplicateListCacheTable);
+            } catch (SQLException e) {
+                setException("Failed to clean the temporary cache.", e);
+                shouldRun = false;
+            }
+        }
+    }
+
     private void manageIndexes(boolean enable, boolean workOnSpatialIndexes) throws SQLException {
         AbstractUtilAdapter utilAdapter = databaseAdapter.getUtil();
         log.info((enable ? "Activating " : "Deactivating ") + (workOnSpatialIndexes ? "spatial" : "normal") + " indexes...");
@@ -35,34 +35,72 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.Map;
 
 public class SequenceHelper {
     private final Connection connection;
     private final AbstractDatabaseAdapter databaseAdapter;
+    private final SequenceStatistics statistics;
+    private final int blockSize;
 
     private HashMap<String, PreparedStatement> psIdMap;
+    private HashMap<String, SequenceBlock> blocks;
 
     public SequenceHelper(Connection connection, AbstractDatabaseAdapter databaseAdapter, Config config) throws SQLException {
+        this(connection, databaseAdapter, config, null);
+    }
+
+    public SequenceHelper(Connection connection, AbstractDatabaseAdapter databaseAdapter, Config config, SequenceStatistics statistics) throws SQLException {
         this.connection = connection;
         this.databaseAdapter = databaseAdapter;
+        this.statistics = statistics;
 
+        blockSize = config.getDatabaseConfig().getImportBatching().getSequenceBlockSize();
         psIdMap = new HashMap<String, PreparedStatement>();
+        blocks = new HashMap<String, SequenceBlock>();
     }
 
     public long getNextSequenceValue(String sequence) throws SQLException {
+        SequenceBlock block = blocks.get(sequence);
+        if (block == null) {
+            block = new SequenceBlock();
+            blocks.put(sequence, block);
+        }
+
+        if (block.index == block.size) {
+            block.size = fetchSequenceValues(sequence, block.ids);
+            block.index = 0;
+            block.refills++;
+        }
+
+        block.values++;
+        return block.ids[block.index++];
+    }
+
+    private int fetchSequenceValues(String sequence, long[] ids) throws SQLException {
         PreparedStatement stmt = psIdMap.get(sequence);
         if (stmt == null) {
-            StringBuilder query = new StringBuilder("select ").append(databaseAdapter.getSQLAdapter().getNextSequenceValue(sequence));
-            if (databaseAdapter.getSQLAdapter().requiresPseudoTableInSelect())
-                query.append(" from ").append(databaseAdapter.getSQLAdapter().getPseudoTableName());
+            if (blockSize > 1) {
+                stmt = connection.prepareStatement(databaseAdapter.getSQLAdapter().getNextSequenceValuesQuery(sequence));
+                stmt.setInt(1, blockSize);
+            } else {
+                StringBuilder query = new StringBuilder("select ").append(databaseAdapter.getSQLAdapter().getNextSequenceValue(sequence));
+                if (databaseAdapter.getSQLAdapter().requiresPseudoTableInSelect())
+                    query.append(" from ").append(databaseAdapter.getSQLAdapter().getPseudoTableName());
+
+                stmt = connection.prepareStatement(query.toString());
+            }
 
-            stmt = connection.prepareStatement(query.toString());
             psIdMap.put(sequence, stmt);
         }
 
         try (ResultSet rs = stmt.executeQuery()) {
-            if (rs.next())
-                return rs.getLong(1);
+            int size = 0;
+            while (size < ids.length && rs.next())
+                ids[size++] = rs.getLong(1);
+
+            if (size > 0)
+                return size;
 
             throw new SQLException("Failed to retrieve the next sequence value from " + sequence + ".");
         } catch (SQLException e) {
@@ -71,7 +109,21 @@ public class SequenceHelper {
     }
 
     public void close() throws SQLException {
+        if (statistics != null) {
+            for (Map.Entry<String, SequenceBlock> entry : blocks.entrySet())
+                statistics.add(entry.getKey(), entry.getValue().values, entry.getValue().refills);
+        }
+
+        blocks.clear();
         for (PreparedStatement stmt : psIdMap.values())
             stmt.close();
     }
+
+    private class SequenceBlock {
+        private final long[] ids = new long[blockSize];
+        private int size;
+        private int index;
+        private long values;
+        private long refills;
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.database;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SequenceStatistics {
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    void add(String sequence, long values, long refills) {
+        Counter counter = counters.computeIfAbsent(sequence, v -> new Counter());
+        counter.values.add(values);
+        counter.refills.add(refills);
+    }
+
+    public boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    public long getValues(String sequence) {
+        Counter counter = counters.get(sequence);
+        return counter != null ? counter.values.sum() : 0;
+    }
+
+    public long getRefills(String sequence) {
+        Counter counter = counters.get(sequence);
+        return counter != null ? counter.refills.sum() : 0;
+    }
+
+    public Set<String> getSequences() {
+        return new TreeSet<>(counters.keySet());
+    }
+
+    private static class Counter {
+        private final LongAdder values = new LongAdder();
+        private final LongAdder refills = new LongAdder();
+    }
+}
@@ -152,7 +152,10 @@ public class CityGMLImportManager implements CityGMLImportHelper {
                                 AffineTransformer affineTransformer,
                                 InternalConfig internalConfig,
                                 Config config) throws SQLException {
-        this.connection = connection;
+        this.connection = config.getImportConfig().getGeneralOptions().isBulkLoad()
+                && databaseAdapter.getSQLAdapter().supportsBulkLoad() ?
+                databaseAdapter.getSQLAdapter().getBulkLoadConnection(connection) :
+                connection;
         this.databaseAdapter = databaseAdapter;
         this.schemaMapping = schemaMapping;
         this.cityGMLBuilder = cityGMLBuilder;
@@ -166,12 +169,12 @@ public class CityGMLImportManager implements CityGMLImportHelper {
 
         failOnError = config.getImportConfig().getGeneralOptions().isFailFastOnErrors();
         tableHelper = new TableHelper(schemaMapping);
-        sequenceHelper = new SequenceHelper(connection, databaseAdapter, config);
+        sequenceHelper = new SequenceHelper(connection, databaseAdapter, config, internalConfig.getSequenceStatistics());
         geometryConverter = new GeometryConverter(databaseAdapter, failOnError);
         objectCounter = new HashMap<>();
         geometryCounter = new HashMap<>();
         attributeValueJoiner = new AttributeValueJoiner();
-        externalFileChecker = new ExternalFileChecker(internalConfig.getInputFile());
+        externalFileChecker = new ExternalFileChecker(internalConfig.getInputFile(), internalConfig.isUseAbsoluteFilePaths());
 
         if (config.getImportConfig().getAppearances().isSetImportAppearance()) {
             localAppearanceHandler = new LocalAppearanceHandler(this);
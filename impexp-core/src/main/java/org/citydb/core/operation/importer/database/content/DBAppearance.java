@@ -37,6 +37,7 @@ import org.citydb.core.operation.importer.util.AttributeValueJoiner;
 import org.citydb.core.operation.importer.util.LocalAppearanceHandler;
 import org.citydb.core.util.CoreConstants;
 import org.citygml4j.model.citygml.appearance.AbstractSurfaceData;
+import org.citygml4j.model.citygml.appearance.AbstractTexture;
 import org.citygml4j.model.citygml.appearance.Appearance;
 import org.citygml4j.model.citygml.appearance.SurfaceDataProperty;
 import org.citygml4j.model.citygml.texturedsurface._AbstractAppearance;
@@ -55,6 +56,7 @@ public class DBAppearance implements DBImporter {
 
     private PreparedStatement psAppearance;
     private DBSurfaceData surfaceDataImporter;
+    private DBTexImage textureImageImporter;
     private TexturedSurfaceConverter texturedSurfaceConverter;
     private AttributeValueJoiner valueJoiner;
 
@@ -77,6 +79,8 @@ public class DBAppearance implements DBImporter {
         psAppearance = batchConn.prepareStatement(stmt);
 
         surfaceDataImporter = importer.getImporter(DBSurfaceData.class);
+        if (importer.getInternalConfig().getTextureFileHasher() != null)
+            textureImageImporter = importer.getImporter(DBTexImage.class);
         texturedSurfaceConverter = new TexturedSurfaceConverter(this, config, importer);
         valueJoiner = importer.getAttributeValueJoiner();
     }
@@ -152,6 +156,14 @@ public class DBAppearance implements DBImporter {
 
         // surfaceData members
         if (appearance.isSetSurfaceDataMember()) {
+            if (textureImageImporter != null) {
+                // hash all texture files of this appearance in parallel before importing them
+                for (SurfaceDataProperty property : appearance.getSurfaceDataMember()) {
+                    if (property.getSurfaceData() instanceof AbstractTexture)
+                        textureImageImporter.prescan((AbstractTexture) property.getSurfaceData());
+                }
+            }
+
             for (SurfaceDataProperty property : appearance.getSurfaceDataMember()) {
                 AbstractSurfaceData surfaceData = property.getSurfaceData();
 
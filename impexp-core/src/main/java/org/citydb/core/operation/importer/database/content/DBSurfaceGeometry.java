@@ -29,7 +29,6 @@ package org.citydb.core.operation.importer.database.content;
 
 import org.citydb.config.Config;
 import org.citydb.config.geometry.GeometryObject;
-import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.database.connection.DatabaseConnectionPool;
 import org.citydb.core.database.schema.SequenceEnum;
 import org.citydb.core.database.schema.TableEnum;
@@ -107,17 +106,7 @@ public class DBSurfaceGeometry implements DBImporter {
         StringBuilder stmt = new StringBuilder()
                 .append("insert into ").append(schema).append(".surface_geometry (id, gmlid, ").append(gmlIdCodespace != null ? "gmlid_codespace, " : "")
                 .append("parent_id, root_id, is_solid, is_composite, is_triangulated, is_xlink, is_reverse, geometry, solid_geometry, implicit_geometry, cityobject_id) values ")
-                .append("(?, ?, ").append(gmlIdCodespace != null ? gmlIdCodespace : "").append("?, ?, ?, ?, ?, ?, ?, ?, ");
-
-        if (importer.getDatabaseAdapter().getDatabaseType() == DatabaseType.POSTGIS) {
-            // the current PostGIS JDBC driver lacks support for geometry objects of type PolyhedralSurface
-            // thus, we have to use the database function ST_GeomFromEWKT to insert such geometries
-            // TODO: rework as soon as the JDBC driver supports PolyhedralSurface
-            stmt.append("ST_GeomFromEWKT(?), ");
-        } else
-            stmt.append("?, ");
-
-        stmt.append("?, ?)");
+                .append("(?, ?, ").append(gmlIdCodespace != null ? gmlIdCodespace : "").append("?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
 
         psGeomElem = batchConn.prepareStatement(stmt.toString());
         psNextSeqValues = batchConn.prepareStatement(importer.getDatabaseAdapter().getSQLAdapter().getNextSequenceValuesQuery(SequenceEnum.SURFACE_GEOMETRY_ID_SEQ.getName()));
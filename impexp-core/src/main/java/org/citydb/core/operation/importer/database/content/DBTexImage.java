@@ -34,9 +34,11 @@ import org.citydb.core.operation.common.xlink.DBXlinkTextureFile;
 import org.citydb.core.operation.importer.CityGMLImportException;
 import org.citydb.core.operation.importer.util.ConcurrentLockManager;
 import org.citydb.core.operation.importer.util.ExternalFileChecker;
+import org.citydb.core.operation.importer.util.TextureFileHasher;
 import org.citygml4j.model.citygml.appearance.AbstractTexture;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Connection;
@@ -47,10 +49,12 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public class DBTexImage implements DBImporter {
     private final ConcurrentLockManager lockManager = ConcurrentLockManager.getInstance(DBTexImage.class);
+    private final ConcurrentLockManager contentLockManager = ConcurrentLockManager.getInstance(TextureFileHasher.class);
     private final CityGMLImportManager importer;
     private PreparedStatement psInsertStmt;
 
     private ExternalFileChecker externalFileChecker;
+    private TextureFileHasher textureFileHasher;
     private MessageDigest md5;
     private boolean importTextureImage;
     private int batchCounter;
@@ -61,6 +65,7 @@ public class DBTexImage implements DBImporter {
         String schema = importer.getDatabaseAdapter().getConnectionDetails().getSchema();
         importTextureImage = config.getImportConfig().getAppearances().isSetImportTextureFiles();
         externalFileChecker = importer.getExternalFileChecker();
+        textureFileHasher = importer.getInternalConfig().getTextureFileHasher();
 
         try {
             md5 = MessageDigest.getInstance("MD5");
@@ -79,7 +84,7 @@ public class DBTexImage implements DBImporter {
             return 0;
 
         long texImageId;
-        String md5URI = toHexString(md5.digest(imageURI.getBytes()));
+        String md5URI = toHexString(md5.digest(externalFileChecker.getQualifiedURI(imageURI).getBytes()));
 
         Map.Entry<String, String> fileInfo = null;
         boolean insertIntoTexImage = false;
@@ -93,8 +98,28 @@ public class DBTexImage implements DBImporter {
             if (texImageId == -1) {
                 try {
                     fileInfo = externalFileChecker.getFileInfo(imageURI);
-                    texImageId = importer.getNextSequenceValue(SequenceEnum.TEX_IMAGE_ID_SEQ.getName());
-                    insertIntoTexImage = true;
+                    String contentHash = getContentHash(fileInfo.getKey());
+                    if (contentHash != null) {
+                        // identical image files referenced by different URIs share a single texture image
+                        ReentrantLock contentLock = contentLockManager.getLock(contentHash);
+                        contentLock.lock();
+                        try {
+                            texImageId = importer.getTextureImageId(contentHash);
+                            if (texImageId == -1) {
+                                texImageId = importer.getNextSequenceValue(SequenceEnum.TEX_IMAGE_ID_SEQ.getName());
+                                importer.putTextureImageId(contentHash, texImageId);
+                                insertIntoTexImage = true;
+                            } else {
+                                textureFileHasher.addDuplicate();
+                            }
+                        } finally {
+                            contentLockManager.releaseLock(contentHash);
+                            contentLock.unlock();
+                        }
+                    } else {
+                        texImageId = importer.getNextSequenceValue(SequenceEnum.TEX_IMAGE_ID_SEQ.getName());
+                        insertIntoTexImage = true;
+                    }
                 } catch (IOException e) {
                     importer.logOrThrowErrorMessage("Failed to read image file at '" + imageURI + "'.", e);
                     texImageId = 0;
@@ -138,6 +163,27 @@ public class DBTexImage implements DBImporter {
         return texImageId;
     }
 
+    public void prescan(AbstractTexture abstractTexture) {
+        if (textureFileHasher != null && abstractTexture.isSetImageURI()) {
+            String imageURI = abstractTexture.getImageURI().trim();
+            if (!imageURI.isEmpty()) {
+                Path file = externalFileChecker.resolveFile(imageURI);
+                if (file != null)
+                    textureFileHasher.prescan(file);
+            }
+        }
+    }
+
+    private String getContentHash(String fileURI) throws IOException {
+        if (textureFileHasher != null) {
+            Path file = externalFileChecker.resolveFile(fileURI);
+            if (file != null)
+                return textureFileHasher.getHash(file);
+        }
+
+        return null;
+    }
+
     private String toHexString(byte[] bytes) {
         StringBuilder hexString = new StringBuilder();
         for (byte b : bytes)
@@ -39,9 +39,11 @@ import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.xlink.DBXlink;
 import org.citydb.core.operation.importer.database.SequenceHelper;
 import org.citydb.core.operation.importer.util.ConcurrentLockManager;
+import org.citydb.core.operation.importer.util.ExternalFileChecker;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.Event;
+import org.citydb.util.event.EventAggregator;
 import org.citydb.util.event.EventDispatcher;
 
 import java.io.IOException;
@@ -49,9 +51,7 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Files;
-import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
@@ -61,7 +61,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 public class DBXlinkResolverManager {
     private final ConcurrentLockManager lockManager = ConcurrentLockManager.getInstance(DBXlinkResolverManager.class);
-    private final InputFile inputFile;
+    private final ExternalFileChecker externalFileChecker;
     private final Connection connection;
     private final AbstractDatabaseAdapter databaseAdapter;
     private final SchemaMapping schemaMapping;
@@ -82,7 +82,7 @@ public class DBXlinkResolverManager {
             CacheTableManager cacheTableManager,
             Config config,
             EventDispatcher eventDispatcher) throws SQLException {
-        this.inputFile = inputFile;
+        externalFileChecker = new ExternalFileChecker(inputFile);
         this.connection = batchConn;
         this.databaseAdapter = databaseAdapter;
         this.tmpXlinkPool = tmpXlinkPool;
@@ -194,6 +194,10 @@ public class DBXlinkResolverManager {
         eventDispatcher.triggerEvent(event);
     }
 
+    public EventAggregator getEventAggregator() {
+        return eventDispatcher.getEventAggregator();
+    }
+
     public AbstractDatabaseAdapter getDatabaseAdapter() {
         return databaseAdapter;
     }
@@ -203,23 +207,15 @@ public class DBXlinkResolverManager {
     }
 
     public InputStream openStream(String fileURI) throws IOException {
-        try {
-            return new URL(fileURI).openStream();
-        } catch (MalformedURLException ignored) {
-            //
-        }
+        Path file = externalFileChecker.resolveFile(fileURI);
+        if (file != null)
+            return Files.newInputStream(file);
 
-        Path file = null;
         try {
-            file = Paths.get(fileURI);
-        } catch (InvalidPathException ignored) {
-            //
+            return new URL(fileURI).openStream();
+        } catch (MalformedURLException e) {
+            throw new IOException("Failed to resolve the file reference '" + fileURI + "'.", e);
         }
-
-        if (file == null || !file.isAbsolute())
-            file = inputFile.resolve(fileURI);
-
-        return Files.newInputStream(file);
     }
 
     public void executeBatch() throws SQLException {
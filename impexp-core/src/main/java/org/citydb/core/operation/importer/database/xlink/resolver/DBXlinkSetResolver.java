@@ -0,0 +1,284 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.database.xlink.resolver;
+
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.schema.TableEnum;
+import org.citydb.core.database.schema.mapping.FeatureType;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.operation.common.cache.CacheTable;
+import org.citydb.core.operation.common.cache.CacheTableManager;
+import org.citydb.core.operation.common.cache.IdCache;
+import org.citydb.core.operation.common.cache.IdCacheManager;
+import org.citydb.core.operation.common.cache.IdCacheType;
+import org.citydb.core.operation.common.cache.model.CacheTableModel;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.global.ProgressBarEventType;
+import org.citydb.util.event.global.StatusDialogProgressBar;
+import org.citydb.util.log.Logger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class DBXlinkSetResolver {
+    private static final int CHUNK_SIZE = 100000;
+
+    private final Logger log = Logger.getInstance();
+    private final CacheTableManager cacheTableManager;
+    private final IdCacheManager idCacheManager;
+    private final EventDispatcher eventDispatcher;
+    private final String schema;
+    private final int batchSize;
+
+    private CacheTable gmlIdTable;
+    private boolean isEnabled = true;
+    private volatile boolean shouldRun = true;
+
+    public DBXlinkSetResolver(CacheTableManager cacheTableManager,
+                              IdCacheManager idCacheManager,
+                              int batchSize,
+                              EventDispatcher eventDispatcher) {
+        this.cacheTableManager = cacheTableManager;
+        this.idCacheManager = idCacheManager;
+        this.batchSize = batchSize;
+        this.eventDispatcher = eventDispatcher;
+
+        AbstractDatabaseAdapter databaseAdapter = cacheTableManager.getCacheAdapter();
+        schema = databaseAdapter.getConnectionDetails().getSchema();
+    }
+
+    public void resolveBasicXlinks(CacheTable cacheTable) {
+        if (!initialize(cacheTable))
+            return;
+
+        Connection connection = cacheTable.getConnection();
+        String basicTable = cacheTable.getTableName();
+        String gmlIds = gmlIdTable.getTableName();
+
+        try {
+            normalizeGmlIds(cacheTable);
+            cacheTable.createIndexes();
+
+            List<String[]> groups = new ArrayList<>();
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery("select distinct TABLE_NAME, FROM_COLUMN, TO_COLUMN from " + basicTable)) {
+                while (rs.next()) {
+                    String table = rs.getString(1);
+
+                    // geometry xlinks are resolved against the geometry gml:id cache
+                    if (!TableEnum.SURFACE_GEOMETRY.getName().equalsIgnoreCase(table))
+                        groups.add(new String[]{table, rs.getString(2), rs.getString(3)});
+                }
+            }
+
+            for (String[] group : groups) {
+                String table = schema + "." + group[0];
+                String fromColumn = group[1];
+                String toColumn = group[2];
+
+                String filter = "b.TABLE_NAME='" + group[0] + "'" +
+                        " and b.FROM_COLUMN " + (fromColumn != null ? "='" + fromColumn + "'" : "is null") +
+                        " and b.TO_COLUMN " + (toColumn != null ? "='" + toColumn + "'" : "is null");
+                String join = basicTable + " b join " + gmlIds + " g on g.GMLID=b.GMLID";
+
+                String resolve;
+                if (fromColumn != null && toColumn != null) {
+                    resolve = "insert into " + table + " (" + toColumn + ", " + fromColumn + ") " +
+                            "select g.ID, b.ID from " + join + " where " + filter + " and g.ID > 0 and b.ID between ? and ?";
+                } else if (fromColumn != null) {
+                    resolve = "update " + table + " t set " + fromColumn + "=(select max(g.ID) from " + join +
+                            " where " + filter + " and g.ID > 0 and b.ID=t.ID) " +
+                            "where t.ID in (select b.ID from " + join + " where " + filter + " and g.ID > 0 and b.ID between ? and ?)";
+                } else {
+                    resolve = "update " + table + " t set " + toColumn + "=(select max(b.ID) from " + join +
+                            " where " + filter + " and g.ID=t.ID) " +
+                            "where t.ID in (select g.ID from " + join + " where " + filter + " and g.ID > 0 and b.ID between ? and ?)";
+                }
+
+                String delete = "delete from " + basicTable + " where ID between ? and ?" +
+                        " and TABLE_NAME='" + group[0] + "'" +
+                        " and FROM_COLUMN " + (fromColumn != null ? "='" + fromColumn + "'" : "is null") +
+                        " and TO_COLUMN " + (toColumn != null ? "='" + toColumn + "'" : "is null") +
+                        " and GMLID in (select GMLID from " + gmlIds + " where ID > 0)";
+
+                resolveInChunks(connection, "select min(b.ID), max(b.ID) from " + basicTable + " b where " + filter,
+                        resolve, delete);
+            }
+        } catch (SQLException e) {
+            disable(connection, e);
+        }
+    }
+
+    public void resolveGroupMemberXlinks(CacheTable cacheTable) {
+        if (!initialize(cacheTable))
+            return;
+
+        Connection connection = cacheTable.getConnection();
+        String groupTable = cacheTable.getTableName();
+        String gmlIds = gmlIdTable.getTableName();
+
+        try {
+            normalizeGmlIds(cacheTable);
+            cacheTable.createIndexes();
+
+            // group members that are groups themselves are left to the
+            // per-row resolver, since it takes care of cyclic groupings
+            String target = "g.ID > 0 and g.OBJECTCLASS_ID not in (" + getGroupObjectClassIds() + ")";
+            String join = groupTable + " t join " + gmlIds + " g on g.GMLID=t.GMLID";
+            String range = "select min(t.GROUP_ID), max(t.GROUP_ID) from " + groupTable + " t where t.IS_PARENT=";
+
+            resolveInChunks(connection, range + "0",
+                    "insert into " + schema + ".GROUP_TO_CITYOBJECT (CITYOBJECT_ID, CITYOBJECTGROUP_ID, ROLE) " +
+                            "select g.ID, t.GROUP_ID, t.ROLE from " + join +
+                            " where t.IS_PARENT=0 and " + target + " and t.GROUP_ID between ? and ?",
+                    "delete from " + groupTable + " where IS_PARENT=0 and GROUP_ID between ? and ?" +
+                            " and GMLID in (select g.GMLID from " + gmlIds + " g where " + target + ")");
+
+            resolveInChunks(connection, range + "1",
+                    "update " + schema + ".CITYOBJECTGROUP c set PARENT_CITYOBJECT_ID=(select max(g.ID) from " + join +
+                            " where t.IS_PARENT=1 and " + target + " and t.GROUP_ID=c.ID) " +
+                            "where c.ID in (select t.GROUP_ID from " + join +
+                            " where t.IS_PARENT=1 and " + target + " and t.GROUP_ID between ? and ?)",
+                    "delete from " + groupTable + " where IS_PARENT=1 and GROUP_ID between ? and ?" +
+                            " and GMLID in (select g.GMLID from " + gmlIds + " g where " + target + ")");
+        } catch (SQLException e) {
+            disable(connection, e);
+        }
+    }
+
+    public void interrupt() {
+        shouldRun = false;
+    }
+
+    private boolean initialize(CacheTable cacheTable) {
+        if (!isEnabled || !shouldRun)
+            return false;
+
+        if (gmlIdTable == null) {
+            IdCache idCache = idCacheManager.getCache(IdCacheType.OBJECT);
+            if (idCache == null) {
+                isEnabled = false;
+                return false;
+            }
+
+            try {
+                // make pending cache content durable so that a failure of
+                // a set-based update can be rolled back safely
+                cacheTable.getConnection().commit();
+
+                log.debug("Copying object gml:id cache to the database.");
+                gmlIdTable = cacheTableManager.createCacheTable(CacheTableModel.OBJECT_GMLID);
+                if (gmlIdTable.getConnection() != cacheTable.getConnection()
+                        || !idCache.copyToCacheTable(gmlIdTable, batchSize)) {
+                    log.debug("The object gml:id cache cannot be used for set-based XLink resolution.");
+                    isEnabled = false;
+                    return false;
+                }
+
+                gmlIdTable.createIndexes();
+                gmlIdTable.getConnection().commit();
+            } catch (SQLException e) {
+                disable(cacheTable.getConnection(), e);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void resolveInChunks(Connection connection, String range, String resolve, String delete) throws SQLException {
+        long min, max;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(range)) {
+            if (!rs.next())
+                return;
+
+            min = rs.getLong(1);
+            max = rs.getLong(2);
+            if (rs.wasNull())
+                return;
+        }
+
+        try (PreparedStatement psResolve = connection.prepareStatement(resolve);
+             PreparedStatement psDelete = connection.prepareStatement(delete)) {
+            for (long lower = min; lower <= max && shouldRun; lower += CHUNK_SIZE) {
+                long upper = Math.min(lower + CHUNK_SIZE - 1, max);
+
+                psResolve.setLong(1, lower);
+                psResolve.setLong(2, upper);
+                psResolve.executeUpdate();
+
+                psDelete.setLong(1, lower);
+                psDelete.setLong(2, upper);
+                int resolved = psDelete.executeUpdate();
+
+                connection.commit();
+                if (resolved > 0)
+                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, resolved));
+            }
+        }
+    }
+
+    private void normalizeGmlIds(CacheTable cacheTable) throws SQLException {
+        // references may start with a leading # which is stripped by the gml:id resolver
+        try (Statement stmt = cacheTable.getConnection().createStatement()) {
+            stmt.executeUpdate("update " + cacheTable.getTableName() + " set GMLID=substr(GMLID, 2) where GMLID like '#%'");
+        }
+    }
+
+    private String getGroupObjectClassIds() {
+        SchemaMapping schemaMapping = ObjectRegistry.getInstance().getSchemaMapping();
+        FeatureType cityObjectGroupType = schemaMapping.getFeatureType(23);
+
+        List<FeatureType> groupTypes = new ArrayList<>(cityObjectGroupType.listSubTypes(false));
+        groupTypes.add(cityObjectGroupType);
+
+        return groupTypes.stream()
+                .map(type -> String.valueOf(type.getObjectClassId()))
+                .distinct()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void disable(Connection connection, SQLException e) {
+        log.warn("Set-based XLink resolution failed. Falling back to resolving XLinks one by one.", e);
+        isEnabled = false;
+
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            //
+        }
+    }
+}
@@ -35,6 +35,7 @@ import org.citydb.core.operation.common.cache.model.CacheTableModel;
 import org.citydb.core.operation.common.xlink.*;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.Event;
+import org.citydb.util.event.EventAggregator;
 import org.citydb.util.event.EventDispatcher;
 import org.citydb.util.event.EventHandler;
 import org.citydb.util.event.global.*;
@@ -51,21 +52,29 @@ public class DBXlinkSplitter implements EventHandler {
     private final CacheTableManager cacheTableManager;
     private final WorkerPool<DBXlink> xlinkResolverPool;
     private final WorkerPool<DBXlink> tmpXlinkPool;
+    private final DBXlinkSetResolver setResolver;
+    private final TextureImageUploader textureImageUploader;
     private final Object eventChannel;
     private final EventDispatcher eventDispatcher;
+    private final EventAggregator eventAggregator;
     private volatile boolean shouldRun = true;
 
     public DBXlinkSplitter(CacheTableManager cacheTableManager,
                            WorkerPool<DBXlink> xlinkResolverPool,
                            WorkerPool<DBXlink> tmpXlinkPool,
+                           DBXlinkSetResolver setResolver,
+                           TextureImageUploader textureImageUploader,
                            Object eventChannel,
                            EventDispatcher eventDispatcher) {
         this.cacheTableManager = cacheTableManager;
         this.xlinkResolverPool = xlinkResolverPool;
         this.tmpXlinkPool = tmpXlinkPool;
+        this.setResolver = setResolver;
+        this.textureImageUploader = textureImageUploader;
         this.eventChannel = eventChannel;
         this.eventDispatcher = eventDispatcher;
 
+        eventAggregator = eventDispatcher.getEventAggregator();
         eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
     }
 
@@ -124,10 +133,15 @@ public class DBXlinkSplitter implements EventHandler {
         eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size()));
         eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.basicXLink.msg")));
 
+        // resolve xlinks to features inside the database first. only
+        // xlinks that cannot be handled this way are resolved one by one
+        if (setResolver != null)
+            setResolver.resolveBasicXlinks(cacheTable);
+
         try (Statement stmt = cacheTable.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
             while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                eventAggregator.updateProgress(1);
 
                 long id = rs.getLong("ID");
                 String table = rs.getString("TABLE_NAME");
@@ -154,6 +168,18 @@ public class DBXlinkSplitter implements EventHandler {
             return;
 
         log.info("Resolving CityObjectGroup XLinks...");
+        if (setResolver != null) {
+            eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) cacheTable.size()));
+            try {
+                xlinkResolverPool.join();
+                tmpXlinkPool.join();
+            } catch (InterruptedException e) {
+                //
+            }
+
+            setResolver.resolveGroupMemberXlinks(cacheTable);
+        }
+
         queryGroupMemberXLinks(cacheTable, true, -1, 1);
     }
 
@@ -172,7 +198,7 @@ public class DBXlinkSplitter implements EventHandler {
         try (Statement stmt = mirrorTable.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery("select * from " + mirrorTable.getTableName())) {
             while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                eventAggregator.updateProgress(1);
 
                 long groupId = rs.getLong("GROUP_ID");
                 String gmlId = rs.getString("GMLID");
@@ -244,7 +270,7 @@ public class DBXlinkSplitter implements EventHandler {
                          "lr.PARENT_ID, lr.REVERSE from " + texCoordTable.getTableName() + " tc " +
                          " join " + linearRingTable.getTableName() + " lr on tc.GMLID=lr.GMLID where lr.RING_NO = 0")) {
                 while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                    eventAggregator.updateProgress(1);
 
                     long id = rs.getLong("ID");
                     String gmlId = rs.getString("GMLID");
@@ -272,7 +298,7 @@ public class DBXlinkSplitter implements EventHandler {
             try (Statement stmt = texParamTableTable.getConnection().createStatement();
                  ResultSet rs = stmt.executeQuery("select * from " + texParamTableTable.getTableName())) {
                 while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                    eventAggregator.updateProgress(1);
 
                     long id = rs.getLong("ID");
                     String gmlId = rs.getString("GMLID");
@@ -307,15 +333,34 @@ public class DBXlinkSplitter implements EventHandler {
             eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.INIT, (int) temporaryTable.size()));
             eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("import.dialog.texImg.msg")));
 
+            // upload texture images in a dedicated pipeline if possible
+            TextureImageUploader uploader = textureImageUploader;
+            if (uploader != null) {
+                try {
+                    uploader.start();
+                } catch (SQLException e) {
+                    log.warn("Failed to start texture upload pipeline. Importing texture images one by one.", e);
+                    uploader = null;
+                }
+            }
+
             try (Statement stmt = temporaryTable.getConnection().createStatement();
                  ResultSet rs = stmt.executeQuery("select * from " + temporaryTable.getTableName())) {
                 while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                    eventAggregator.updateProgress(1);
 
                     long id = rs.getLong("ID");
                     String imageURI = rs.getString("FILE_URI");
 
-                    xlinkResolverPool.addWork(new DBXlinkTextureFile(id, imageURI));
+                    if (uploader != null) {
+                        uploader.upload(id, imageURI);
+                    } else {
+                        xlinkResolverPool.addWork(new DBXlinkTextureFile(id, imageURI));
+                    }
+                }
+            } finally {
+                if (uploader != null) {
+                    uploader.finish();
                 }
             }
         }
@@ -339,7 +384,7 @@ public class DBXlinkSplitter implements EventHandler {
             try (Statement stmt = temporaryTable.getConnection().createStatement();
                  ResultSet rs = stmt.executeQuery("select * from " + temporaryTable.getTableName())) {
                 while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                    eventAggregator.updateProgress(1);
 
                     long fromId = rs.getLong("FROM_ID");
                     long toId = rs.getLong("TO_ID");
@@ -372,7 +417,7 @@ public class DBXlinkSplitter implements EventHandler {
             try (Statement stmt = cacheTable.getConnection().createStatement();
                  ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
                 while (rs.next() && shouldRun) {
-                    eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                    eventAggregator.updateProgress(1);
 
                     long id = rs.getLong("ID");
                     String gmlId = rs.getString("GMLID");
@@ -402,7 +447,7 @@ public class DBXlinkSplitter implements EventHandler {
         try (Statement stmt = cacheTable.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
             while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                eventAggregator.updateProgress(1);
 
                 long id = rs.getLong("ID");
                 String imageURI = rs.getString("FILE_URI");
@@ -432,7 +477,7 @@ public class DBXlinkSplitter implements EventHandler {
         try (Statement stmt = cacheTable.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
             while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                eventAggregator.updateProgress(1);
 
                 long appearanceId = rs.getLong("ID");
                 String gmlId = rs.getString("GMLID");
@@ -476,7 +521,7 @@ public class DBXlinkSplitter implements EventHandler {
         try (Statement stmt = mirrorTable.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery("select * from " + mirrorTable.getTableName())) {
             while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                eventAggregator.updateProgress(1);
 
                 long id = rs.getLong("ID");
                 long parentId = rs.getLong("PARENT_ID");
@@ -538,7 +583,7 @@ public class DBXlinkSplitter implements EventHandler {
         try (Statement stmt = cacheTable.getConnection().createStatement();
              ResultSet rs = stmt.executeQuery("select * from " + cacheTable.getTableName())) {
             while (rs.next() && shouldRun) {
-                eventDispatcher.triggerEvent(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, 1));
+                eventAggregator.updateProgress(1);
 
                 long id = rs.getLong("ID");
 
@@ -551,8 +596,11 @@ public class DBXlinkSplitter implements EventHandler {
 
     @Override
     public void handleEvent(Event event) throws Exception {
-        if (event.getChannel() == eventChannel)
+        if (event.getChannel() == eventChannel) {
             shouldRun = false;
+            if (setResolver != null)
+                setResolver.interrupt();
+        }
     }
 
 }
@@ -0,0 +1,349 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.database.xlink.resolver;
+
+import org.citydb.config.project.global.LogLevel;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.adapter.BlobImportAdapter;
+import org.citydb.core.database.adapter.BlobType;
+import org.citydb.core.database.connection.DatabaseConnectionPool;
+import org.citydb.core.file.InputFile;
+import org.citydb.core.operation.importer.util.ExternalFileChecker;
+import org.citydb.core.util.Util;
+import org.citydb.util.concurrent.LockFreeWorkQueue;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventAggregator;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.CounterType;
+import org.citydb.util.event.global.EventType;
+import org.citydb.util.event.global.InterruptEvent;
+import org.citydb.util.log.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TextureImageUploader implements EventHandler {
+    private static final int MAX_BATCH_SIZE = 20;
+    private static final long MAX_BATCH_BYTES = 16 * 1024 * 1024;
+
+    private final Logger log = Logger.getInstance();
+    private final ExternalFileChecker externalFileChecker;
+    private final int threads;
+    private final int bufferSize;
+    private final AbstractDatabaseAdapter databaseAdapter;
+    private final Object eventChannel;
+    private final EventDispatcher eventDispatcher;
+    private final EventAggregator eventAggregator;
+    private final LockFreeWorkQueue<TextureImage> queue;
+    private final Semaphore buffer;
+    private final List<Thread> writers = new ArrayList<>();
+    private final LongAdder images = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    private ExecutorService readers;
+    private long start;
+    private volatile boolean readingDone;
+    private volatile boolean shouldRun = true;
+
+    public TextureImageUploader(InputFile inputFile,
+                                int threads,
+                                int bufferSize,
+                                AbstractDatabaseAdapter databaseAdapter,
+                                Object eventChannel,
+                                EventDispatcher eventDispatcher) {
+        externalFileChecker = new ExternalFileChecker(inputFile);
+        this.threads = Math.max(threads, 1);
+        this.databaseAdapter = databaseAdapter;
+        this.eventChannel = eventChannel;
+        this.eventDispatcher = eventDispatcher;
+
+        // the read-ahead buffer is managed in units of kilobytes
+        this.bufferSize = Math.max(bufferSize, 1) * 1024;
+        buffer = new Semaphore(this.bufferSize);
+        queue = new LockFreeWorkQueue<>(1024);
+        eventAggregator = eventDispatcher.getEventAggregator();
+    }
+
+    public void start() throws SQLException {
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                Connection connection = DatabaseConnectionPool.getInstance().getConnection();
+                connection.setAutoCommit(false);
+                connections.add(connection);
+            }
+        } catch (SQLException e) {
+            if (connections.isEmpty()) {
+                throw e;
+            }
+
+            log.debug("Using " + connections.size() + " of " + threads + " database connections for texture upload.");
+        }
+
+        eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
+        readers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "texture_reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Connection connection : connections) {
+            Thread writer = new Thread(() -> write(connection), "texture_uploader");
+            writer.setDaemon(true);
+            writers.add(writer);
+            writer.start();
+        }
+
+        start = System.currentTimeMillis();
+    }
+
+    public void upload(long id, String fileURI) {
+        if (shouldRun) {
+            try {
+                readers.execute(() -> read(id, fileURI));
+            } catch (RejectedExecutionException e) {
+                // the readers have been shut down because the import was interrupted
+                if (shouldRun) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    public void finish() {
+        try {
+            if (readers != null) {
+                readers.shutdown();
+                while (!readers.awaitTermination(1, TimeUnit.SECONDS)) {
+                    if (!shouldRun) {
+                        readers.shutdownNow();
+                    }
+                }
+            }
+
+            readingDone = true;
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        } catch (InterruptedException e) {
+            shouldRun = false;
+            if (readers != null) {
+                readers.shutdownNow();
+            }
+
+            writers.forEach(Thread::interrupt);
+        } finally {
+            eventDispatcher.removeEventHandler(this);
+        }
+
+        long count = images.sum();
+        if (count > 0) {
+            double megabytes = bytes.sum() / (1024d * 1024d);
+            double seconds = Math.max(System.currentTimeMillis() - start, 1) / 1000d;
+            log.info("Uploaded " + count + " texture image(s) (" + String.format(Locale.ENGLISH, "%.1f MB", megabytes) +
+                    " in " + Util.formatElapsedTime(System.currentTimeMillis() - start) + ", " +
+                    String.format(Locale.ENGLISH, "%.1f MB/s", megabytes / seconds) + ").");
+        }
+    }
+
+    private void read(long id, String fileURI) {
+        if (!shouldRun) {
+            return;
+        }
+
+        int permits = 0;
+        try {
+            // reserve buffer space before reading so that the read-ahead stays bounded
+            Path file = externalFileChecker.resolveFile(fileURI);
+            byte[] data;
+            if (file != null) {
+                permits = acquire(toPermits(Files.size(file)));
+                data = Files.readAllBytes(file);
+            } else {
+                URLConnection connection = new URL(fileURI).openConnection();
+                try (InputStream stream = connection.getInputStream()) {
+                    // reserve the entire buffer if the size of the remote image is unknown
+                    long length = connection.getContentLengthLong();
+                    permits = acquire(length >= 0 ? toPermits(length) : bufferSize);
+                    data = stream.readNBytes((int) Math.min(permits * 1024L, Integer.MAX_VALUE - 8));
+
+                    int next = stream.read();
+                    if (next != -1) {
+                        // the reported length was wrong, so treat the image like a file
+                        // that exceeds the buffer
+                        if (permits < bufferSize) {
+                            buffer.release(permits);
+                            permits = 0;
+                            permits = acquire(bufferSize);
+                        }
+
+                        ByteArrayOutputStream output = new ByteArrayOutputStream(data.length + 8192);
+                        output.write(data);
+                        output.write(next);
+                        stream.transferTo(output);
+                        data = output.toByteArray();
+                    }
+                }
+            }
+
+            TextureImage image = new TextureImage(id, data, permits);
+            while (!queue.offer(image, 100, TimeUnit.MILLISECONDS)) {
+                if (!shouldRun) {
+                    buffer.release(permits);
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            buffer.release(permits);
+            log.error("Failed to read texture file '" + fileURI + "'.", e);
+        } catch (InterruptedException e) {
+            buffer.release(permits);
+        }
+    }
+
+    private void write(Connection connection) {
+        List<TextureImage> batch = new ArrayList<>();
+        BlobImportAdapter textureImportAdapter = null;
+
+        try {
+            textureImportAdapter = databaseAdapter.getSQLAdapter().getBlobImportAdapter(connection, BlobType.TEXTURE_IMAGE)
+                    .withBatchSize(MAX_BATCH_SIZE);
+
+            while (shouldRun) {
+                TextureImage image = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (image == null) {
+                    if (readingDone && queue.isEmpty()) {
+                        break;
+                    }
+
+                    continue;
+                }
+
+                long batchBytes = 0;
+                do {
+                    batch.add(image);
+                    batchBytes += image.data.length;
+                } while (batch.size() < MAX_BATCH_SIZE
+                        && batchBytes < MAX_BATCH_BYTES
+                        && (image = queue.poll()) != null);
+
+                try {
+                    for (TextureImage item : batch) {
+                        textureImportAdapter.addBatch(item.id, item.data);
+                    }
+
+                    textureImportAdapter.executeBatch();
+                    connection.commit();
+
+                    images.add(batch.size());
+                    bytes.add(batchBytes);
+                    eventAggregator.updateCounter(CounterType.TEXTURE_IMAGE, batch.size());
+                } finally {
+                    batch.forEach(item -> buffer.release(item.permits));
+                    batch.clear();
+                }
+            }
+        } catch (InterruptedException e) {
+            //
+        } catch (Throwable e) {
+            shouldRun = false;
+            try {
+                connection.rollback();
+            } catch (SQLException sql) {
+                //
+            }
+
+            eventDispatcher.triggerSyncEvent(new InterruptEvent("A fatal error occurred while uploading texture images.",
+                    LogLevel.ERROR, e, eventChannel));
+        } finally {
+            if (textureImportAdapter != null) {
+                try {
+                    textureImportAdapter.close();
+                } catch (SQLException e) {
+                    //
+                }
+            }
+
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                //
+            }
+        }
+    }
+
+    private int acquire(int permits) throws InterruptedException {
+        buffer.acquire(permits);
+        return permits;
+    }
+
+    private int toPermits(long size) {
+        // very large files may use the entire buffer but must never exceed it
+        long kilobytes = (size + 1023) / 1024;
+        return (int) Math.min(Math.max(kilobytes, 1), bufferSize);
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        if (event.getChannel() == eventChannel) {
+            shouldRun = false;
+            if (readers != null) {
+                readers.shutdownNow();
+            }
+        }
+    }
+
+    private static class TextureImage {
+        private final long id;
+        private final byte[] data;
+        private final int permits;
+
+        private TextureImage(long id, byte[] data, int permits) {
+            this.id = id;
+            this.data = data;
+            this.permits = permits;
+        }
+    }
+}
@@ -28,7 +28,6 @@
 package org.citydb.core.operation.importer.database.xlink.resolver;
 
 import org.citydb.config.geometry.GeometryObject;
-import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.operation.common.xlink.DBXlinkSolidGeometry;
 import org.citydb.util.log.Logger;
 
@@ -59,17 +58,7 @@ public class XlinkSolidGeometry implements DBXlinkResolver {
         psSelectSurfGeom = connection.prepareStatement(manager.getDatabaseAdapter().getSQLAdapter().getHierarchicalGeometryQuery());
         String schema = manager.getDatabaseAdapter().getConnectionDetails().getSchema();
 
-        StringBuilder stmt = new StringBuilder("update ").append(schema).append(".SURFACE_GEOMETRY set SOLID_GEOMETRY=");
-        if (manager.getDatabaseAdapter().getDatabaseType() == DatabaseType.POSTGIS) {
-            // the current PostGIS JDBC driver lacks support for geometry objects of type PolyhedralSurface
-            // thus, we have to use the database function ST_GeomFromEWKT to insert such geometries
-            // TODO: rework as soon as the JDBC driver supports PolyhedralSurface
-            stmt.append("ST_GeomFromEWKT(?) ");
-        } else
-            stmt.append("? ");
-
-        stmt.append("where ID=?");
-        psUpdateSurfGeom = connection.prepareStatement(stmt.toString());
+        psUpdateSurfGeom = connection.prepareStatement("update " + schema + ".SURFACE_GEOMETRY set SOLID_GEOMETRY=? where ID=?");
     }
 
     public boolean insert(DBXlinkSolidGeometry xlink) throws SQLException {
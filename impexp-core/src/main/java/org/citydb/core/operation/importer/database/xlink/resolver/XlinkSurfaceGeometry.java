@@ -28,7 +28,6 @@
 package org.citydb.core.operation.importer.database.xlink.resolver;
 
 import org.citydb.config.geometry.GeometryObject;
-import org.citydb.config.project.database.DatabaseType;
 import org.citydb.core.database.schema.SequenceEnum;
 import org.citydb.core.database.schema.XlinkType;
 import org.citydb.core.database.schema.mapping.MappingConstants;
@@ -77,17 +76,7 @@ public class XlinkSurfaceGeometry implements DBXlinkResolver {
 
         StringBuilder parentStmt = new StringBuilder()
                 .append("insert into ").append(schema).append(".SURFACE_GEOMETRY (ID, GMLID, PARENT_ID, ROOT_ID, IS_SOLID, IS_COMPOSITE, IS_TRIANGULATED, IS_XLINK, IS_REVERSE, GEOMETRY, SOLID_GEOMETRY, CITYOBJECT_ID) values ")
-                .append("(?, ?, ?, ?, ?, ?, ?, ").append(globalXlink).append(", ?, ?, ");
-
-        if (manager.getDatabaseAdapter().getDatabaseType() == DatabaseType.POSTGIS) {
-            // the current PostGIS JDBC driver lacks support for geometry objects of type PolyhedralSurface
-            // thus, we have to use the database function ST_GeomFromEWKT to insert such geometries
-            // TODO: rework as soon as the JDBC driver supports PolyhedralSurface
-            parentStmt.append("ST_GeomFromEWKT(?), ");
-        } else
-            parentStmt.append("?, ");
-
-        parentStmt.append("?)");
+                .append("(?, ?, ?, ?, ?, ?, ?, ").append(globalXlink).append(", ?, ?, ?, ?)");
         psParentElem = connection.prepareStatement(parentStmt.toString());
 
         psMemberElem = connection.prepareStatement("insert into " + schema + ".SURFACE_GEOMETRY (ID, GMLID, PARENT_ID, " +
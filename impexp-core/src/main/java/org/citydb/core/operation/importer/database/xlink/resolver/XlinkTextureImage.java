@@ -30,7 +30,7 @@ package org.citydb.core.operation.importer.database.xlink.resolver;
 import org.citydb.core.database.adapter.BlobImportAdapter;
 import org.citydb.core.database.adapter.BlobType;
 import org.citydb.core.operation.common.xlink.DBXlinkTextureFile;
-import org.citydb.util.event.global.CounterEvent;
+import org.citydb.util.event.EventAggregator;
 import org.citydb.util.event.global.CounterType;
 import org.citydb.util.log.Logger;
 
@@ -44,18 +44,18 @@ public class XlinkTextureImage implements DBXlinkResolver {
     private final Logger log = Logger.getInstance();
     private final DBXlinkResolverManager manager;
     private final BlobImportAdapter textureImportAdapter;
-    private final CounterEvent counter;
+    private final EventAggregator eventAggregator;
 
     public XlinkTextureImage(Connection connection, DBXlinkResolverManager manager) throws SQLException {
         this.manager = manager;
 
-        counter = new CounterEvent(CounterType.TEXTURE_IMAGE, 1);
+        eventAggregator = manager.getEventAggregator();
         textureImportAdapter = manager.getDatabaseAdapter().getSQLAdapter().getBlobImportAdapter(
                 connection, BlobType.TEXTURE_IMAGE);
     }
 
     public boolean insert(DBXlinkTextureFile xlink) throws SQLException {
-        manager.propagateEvent(counter);
+        eventAggregator.updateCounter(CounterType.TEXTURE_IMAGE, 1);
         String fileURI = xlink.getFileURI();
 
         try (InputStream stream = new BufferedInputStream(manager.openStream(fileURI))) {
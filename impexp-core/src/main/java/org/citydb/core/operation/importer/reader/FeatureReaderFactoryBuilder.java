@@ -41,13 +41,15 @@ import java.util.Map;
 public class FeatureReaderFactoryBuilder {
     private final Map<MediaType, FeatureReaderFactory> factories = new HashMap<>();
 
-    public FeatureReaderFactory buildFactory(InputFile file, CityGMLFilter filter, Object eventChannel, Config config) throws FeatureReadException {
+    public synchronized FeatureReaderFactory buildFactory(InputFile file, CityGMLFilter filter, Object eventChannel, Config config) throws FeatureReadException {
         FeatureReaderFactory factory = factories.get(file.getMediaType());
         if (factory == null) {
             if (file.getMediaType().equals(InputFile.APPLICATION_XML))
                 factory = new CityGMLReaderFactory();
             else if (file.getMediaType().equals(InputFile.APPLICATION_JSON))
                 factory = new CityJSONReaderFactory();
+            else if (file.getMediaType().equals(InputFile.APPLICATION_CITYJSON_SEQ))
+                factory = new CityJSONReaderFactory(true);
 
             if (factory == null)
                 throw new FeatureReadException("No reader available for media type '" + file.getMediaType() + "'.");
@@ -98,7 +98,7 @@ public class CityGMLReader implements FeatureReader, EventHandler {
                     minThreads,
                     maxThreads,
                     PoolSizeAdaptationStrategy.AGGRESSIVE,
-                    new FeatureReaderWorkerFactory(workerPool, config, eventDispatcher),
+                    new FeatureReaderWorkerFactory(inputFile, workerPool, config, eventDispatcher),
                     maxThreads * 2,
                     false);
 
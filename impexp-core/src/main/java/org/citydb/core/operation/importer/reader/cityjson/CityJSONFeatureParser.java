@@ -0,0 +1,112 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.reader.cityjson;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import org.citydb.core.operation.importer.reader.FeatureReadException;
+import org.citygml4j.builder.cityjson.json.io.reader.CityJSONChunkReader;
+import org.citygml4j.builder.cityjson.json.io.reader.CityJSONInputFactory;
+import org.citygml4j.model.gml.feature.AbstractFeature;
+import org.citygml4j.xml.io.reader.CityGMLInputFilter;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public class CityJSONFeatureParser {
+    private static final String[] HEADER_MEMBERS = {"version", "transform", "extensions", "geometry-templates"};
+    private static final String[] FEATURE_MEMBERS = {"CityObjects", "vertices", "appearance"};
+
+    private final Gson gson = new Gson();
+    private final CityJSONInputFactory factory;
+    private final CityGMLInputFilter typeFilter;
+    private final JsonObject header;
+
+    CityJSONFeatureParser(String header, CityJSONInputFactory factory, CityGMLInputFilter typeFilter) throws FeatureReadException {
+        this.factory = factory;
+        this.typeFilter = typeFilter;
+
+        JsonObject object = parse(header, "CityJSON");
+        this.header = new JsonObject();
+        this.header.addProperty("type", "CityJSON");
+        for (String member : HEADER_MEMBERS) {
+            if (object.has(member)) {
+                this.header.add(member, object.get(member));
+            }
+        }
+    }
+
+    public void parse(String line, Consumer<AbstractFeature> consumer) throws FeatureReadException {
+        JsonObject feature = parse(line, "CityJSONFeature");
+
+        // turn the feature into a CityJSON document of its own that
+        // shares the transformation and templates of the header
+        JsonObject document = header.deepCopy();
+        for (String member : FEATURE_MEMBERS) {
+            if (feature.has(member)) {
+                document.add(member, feature.get(member));
+            }
+        }
+
+        if (!document.has("vertices")) {
+            document.add("vertices", new JsonArray());
+        }
+
+        byte[] content = gson.toJson(document).getBytes(StandardCharsets.UTF_8);
+        try (CityJSONChunkReader reader = factory.createFilteredCityJSONReader(
+                factory.createCityJSONChunkReader(new ByteArrayInputStream(content), StandardCharsets.UTF_8.name()),
+                typeFilter)) {
+            reader.read(consumer::accept);
+        } catch (Exception e) {
+            throw new FeatureReadException("Failed to read CityJSONFeature" +
+                    (feature.has("id") ? " '" + feature.get("id").getAsString() + "'." : "."), e);
+        }
+    }
+
+    private JsonObject parse(String line, String type) throws FeatureReadException {
+        try {
+            JsonElement element = JsonParser.parseString(line);
+            if (element.isJsonObject()) {
+                JsonObject object = element.getAsJsonObject();
+                JsonElement value = object.get("type");
+                if (value != null && value.isJsonPrimitive() && type.equals(value.getAsString())) {
+                    return object;
+                }
+            }
+        } catch (JsonParseException e) {
+            throw new FeatureReadException("Failed to parse " + type + " object.", e);
+        }
+
+        throw new FeatureReadException("Expected a " + type + " object but found different content.");
+    }
+}
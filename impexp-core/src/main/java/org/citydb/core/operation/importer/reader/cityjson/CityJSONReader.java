@@ -34,6 +34,7 @@ import org.citydb.core.operation.importer.filter.selection.counter.CounterFilter
 import org.citydb.core.operation.importer.reader.FeatureReadException;
 import org.citydb.core.operation.importer.reader.FeatureReader;
 import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.core.util.CoreConstants;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.Event;
 import org.citydb.util.event.EventDispatcher;
@@ -57,6 +58,7 @@ public class CityJSONReader implements FeatureReader, EventHandler {
     private final EventDispatcher eventDispatcher;
 
     private WorkerPool<CityGML> workerPool;
+    private InputFile inputFile;
     private volatile boolean shouldRun = true;
 
     CityJSONReader(CityGMLInputFilter typeFilter, CounterFilter counterFilter, CityJSONInputFactory factory, Config config) {
@@ -77,6 +79,7 @@ public class CityJSONReader implements FeatureReader, EventHandler {
     @Override
     public void read(InputFile inputFile, WorkerPool<CityGML> workerPool) throws FeatureReadException {
         this.workerPool = workerPool;
+        this.inputFile = inputFile;
 
         try (CityJSONChunkReader reader = factory.createFilteredCityJSONReader(
                 createCityJSONChunkReader(inputFile.openStream()), typeFilter)) {
@@ -101,6 +104,7 @@ public class CityJSONReader implements FeatureReader, EventHandler {
                     }
                 }
 
+                feature.setLocalProperty(CoreConstants.IMPORT_INPUT_FILE, inputFile);
                 workerPool.addWork((CityGML) feature);
             }
         }
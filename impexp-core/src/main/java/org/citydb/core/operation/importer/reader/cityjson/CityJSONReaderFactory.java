@@ -44,13 +44,24 @@ import org.citygml4j.model.module.citygml.CityGMLModuleType;
 import org.citygml4j.xml.io.reader.CityGMLInputFilter;
 
 public class CityJSONReaderFactory implements FeatureReaderFactory {
+    private final boolean isSequence;
     private CityJSONInputFactory factory;
     private CityGMLInputFilter typeFilter;
     private CounterFilter counterFilter;
+    private Object eventChannel;
     private Config config;
 
+    public CityJSONReaderFactory(boolean isSequence) {
+        this.isSequence = isSequence;
+    }
+
+    public CityJSONReaderFactory() {
+        this(false);
+    }
+
     @Override
     public void initializeContext(CityGMLFilter filter, Object eventChannel, Config config) throws FeatureReadException {
+        this.eventChannel = eventChannel;
         this.config = config;
 
         CityJSONBuilder builder = CityGMLContext.getInstance().createCityJSONBuilder();
@@ -75,6 +86,8 @@ public class CityJSONReaderFactory implements FeatureReaderFactory {
 
     @Override
     public FeatureReader createFeatureReader() throws FeatureReadException {
-        return new CityJSONReader(typeFilter, counterFilter, factory, config);
+        return isSequence ?
+                new CityJSONSeqReader(typeFilter, counterFilter, factory, eventChannel, config) :
+                new CityJSONReader(typeFilter, counterFilter, factory, config);
     }
 }
@@ -0,0 +1,189 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.reader.cityjson;
+
+import org.citydb.config.Config;
+import org.citydb.core.file.InputFile;
+import org.citydb.core.operation.importer.concurrent.CityJSONFeatureReaderWorkerFactory;
+import org.citydb.core.operation.importer.filter.selection.counter.CounterFilter;
+import org.citydb.core.operation.importer.reader.FeatureReadException;
+import org.citydb.core.operation.importer.reader.FeatureReader;
+import org.citydb.core.registry.ObjectRegistry;
+import org.citydb.core.util.CoreConstants;
+import org.citydb.util.concurrent.PoolSizeAdaptationStrategy;
+import org.citydb.util.concurrent.WorkerPool;
+import org.citydb.util.event.Event;
+import org.citydb.util.event.EventDispatcher;
+import org.citydb.util.event.EventHandler;
+import org.citydb.util.event.global.EventType;
+import org.citygml4j.builder.cityjson.json.io.reader.CityJSONInputFactory;
+import org.citygml4j.model.citygml.CityGML;
+import org.citygml4j.model.citygml.appearance.Appearance;
+import org.citygml4j.model.gml.feature.AbstractFeature;
+import org.citygml4j.xml.io.reader.CityGMLInputFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public class CityJSONSeqReader implements FeatureReader, EventHandler {
+    private final CityGMLInputFilter typeFilter;
+    private final CounterFilter counterFilter;
+    private final CityJSONInputFactory factory;
+    private final Object eventChannel;
+    private final Config config;
+    private final EventDispatcher eventDispatcher;
+    private final int minThreads, maxThreads;
+
+    private WorkerPool<CityGML> workerPool;
+    private InputFile inputFile;
+    private volatile boolean shouldRun = true;
+
+    CityJSONSeqReader(CityGMLInputFilter typeFilter, CounterFilter counterFilter, CityJSONInputFactory factory, Object eventChannel, Config config) {
+        this.typeFilter = typeFilter;
+        this.counterFilter = counterFilter;
+        this.factory = factory;
+        this.eventChannel = eventChannel;
+        this.config = config;
+
+        minThreads = config.getImportConfig().getResources().getThreadPool().getMinThreads();
+        maxThreads = config.getImportConfig().getResources().getThreadPool().getMaxThreads();
+
+        eventDispatcher = ObjectRegistry.getInstance().getEventDispatcher();
+        eventDispatcher.addEventHandler(EventType.INTERRUPT, this);
+    }
+
+    @Override
+    public long getValidationErrors() {
+        return 0;
+    }
+
+    @Override
+    public void read(InputFile inputFile, WorkerPool<CityGML> workerPool) throws FeatureReadException {
+        this.workerPool = workerPool;
+        this.inputFile = inputFile;
+
+        WorkerPool<String> featureWorkerPool = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputFile.openStream(), getEncoding()))) {
+            String line = nextLine(reader);
+            if (line == null) {
+                return;
+            }
+
+            CityJSONFeatureParser parser = new CityJSONFeatureParser(line, factory, typeFilter);
+
+            // the counter filter must see the features in the order of the input file.
+            // so features are only unmarshalled in parallel if no counter filter is used
+            if (counterFilter == null) {
+                featureWorkerPool = new WorkerPool<>(
+                        "cityjson_parser_pool",
+                        minThreads,
+                        maxThreads,
+                        PoolSizeAdaptationStrategy.AGGRESSIVE,
+                        new CityJSONFeatureReaderWorkerFactory(inputFile, parser, workerPool, eventDispatcher),
+                        maxThreads * 2,
+                        false);
+
+                featureWorkerPool.setEventSource(eventChannel);
+                featureWorkerPool.prestartCoreWorkers();
+            }
+
+            while (shouldRun && (line = nextLine(reader)) != null) {
+                if (featureWorkerPool != null) {
+                    featureWorkerPool.addWork(line);
+                } else {
+                    parser.parse(line, this::process);
+                }
+            }
+
+            if (featureWorkerPool != null) {
+                try {
+                    featureWorkerPool.shutdownAndWait();
+                } catch (InterruptedException e) {
+                    throw new FeatureReadException("Failed to shutdown CityJSON feature reader pool.", e);
+                }
+            }
+        } catch (IOException e) {
+            throw new FeatureReadException("Failed to read CityJSONSeq input file.", e);
+        } finally {
+            if (featureWorkerPool != null && !featureWorkerPool.isTerminated()) {
+                featureWorkerPool.shutdownNow();
+            }
+        }
+    }
+
+    private String nextLine(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.trim().isEmpty()) {
+                return line;
+            }
+        }
+
+        return null;
+    }
+
+    private void process(AbstractFeature feature) {
+        if (shouldRun) {
+            if (feature instanceof CityGML) {
+                if (counterFilter != null && !(feature instanceof Appearance)) {
+                    if (!counterFilter.isStartIndexSatisfied()) {
+                        counterFilter.incrementStartIndex();
+                        return;
+                    }
+
+                    counterFilter.incrementCount();
+                    if (!counterFilter.isCountSatisfied()) {
+                        return;
+                    }
+                }
+
+                feature.setLocalProperty(CoreConstants.IMPORT_INPUT_FILE, inputFile);
+                workerPool.addWork((CityGML) feature);
+            }
+        }
+    }
+
+    private Charset getEncoding() {
+        return config.getImportConfig().getGeneralOptions().isSetFileEncoding() ?
+                Charset.forName(config.getImportConfig().getGeneralOptions().getFileEncoding()) :
+                StandardCharsets.UTF_8;
+    }
+
+    @Override
+    public void close() throws FeatureReadException {
+        eventDispatcher.removeEventHandler(this);
+    }
+
+    @Override
+    public void handleEvent(Event event) throws Exception {
+        shouldRun = false;
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.util;
+
+import org.citydb.config.project.importer.ImportMode;
+import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
+import org.citydb.core.database.schema.mapping.FeatureType;
+import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.operation.importer.util.DuplicateLogger.DuplicateLogEntry;
+import org.citydb.core.util.Util;
+import org.citydb.util.log.Logger;
+import org.citygml4j.model.gml.feature.AbstractFeature;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DuplicateDetector {
+    private static final int BITS_PER_ENTRY = 10;
+    private static final int NUMBER_OF_HASHES = 7;
+    private static final int MAX_BATCH_SIZE = 100;
+
+    private final Logger log = Logger.getInstance();
+    private final SchemaMapping schemaMapping;
+    private final DuplicateLogger duplicateLogger;
+    private final boolean skipDuplicates;
+    private final String schema;
+    private final int batchSize;
+    private final AtomicLong duplicates = new AtomicLong();
+
+    private long[] bits;
+    private long numberOfBits;
+    private long maxId;
+
+    public DuplicateDetector(SchemaMapping schemaMapping,
+                             AbstractDatabaseAdapter databaseAdapter,
+                             DuplicateLogger duplicateLogger,
+                             ImportMode importMode) {
+        this.schemaMapping = schemaMapping;
+        this.duplicateLogger = duplicateLogger;
+
+        skipDuplicates = importMode == ImportMode.SKIP_EXISTING;
+        schema = databaseAdapter.getConnectionDetails().getSchema();
+
+        int maxItems = databaseAdapter.getSQLAdapter().getMaximumNumberOfItemsForInOperator();
+        batchSize = maxItems > 0 ? Math.min(maxItems, MAX_BATCH_SIZE) : MAX_BATCH_SIZE;
+    }
+
+    public void load(Connection connection) throws SQLException {
+        long count;
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("select count(gmlid), max(id) from " + schema + ".cityobject " +
+                     "where termination_date is null")) {
+            rs.next();
+            count = rs.getLong(1);
+            maxId = rs.getLong(2);
+        }
+
+        numberOfBits = Math.max(64, count * BITS_PER_ENTRY);
+        bits = new long[(int) ((numberOfBits + 63) / 64)];
+        numberOfBits = bits.length * 64L;
+
+        // gml:ids of objects imported after this point in time are
+        // never reported as duplicates since their id is greater than maxId
+        try (Statement stmt = connection.createStatement()) {
+            stmt.setFetchSize(10000);
+            try (ResultSet rs = stmt.executeQuery("select gmlid from " + schema + ".cityobject " +
+                    "where gmlid is not null and termination_date is null and id <= " + maxId)) {
+                while (rs.next()) {
+                    put(rs.getString(1));
+                }
+            }
+        }
+
+        log.debug("Loaded " + count + " gml:id(s) into duplicate filter of " + (bits.length * 8L / (1024 * 1024)) + " MB.");
+    }
+
+    public Checker createChecker(Connection connection) throws SQLException {
+        return new Checker(connection);
+    }
+
+    public boolean isSkipDuplicates() {
+        return skipDuplicates;
+    }
+
+    public long getNumberOfDuplicates() {
+        return duplicates.get();
+    }
+
+    public boolean mightExist(String gmlId) {
+        long hash = hash(gmlId);
+        long step = Long.rotateLeft(hash * 0x9e3779b97f4a7c15L, 31) | 1;
+        for (int i = 0; i < NUMBER_OF_HASHES; i++) {
+            long index = Math.floorMod(hash + i * step, numberOfBits);
+            if ((bits[(int) (index >>> 6)] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void put(String gmlId) {
+        long hash = hash(gmlId);
+        long step = Long.rotateLeft(hash * 0x9e3779b97f4a7c15L, 31) | 1;
+        for (int i = 0; i < NUMBER_OF_HASHES; i++) {
+            long index = Math.floorMod(hash + i * step, numberOfBits);
+            bits[(int) (index >>> 6)] |= 1L << index;
+        }
+    }
+
+    private long hash(String value) {
+        // 64-bit FNV-1a
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    private void write(DuplicateLogEntry entry) throws IOException {
+        synchronized (duplicateLogger) {
+            duplicateLogger.write(entry);
+        }
+    }
+
+    public class Checker {
+        private final PreparedStatement ps;
+        private final List<Candidate> candidates = new ArrayList<>();
+
+        private Checker(Connection connection) throws SQLException {
+            ps = connection.prepareStatement("select id, gmlid, objectclass_id from " + schema + ".cityobject " +
+                    "where gmlid in (" + String.join(",", Collections.nCopies(batchSize, "?")) + ") " +
+                    "and termination_date is null and id <= ?");
+        }
+
+        public boolean offer(AbstractFeature feature, String fileName) {
+            if (!feature.isSetId() || !mightExist(feature.getId())) {
+                return false;
+            }
+
+            candidates.add(new Candidate(feature, fileName));
+            return true;
+        }
+
+        public boolean isFull() {
+            return candidates.size() >= batchSize;
+        }
+
+        public boolean isEmpty() {
+            return candidates.isEmpty();
+        }
+
+        public List<AbstractFeature> confirm() throws SQLException, IOException {
+            if (candidates.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            try {
+                Set<String> gmlIds = new LinkedHashSet<>();
+                candidates.forEach(candidate -> gmlIds.add(candidate.feature.getId()));
+
+                int index = 1;
+                for (String gmlId : gmlIds) {
+                    ps.setString(index++, gmlId);
+                }
+
+                while (index <= batchSize) {
+                    ps.setString(index++, null);
+                }
+
+                ps.setLong(index, maxId);
+
+                Map<String, List<Duplicate>> hits = new HashMap<>();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        String gmlId = rs.getString(2);
+                        FeatureType featureType = schemaMapping.getFeatureType(rs.getInt(3));
+                        hits.computeIfAbsent(gmlId, v -> new ArrayList<>()).add(new Duplicate(rs.getLong(1),
+                                featureType != null ? featureType.getPath() : null));
+                    }
+                }
+
+                List<AbstractFeature> features = new ArrayList<>(candidates.size());
+                for (Candidate candidate : candidates) {
+                    List<Duplicate> duplicates = hits.get(candidate.feature.getId());
+                    if (duplicates != null) {
+                        FeatureType featureType = schemaMapping.getFeatureType(Util.getObjectClassId(candidate.feature.getClass()));
+                        String typeName = featureType != null ?
+                                featureType.getPath() :
+                                candidate.feature.getCityGMLClass().toString();
+
+                        for (Duplicate duplicate : duplicates) {
+                            write(DuplicateLogEntry.of(duplicate.id, candidate.feature.getId(), duplicate.typeName,
+                                    typeName, candidate.fileName));
+                        }
+
+                        DuplicateDetector.this.duplicates.addAndGet(duplicates.size());
+
+                        if (skipDuplicates) {
+                            continue;
+                        }
+                    }
+
+                    features.add(candidate.feature);
+                }
+
+                return features;
+            } finally {
+                candidates.clear();
+            }
+        }
+
+        public void close() throws SQLException {
+            ps.close();
+        }
+    }
+
+    private static class Duplicate {
+        private final long id;
+        private final String typeName;
+
+        Duplicate(long id, String typeName) {
+            this.id = id;
+            this.typeName = typeName;
+        }
+    }
+
+    private static class Candidate {
+        private final AbstractFeature feature;
+        private final String fileName;
+
+        Candidate(AbstractFeature feature, String fileName) {
+            this.feature = feature;
+            this.fileName = fileName;
+        }
+    }
+}
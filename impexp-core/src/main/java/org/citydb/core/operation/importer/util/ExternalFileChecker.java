@@ -37,18 +37,45 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.AbstractMap;
 import java.util.Map;
 
 public class ExternalFileChecker {
     private final InputFile inputFile;
+    private final boolean useAbsolutePaths;
     private final boolean replaceSeparator;
 
-    public ExternalFileChecker(InputFile inputFile) {
+    public ExternalFileChecker(InputFile inputFile, boolean useAbsolutePaths) {
         this.inputFile = inputFile;
+        this.useAbsolutePaths = useAbsolutePaths;
         replaceSeparator = inputFile != null && inputFile.getSeparator().equals("/");
     }
 
+    public ExternalFileChecker(InputFile inputFile) {
+        this(inputFile, false);
+    }
+
+    public String getQualifiedURI(String uri) {
+        if (useAbsolutePaths && inputFile != null) {
+            try {
+                new URL(uri);
+                return uri;
+            } catch (MalformedURLException ignored) {
+                //
+            }
+
+            try {
+                return inputFile.resolve(replaceSeparator ? uri.replace("\\", "/") : uri)
+                        .toAbsolutePath().normalize().toString();
+            } catch (InvalidPathException ignored) {
+                //
+            }
+        }
+
+        return uri;
+    }
+
     public Map.Entry<String, String> getFileInfo(String imageURI) throws IOException {
         try {
             new URL(imageURI);
@@ -68,7 +95,7 @@ public class ExternalFileChecker {
         try {
             file = inputFile.resolve(imageURI);
             if (Files.exists(file))
-                path = imageURI;
+                path = useAbsolutePaths ? file.toAbsolutePath().normalize().toString() : imageURI;
         } catch (InvalidPathException e) {
             //
         }
@@ -92,6 +119,32 @@ public class ExternalFileChecker {
         return new AbstractMap.SimpleEntry<>(path, file.getFileName().toString());
     }
 
+    public Path resolveFile(String uri) {
+        try {
+            new URL(uri);
+            return null;
+        } catch (MalformedURLException ignored) {
+            //
+        }
+
+        try {
+            Path file = Paths.get(uri);
+            if (file.isAbsolute())
+                return file;
+        } catch (InvalidPathException ignored) {
+            //
+        }
+
+        if (inputFile == null)
+            return null;
+
+        try {
+            return inputFile.resolve(replaceSeparator ? uri.replace("\\", "/") : uri);
+        } catch (InvalidPathException e) {
+            return null;
+        }
+    }
+
     public InputFile getInputFile() {
         return inputFile;
     }
@@ -31,6 +31,7 @@ import org.citydb.config.project.database.DatabaseConnection;
 import org.citydb.config.project.importer.ImportLog;
 import org.citydb.config.project.importer.ImportLogFileMode;
 import org.citydb.core.util.CoreConstants;
+import org.citydb.util.log.AsyncLogWriter;
 
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -41,10 +42,13 @@ import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class ImportLogger {
     private final LocalDateTime date = LocalDateTime.now();
     private final BufferedWriter writer;
+    private final AsyncLogWriter logWriter;
     private Path logFile;
     private String inputFile = "";
 
@@ -77,12 +81,17 @@ public class ImportLogger {
                         StandardOpenOption.APPEND);
 
         writeHeader(connection, writeHeaderLine);
+        logWriter = new AsyncLogWriter(writer, 8192, 1, TimeUnit.SECONDS);
     }
 
     public Path getLogFilePath() {
         return logFile;
     }
 
+    public void setErrorHandler(Consumer<IOException> errorHandler) {
+        logWriter.withErrorHandler(errorHandler);
+    }
+
     public void setInputFile(Path inputFile) {
         this.inputFile = inputFile != null ? inputFile.toAbsolutePath().toString() : "";
     }
@@ -105,12 +114,19 @@ public class ImportLogger {
     }
 
     private void writeFooter(boolean success) throws IOException {
-        writer.write(success ? "#Import successfully finished." : "#Import aborted.");
-        writer.newLine();
+        logWriter.write(success ? "#Import successfully finished." : "#Import aborted.");
     }
 
     public void write(ImportLogEntry entry) throws IOException {
-        writer.write(entry.type + "," + entry.id + "," + entry.gmlId + "," + inputFile + System.lineSeparator());
+        write(entry, inputFile);
+    }
+
+    public void write(ImportLogEntry entry, Path inputFile) throws IOException {
+        write(entry, inputFile != null ? inputFile.toAbsolutePath().toString() : "");
+    }
+
+    private void write(ImportLogEntry entry, String inputFile) throws IOException {
+        logWriter.write(entry.type + "," + entry.id + "," + entry.gmlId + "," + inputFile);
     }
 
     private String getUniqueFileName(String fileName) {
@@ -123,7 +139,7 @@ public class ImportLogger {
 
     public void close(boolean success) throws IOException {
         writeFooter(success);
-        writer.close();
+        logWriter.close();
     }
 
     public static class ImportLogEntry {
@@ -30,6 +30,7 @@ package org.citydb.core.operation.importer.util;
 import org.citydb.config.project.global.UpdatingPersonMode;
 import org.citydb.config.project.importer.Continuation;
 import org.citydb.core.file.InputFile;
+import org.citydb.core.operation.importer.database.SequenceStatistics;
 
 public class InternalConfig {
     private InputFile inputFile;
@@ -38,6 +39,9 @@ public class InternalConfig {
     private String updatingPerson;
     private String reasonForUpdate;
     private String lineage;
+    private SequenceStatistics sequenceStatistics;
+    private boolean useAbsoluteFilePaths;
+    private TextureFileHasher textureFileHasher;
 
     public InputFile getInputFile() {
         return inputFile;
@@ -95,6 +99,30 @@ public class InternalConfig {
         }
     }
 
+    public SequenceStatistics getSequenceStatistics() {
+        return sequenceStatistics;
+    }
+
+    public void setSequenceStatistics(SequenceStatistics sequenceStatistics) {
+        this.sequenceStatistics = sequenceStatistics;
+    }
+
+    public boolean isUseAbsoluteFilePaths() {
+        return useAbsoluteFilePaths;
+    }
+
+    public void setUseAbsoluteFilePaths(boolean useAbsoluteFilePaths) {
+        this.useAbsoluteFilePaths = useAbsoluteFilePaths;
+    }
+
+    public TextureFileHasher getTextureFileHasher() {
+        return textureFileHasher;
+    }
+
+    public void setTextureFileHasher(TextureFileHasher textureFileHasher) {
+        this.textureFileHasher = textureFileHasher;
+    }
+
     public void setMetadata(Continuation continuation) {
         setUpdatingPersonMode(continuation.getUpdatingPersonMode());
         setUpdatingPerson(continuation.getUpdatingPerson());
@@ -0,0 +1,142 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.core.operation.importer.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TextureFileHasher {
+    private static final int BUFFER_SIZE = 65536;
+
+    private final ConcurrentHashMap<Path, CompletableFuture<String>> hashes = new ConcurrentHashMap<>();
+    private final LongAdder duplicates = new LongAdder();
+    private final ExecutorService service;
+
+    public TextureFileHasher(int threads) {
+        service = Executors.newFixedThreadPool(Math.max(threads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "texture_hasher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void prescan(Path file) {
+        hashes.computeIfAbsent(file.toAbsolutePath().normalize(), k -> {
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return hash(k);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, service);
+            } catch (RejectedExecutionException e) {
+                return null;
+            }
+        });
+    }
+
+    public String getHash(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        CompletableFuture<String> future = hashes.get(key);
+        if (future == null) {
+            CompletableFuture<String> created = new CompletableFuture<>();
+            future = hashes.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                try {
+                    created.complete(hash(key));
+                } catch (IOException e) {
+                    created.completeExceptionally(e);
+                }
+            }
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // do not cache failures so that the file is read again on the next request
+            hashes.remove(key, future);
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+            throw cause instanceof IOException ?
+                    (IOException) cause :
+                    new IOException("Failed to compute content hash of texture file.", cause);
+        }
+    }
+
+    public void addDuplicate() {
+        duplicates.increment();
+    }
+
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    public void shutdown() {
+        service.shutdownNow();
+
+        // release threads still waiting for hashes that will never be computed
+        IOException e = new IOException("The texture file hasher has been shut down.");
+        hashes.values().forEach(future -> future.completeExceptionally(e));
+    }
+
+    private String hash(Path file) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream stream = Files.newInputStream(file)) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                sha256.update(buffer, 0, read);
+            }
+        }
+
+        StringBuilder hexString = new StringBuilder("sha256:");
+        for (byte b : sha256.digest())
+            hexString.append(Integer.toString((b & 0xff) + 0x100, 16).substring(1));
+
+        return hexString.toString();
+    }
+}
@@ -63,6 +63,14 @@ public class Tiling {
         calculateTilingScheme();
     }
 
+    public Tiling(Tiling other) {
+        rows = other.rows.clone();
+        columns = other.columns.clone();
+        extent = other.extent;
+        activeTile = other.activeTile;
+        tilingOptions = other.tilingOptions;
+    }
+
     public BoundingBox getExtent() {
         return extent;
     }
@@ -58,6 +58,7 @@ public class CoreConstants {
     public static final String TEXTURE_IMAGE_XLINK = "textureXlink";
     public static final String FOREIGN_KEYS_SET = "foreignKeys";
     public static final String EXPORT_STUB = "exportStub";
+    public static final String IMPORT_INPUT_FILE = "inputFile";
     public static final String EXPORT_AS_ADDITIONAL_OBJECT = "additionalObject";
     public static final String UNIQUE_TEXTURE_FILENAME_PREFIX = "tex_";
     public static final String UNIQUE_LIBRARY_OBJECT_FILENAME_PREFIX = "library_object_";
@@ -29,30 +29,56 @@
 package org.citydb.core.writer;
 
 import org.citydb.util.concurrent.WorkerPool;
+import org.citydb.util.log.Logger;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class SequentialWriter<T> {
-    private final ReentrantLock lock = new ReentrantLock();
-    private final WorkerPool<T> writerPool;
+    public static final int DEFAULT_CAPACITY = 1000;
 
-    private Map<Long, CachedObject> cache = new HashMap<>();
-    private Map<Long, Condition> locks = new HashMap<>();
-    private long currentId = 0;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final ReentrantLock stallLock = new ReentrantLock();
+    private final Condition bufferReleased = stallLock.newCondition();
+    private final WorkerPool<T> writerPool;
+    private final int capacity;
+    private final Semaphore permits;
+
+    private final Map<Long, CachedObject> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger occupancy = new AtomicInteger();
+    private final AtomicInteger maxOccupancy = new AtomicInteger();
+    private final AtomicInteger stalledThreads = new AtomicInteger();
+    private final AtomicLong stalls = new AtomicLong();
+    private final AtomicLong stallTime = new AtomicLong();
+    private volatile long currentId = 0;
     private volatile boolean shouldRun = true;
 
-    public SequentialWriter(WorkerPool<T> writerPool) {
+    public SequentialWriter(WorkerPool<T> writerPool, int capacity) {
         this.writerPool = writerPool;
+        this.capacity = Math.max(capacity, 1);
+        permits = new Semaphore(this.capacity);
+    }
+
+    public SequentialWriter(WorkerPool<T> writerPool) {
+        this(writerPool, DEFAULT_CAPACITY);
     }
 
     public long reset() {
-        currentId = 0;
-        cache.clear();
-        locks.clear();
+        drainLock.lock();
+        try {
+            currentId = 0;
+            cache.values().forEach(this::release);
+            cache.clear();
+        } finally {
+            drainLock.unlock();
+        }
 
         return currentId;
     }
@@ -61,34 +87,41 @@ public class SequentialWriter<T> {
         return currentId;
     }
 
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getBufferedObjects() {
+        return occupancy.get();
+    }
+
+    public int getMaxBufferedObjects() {
+        return maxOccupancy.get();
+    }
+
+    public long getStalls() {
+        return stalls.get();
+    }
+
+    public long getStallTime(TimeUnit unit) {
+        return unit.convert(stallTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public void logStatistics() {
+        Logger.getInstance().debug("Sequential writer buffered at most " + maxOccupancy.get() + " of " + capacity +
+                " objects. Writing stalled " + stalls.get() + " time(s) for " + getStallTime(TimeUnit.MILLISECONDS) + " ms.");
+    }
+
     public void write(T object, long sequenceId) throws InterruptedException {
         if (sequenceId >= 0) {
-            lock.lock();
-            try {
-                if (sequenceId == currentId) {
-                    currentId++;
-                    if (object != null)
-                        writerPool.addWork(object);
-
-                    CachedObject cachedObject;
-                    while ((cachedObject = cache.get(currentId)) != null) {
-                        if (cachedObject.object != null)
-                            writerPool.addWork(cachedObject.object);
-
-                        cache.remove(currentId);
-                        locks.get(cachedObject.threadId).signal();
-                        currentId++;
-                    }
-                } else {
-                    long threadId = Thread.currentThread().getId();
-                    cache.put(sequenceId, new CachedObject(object, threadId));
-
-                    if (shouldRun)
-                        locks.computeIfAbsent(threadId, v -> lock.newCondition()).await();
-                }
-            } finally {
-                lock.unlock();
-            }
+            // objects that are ahead of the current sequence id are handed over to the
+            // reorder buffer without waiting for their predecessors. The caller only
+            // blocks if the buffer has reached its capacity.
+            boolean permit = sequenceId != currentId && acquire(sequenceId);
+
+            cache.put(sequenceId, new CachedObject(object, permit));
+            maxOccupancy.accumulateAndGet(occupancy.incrementAndGet(), Math::max);
+            drain();
         } else if (object != null)
             writerPool.addWork(object);
     }
@@ -98,19 +131,21 @@ public class SequentialWriter<T> {
     }
 
     public void writeCache() {
-        lock.lock();
+        drainLock.lock();
         try {
             if (!cache.isEmpty()) {
                 cache.entrySet().stream()
                         .sorted(Map.Entry.comparingByKey())
-                        .map(e -> e.getValue().object)
+                        .map(Map.Entry::getValue)
+                        .peek(this::release)
+                        .map(cachedObject -> cachedObject.object)
                         .filter(Objects::nonNull)
                         .forEach(writerPool::addWork);
 
                 cache.clear();
             }
         } finally {
-            lock.unlock();
+            drainLock.unlock();
         }
     }
 
@@ -120,22 +155,84 @@ public class SequentialWriter<T> {
 
     public void interrupt() {
         shouldRun = false;
+        signalStalledThreads();
+    }
+
+    private boolean acquire(long sequenceId) throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        stalls.incrementAndGet();
+        stalledThreads.incrementAndGet();
 
-        lock.lock();
+        stallLock.lock();
         try {
-            locks.values().forEach(Condition::signal);
+            // the object for the current sequence id must never wait for a permit
+            // because the buffered objects can only be released after it
+            while (shouldRun && sequenceId != currentId) {
+                if (permits.tryAcquire()) {
+                    return true;
+                }
+
+                bufferReleased.await();
+            }
+
+            return false;
         } finally {
-            lock.unlock();
+            stallLock.unlock();
+            stalledThreads.decrementAndGet();
+            stallTime.addAndGet(System.nanoTime() - start);
+        }
+    }
+
+    private void drain() {
+        // only one thread forwards objects to the writer pool at a time. Threads failing
+        // to get the lock can safely return because the draining thread checks for
+        // newly arrived objects after releasing the lock.
+        while (cache.containsKey(currentId) && drainLock.tryLock()) {
+            try {
+                CachedObject cachedObject;
+                while ((cachedObject = cache.remove(currentId)) != null) {
+                    if (cachedObject.object != null)
+                        writerPool.addWork(cachedObject.object);
+
+                    release(cachedObject);
+                    currentId++;
+                }
+            } finally {
+                drainLock.unlock();
+            }
+
+            signalStalledThreads();
         }
     }
 
+    private void signalStalledThreads() {
+        if (stalledThreads.get() > 0) {
+            stallLock.lock();
+            try {
+                bufferReleased.signalAll();
+            } finally {
+                stallLock.unlock();
+            }
+        }
+    }
+
+    private void release(CachedObject cachedObject) {
+        occupancy.decrementAndGet();
+        if (cachedObject.permit)
+            permits.release();
+    }
+
     private final class CachedObject {
         private final T object;
-        private final long threadId;
+        private final boolean permit;
 
-        private CachedObject(T object, long threadId) {
+        private CachedObject(T object, boolean permit) {
             this.object = object;
-            this.threadId = threadId;
+            this.permit = permit;
         }
     }
 }
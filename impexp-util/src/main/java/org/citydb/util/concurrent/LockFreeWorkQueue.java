@@ -0,0 +1,439 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util.concurrent;
+
+import org.citydb.util.concurrent.WorkerPool.WorkQueue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class LockFreeWorkQueue<E> extends WorkQueue<E> {
+    private static final int SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 128 : 0;
+    private static final Object REMOVED = new Object();
+
+    // bounded multi-producer/multi-consumer ring buffer. Every slot carries a sequence
+    // number telling producers and consumers whether the slot may be written or read
+    // for a given position. The lock is only used to park and wake up waiting threads.
+    private final AtomicReferenceArray<E> workItems;
+    private final AtomicLongArray sequences;
+    private final AtomicLong putIndex = new AtomicLong();
+    private final AtomicLong takeIndex = new AtomicLong();
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition empty = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final AtomicInteger waitingConsumers = new AtomicInteger();
+    private final AtomicInteger waitingProducers = new AtomicInteger();
+    private final AtomicInteger waitingForEmpty = new AtomicInteger();
+
+    private volatile boolean blockAndFlush;
+    private volatile boolean isInterrupted;
+
+    public LockFreeWorkQueue(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException();
+
+        this.capacity = capacity;
+        workItems = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    private boolean tryInsert(E work) {
+        long position = putIndex.get();
+        for (; ; ) {
+            int index = (int) (position % capacity);
+            long diff = sequences.get(index) - position;
+
+            if (diff == 0) {
+                if (putIndex.compareAndSet(position, position + 1)) {
+                    workItems.set(index, work);
+                    sequences.set(index, position + 1);
+                    signal(waitingConsumers, notEmpty, false);
+                    return true;
+                }
+
+                position = putIndex.get();
+            } else if (diff < 0)
+                return false;
+            else
+                position = putIndex.get();
+        }
+    }
+
+    private E tryExtract() {
+        long position = takeIndex.get();
+        for (; ; ) {
+            int index = (int) (position % capacity);
+            long diff = sequences.get(index) - (position + 1);
+
+            if (diff == 0) {
+                if (takeIndex.compareAndSet(position, position + 1)) {
+                    E work = workItems.getAndSet(index, null);
+                    sequences.set(index, position + capacity);
+                    signal(waitingProducers, notFull, false);
+                    if (isEmpty())
+                        signal(waitingForEmpty, empty, true);
+
+                    // skip work items that have been removed
+                    if (work != REMOVED)
+                        return work;
+                }
+
+                position = takeIndex.get();
+            } else if (diff < 0)
+                return null;
+            else
+                position = takeIndex.get();
+        }
+    }
+
+    private E tryExtract(int maxSpins) {
+        for (int i = 0; i < maxSpins; i++) {
+            E work = tryExtract();
+            if (work != null || isInterrupted)
+                return work;
+
+            Thread.onSpinWait();
+        }
+
+        return null;
+    }
+
+    private void signal(AtomicInteger waiting, Condition condition, boolean all) {
+        if (waiting.get() > 0) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                if (all)
+                    condition.signalAll();
+                else
+                    condition.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void awaitFlushed() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            while (blockAndFlush)
+                flushed.awaitUninterruptibly();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E work) {
+        if (work == null)
+            throw new NullPointerException();
+
+        if (blockAndFlush)
+            awaitFlushed();
+
+        return tryInsert(work);
+    }
+
+    @Override
+    public boolean offer(E work, long timeout, TimeUnit unit) throws InterruptedException {
+        if (work == null)
+            throw new NullPointerException();
+
+        if (blockAndFlush)
+            awaitFlushed();
+
+        if (tryInsert(work))
+            return true;
+
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waitingProducers.incrementAndGet();
+        try {
+            for (; ; ) {
+                if (tryInsert(work))
+                    return true;
+
+                if (nanos <= 0)
+                    return false;
+
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } catch (InterruptedException ie) {
+                    notFull.signal();
+                    throw ie;
+                }
+            }
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E work) {
+        if (work == null)
+            throw new NullPointerException();
+
+        if (blockAndFlush)
+            awaitFlushed();
+
+        for (int i = 0; i < SPINS; i++) {
+            if (tryInsert(work))
+                return;
+
+            Thread.onSpinWait();
+        }
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        waitingProducers.incrementAndGet();
+        try {
+            while (!tryInsert(work))
+                notFull.awaitUninterruptibly();
+        } finally {
+            waitingProducers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        return tryExtract();
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E work = tryExtract(SPINS);
+        if (work != null)
+            return work;
+
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            for (; ; ) {
+                if ((work = tryExtract()) != null)
+                    return work;
+
+                if (nanos <= 0)
+                    return null;
+
+                try {
+                    if (isInterrupted)
+                        throw new InterruptedException("Work queue has been interrupted.");
+
+                    nanos = notEmpty.awaitNanos(nanos);
+                } catch (InterruptedException ie) {
+                    notEmpty.signal();
+                    throw ie;
+                }
+            }
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E work = tryExtract(SPINS);
+        if (work != null)
+            return work;
+
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waitingConsumers.incrementAndGet();
+        try {
+            try {
+                while ((work = tryExtract()) == null) {
+                    if (isInterrupted)
+                        throw new InterruptedException("Work queue has been interrupted.");
+
+                    notEmpty.await();
+                }
+            } catch (InterruptedException ie) {
+                notEmpty.signal();
+                throw ie;
+            }
+
+            return work;
+        } finally {
+            waitingConsumers.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        long put = putIndex.get();
+        for (long position = takeIndex.get(); position < put; position++) {
+            int index = (int) (position % capacity);
+            if (sequences.get(index) != position + 1)
+                return null;
+
+            // skip work items that have been removed
+            E work = workItems.get(index);
+            if (work != REMOVED)
+                return work;
+        }
+
+        return null;
+    }
+
+    /**
+     * Removes a single instance of the work item from the queue. The slot of the work item
+     * is marked as removed and skipped by consumers, so it still counts towards the size
+     * of the queue until it has been reached by a consumer.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(E work) {
+        if (work == null)
+            return false;
+
+        long take = takeIndex.get();
+        long put = putIndex.get();
+        for (long position = take; position < put; position++) {
+            int index = (int) (position % capacity);
+            if (sequences.get(index) != position + 1)
+                continue;
+
+            E item = workItems.get(index);
+            if (item != null && item != REMOVED && work.equals(item)
+                    && workItems.compareAndSet(index, item, (E) REMOVED))
+                return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int size() {
+        for (; ; ) {
+            long take = takeIndex.get();
+            long put = putIndex.get();
+            if (take == takeIndex.get())
+                return (int) Math.max(0, Math.min(put - take, capacity));
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public void clear() {
+        while (tryExtract() != null) ;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection) {
+        return drainTo(collection, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        if (collection == null)
+            throw new NullPointerException();
+
+        int n = 0;
+        E work;
+        while (n < maxElements && (work = tryExtract()) != null) {
+            collection.add(work);
+            ++n;
+        }
+
+        return n;
+    }
+
+    @Override
+    void awaitEmpty() {
+        if (isEmpty())
+            return;
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        waitingForEmpty.incrementAndGet();
+        try {
+            while (!isEmpty())
+                empty.await();
+        } catch (InterruptedException ie) {
+            // re-try
+        } finally {
+            waitingForEmpty.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    void setBlockAndFlush(boolean blockAndFlush) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            this.blockAndFlush = blockAndFlush;
+            if (!blockAndFlush)
+                flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    void setInterrupted(boolean isInterrupted) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            this.isInterrupted = isInterrupted;
+            if (isInterrupted)
+                notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
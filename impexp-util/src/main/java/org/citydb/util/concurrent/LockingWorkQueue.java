@@ -0,0 +1,451 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util.concurrent;
+
+import org.citydb.util.concurrent.WorkerPool.WorkQueue;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class LockingWorkQueue<E> extends WorkQueue<E> {
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+    private final Condition empty;
+    private final Condition flushed;
+
+    private final E[] workItems;
+    private int putIndex;
+    private int takeIndex;
+    private int count;
+    private volatile boolean blockAndFlush;
+    private volatile boolean isInterrupted;
+
+    public LockingWorkQueue(int capacity) {
+        this(capacity, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LockingWorkQueue(int capacity, boolean fair) {
+        lock = new ReentrantLock(fair);
+        notEmpty = lock.newCondition();
+        notFull = lock.newCondition();
+        empty = lock.newCondition();
+        flushed = lock.newCondition();
+
+        if (capacity <= 0)
+            throw new IllegalArgumentException();
+
+        workItems = (E[]) new Object[capacity];
+    }
+
+    final int inc(int i) {
+        return (++i == workItems.length) ? 0 : i;
+    }
+
+    private void insert(E work) {
+        workItems[putIndex] = work;
+        putIndex = inc(putIndex);
+        ++count;
+        notEmpty.signal();
+    }
+
+    private E extract() {
+        final E[] workItems = this.workItems;
+        E work = workItems[takeIndex];
+        workItems[takeIndex] = null;
+        takeIndex = inc(takeIndex);
+        --count;
+        notFull.signal();
+        if (count == 0)
+            empty.signalAll();
+        return work;
+    }
+
+    private void removeAt(int i) {
+        final E[] workItems = this.workItems;
+        if (i == takeIndex) {
+            workItems[i] = null;
+            takeIndex = inc(takeIndex);
+        } else {
+            for (; ; ) {
+                int nexti = inc(i);
+                if (nexti != putIndex) {
+                    workItems[i] = workItems[nexti];
+                    i = nexti;
+                } else {
+                    workItems[i] = null;
+                    putIndex = i;
+                    break;
+                }
+            }
+        }
+
+        --count;
+        notFull.signal();
+        if (count == 0)
+            empty.signalAll();
+    }
+
+    @Override
+    public boolean offer(E work) {
+        if (work == null)
+            throw new NullPointerException();
+
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (blockAndFlush)
+                flushed.awaitUninterruptibly();
+
+            if (count == workItems.length)
+                return false;
+            else {
+                insert(work);
+                return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean offer(E work, long timeout, TimeUnit unit) throws InterruptedException {
+        if (work == null)
+            throw new NullPointerException();
+
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            if (blockAndFlush)
+                flushed.awaitUninterruptibly();
+
+            for (; ; ) {
+                if (count != workItems.length) {
+                    insert(work);
+                    return true;
+                }
+
+                if (nanos <= 0)
+                    return false;
+
+                try {
+                    nanos = notFull.awaitNanos(nanos);
+                } catch (InterruptedException ie) {
+                    notFull.signal();
+                    throw ie;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(E work) {
+        if (work == null)
+            throw new NullPointerException();
+
+        final E[] workItems = this.workItems;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (blockAndFlush)
+                flushed.awaitUninterruptibly();
+
+            while (count == workItems.length)
+                notFull.awaitUninterruptibly();
+
+            insert(work);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return count == 0 ? extract() : null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            for (; ; ) {
+                if (count != 0)
+                    return extract();
+
+                if (nanos <= 0)
+                    return null;
+
+                try {
+                    if (isInterrupted)
+                        throw new InterruptedException("Work queue has been interrupted.");
+
+                    nanos = notEmpty.awaitNanos(nanos);
+                } catch (InterruptedException ie) {
+                    notEmpty.signal();
+                    throw ie;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            try {
+                while (count == 0) {
+                    if (isInterrupted)
+                        throw new InterruptedException("Work queue has been interrupted.");
+
+                    notEmpty.await();
+                }
+            } catch (InterruptedException ie) {
+                notEmpty.signal();
+                throw ie;
+            }
+
+            return extract();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public E peek() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return (count == 0) ? null : workItems[takeIndex];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(E work) {
+        if (work == null)
+            return false;
+        final E[] workItems = this.workItems;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int i = takeIndex;
+            int k = 0;
+            for (; ; ) {
+                if (k++ >= count)
+                    return false;
+                if (work.equals(workItems[i])) {
+                    removeAt(i);
+                    return true;
+                }
+
+                i = inc(i);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int remainingCapacity() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return workItems.length - count;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return count == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        final E[] workItems = this.workItems;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int i = takeIndex;
+            int k = count;
+            while (k-- > 0) {
+                workItems[i] = null;
+                i = inc(i);
+            }
+
+            count = 0;
+            putIndex = 0;
+            takeIndex = 0;
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection) {
+        if (collection == null)
+            throw new NullPointerException();
+
+        final E[] workItems = this.workItems;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int i = takeIndex;
+            int n = 0;
+            int max = count;
+
+            while (n < max) {
+                collection.add(workItems[i]);
+                workItems[i] = null;
+                i = inc(i);
+                ++n;
+            }
+
+            if (n > 0) {
+                count = 0;
+                putIndex = 0;
+                takeIndex = 0;
+                notFull.signalAll();
+                empty.signalAll();
+            }
+
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> collection, int maxElements) {
+        if (collection == null)
+            throw new NullPointerException();
+
+        final E[] workItems = this.workItems;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            int n = 0;
+            int max = Math.min(maxElements, count);
+
+            while (n < max) {
+                collection.add(workItems[takeIndex]);
+                workItems[takeIndex] = null;
+                takeIndex = inc(takeIndex);
+                ++n;
+            }
+
+            if (n > 0) {
+                count -= n;
+                notFull.signalAll();
+                if (count == 0)
+                    empty.signalAll();
+            }
+
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    void awaitEmpty() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            while (count != 0)
+                empty.await();
+        } catch (InterruptedException ie) {
+            // re-try
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    void setBlockAndFlush(boolean blockAndFlush) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            this.blockAndFlush = blockAndFlush;
+            if (!blockAndFlush)
+                flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    void setInterrupted(boolean isInterrupted) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            this.isInterrupted = isInterrupted;
+            if (isInterrupted)
+                notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
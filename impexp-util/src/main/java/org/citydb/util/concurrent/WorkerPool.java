@@ -37,7 +37,6 @@ import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class WorkerPool<T> {
@@ -69,336 +68,46 @@ public class WorkerPool<T> {
     private byte threadNo;
     private Object eventSource;
 
-    // WorkQueue
-    public static final class WorkQueue<E> {
-        private final ReentrantLock lock;
-        private final Condition notEmpty;
-        private final Condition notFull;
-        private final Condition empty;
-        private final Condition flushed;
-
-        private final E[] workItems;
-        private int putIndex;
-        private int takeIndex;
-        private int count;
-        private volatile boolean blockAndFlush;
-        private volatile boolean isInterrupted;
-
-        public WorkQueue(int capacity) {
-            this(capacity, false);
-        }
-
-        @SuppressWarnings("unchecked")
-        public WorkQueue(int capacity, boolean fair) {
-            lock = new ReentrantLock(fair);
-            notEmpty = lock.newCondition();
-            notFull = lock.newCondition();
-            empty = lock.newCondition();
-            flushed = lock.newCondition();
-
-            if (capacity <= 0)
-                throw new IllegalArgumentException();
-
-            workItems = (E[]) new Object[capacity];
-        }
-
-        final int inc(int i) {
-            return (++i == workItems.length) ? 0 : i;
-        }
-
-        private void insert(E work) {
-            workItems[putIndex] = work;
-            putIndex = inc(putIndex);
-            ++count;
-            notEmpty.signal();
-        }
-
-        private E extract() {
-            final E[] workItems = this.workItems;
-            E work = workItems[takeIndex];
-            workItems[takeIndex] = null;
-            takeIndex = inc(takeIndex);
-            --count;
-            notFull.signal();
-            if (count == 0)
-                empty.signalAll();
-            return work;
-        }
-
-        private void removeAt(int i) {
-            final E[] workItems = this.workItems;
-            if (i == takeIndex) {
-                workItems[i] = null;
-                takeIndex = inc(takeIndex);
-            } else {
-                for (; ; ) {
-                    int nexti = inc(i);
-                    if (nexti != putIndex) {
-                        workItems[i] = workItems[nexti];
-                        i = nexti;
-                    } else {
-                        workItems[i] = null;
-                        putIndex = i;
-                        break;
-                    }
-                }
-            }
-
-            --count;
-            notFull.signal();
-            if (count == 0)
-                empty.signalAll();
-        }
-
-        public boolean offer(E work) {
-            if (work == null)
-                throw new NullPointerException();
-
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                if (blockAndFlush)
-                    flushed.awaitUninterruptibly();
-
-                if (count == workItems.length)
-                    return false;
-                else {
-                    insert(work);
-                    return true;
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
-
-        public boolean offer(E work, long timeout, TimeUnit unit) throws InterruptedException {
-            if (work == null)
-                throw new NullPointerException();
-
-            long nanos = unit.toNanos(timeout);
-            final ReentrantLock lock = this.lock;
-            lock.lockInterruptibly();
-            try {
-                if (blockAndFlush)
-                    flushed.awaitUninterruptibly();
-
-                for (; ; ) {
-                    if (count != workItems.length) {
-                        insert(work);
-                        return true;
-                    }
-
-                    if (nanos <= 0)
-                        return false;
-
-                    try {
-                        nanos = notFull.awaitNanos(nanos);
-                    } catch (InterruptedException ie) {
-                        notFull.signal();
-                        throw ie;
-                    }
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
+    private static volatile WorkQueueType defaultWorkQueueType = WorkQueueType.LOCKING;
 
-        public void put(E work) {
-            if (work == null)
-                throw new NullPointerException();
+    // WorkQueue
+    public abstract static class WorkQueue<E> {
+        public abstract boolean offer(E work);
 
-            final E[] workItems = this.workItems;
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                if (blockAndFlush)
-                    flushed.awaitUninterruptibly();
+        public abstract boolean offer(E work, long timeout, TimeUnit unit) throws InterruptedException;
 
-                while (count == workItems.length)
-                    notFull.awaitUninterruptibly();
+        public abstract void put(E work);
 
-                insert(work);
-            } finally {
-                lock.unlock();
-            }
-        }
+        public abstract E poll();
 
-        public E poll() {
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                return count == 0 ? extract() : null;
-            } finally {
-                lock.unlock();
-            }
-        }
+        public abstract E poll(long timeout, TimeUnit unit) throws InterruptedException;
 
-        public E poll(long timeout, TimeUnit unit) throws InterruptedException {
-            long nanos = unit.toNanos(timeout);
-            final ReentrantLock lock = this.lock;
-            lock.lockInterruptibly();
-            try {
-                for (; ; ) {
-                    if (count != 0)
-                        return extract();
+        public abstract E take() throws InterruptedException;
 
-                    if (nanos <= 0)
-                        return null;
+        public abstract E peek();
 
-                    try {
-                        if (isInterrupted)
-                            throw new InterruptedException("Work queue has been interrupted.");
+        public abstract boolean remove(E work);
 
-                        nanos = notEmpty.awaitNanos(nanos);
-                    } catch (InterruptedException ie) {
-                        notEmpty.signal();
-                        throw ie;
-                    }
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
+        public abstract int size();
 
-        public E take() throws InterruptedException {
-            final ReentrantLock lock = this.lock;
-            lock.lockInterruptibly();
-            try {
-                try {
-                    while (count == 0) {
-                        if (isInterrupted)
-                            throw new InterruptedException("Work queue has been interrupted.");
+        public abstract int remainingCapacity();
 
-                        notEmpty.await();
-                    }
-                } catch (InterruptedException ie) {
-                    notEmpty.signal();
-                    throw ie;
-                }
+        public abstract boolean isEmpty();
 
-                return extract();
-            } finally {
-                lock.unlock();
-            }
-        }
+        public abstract void clear();
 
-        public E peek() {
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                return (count == 0) ? null : workItems[takeIndex];
-            } finally {
-                lock.unlock();
-            }
-        }
+        public abstract int drainTo(Collection<? super E> collection);
 
-        public boolean remove(E work) {
-            if (work == null)
-                return false;
-            final E[] workItems = this.workItems;
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                int i = takeIndex;
-                int k = 0;
-                for (; ; ) {
-                    if (k++ >= count)
-                        return false;
-                    if (work.equals(workItems[i])) {
-                        removeAt(i);
-                        return true;
-                    }
+        public abstract int drainTo(Collection<? super E> collection, int maxElements);
 
-                    i = inc(i);
-                }
-            } finally {
-                lock.unlock();
-            }
-        }
+        // blocks until all work items have been taken from the queue
+        abstract void awaitEmpty();
 
-        public int size() {
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                return count;
-            } finally {
-                lock.unlock();
-            }
-        }
+        // blocks producers until the flag is reset
+        abstract void setBlockAndFlush(boolean blockAndFlush);
 
-        public int remainingCapacity() {
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                return workItems.length - count;
-            } finally {
-                lock.unlock();
-            }
-        }
-
-        public boolean isEmpty() {
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                return count == 0;
-            } finally {
-                lock.unlock();
-            }
-        }
-
-        public void clear() {
-            final E[] workItems = this.workItems;
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                int i = takeIndex;
-                int k = count;
-                while (k-- > 0) {
-                    workItems[i] = null;
-                    i = inc(i);
-                }
-
-                count = 0;
-                putIndex = 0;
-                takeIndex = 0;
-                notFull.signalAll();
-            } finally {
-                lock.unlock();
-            }
-        }
-
-        public int drainTo(Collection<? super E> collection) {
-            if (collection == null)
-                throw new NullPointerException();
-
-            final E[] workItems = this.workItems;
-            final ReentrantLock lock = this.lock;
-            lock.lock();
-            try {
-                int i = takeIndex;
-                int n = 0;
-                int max = count;
-
-                while (n < max) {
-                    collection.add(workItems[i]);
-                    workItems[i] = null;
-                    i = inc(i);
-                    ++n;
-                }
-
-                if (n > 0) {
-                    count = 0;
-                    putIndex = 0;
-                    takeIndex = 0;
-                    notFull.signalAll();
-                    empty.signalAll();
-                }
-
-                return n;
-            } finally {
-                lock.unlock();
-            }
-        }
+        // wakes up and fails threads waiting for work
+        abstract void setInterrupted(boolean isInterrupted);
     }
 
     // WorkerPool
@@ -409,7 +118,8 @@ public class WorkerPool<T> {
                       WorkerFactory<T> workerFactory,
                       int queueSize,
                       boolean fair,
-                      boolean daemon) {
+                      boolean daemon,
+                      WorkQueueType workQueueType) {
         if (corePoolSize <= 0)
             throw new IllegalArgumentException("Core pool size must be greater than zero.");
 
@@ -429,10 +139,24 @@ public class WorkerPool<T> {
 
         // setting up work queue and workers map
         this.queueSize = queueSize;
-        workQueue = new WorkQueue<>(queueSize, fair);
+        workQueue = workQueueType == WorkQueueType.LOCK_FREE ?
+                new LockFreeWorkQueue<>(queueSize) :
+                new LockingWorkQueue<>(queueSize, fair);
         workers = new ConcurrentHashMap<>(maximumPoolSize);
     }
 
+    public WorkerPool(String poolName,
+                      int corePoolSize,
+                      int maximumPoolSize,
+                      PoolSizeAdaptationStrategy adaptationStrategy,
+                      WorkerFactory<T> workerFactory,
+                      int queueSize,
+                      boolean fair,
+                      boolean daemon) {
+        this(poolName, corePoolSize, maximumPoolSize, adaptationStrategy, workerFactory, queueSize, fair, daemon,
+                defaultWorkQueueType);
+    }
+
     public WorkerPool(String poolName,
                       int corePoolSize,
                       int maximumPoolSize,
@@ -452,6 +176,15 @@ public class WorkerPool<T> {
         this(poolName, corePoolSize, maximumPoolSize, adaptationStrategy, workerFactory, queueSize, false);
     }
 
+    public static WorkQueueType getDefaultWorkQueueType() {
+        return defaultWorkQueueType;
+    }
+
+    public static void setDefaultWorkQueueType(WorkQueueType workQueueType) {
+        if (workQueueType != null)
+            defaultWorkQueueType = workQueueType;
+    }
+
     public ClassLoader getDefaultContextClassLoader() {
         return defaultClassLoader;
     }
@@ -584,19 +317,11 @@ public class WorkerPool<T> {
             throw new NullPointerException();
 
         ReentrantLock mainLock = this.mainLock;
-        ReentrantLock queueLock = workQueue.lock;
         mainLock.lock();
         try {
             addWork(work);
-            queueLock.lock();
-            try {
-                while (!workQueue.isEmpty())
-                    workQueue.empty.await();
-            } catch (InterruptedException ie) {
-                // re-try
-            }
+            workQueue.awaitEmpty();
         } finally {
-            queueLock.unlock();
             mainLock.unlock();
         }
     }
@@ -632,7 +357,6 @@ public class WorkerPool<T> {
             return;
 
         final ReentrantLock mainLock = this.mainLock;
-        final ReentrantLock queueLock = workQueue.lock;
         mainLock.lock();
         try {
             if (runState < SHUTDOWN)
@@ -642,24 +366,14 @@ public class WorkerPool<T> {
             if (poolSize == 0)
                 addWorker(null);
 
-            queueLock.lock();
-            try {
-                while (!workQueue.isEmpty())
-                    workQueue.empty.await();
-
-            } catch (InterruptedException ie) {
-                // re-try
-            }
-
+            workQueue.awaitEmpty();
             interruptWorkers();
 
             // interrupt threads waiting for work
-            workQueue.isInterrupted = true;
-            workQueue.notEmpty.signalAll();
+            workQueue.setInterrupted(true);
 
             runState = TERMINATED;
         } finally {
-            queueLock.unlock();
             mainLock.unlock();
         }
     }
@@ -669,7 +383,6 @@ public class WorkerPool<T> {
             return;
 
         final ReentrantLock mainLock = this.mainLock;
-        final ReentrantLock queueLock = workQueue.lock;
         mainLock.lock();
         try {
             if (runState < SHUTDOWN)
@@ -679,22 +392,12 @@ public class WorkerPool<T> {
             if (poolSize == 0)
                 addWorker(null);
 
-            queueLock.lock();
-            try {
-                while (!workQueue.isEmpty())
-                    workQueue.empty.await();
-
-            } catch (InterruptedException ie) {
-                // re-try
-            }
-
+            workQueue.awaitEmpty();
             interruptWorkers();
 
             // interrupt threads waiting for work
-            workQueue.isInterrupted = true;
-            workQueue.notEmpty.signalAll();
+            workQueue.setInterrupted(true);
         } finally {
-            queueLock.unlock();
             mainLock.unlock();
         }
 
@@ -712,7 +415,6 @@ public class WorkerPool<T> {
         List<T> workList = drainWorkQueue();
 
         final ReentrantLock mainLock = this.mainLock;
-        final ReentrantLock queueLock = workQueue.lock;
         mainLock.lock();
         try {
             if (runState < SHUTDOWN)
@@ -720,14 +422,8 @@ public class WorkerPool<T> {
 
             interruptWorkers();
 
-            queueLock.lock();
-            try {
-                // interrupt threads waiting for work
-                workQueue.isInterrupted = true;
-                workQueue.notEmpty.signalAll();
-            } finally {
-                queueLock.unlock();
-            }
+            // interrupt threads waiting for work
+            workQueue.setInterrupted(true);
 
             runState = TERMINATED;
             clearWorkers();
@@ -744,36 +440,21 @@ public class WorkerPool<T> {
             return;
 
         final ReentrantLock mainLock = this.mainLock;
-        final ReentrantLock queueLock = workQueue.lock;
         mainLock.lockInterruptibly();
         try {
-            try {
-                workQueue.blockAndFlush = true;
-
-                // make sure we really can join
-                if (poolSize == 0)
-                    addWorker(null);
-
-                queueLock.lock();
-                try {
-                    while (!workQueue.isEmpty())
-                        workQueue.empty.await();
+            workQueue.setBlockAndFlush(true);
 
-                } catch (InterruptedException ie) {
-                    // re-try
-                }
+            // make sure we really can join
+            if (poolSize == 0)
+                addWorker(null);
 
-                workQueue.blockAndFlush = false;
-                workQueue.flushed.signalAll();
+            workQueue.awaitEmpty();
+            workQueue.setBlockAndFlush(false);
 
-                interruptWorkers();
+            interruptWorkers();
 
-                // interrupt threads waiting for work
-                workQueue.isInterrupted = true;
-                workQueue.notEmpty.signalAll();
-            } finally {
-                queueLock.unlock();
-            }
+            // interrupt threads waiting for work
+            workQueue.setInterrupted(true);
 
             try {
                 joinWorkerThreads();
@@ -781,7 +462,7 @@ public class WorkerPool<T> {
                 //
             }
 
-            workQueue.isInterrupted = false;
+            workQueue.setInterrupted(false);
             int poolSize = this.poolSize;
             clearWorkers();
             for (int i = 0; i < poolSize; i++)
@@ -794,27 +475,16 @@ public class WorkerPool<T> {
 
     public void awaitQueueEmpty() {
         final ReentrantLock mainLock = this.mainLock;
-        final ReentrantLock queueLock = workQueue.lock;
         mainLock.lock();
         try {
             // make sure we do not wait forever
             if (poolSize == 0)
                 addWorker(null);
 
-            queueLock.lock();
-            try {
-                while (!workQueue.isEmpty())
-                    workQueue.empty.await();
-
-            } catch (InterruptedException ie) {
-                // re-try
-            }
-
+            workQueue.awaitEmpty();
         } finally {
-            queueLock.unlock();
             mainLock.unlock();
         }
-
     }
 
     private void joinWorkerThreads() throws InterruptedException {
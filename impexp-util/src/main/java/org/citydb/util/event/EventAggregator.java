@@ -0,0 +1,92 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util.event;
+
+import org.citydb.util.event.global.CounterEvent;
+import org.citydb.util.event.global.CounterType;
+import org.citydb.util.event.global.ProgressBarEventType;
+import org.citydb.util.event.global.StatusDialogProgressBar;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class EventAggregator {
+    private final EventDispatcher eventDispatcher;
+    private final LongAdder progress = new LongAdder();
+    private final Map<CounterType, LongAdder> counters = new EnumMap<>(CounterType.class);
+    private final ScheduledExecutorService scheduler;
+
+    EventAggregator(EventDispatcher eventDispatcher, long period, TimeUnit unit) {
+        this.eventDispatcher = eventDispatcher;
+
+        // the map is fully populated here and never modified afterwards,
+        // so it can safely be read by concurrent threads
+        for (CounterType type : CounterType.values()) {
+            counters.put(type, new LongAdder());
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "event_aggregator");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        scheduler.scheduleAtFixedRate(this::publish, period, period, unit);
+    }
+
+    public void updateProgress(int value) {
+        progress.add(value);
+    }
+
+    public void updateCounter(CounterType type, long value) {
+        counters.get(type).add(value);
+    }
+
+    public synchronized void publish() {
+        long value = progress.sumThenReset();
+        if (value != 0) {
+            eventDispatcher.dispatch(new StatusDialogProgressBar(ProgressBarEventType.UPDATE, (int) value));
+        }
+
+        for (Map.Entry<CounterType, LongAdder> entry : counters.entrySet()) {
+            long counter = entry.getValue().sumThenReset();
+            if (counter != 0) {
+                eventDispatcher.dispatch(new CounterEvent(entry.getKey(), counter));
+            }
+        }
+    }
+
+    void shutdown() {
+        scheduler.shutdownNow();
+        publish();
+    }
+}
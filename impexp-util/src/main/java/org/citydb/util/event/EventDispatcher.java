@@ -28,14 +28,18 @@
 package org.citydb.util.event;
 
 import org.citydb.util.concurrent.SingleWorkerPool;
+import org.citydb.util.event.global.ProgressBarEventType;
+import org.citydb.util.event.global.StatusDialogProgressBar;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class EventDispatcher {
     private SingleWorkerPool<Event> eventDispatcherThread;
+    private EventAggregator eventAggregator;
     private ConcurrentHashMap<Enum<?>, EventHandlerContainerQueue> containerQueueMap;
     private ReentrantLock mainLock;
 
@@ -48,6 +52,7 @@ public class EventDispatcher {
                 true);
 
         eventDispatcherThread.prestartCoreWorkers();
+        eventAggregator = new EventAggregator(this, 250, TimeUnit.MILLISECONDS);
         mainLock = new ReentrantLock();
     }
 
@@ -80,7 +85,21 @@ public class EventDispatcher {
             containerQueue.removeEventHandler(handler);
     }
 
+    public EventAggregator getEventAggregator() {
+        return eventAggregator;
+    }
+
     public void triggerEvent(Event event) {
+        // publish pending progress updates before the progress bar is reset
+        if (event instanceof StatusDialogProgressBar
+                && ((StatusDialogProgressBar) event).getType() == ProgressBarEventType.INIT) {
+            eventAggregator.publish();
+        }
+
+        dispatch(event);
+    }
+
+    void dispatch(Event event) {
         eventDispatcherThread.addWork(event);
     }
 
@@ -122,20 +141,24 @@ public class EventDispatcher {
     }
 
     public void flushEvents() throws InterruptedException {
+        eventAggregator.publish();
         eventDispatcherThread.join();
     }
 
     public void shutdown() {
+        eventAggregator.shutdown();
         eventDispatcherThread.shutdown();
         containerQueueMap.clear();
     }
 
     public void shutdownNow() {
+        eventAggregator.shutdown();
         eventDispatcherThread.shutdownNow();
         containerQueueMap.clear();
     }
 
     public void shutdownAndWait() throws InterruptedException {
+        eventAggregator.shutdown();
         eventDispatcherThread.shutdownAndWait();
         containerQueueMap.clear();
     }
@@ -0,0 +1,232 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.util.log;
+
+import org.citydb.config.project.global.LogFileOverflowPolicy;
+import org.citydb.util.concurrent.LockFreeWorkQueue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+public class AsyncLogWriter implements Closeable {
+    private static final String END_OF_LOG = new String("");
+    private static final int BATCH_SIZE = 1024;
+    private static final int FLUSH_SIZE = 64 * 1024;
+    private static final long PUT_TIMEOUT = 100;
+
+    private final Writer writer;
+    private final LockFreeWorkQueue<String> queue;
+    private final LogFileOverflowPolicy overflowPolicy;
+    private final long flushInterval;
+    private final Thread thread;
+    private final AtomicLong droppedLines = new AtomicLong();
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    private volatile boolean isClosed;
+    private volatile IOException exception;
+    private volatile Consumer<IOException> errorHandler;
+
+    public AsyncLogWriter(Writer writer, int capacity, long flushInterval, TimeUnit unit, LogFileOverflowPolicy overflowPolicy) {
+        this.writer = writer;
+        this.overflowPolicy = overflowPolicy;
+        this.flushInterval = unit.toNanos(flushInterval);
+        queue = new LockFreeWorkQueue<>(capacity);
+
+        thread = new Thread(this::run, "impexp-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public AsyncLogWriter(Writer writer, int capacity, long flushInterval, TimeUnit unit) {
+        this(writer, capacity, flushInterval, unit, LogFileOverflowPolicy.BLOCK);
+    }
+
+    public AsyncLogWriter withErrorHandler(Consumer<IOException> errorHandler) {
+        this.errorHandler = errorHandler;
+        return this;
+    }
+
+    public boolean write(String line) throws IOException {
+        if (exception != null) {
+            throw exception;
+        }
+
+        // writers share the lock so that no line is enqueued after the end of the log
+        closeLock.readLock().lock();
+        try {
+            if (isClosed) {
+                return false;
+            }
+
+            boolean success;
+            if (overflowPolicy == LogFileOverflowPolicy.DROP) {
+                success = queue.offer(line);
+            } else {
+                try {
+                    success = enqueue(line);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    success = false;
+                }
+            }
+
+            if (!success) {
+                droppedLines.incrementAndGet();
+            }
+
+            return success;
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private boolean enqueue(String line) throws InterruptedException {
+        // give up once the writer thread has terminated and will not drain the queue anymore
+        while (!queue.offer(line, PUT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+            if (!thread.isAlive()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public long getAndResetDroppedLines() {
+        return droppedLines.get() > 0 ? droppedLines.getAndSet(0) : 0;
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(BATCH_SIZE);
+        long lastFlush = System.nanoTime();
+        int unflushed = 0;
+        boolean shouldRun = true;
+
+        while (shouldRun) {
+            try {
+                String line = queue.poll(flushInterval, TimeUnit.NANOSECONDS);
+                if (line != null) {
+                    batch.add(line);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                }
+            } catch (InterruptedException e) {
+                shouldRun = false;
+            }
+
+            for (String line : batch) {
+                if (line == END_OF_LOG) {
+                    shouldRun = false;
+                    break;
+                }
+
+                unflushed += writeLine(line);
+            }
+
+            batch.clear();
+
+            // flush if the buffer has grown large, if the log has been idle for a while
+            // or if the queue is drained so that the log file is kept up to date
+            long now = System.nanoTime();
+            if (unflushed > 0 && (unflushed >= FLUSH_SIZE || now - lastFlush >= flushInterval || queue.isEmpty())) {
+                flush();
+                unflushed = 0;
+                lastFlush = now;
+            }
+        }
+
+        flush();
+    }
+
+    private int writeLine(String line) {
+        if (exception == null) {
+            try {
+                writer.write(line);
+                writer.write(System.lineSeparator());
+                return line.length() + 1;
+            } catch (IOException e) {
+                setException(e);
+            }
+        }
+
+        return 0;
+    }
+
+    private void setException(IOException e) {
+        exception = e;
+
+        // report the first failure right away instead of waiting for the next write or close
+        Consumer<IOException> errorHandler = this.errorHandler;
+        if (errorHandler != null) {
+            errorHandler.accept(e);
+        }
+    }
+
+    private void flush() {
+        if (exception == null) {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                setException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeLock.writeLock().lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+
+            isClosed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+
+        try {
+            enqueue(END_OF_LOG);
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            writer.close();
+        }
+
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
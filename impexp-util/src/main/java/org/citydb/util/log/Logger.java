@@ -27,6 +27,8 @@
  */
 package org.citydb.util.log;
 
+import org.citydb.config.project.global.LogFile;
+import org.citydb.config.project.global.LogFileFormat;
 import org.citydb.config.project.global.LogFileMode;
 import org.citydb.config.project.global.LogLevel;
 
@@ -40,6 +42,8 @@ import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
 
 public class Logger {
     private static final Logger instance = new Logger();
@@ -47,7 +51,10 @@ public class Logger {
     private ConsoleLogger consoleLogger;
     private LogLevel consoleLevel = LogLevel.INFO;
     private LogLevel fileLevel = LogLevel.INFO;
+    private LogFileFormat fileFormat = LogFileFormat.TEXT;
     private BufferedWriter writer;
+    private AsyncLogWriter asyncWriter;
+    private Thread shutdownHook;
 
     private boolean logToConsole = true;
     private boolean logToFile = false;
@@ -99,29 +106,98 @@ public class Logger {
     }
 
     public void log(LogLevel level, String msg) {
-        msg = getPrefix(level) + msg;
-
         if (logToConsole && consoleLevel.ordinal() >= level.ordinal()) {
-            consoleLogger.log(level, msg);
+            consoleLogger.log(level, getPrefix(level) + msg);
         }
 
-        if (fileLevel.ordinal() >= level.ordinal()) {
-            printToFile(msg);
+        if (logToFile && fileLevel.ordinal() >= level.ordinal()) {
+            writeToFile(fileFormat == LogFileFormat.JSON ? toJson(level, msg) : getPrefix(level) + msg);
         }
     }
 
     public void printToFile(String msg) {
-        if (logToFile && writer != null) {
+        if (logToFile) {
+            writeToFile(fileFormat == LogFileFormat.JSON ? toJson(null, msg) : msg);
+        }
+    }
+
+    private void writeToFile(String line) {
+        AsyncLogWriter asyncWriter = this.asyncWriter;
+        if (asyncWriter != null) {
             try {
-                writer.write(msg);
-                writer.newLine();
-                writer.flush();
+                if (asyncWriter.write(line)) {
+                    long droppedLines = asyncWriter.getAndResetDroppedLines();
+                    if (droppedLines > 0) {
+                        String msg = droppedLines + " log message(s) have been dropped because the log file buffer was full.";
+                        asyncWriter.write(fileFormat == LogFileFormat.JSON ? toJson(LogLevel.WARN, msg) : getPrefix(LogLevel.WARN) + msg);
+                    }
+                }
             } catch (IOException e) {
                 //
             }
+        } else {
+            BufferedWriter writer = this.writer;
+            if (writer != null) {
+                try {
+                    writer.write(line);
+                    writer.newLine();
+                    writer.flush();
+                } catch (IOException e) {
+                    //
+                }
+            }
         }
     }
 
+    private String toJson(LogLevel level, String msg) {
+        StringBuilder json = new StringBuilder(msg.length() + 96)
+                .append("{\"timestamp\":\"")
+                .append(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME))
+                .append('"');
+
+        if (level != null) {
+            json.append(",\"level\":\"").append(level.name()).append('"');
+        }
+
+        json.append(",\"thread\":");
+        appendJsonString(Thread.currentThread().getName(), json);
+        json.append(",\"message\":");
+        appendJsonString(msg, json);
+        return json.append('}').toString();
+    }
+
+    private void appendJsonString(String value, StringBuilder json) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+
+        json.append('"');
+    }
+
     private void log(LogLevel level, String msg, Throwable e) {
         log(level, msg);
         if (e != null) {
@@ -180,6 +256,12 @@ public class Logger {
     }
 
     public boolean appendLogFile(Path logFile, LogFileMode mode) {
+        LogFile settings = new LogFile();
+        settings.setLogFileMode(mode);
+        return appendLogFile(logFile, settings);
+    }
+
+    public boolean appendLogFile(Path logFile, LogFile settings) {
         if (Files.exists(logFile) && Files.isDirectory(logFile)) {
             logFile = logFile.resolve(getDefaultLogFileName());
         } else if (!Files.exists(logFile.getParent())) {
@@ -196,10 +278,22 @@ public class Logger {
             info("Writing log messages to file '" + logFile.toAbsolutePath() + "'.");
             writer = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8,
                     StandardOpenOption.CREATE, StandardOpenOption.WRITE,
-                    mode == LogFileMode.TRUNCATE ?
+                    settings.getLogFileMode() == LogFileMode.TRUNCATE ?
                             StandardOpenOption.TRUNCATE_EXISTING :
                             StandardOpenOption.APPEND);
 
+            // log messages are written by a background thread so that logging
+            // does not slow down the worker threads
+            if (settings.isAsynchronous()) {
+                asyncWriter = new AsyncLogWriter(writer, settings.getBufferSize(),
+                        settings.getFlushInterval(), TimeUnit.MILLISECONDS, settings.getOverflowPolicy());
+                if (shutdownHook == null) {
+                    shutdownHook = new Thread(this::close, "impexp-log-shutdown");
+                    Runtime.getRuntime().addShutdownHook(shutdownHook);
+                }
+            }
+
+            fileFormat = settings.getLogFileFormat();
             logToFile = true;
             printToFile("*** Starting new log file session on " + LocalDateTime.now()
                     .withNano(0)
@@ -220,14 +314,19 @@ public class Logger {
         }
     }
 
-    public void close() {
+    public synchronized void close() {
         if (writer != null) {
             try {
-                writer.close();
+                if (asyncWriter != null) {
+                    asyncWriter.close();
+                } else {
+                    writer.close();
+                }
             } catch (IOException e) {
                 //
             } finally {
                 writer = null;
+                asyncWriter = null;
                 logToFile = false;
             }
         }
@@ -66,8 +66,10 @@ import org.citydb.vis.concurrent.VisExportWorkerFactory;
 import org.citydb.vis.controller.VisExportException.ErrorCode;
 import org.citydb.vis.database.*;
 import org.citydb.vis.datatype.TypeAttributeValueEnum;
+import org.citydb.vis.util.B3dmWriter;
 import org.citydb.vis.util.CityObject4JSON;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.TilesetWriter;
 import org.citygml4j.model.citygml.CityGML;
 import org.citygml4j.model.citygml.CityGMLClass;
 import org.citygml4j.model.gml.feature.AbstractFeature;
@@ -77,6 +79,7 @@ import org.citygml4j.util.xml.SAXEventBuffer;
 import org.citygml4j.util.xml.SAXFragmentWriter;
 import org.citygml4j.util.xml.SAXFragmentWriter.WriteMode;
 import org.citygml4j.util.xml.SAXWriter;
+import org.geotools.api.referencing.FactoryException;
 import org.xml.sax.SAXException;
 
 import javax.xml.bind.JAXBContext;
@@ -230,23 +233,42 @@ public class VisExporter implements EventHandler {
             }
         }
 
+        // check whether coordinates can be transformed to WGS84 on the client side
+        if (config.getVisExportConfig().isClientSideCoordinateTransformation()) {
+            try {
+                VisExporterManager.createWGS84Transformer(databaseAdapter);
+                log.debug("Coordinates are transformed to WGS84 on the client side.");
+            } catch (FactoryException e) {
+                log.warn("Failed to create a client-side coordinate transformation to WGS84. Coordinates are transformed in the database instead.", e);
+            }
+        }
+
         // check gltf options
         if (config.getVisExportConfig().getGltfOptions().isCreateGltfModel()) {
             // check collada2gltf converter tool
-            Path collada2gltf = Paths.get(config.getVisExportConfig().getGltfOptions().getPathToConverter());
-            if (!collada2gltf.isAbsolute())
-                collada2gltf = CoreConstants.IMPEXP_HOME.resolve(collada2gltf);
-
-            if (!Files.exists(collada2gltf))
-                throw new VisExportException("Failed to find the COLLADA2glTF tool at the provided path " + collada2gltf + ".");
-            else if (!Files.isExecutable(collada2gltf))
-                throw new VisExportException("Failed to execute the COLLADA2glTF tool at " + collada2gltf + ".");
+            if (config.getVisExportConfig().getGltfOptions().requiresExternalConverter()) {
+                Path collada2gltf = Paths.get(config.getVisExportConfig().getGltfOptions().getPathToConverter());
+                if (!collada2gltf.isAbsolute())
+                    collada2gltf = CoreConstants.IMPEXP_HOME.resolve(collada2gltf);
+
+                if (!Files.exists(collada2gltf))
+                    throw new VisExportException("Failed to find the COLLADA2glTF tool at the provided path " + collada2gltf + ".");
+                else if (!Files.isExecutable(collada2gltf))
+                    throw new VisExportException("Failed to execute the COLLADA2glTF tool at " + collada2gltf + ".");
+            }
 
             // check whether we have to deactivate KMZ
             if (config.getVisExportConfig().isExportAsKmz()) {
                 log.warn("glTF export cannot be used with KMZ compression. Deactivating KMZ.");
                 config.getVisExportConfig().setExportAsKmz(false);
             }
+
+            // check whether 3D Tiles can be created
+            if (config.getVisExportConfig().getGltfOptions().isCreate3DTiles()
+                    && config.getVisExportConfig().getGltfOptions().requiresExternalConverter()) {
+                log.warn("3D Tiles require the built-in glTF 2.0 writer. Deactivating 3D Tiles.");
+                config.getVisExportConfig().getGltfOptions().setCreate3DTiles(false);
+            }
         }
 
         // build query from filter settings
@@ -385,6 +407,12 @@ public class VisExporter implements EventHandler {
             }
         }
 
+        // collect 3D Tiles content files for the tileset if required
+        GltfOptions gltfOptions = config.getVisExportConfig().getGltfOptions();
+        TilesetWriter tilesetWriter = gltfOptions.isCreateGltfModel() && gltfOptions.isCreate3DTiles() ?
+                new TilesetWriter() :
+                null;
+
         // iterate over tiles
         for (int row = 0; shouldRun && row < rows; row++) {
             for (int column = 0; shouldRun && column < columns; column++) {
@@ -433,6 +461,18 @@ public class VisExporter implements EventHandler {
                         currentWorkingDirectoryPath = columnTilesDirectory.getPath();
                         tracker.setCurrentWorkingDirectoryPath(currentWorkingDirectoryPath);
 
+                        B3dmWriter b3dmWriter = null;
+                        if (tilesetWriter != null && displayForm.getType() == DisplayFormType.COLLADA) {
+                            BoundingBox tileExtent = tile.getExtent();
+                            b3dmWriter = new B3dmWriter(
+                                    (tileExtent.getLowerCorner().getX() + tileExtent.getUpperCorner().getX()) / 2,
+                                    (tileExtent.getLowerCorner().getY() + tileExtent.getUpperCorner().getY()) / 2,
+                                    gltfOptions.isUseQuantization());
+                            b3dmWriter.setName(fileName + "_Tile_" + row + "_" + column);
+                        }
+
+                        tracker.setB3dmWriter(b3dmWriter);
+
                         eventDispatcher.triggerEvent(new StatusDialogMessage(Language.I18N.getString("visExport.dialog.writingToFile")));
                         eventDispatcher.triggerEvent(new StatusDialogTitle(file.getName()));
                         eventDispatcher.triggerEvent(new CounterEvent(CounterType.REMAINING_TILES, --remainingTiles));
@@ -544,6 +584,18 @@ public class VisExporter implements EventHandler {
                             throw new VisExportException("Failed to shutdown worker pools.", e);
                         }
 
+                        // write 3D Tiles content file
+                        if (b3dmWriter != null && !b3dmWriter.isEmpty()) {
+                            String b3dmFileName = fileName + "_Tile_" + row + "_" + column + "_" + displayForm.getName() + ".b3dm";
+                            try {
+                                b3dmWriter.write(columnTilesDirectory.toPath().resolve(b3dmFileName));
+                                tilesetWriter.addTile(tile.getExtent(), tracker.values(), b3dmWriter,
+                                        "Tiles/" + row + "/" + column + "/" + b3dmFileName);
+                            } catch (IOException e) {
+                                throw new VisExportException("Failed to write 3D Tiles file '" + b3dmFileName + "'.", e);
+                            }
+                        }
+
                         try {
                             // add styles
                             if (!objectCounter.isEmpty() && !config.getVisExportConfig().isOneFilePerObject()) {
@@ -689,6 +741,15 @@ public class VisExporter implements EventHandler {
             }
         }
 
+        // write 3D Tiles tileset
+        if (tilesetWriter != null && !tilesetWriter.isEmpty()) {
+            try {
+                tilesetWriter.write(Paths.get(path, fileName + "_tileset.json"));
+            } catch (IOException e) {
+                throw new VisExportException("Failed to write 3D Tiles tileset file.", e);
+            }
+        }
+
         // write master JSON file
         try {
             writeMasterJsonFileTileReference(path, fileName, fileExtension, tiling);
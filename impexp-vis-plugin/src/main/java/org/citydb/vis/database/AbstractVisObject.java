@@ -27,8 +27,6 @@
  */
 package org.citydb.vis.database;
 
-import com.sun.j3d.utils.geometry.GeometryInfo;
-import com.sun.j3d.utils.geometry.NormalGenerator;
 import net.opengis.kml._2.*;
 import org.citydb.config.Config;
 import org.citydb.config.geometry.ElementType;
@@ -41,6 +39,7 @@ import org.citydb.config.project.visExporter.*;
 import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.AbstractGeometryConverterAdapter;
 import org.citydb.core.database.adapter.BlobExportAdapter;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.query.Query;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.Util;
@@ -57,6 +56,8 @@ import org.citydb.vis.datatype.TypeAttributeValueEnum;
 import org.citydb.vis.util.AffineTransformer;
 import org.citydb.vis.util.BalloonTemplateHandler;
 import org.citydb.vis.util.ElevationServiceHandler;
+import org.citydb.vis.util.Triangulation;
+import org.citydb.vis.util.VertexIndex;
 import org.citygml4j.geometry.Matrix;
 import org.citygml4j.geometry.Point;
 import org.citygml4j.model.citygml.CityGMLClass;
@@ -69,7 +70,6 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 
 import javax.vecmath.Point3d;
-import javax.vecmath.Vector3f;
 import javax.xml.bind.JAXBElement;
 import javax.xml.datatype.DatatypeConstants;
 import javax.xml.datatype.DatatypeFactory;
@@ -99,7 +99,8 @@ public abstract class AbstractVisObject {
     private final String NO_TEXIMAGE = "default";
 
     private HashMap<Long, SurfaceInfo> surfaceInfos = new HashMap<Long, SurfaceInfo>();
-    private NodeZ coordinateTree;
+    private VertexIndex vertexIndex;
+    private List<VertexInfo> indexedVertexInfos;
 
     // key is surfaceId, surfaceId is originally a Long, here we use an Object for compatibility with the textureAtlasAPI
     private HashMap<Object, String> texImageUris = new HashMap<Object, String>();
@@ -113,7 +114,6 @@ public abstract class AbstractVisObject {
 
     private long id;
     private String gmlId;
-    private BigInteger vertexIdCounter = new BigInteger("-1");
     protected VertexInfo firstVertexInfo = null;
     private VertexInfo lastVertexInfo = null;
 
@@ -639,64 +639,21 @@ public abstract class AbstractVisObject {
                 ordinatesArray[count++] = vertexInfo.getZ() - origin.z;
             }
 
-            GeometryInfo ginfo = new GeometryInfo(GeometryInfo.POLYGON_ARRAY);
-            ginfo.setCoordinates(ordinatesArray);
-            ginfo.setContourCounts(surfaceInfo.getRingCountAsArray());
-            ginfo.setStripCounts(surfaceInfo.getVertexCount());
-            int outerRingCount = ginfo.getStripCounts()[0];
-
-            // triangulate the surface geometry
-            ginfo.convertToIndexedTriangles();
-
-            // generate normals
-            NormalGenerator ng = new NormalGenerator();
-            ng.generateNormals(ginfo);
-
-            int[] indexes = ginfo.getCoordinateIndices();
-            int[] normalIndexes = ginfo.getNormalIndices();
-            Vector3f[] normals = ginfo.getNormals();
-
-            // fix a reversed orientation of the triangulated surface
-            byte[] edges = {0, 1, 1, 2, 2, 0};
-            boolean hasFound = false;
-            boolean reverse = false;
-
-            for (int i = 0; !hasFound && i < indexes.length; i += 3) {
-                // skip degenerated triangles
-                if (indexes[i] == indexes[i + 1] || indexes[i + 1] == indexes[i + 2] || indexes[i] == indexes[i + 2])
-                    continue;
-
-                // find the first edge on the exterior ring
-                for (int j = 0; j < edges.length; j += 2) {
-                    int first = i + edges[j];
-                    int second = i + edges[j + 1];
-
-                    if (indexes[first] < outerRingCount && indexes[second] < outerRingCount && Math.abs(indexes[first] - indexes[second]) == 1) {
-                        // ok, we found it. now check the order of the vertex indices
-                        hasFound = true;
-                        if (indexes[first] > indexes[second])
-                            reverse = true;
-
-                        break;
-                    }
-                }
-            }
-
-            // reverse indexes and normals
-            if (reverse) {
-                ginfo.reverse();
-                for (int i = 0; i < normals.length; i++)
-                    normals[i].negate();
+            // triangulate the surface geometry and generate normals
+            Triangulation triangulation = visExporterManager.getTriangulation();
+            if (!visExporterManager.getTriangulator().triangulate(ordinatesArray, surfaceInfo.getVertexCount(), triangulation)) {
+                log.debug("City object '" + gmlId + "': Failed to triangulate surface (id: " + surfaceId + ").");
+                continue;
             }
 
             // use vertex indices of the triangulation to populate
             // the vertex arrays in the collada file
-            for (int i = 0; i < indexes.length; i++) {
-                VertexInfo vertexInfo = vertexInfos.get(indexes[i]);
+            for (int i = 0; i < triangulation.getIndexCount(); i++) {
+                VertexInfo vertexInfo = vertexInfos.get(triangulation.getIndex(i));
                 triangles.getP().add(vertexInfo.getVertexId());
 
                 if (config.getVisExportConfig().getColladaOptions().isGenerateSurfaceNormals())
-                    triangles.getP().add(BigInteger.valueOf(normalIndexes[i] + normalIndexOffset));
+                    triangles.getP().add(BigInteger.valueOf(triangulation.getNormalIndex(i) + normalIndexOffset));
 
                 if (surfaceTextured) {
                     TexCoords texCoords = vertexInfo.getTexCoords(surfaceId);
@@ -721,20 +678,19 @@ public abstract class AbstractVisObject {
                 }
             }
 
-            for (Vector3f normal : normals) {
-                normalValues.add(reducePrecisionForXorY((double) normal.x));
-                normalValues.add(reducePrecisionForXorY((double) normal.y));
-                normalValues.add(reducePrecisionForXorY((double) normal.z));
+            for (int i = 0; i < triangulation.getNormalCount(); i++) {
+                normalValues.add(reducePrecisionForXorY((double) triangulation.getNormal(i, 0)));
+                normalValues.add(reducePrecisionForXorY((double) triangulation.getNormal(i, 1)));
+                normalValues.add(reducePrecisionForXorY((double) triangulation.getNormal(i, 2)));
                 normalIndexOffset++;
             }
         }
 
-        VertexInfo vertexInfoIterator = firstVertexInfo;
-        while (vertexInfoIterator != null) {
-            positionValues.add(reducePrecisionForXorY((vertexInfoIterator.getX() - origin.x)));
-            positionValues.add(reducePrecisionForXorY((vertexInfoIterator.getY() - origin.y)));
-            positionValues.add(reducePrecisionForZ((vertexInfoIterator.getZ() - origin.z)));
-            vertexInfoIterator = vertexInfoIterator.getNextVertexInfo();
+        // vertex ids are the indexes of the unique vertices
+        for (int i = 0; vertexIndex != null && i < vertexIndex.size(); i++) {
+            positionValues.add(reducePrecisionForXorY((vertexIndex.getX(i) - origin.x)));
+            positionValues.add(reducePrecisionForXorY((vertexIndex.getY(i) - origin.y)));
+            positionValues.add(reducePrecisionForZ((vertexIndex.getZ(i) - origin.z)));
         }
 
         positionArray.setCount(new BigInteger(String.valueOf(positionValues.size()))); // gotta love BigInteger!
@@ -877,78 +833,26 @@ public abstract class AbstractVisObject {
     }
 
     protected VertexInfo setVertexInfoForXYZ(long surfaceId, double x, double y, double z) {
-        vertexIdCounter = vertexIdCounter.add(BigInteger.ONE);
-        VertexInfo vertexInfo = new VertexInfo(vertexIdCounter, x, y, z);
-        NodeZ nodeToInsert = new NodeZ(z, new NodeY(y, new NodeX(x, vertexInfo)));
-        if (coordinateTree == null) {
-            coordinateTree = nodeToInsert;
-            firstVertexInfo = vertexInfo;
-            lastVertexInfo = vertexInfo;
-        } else {
-            Node node = insertNode(coordinateTree, nodeToInsert);
-            if (node.value instanceof VertexInfo)
-                vertexInfo = (VertexInfo) node.value;
-        }
-
-        return vertexInfo;
-    }
-
-    private Node insertNode(Node currentBasis, Node nodeToInsert) {
-        int compareKeysResult = compareKeys(nodeToInsert.key, currentBasis.key, TOLERANCE);
-        if (compareKeysResult > 0) {
-            if (currentBasis.rightArc == null) {
-                currentBasis.setRightArc(nodeToInsert);
-                linkCurrentVertexInfoToLastVertexInfo(nodeToInsert);
-                return nodeToInsert;
-            } else {
-                return insertNode(currentBasis.rightArc, nodeToInsert);
-            }
-        } else if (compareKeysResult < 0) {
-            if (currentBasis.leftArc == null) {
-                currentBasis.setLeftArc(nodeToInsert);
-                linkCurrentVertexInfoToLastVertexInfo(nodeToInsert);
-                return nodeToInsert;
-            } else {
-                return insertNode(currentBasis.leftArc, nodeToInsert);
-            }
-        } else {
-            return replaceOrAddValue(currentBasis, nodeToInsert);
+        if (vertexIndex == null) {
+            vertexIndex = new VertexIndex(TOLERANCE);
+            indexedVertexInfos = new ArrayList<VertexInfo>();
         }
-    }
 
-    private Node replaceOrAddValue(Node currentBasis, Node nodeToInsert) {
-        if (nodeToInsert.value instanceof VertexInfo) {
-            VertexInfo vertexInfoToInsert = (VertexInfo) nodeToInsert.value;
-            if (currentBasis.value == null) { // no vertexInfo yet for this point
-                currentBasis.value = nodeToInsert.value;
-                linkCurrentVertexInfoToLastVertexInfo(vertexInfoToInsert);
-            } else
-                vertexIdCounter = vertexIdCounter.subtract(BigInteger.ONE);
+        // vertices within the tolerance share the same index
+        int index = vertexIndex.add(x, y, z);
+        if (index < indexedVertexInfos.size())
+            return indexedVertexInfos.get(index);
 
-            return currentBasis;
-        } else { // Node
-            return insertNode((Node) currentBasis.value, (Node) nodeToInsert.value);
-        }
-    }
+        VertexInfo vertexInfo = new VertexInfo(BigInteger.valueOf(index), x, y, z);
+        indexedVertexInfos.add(vertexInfo);
 
-    private void linkCurrentVertexInfoToLastVertexInfo(Node node) {
-        while (!(node.value instanceof VertexInfo)) {
-            node = (Node) node.value;
-        }
-        linkCurrentVertexInfoToLastVertexInfo((VertexInfo) node.value);
-    }
-
-    private void linkCurrentVertexInfoToLastVertexInfo(VertexInfo currentVertexInfo) {
-        lastVertexInfo.setNextVertexInfo(currentVertexInfo);
-        lastVertexInfo = currentVertexInfo;
-    }
+        if (firstVertexInfo == null)
+            firstVertexInfo = vertexInfo;
+        else
+            lastVertexInfo.setNextVertexInfo(vertexInfo);
 
-    private int compareKeys(double key1, double key2, double tolerance) {
-        int result = 0;
-        if (Math.abs(key1 - key2) > tolerance) {
-            result = key1 > key2 ? 1 : -1;
-        }
-        return result;
+        lastVertexInfo = vertexInfo;
+        return vertexInfo;
     }
 
     public void appendObject(AbstractVisObject objectToAppend) {
@@ -2796,6 +2700,7 @@ public abstract class AbstractVisObject {
     protected List<Point3d> getLowestPointsCoordinates(ResultSet rs, AffineTransformer transformer, boolean willCallGEService) throws SQLException {
         double currentlyLowestZCoordinate = Double.MAX_VALUE;
         List<Point3d> coords = new ArrayList<Point3d>();
+        VertexIndex candidates = willCallGEService ? new VertexIndex(TOLERANCE) : null;
 
         while (rs.next()) {
             Object buildingGeometryObj = rs.getObject(1);
@@ -2815,12 +2720,15 @@ public abstract class AbstractVisObject {
                             Point3d point3d = new Point3d(ordinatesArray[j - 2], ordinatesArray[j - 1], ordinatesArray[j]);
                             coords.add(point3d);
                             currentlyLowestZCoordinate = point3d.z;
-                        }
-                        if (willCallGEService && ordinatesArray[j] == currentlyLowestZCoordinate) {
-                            Point3d point3d = new Point3d(ordinatesArray[j - 2], ordinatesArray[j - 1], ordinatesArray[j]);
-                            if (!coords.contains(point3d)) {
-                                coords.add(point3d);
+
+                            if (willCallGEService) {
+                                candidates.clear();
+                                candidates.add(point3d.x, point3d.y, point3d.z);
                             }
+                        } else if (willCallGEService && ordinatesArray[j] == currentlyLowestZCoordinate) {
+                            int size = candidates.size();
+                            if (candidates.add(ordinatesArray[j - 2], ordinatesArray[j - 1], ordinatesArray[j]) == size)
+                                coords.add(new Point3d(ordinatesArray[j - 2], ordinatesArray[j - 1], ordinatesArray[j]));
                         }
                     }
                 }
@@ -2852,15 +2760,26 @@ public abstract class AbstractVisObject {
     }
 
     protected GeometryObject convertToWGS84(GeometryObject geomObj) throws SQLException {
-        GeometryObject convertedGeomObj;
-        try {
-            DatabaseSrs targetSrs = dbSrs.is3D() ?
-                    databaseAdapter.getUtil().getWGS843D() :
-                    DatabaseConfig.PREDEFINED_SRS.get(DatabaseConfig.PredefinedSrsName.WGS84_2D);
-            convertedGeomObj = databaseAdapter.getUtil().transform(geomObj, targetSrs);
-        } catch (SQLException e) {
-            log.warn("SQL exception when converting geometry to WGS84.", e);
-            throw e;
+        GeometryObject convertedGeomObj = null;
+
+        // transform on the client to avoid a database round trip per geometry
+        CoordinateTransformer transformer = visExporterManager.getWGS84Transformer();
+        if (transformer != null && geomObj.getSrid() == transformer.getSourceSrid()) {
+            GeometryObject copy = geomObj.copy();
+            if (transformer.transform(copy))
+                convertedGeomObj = copy;
+        }
+
+        if (convertedGeomObj == null) {
+            try {
+                DatabaseSrs targetSrs = dbSrs.is3D() ?
+                        databaseAdapter.getUtil().getWGS843D() :
+                        DatabaseConfig.PREDEFINED_SRS.get(DatabaseConfig.PredefinedSrsName.WGS84_2D);
+                convertedGeomObj = databaseAdapter.getUtil().transform(geomObj, targetSrs);
+            } catch (SQLException e) {
+                log.warn("SQL exception when converting geometry to WGS84.", e);
+                throw e;
+            }
         }
 
         if (config.getVisExportConfig().getElevation().isUseOriginalZCoords() && geomObj.getDimension() == 3) {
@@ -2876,52 +2795,6 @@ public abstract class AbstractVisObject {
         return convertedGeomObj;
     }
 
-    protected class Node {
-        double key;
-        Object value;
-        Node rightArc;
-        Node leftArc;
-
-        protected Node(double key, Object value) {
-            this.key = key;
-            this.value = value;
-        }
-
-        protected void setLeftArc(Node leftArc) {
-            this.leftArc = leftArc;
-        }
-
-        protected Node getLeftArc() {
-            return leftArc;
-        }
-
-        protected void setRightArc(Node rightArc) {
-            this.rightArc = rightArc;
-        }
-
-        protected Node getRightArc() {
-            return rightArc;
-        }
-    }
-
-    protected class NodeX extends Node {
-        protected NodeX(double key, Object value) {
-            super(key, value);
-        }
-    }
-
-    protected class NodeY extends Node {
-        protected NodeY(double key, Object value) {
-            super(key, value);
-        }
-    }
-
-    protected class NodeZ extends Node {
-        protected NodeZ(double key, Object value) {
-            super(key, value);
-        }
-    }
-
     protected int getParameterCount(String query) {
         // due to a bug in the Oracle JDBC driver, we cannot use getParameterMetaData().getParameterCount() to
         // get the number of parameters in a prepared statement having a long query string...
@@ -29,6 +29,8 @@ package org.citydb.vis.database;
 
 import net.opengis.kml._2.*;
 import org.citydb.config.Config;
+import org.citydb.config.project.database.DatabaseConfig;
+import org.citydb.config.project.database.DatabaseSrs;
 import org.citydb.config.project.visExporter.DisplayFormType;
 import org.citydb.config.project.visExporter.GltfOptions;
 import org.citydb.config.project.visExporter.GltfVersion;
@@ -40,18 +42,25 @@ import org.citydb.core.database.adapter.AbstractDatabaseAdapter;
 import org.citydb.core.database.adapter.BlobExportAdapter;
 import org.citydb.core.database.schema.mapping.AbstractObjectType;
 import org.citydb.core.database.schema.mapping.SchemaMapping;
+import org.citydb.core.operation.common.util.CoordinateTransformer;
 import org.citydb.core.query.Query;
 import org.citydb.core.registry.ObjectRegistry;
 import org.citydb.core.util.CoreConstants;
 import org.citydb.util.concurrent.WorkerPool;
 import org.citydb.util.event.EventDispatcher;
-import org.citydb.util.event.global.CounterEvent;
 import org.citydb.util.event.global.CounterType;
 import org.citydb.util.log.Logger;
+import org.citydb.vis.util.B3dmWriter;
 import org.citydb.vis.util.BalloonTemplateHandler;
 import org.citydb.vis.util.CityObject4JSON;
 import org.citydb.vis.util.ExportTracker;
+import org.citydb.vis.util.EarcutTriangulator;
+import org.citydb.vis.util.GltfWriter;
+import org.citydb.vis.util.Java3DTriangulator;
+import org.citydb.vis.util.Triangulation;
+import org.citydb.vis.util.Triangulator;
 import org.citygml4j.util.xml.SAXEventBuffer;
+import org.geotools.api.referencing.FactoryException;
 
 import javax.imageio.ImageIO;
 import javax.xml.bind.JAXBContext;
@@ -88,6 +97,10 @@ public class VisExporterManager implements ADEVisExportHelper {
     private final Charset CHARSET = Charset.forName(ENCODING);
     private final String TEMP_FOLDER = "__temp";
     private long implicitId;
+    private CoordinateTransformer wgs84Transformer;
+    private boolean isWGS84TransformerInitialized;
+    private Triangulator triangulator;
+    private Triangulation triangulation;
 
     public VisExporterManager(Path outputFile,
                               JAXBContext jaxbKmlContext,
@@ -135,6 +148,45 @@ public class VisExporterManager implements ADEVisExportHelper {
         return databaseAdapter;
     }
 
+    public CoordinateTransformer getWGS84Transformer() {
+        if (!isWGS84TransformerInitialized) {
+            isWGS84TransformerInitialized = true;
+            if (config.getVisExportConfig().isClientSideCoordinateTransformation()) {
+                try {
+                    wgs84Transformer = createWGS84Transformer(databaseAdapter);
+                } catch (FactoryException e) {
+                    // the vis exporter has already reported this failure
+                    log.debug("Failed to create WGS84 coordinate transformation. Using the database instead.");
+                }
+            }
+        }
+
+        return wgs84Transformer;
+    }
+
+    public static CoordinateTransformer createWGS84Transformer(AbstractDatabaseAdapter databaseAdapter) throws FactoryException {
+        DatabaseSrs dbSrs = databaseAdapter.getConnectionMetaData().getReferenceSystem();
+        DatabaseSrs targetSrs = dbSrs.is3D() ?
+                databaseAdapter.getUtil().getWGS843D() :
+                DatabaseConfig.PREDEFINED_SRS.get(DatabaseConfig.PredefinedSrsName.WGS84_2D);
+
+        return new CoordinateTransformer(dbSrs, targetSrs, databaseAdapter);
+    }
+
+    public Triangulator getTriangulator() {
+        if (triangulator == null)
+            triangulator = new EarcutTriangulator(new Java3DTriangulator());
+
+        return triangulator;
+    }
+
+    public Triangulation getTriangulation() {
+        if (triangulation == null)
+            triangulation = new Triangulation();
+
+        return triangulation;
+    }
+
     @Override
     public ADEVisExportQueryHelper getSQLQueryHelper() {
         return sqlQueries;
@@ -148,7 +200,7 @@ public class VisExporterManager implements ADEVisExportHelper {
             objectCounter.put(work.getObjectClassId(), counter + 1);
 
         tracker.put(work.getId(), work.getJson());
-        eventDispatcher.triggerEvent(new CounterEvent(CounterType.TOPLEVEL_FEATURE, 1));
+        eventDispatcher.getEventAggregator().updateCounter(CounterType.TOPLEVEL_FEATURE, 1);
     }
 
     public HashMap<Integer, Long> getObjectCounter() {
@@ -385,6 +437,13 @@ public class VisExporterManager implements ADEVisExportHelper {
             FileNotFoundException,
             IOException,
             SQLException {
+        // 3D Tiles batch all models of a tile into a single b3dm file
+        B3dmWriter b3dmWriter = tracker.getB3dmWriter();
+        if (b3dmWriter != null) {
+            addToB3dm(colladaBundle, b3dmWriter);
+            return;
+        }
+
         ZipOutputStream zipOut = null;
         OutputStreamWriter fileWriter = null;
         SAXEventBuffer buffer = new SAXEventBuffer();
@@ -578,38 +637,52 @@ public class VisExporterManager implements ADEVisExportHelper {
                 buildingDirectory.mkdir();
             }
 
+            GltfOptions gltfOptions = config.getVisExportConfig().getGltfOptions();
+            boolean createGltf = gltfOptions.isCreateGltfModel();
+            boolean useGltfWriter = createGltf && !gltfOptions.requiresExternalConverter();
+
+            // the built-in glTF writer works on the in-memory model and needs no COLLADA and image files
+            boolean writeCollada = !useGltfWriter || !gltfOptions.isRemoveColladaFiles();
+            boolean writeImages = writeCollada || !gltfOptions.isEmbedTextures();
+
             // ----------------- model saving -----------------
             File colladaModelFile = new File(buildingDirectory, colladaBundle.getGmlId() + ".dae");
             File gltfModelFile = new File(buildingDirectory, colladaBundle.getGmlId() + ".gltf");
-            FileOutputStream fos = new FileOutputStream(colladaModelFile);
-            colladaMarshaller.marshal(colladaBundle.getCollada(), fos);
-            fos.close();
+            if (writeCollada) {
+                FileOutputStream fos = new FileOutputStream(colladaModelFile);
+                colladaMarshaller.marshal(colladaBundle.getCollada(), fos);
+                fos.close();
+            }
 
             // ----------------- image saving -----------------
-            if (colladaBundle.getUnsupportedTexImageIds() != null) {
-                for (String imageFilename : colladaBundle.getUnsupportedTexImageIds().keySet()) {
-                    String fileName = buildingDirectory + File.separator + imageFilename;
-                    textureExportAdapter.writeToFile(colladaBundle.getUnsupportedTexImageIds().get(imageFilename), fileName);
+            if (writeImages) {
+                if (colladaBundle.getUnsupportedTexImageIds() != null) {
+                    for (String imageFilename : colladaBundle.getUnsupportedTexImageIds().keySet()) {
+                        String fileName = buildingDirectory + File.separator + imageFilename;
+                        textureExportAdapter.writeToFile(colladaBundle.getUnsupportedTexImageIds().get(imageFilename), fileName);
+                    }
                 }
-            }
 
-            if (colladaBundle.getTexImages() != null) {
-                for (String imageFilename : colladaBundle.getTexImages().keySet()) {
-                    BufferedImage texImage = colladaBundle.getTexImages().get(imageFilename).getBufferedImage();
-                    String imageType = imageFilename.substring(imageFilename.lastIndexOf('.') + 1);
+                if (colladaBundle.getTexImages() != null) {
+                    for (String imageFilename : colladaBundle.getTexImages().keySet()) {
+                        BufferedImage texImage = colladaBundle.getTexImages().get(imageFilename).getBufferedImage();
+                        String imageType = imageFilename.substring(imageFilename.lastIndexOf('.') + 1);
 
-                    File imageFile = new File(buildingDirectory, imageFilename);
-                    if (!imageFile.exists()) // avoid overwriting and access conflicts
-                        ImageIO.write(texImage, imageType, imageFile);
+                        File imageFile = new File(buildingDirectory, imageFilename);
+                        if (!imageFile.exists()) // avoid overwriting and access conflicts
+                            ImageIO.write(texImage, imageType, imageFile);
+                    }
                 }
             }
 
             // ----------------- create glTF -----------------
-            if (config.getVisExportConfig().getGltfOptions().isCreateGltfModel()) {
+            if (useGltfWriter) {
+                writeGltf(colladaBundle, buildingDirectory, gltfOptions);
+            } else if (createGltf) {
                 convertColladaToglTF(buildingDirectory, colladaModelFile, gltfModelFile);
 
-                if (config.getVisExportConfig().getGltfOptions().isEmbedTextures()
-                        && config.getVisExportConfig().getGltfOptions().isRemoveColladaFiles()
+                if (gltfOptions.isEmbedTextures()
+                        && gltfOptions.isRemoveColladaFiles()
                         && gltfModelFile.exists()) {
                     for (String imageFilename : colladaBundle.getTexImages().keySet()) {
                         File imageFile = new File(buildingDirectory, imageFilename);
@@ -637,6 +710,61 @@ public class VisExporterManager implements ADEVisExportHelper {
         }
     }
 
+    private void writeGltf(ColladaBundle colladaBundle, File buildingDirectory, GltfOptions gltfOptions) {
+        String extension = gltfOptions.isUseBinaryGltf() ? ".glb" : ".gltf";
+        File gltfModelFile = new File(buildingDirectory, colladaBundle.getGmlId() + extension);
+
+        try {
+            GltfWriter gltfWriter = new GltfWriter(gltfOptions.isEmbedTextures(), gltfOptions.isUseQuantization());
+            gltfWriter.setName(colladaBundle.getGmlId());
+            gltfWriter.addModel(colladaBundle.getCollada(), imageFilename -> getImageData(colladaBundle, imageFilename));
+            gltfWriter.write(gltfModelFile.toPath(), gltfOptions.isUseBinaryGltf());
+        } catch (IOException e) {
+            log.error("Failed to write glTF model '" + gltfModelFile.getAbsolutePath() + "'.", e);
+        }
+    }
+
+    private void addToB3dm(ColladaBundle colladaBundle, B3dmWriter b3dmWriter) throws IOException {
+        PlacemarkType placemark = colladaBundle.getPlacemark();
+        if (placemark == null || !(placemark.getAbstractGeometryGroup().getValue() instanceof ModelType))
+            return;
+
+        ModelType model = (ModelType) placemark.getAbstractGeometryGroup().getValue();
+        LocationType location = model.getLocation();
+        double heading = model.getOrientation() != null && model.getOrientation().getHeading() != null ?
+                model.getOrientation().getHeading() :
+                0;
+
+        b3dmWriter.addFeature(colladaBundle.getCollada(),
+                colladaBundle.getGmlId(),
+                colladaBundle.getId(),
+                location.getLongitude(),
+                location.getLatitude(),
+                location.getAltitude(),
+                heading,
+                imageFilename -> getImageData(colladaBundle, imageFilename));
+    }
+
+    private byte[] getImageData(ColladaBundle colladaBundle, String imageFilename) throws IOException {
+        if (colladaBundle.getTexImages() != null && colladaBundle.getTexImages().containsKey(imageFilename)) {
+            BufferedImage texImage = colladaBundle.getTexImages().get(imageFilename).getBufferedImage();
+            String imageType = imageFilename.substring(imageFilename.lastIndexOf('.') + 1);
+            ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            if (!ImageIO.write(texImage, imageType, stream))
+                ImageIO.write(texImage, "png", stream);
+
+            return stream.toByteArray();
+        } else if (colladaBundle.getUnsupportedTexImageIds() != null && colladaBundle.getUnsupportedTexImageIds().containsKey(imageFilename)) {
+            try {
+                return textureExportAdapter.getInByteArray(colladaBundle.getUnsupportedTexImageIds().get(imageFilename));
+            } catch (SQLException e) {
+                throw new IOException("Failed to read texture image '" + imageFilename + "' from database.", e);
+            }
+        } else {
+            return null;
+        }
+    }
+
     private void convertColladaToglTF(File buildingDirectory, File colladaModelFile, File gltfModelFile) {
         GltfOptions gltfOptions = config.getVisExportConfig().getGltfOptions();
 
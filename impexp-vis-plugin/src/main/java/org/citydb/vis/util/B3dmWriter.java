@@ -0,0 +1,191 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.collada._2005._11.colladaschema.COLLADA;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class B3dmWriter {
+    private static final int B3DM_MAGIC = 0x6D643362;
+    private static final int B3DM_VERSION = 1;
+    private static final int HEADER_LENGTH = 28;
+
+    // WGS84 ellipsoid
+    private static final double SEMI_MAJOR_AXIS = 6378137;
+    private static final double FLATTENING = 1 / 298.257223563;
+    private static final double ECCENTRICITY_SQUARED = FLATTENING * (2 - FLATTENING);
+
+    private final GltfWriter gltfWriter;
+    private final double[] center;
+    private final JsonArray gmlIds = new JsonArray();
+    private final JsonArray ids = new JsonArray();
+
+    private double minHeight = Double.MAX_VALUE;
+    private double maxHeight = -Double.MAX_VALUE;
+
+    public B3dmWriter(double longitude, double latitude, boolean quantize) {
+        gltfWriter = new GltfWriter(true, quantize);
+
+        // vertices are stored in earth-centered coordinates relative to the tile center
+        // to keep single-precision positions accurate
+        center = toCartesian(longitude, latitude, 0);
+    }
+
+    public void setName(String name) {
+        gltfWriter.setName(name);
+    }
+
+    public synchronized boolean isEmpty() {
+        return gltfWriter.isEmpty();
+    }
+
+    public synchronized int getFeatureCount() {
+        return gmlIds.size();
+    }
+
+    public synchronized double getMinHeight() {
+        return minHeight;
+    }
+
+    public synchronized double getMaxHeight() {
+        return maxHeight;
+    }
+
+    public synchronized void addFeature(COLLADA collada, String gmlId, long id,
+                                        double longitude, double latitude, double altitude, double heading,
+                                        GltfWriter.ImageProvider imageProvider) throws IOException {
+        double lambda = Math.toRadians(longitude);
+        double phi = Math.toRadians(latitude);
+        double[] east = {-Math.sin(lambda), Math.cos(lambda), 0};
+        double[] north = {-Math.sin(phi) * Math.cos(lambda), -Math.sin(phi) * Math.sin(lambda), Math.cos(phi)};
+        double[] up = {Math.cos(phi) * Math.cos(lambda), Math.cos(phi) * Math.sin(lambda), Math.sin(phi)};
+
+        double[] origin = toCartesian(longitude, latitude, altitude);
+        for (int i = 0; i < 3; i++)
+            origin[i] -= center[i];
+
+        // COLLADA models are placed like KML models: local axes point east, north and up
+        // and the model is rotated clockwise by the heading
+        double cosHeading = Math.cos(Math.toRadians(heading));
+        double sinHeading = Math.sin(Math.toRadians(heading));
+
+        gltfWriter.addModel(collada, (position, normal) -> {
+            double height = altitude + position[2];
+            if (height < minHeight)
+                minHeight = height;
+            if (height > maxHeight)
+                maxHeight = height;
+
+            toCenterFrame(position, origin, cosHeading, sinHeading, east, north, up);
+            if (normal != null)
+                toCenterFrame(normal, null, cosHeading, sinHeading, east, north, up);
+        }, gmlIds.size(), imageProvider);
+
+        gmlIds.add(gmlId);
+        ids.add(id);
+    }
+
+    public synchronized void write(Path file) throws IOException {
+        JsonObject featureTable = new JsonObject();
+        featureTable.addProperty("BATCH_LENGTH", gmlIds.size());
+        JsonArray rtcCenter = new JsonArray();
+        for (double value : center)
+            rtcCenter.add(value);
+        featureTable.add("RTC_CENTER", rtcCenter);
+
+        JsonObject batchTable = new JsonObject();
+        batchTable.add("gmlId", gmlIds);
+        batchTable.add("id", ids);
+
+        Gson gson = new Gson();
+        byte[] featureTableJson = gson.toJson(featureTable).getBytes(StandardCharsets.UTF_8);
+        byte[] batchTableJson = gson.toJson(batchTable).getBytes(StandardCharsets.UTF_8);
+        byte[] glb = gltfWriter.toGlb(null);
+
+        // all sections must start and end on an 8-byte boundary
+        int featureTableLength = pad(HEADER_LENGTH + featureTableJson.length) - HEADER_LENGTH;
+        int batchTableLength = pad(batchTableJson.length);
+        int glbLength = pad(glb.length);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(B3DM_MAGIC).putInt(B3DM_VERSION)
+                .putInt(HEADER_LENGTH + featureTableLength + batchTableLength + glbLength)
+                .putInt(featureTableLength).putInt(0)
+                .putInt(batchTableLength).putInt(0);
+
+        try (OutputStream stream = Files.newOutputStream(file)) {
+            stream.write(header.array());
+            write(featureTableJson, featureTableLength, ' ', stream);
+            write(batchTableJson, batchTableLength, ' ', stream);
+            write(glb, glbLength, 0, stream);
+        }
+    }
+
+    public static double[] toCartesian(double longitude, double latitude, double height) {
+        double lambda = Math.toRadians(longitude);
+        double phi = Math.toRadians(latitude);
+        double sinPhi = Math.sin(phi);
+        double n = SEMI_MAJOR_AXIS / Math.sqrt(1 - ECCENTRICITY_SQUARED * sinPhi * sinPhi);
+
+        return new double[]{
+                (n + height) * Math.cos(phi) * Math.cos(lambda),
+                (n + height) * Math.cos(phi) * Math.sin(lambda),
+                (n * (1 - ECCENTRICITY_SQUARED) + height) * sinPhi
+        };
+    }
+
+    private void toCenterFrame(double[] vector, double[] origin, double cosHeading, double sinHeading,
+                               double[] east, double[] north, double[] up) {
+        double x = vector[0] * cosHeading + vector[1] * sinHeading;
+        double y = vector[1] * cosHeading - vector[0] * sinHeading;
+        double z = vector[2];
+
+        for (int i = 0; i < 3; i++)
+            vector[i] = (origin != null ? origin[i] : 0) + x * east[i] + y * north[i] + z * up[i];
+    }
+
+    private void write(byte[] data, int length, int padding, OutputStream stream) throws IOException {
+        stream.write(data);
+        for (int i = data.length; i < length; i++)
+            stream.write(padding);
+    }
+
+    private static int pad(int length) {
+        return (length + 7) & ~7;
+    }
+}
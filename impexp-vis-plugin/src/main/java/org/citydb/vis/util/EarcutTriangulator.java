@@ -0,0 +1,528 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import java.util.Arrays;
+
+/**
+ * Ear clipping triangulation of planar polygons with holes following the earcut algorithm.
+ * Rings are projected to the dominant plane of the polygon and kept as linked lists in
+ * primitive arrays that are reused between calls, so an instance must not be shared
+ * between threads. Polygons that cannot be triangulated reliably are passed to the
+ * fallback triangulator.
+ */
+public class EarcutTriangulator implements Triangulator {
+    private static final double AREA_TOLERANCE = 1e-6;
+
+    private final Triangulator fallback;
+
+    // linked list of polygon nodes
+    private int[] vertex = new int[64];
+    private double[] x = new double[64];
+    private double[] y = new double[64];
+    private int[] prev = new int[64];
+    private int[] next = new int[64];
+    private boolean[] steiner = new boolean[64];
+    private int size;
+
+    private int[] holes = new int[8];
+    private Triangulation triangles;
+    private boolean flip;
+
+    public EarcutTriangulator(Triangulator fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public boolean triangulate(double[] coordinates, int[] ringSizes, Triangulation result) {
+        result.clear();
+        if (ringSizes.length > 0 && ringSizes[0] >= 3) {
+            double[] normal = getNormal(coordinates, ringSizes[0]);
+            double length = Math.sqrt(normal[0] * normal[0] + normal[1] * normal[1] + normal[2] * normal[2]);
+            if (length > 0 && earcut(coordinates, ringSizes, normal, result)) {
+                result.addNormal((float) (normal[0] / length), (float) (normal[1] / length), (float) (normal[2] / length));
+                return true;
+            }
+        }
+
+        result.clear();
+        return fallback != null && fallback.triangulate(coordinates, ringSizes, result);
+    }
+
+    private boolean earcut(double[] coordinates, int[] ringSizes, double[] normal, Triangulation result) {
+        // project to the plane in which the polygon has its largest extent
+        int axis = Math.abs(normal[0]) > Math.abs(normal[1]) ?
+                (Math.abs(normal[0]) > Math.abs(normal[2]) ? 0 : 2) :
+                (Math.abs(normal[1]) > Math.abs(normal[2]) ? 1 : 2);
+        int u = (axis + 1) % 3;
+        int v = (axis + 2) % 3;
+
+        size = 0;
+        triangles = result;
+
+        // the exterior ring is enforced to be clockwise in the projection. triangles must
+        // be flipped if this differs from the orientation of the input
+        double outerArea = signedArea(coordinates, 0, ringSizes[0], u, v);
+        flip = outerArea < 0;
+        double expectedArea = Math.abs(outerArea);
+
+        int outerNode = linkedList(coordinates, 0, ringSizes[0], u, v, true);
+        if (outerNode == -1 || next[outerNode] == prev[outerNode])
+            return false;
+
+        if (ringSizes.length > 1) {
+            int holeCount = 0;
+            if (holes.length < ringSizes.length)
+                holes = new int[ringSizes.length];
+
+            for (int i = 1, start = ringSizes[0]; i < ringSizes.length; start += ringSizes[i++]) {
+                expectedArea -= Math.abs(signedArea(coordinates, start, ringSizes[i], u, v));
+                int list = linkedList(coordinates, start, ringSizes[i], u, v, false);
+                if (list == -1)
+                    continue;
+
+                if (list == next[list])
+                    steiner[list] = true;
+
+                holes[holeCount++] = getLeftmost(list);
+            }
+
+            // bridge holes to the exterior ring from left to right
+            sortByX(holes, holeCount);
+            for (int i = 0; i < holeCount; i++)
+                outerNode = eliminateHole(holes[i], outerNode);
+        }
+
+        earcutLinked(outerNode, 0);
+        triangles = null;
+
+        // reject invalid input such as self-intersecting rings
+        return result.getIndexCount() > 0
+                && Math.abs(getTriangleArea(coordinates, result, u, v) - expectedArea) <= AREA_TOLERANCE * expectedArea;
+    }
+
+    private void earcutLinked(int ear, int pass) {
+        if (ear == -1)
+            return;
+
+        int stop = ear;
+        while (prev[ear] != next[ear]) {
+            int p = prev[ear];
+            int n = next[ear];
+
+            if (isEar(ear)) {
+                addTriangle(p, ear, n);
+                removeNode(ear);
+                ear = next[n];
+                stop = next[n];
+                continue;
+            }
+
+            ear = n;
+            if (ear == stop) {
+                if (pass == 0) {
+                    earcutLinked(filterPoints(ear, -1), 1);
+                } else if (pass == 1) {
+                    ear = cureLocalIntersections(filterPoints(ear, -1));
+                    earcutLinked(ear, 2);
+                } else if (pass == 2) {
+                    splitEarcut(ear);
+                }
+
+                break;
+            }
+        }
+    }
+
+    private boolean isEar(int ear) {
+        int a = prev[ear], b = ear, c = next[ear];
+        if (area(a, b, c) >= 0)
+            return false; // reflex
+
+        double ax = x[a], bx = x[b], cx = x[c];
+        double ay = y[a], by = y[b], cy = y[c];
+        double x0 = Math.min(ax, Math.min(bx, cx)), y0 = Math.min(ay, Math.min(by, cy));
+        double x1 = Math.max(ax, Math.max(bx, cx)), y1 = Math.max(ay, Math.max(by, cy));
+
+        int p = next[c];
+        while (p != a) {
+            if (x[p] >= x0 && x[p] <= x1 && y[p] >= y0 && y[p] <= y1
+                    && pointInTriangle(ax, ay, bx, by, cx, cy, x[p], y[p])
+                    && area(prev[p], p, next[p]) >= 0)
+                return false;
+
+            p = next[p];
+        }
+
+        return true;
+    }
+
+    private int cureLocalIntersections(int start) {
+        int p = start;
+        do {
+            int a = prev[p], b = next[next[p]];
+            if (!equals(a, b) && intersects(a, p, next[p], b) && locallyInside(a, b) && locallyInside(b, a)) {
+                addTriangle(a, p, b);
+                removeNode(p);
+                removeNode(next[p]);
+                p = start = b;
+            }
+
+            p = next[p];
+        } while (p != start);
+
+        return filterPoints(p, -1);
+    }
+
+    private void splitEarcut(int start) {
+        int a = start;
+        do {
+            int b = next[next[a]];
+            while (b != prev[a]) {
+                if (vertex[a] != vertex[b] && isValidDiagonal(a, b)) {
+                    int c = splitPolygon(a, b);
+                    a = filterPoints(a, next[a]);
+                    c = filterPoints(c, next[c]);
+                    earcutLinked(a, 0);
+                    earcutLinked(c, 0);
+                    return;
+                }
+
+                b = next[b];
+            }
+
+            a = next[a];
+        } while (a != start);
+    }
+
+    private int eliminateHole(int hole, int outerNode) {
+        int bridge = findHoleBridge(hole, outerNode);
+        if (bridge == -1)
+            return outerNode;
+
+        int bridgeReverse = splitPolygon(bridge, hole);
+        filterPoints(bridgeReverse, next[bridgeReverse]);
+        return filterPoints(bridge, next[bridge]);
+    }
+
+    private int findHoleBridge(int hole, int outerNode) {
+        int p = outerNode, m = -1;
+        double hx = x[hole], hy = y[hole], qx = Double.NEGATIVE_INFINITY;
+
+        // find a segment intersected by a ray from the hole's leftmost point to the left
+        do {
+            int n = next[p];
+            if (hy <= y[p] && hy >= y[n] && y[n] != y[p]) {
+                double ix = x[p] + (hy - y[p]) * (x[n] - x[p]) / (y[n] - y[p]);
+                if (ix <= hx && ix > qx) {
+                    qx = ix;
+                    m = x[p] < x[n] ? p : n;
+                    if (ix == hx)
+                        return m;
+                }
+            }
+
+            p = n;
+        } while (p != outerNode);
+
+        if (m == -1)
+            return -1;
+
+        // look for points inside the triangle of hole point, segment intersection and endpoint
+        // and choose the one with the minimum angle to the ray as connection point
+        int stop = m;
+        double mx = x[m], my = y[m], tanMin = Double.POSITIVE_INFINITY;
+        p = m;
+
+        do {
+            if (hx >= x[p] && x[p] >= mx && hx != x[p]
+                    && pointInTriangle(hy < my ? hx : qx, hy, mx, my, hy < my ? qx : hx, hy, x[p], y[p])) {
+                double tan = Math.abs(hy - y[p]) / (hx - x[p]);
+                if (locallyInside(p, hole)
+                        && (tan < tanMin || (tan == tanMin && (x[p] > x[m] || (x[p] == x[m] && sectorContainsSector(m, p)))))) {
+                    m = p;
+                    tanMin = tan;
+                }
+            }
+
+            p = next[p];
+        } while (p != stop);
+
+        return m;
+    }
+
+    private boolean sectorContainsSector(int m, int p) {
+        return area(prev[m], m, prev[p]) < 0 && area(next[p], m, next[m]) < 0;
+    }
+
+    private int getLeftmost(int start) {
+        int p = start, leftmost = start;
+        do {
+            if (x[p] < x[leftmost] || (x[p] == x[leftmost] && y[p] < y[leftmost]))
+                leftmost = p;
+
+            p = next[p];
+        } while (p != start);
+
+        return leftmost;
+    }
+
+    private boolean isValidDiagonal(int a, int b) {
+        return vertex[next[a]] != vertex[b] && vertex[prev[a]] != vertex[b] && !intersectsPolygon(a, b)
+                && (locallyInside(a, b) && locallyInside(b, a) && middleInside(a, b)
+                && (area(prev[a], a, prev[b]) != 0 || area(a, prev[b], b) != 0)
+                || equals(a, b) && area(prev[a], a, next[a]) > 0 && area(prev[b], b, next[b]) > 0);
+    }
+
+    private boolean intersects(int p1, int q1, int p2, int q2) {
+        int o1 = sign(area(p1, q1, p2));
+        int o2 = sign(area(p1, q1, q2));
+        int o3 = sign(area(p2, q2, p1));
+        int o4 = sign(area(p2, q2, q1));
+
+        return o1 != o2 && o3 != o4
+                || o1 == 0 && onSegment(p1, p2, q1)
+                || o2 == 0 && onSegment(p1, q2, q1)
+                || o3 == 0 && onSegment(p2, p1, q2)
+                || o4 == 0 && onSegment(p2, q1, q2);
+    }
+
+    private boolean onSegment(int p, int q, int r) {
+        return x[q] <= Math.max(x[p], x[r]) && x[q] >= Math.min(x[p], x[r])
+                && y[q] <= Math.max(y[p], y[r]) && y[q] >= Math.min(y[p], y[r]);
+    }
+
+    private boolean intersectsPolygon(int a, int b) {
+        int p = a;
+        do {
+            int n = next[p];
+            if (vertex[p] != vertex[a] && vertex[n] != vertex[a] && vertex[p] != vertex[b] && vertex[n] != vertex[b]
+                    && intersects(p, n, a, b))
+                return true;
+
+            p = n;
+        } while (p != a);
+
+        return false;
+    }
+
+    private boolean locallyInside(int a, int b) {
+        return area(prev[a], a, next[a]) < 0 ?
+                area(a, b, next[a]) >= 0 && area(a, prev[a], b) >= 0 :
+                area(a, b, prev[a]) < 0 || area(a, next[a], b) < 0;
+    }
+
+    private boolean middleInside(int a, int b) {
+        int p = a;
+        boolean inside = false;
+        double px = (x[a] + x[b]) / 2, py = (y[a] + y[b]) / 2;
+        do {
+            int n = next[p];
+            if (((y[p] > py) != (y[n] > py)) && y[n] != y[p]
+                    && (px < (x[n] - x[p]) * (py - y[p]) / (y[n] - y[p]) + x[p]))
+                inside = !inside;
+
+            p = n;
+        } while (p != a);
+
+        return inside;
+    }
+
+    private int splitPolygon(int a, int b) {
+        int a2 = createNode(vertex[a], x[a], y[a]);
+        int b2 = createNode(vertex[b], x[b], y[b]);
+        int an = next[a];
+        int bp = prev[b];
+
+        next[a] = b;
+        prev[b] = a;
+        next[a2] = an;
+        prev[an] = a2;
+        next[b2] = a2;
+        prev[a2] = b2;
+        next[bp] = b2;
+        prev[b2] = bp;
+
+        return b2;
+    }
+
+    private int filterPoints(int start, int end) {
+        if (start == -1)
+            return start;
+
+        if (end == -1)
+            end = start;
+
+        int p = start;
+        boolean again;
+        do {
+            again = false;
+            if (!steiner[p] && (equals(p, next[p]) || area(prev[p], p, next[p]) == 0)) {
+                removeNode(p);
+                p = end = prev[p];
+                if (p == next[p])
+                    break;
+
+                again = true;
+            } else {
+                p = next[p];
+            }
+        } while (again || p != end);
+
+        return end;
+    }
+
+    private int linkedList(double[] coordinates, int start, int count, int u, int v, boolean clockwise) {
+        int last = -1;
+        if (clockwise == (signedArea(coordinates, start, count, u, v) > 0)) {
+            for (int i = start; i < start + count; i++)
+                last = insertNode(i, coordinates[i * 3 + u], coordinates[i * 3 + v], last);
+        } else {
+            for (int i = start + count - 1; i >= start; i--)
+                last = insertNode(i, coordinates[i * 3 + u], coordinates[i * 3 + v], last);
+        }
+
+        if (last != -1 && equals(last, next[last])) {
+            removeNode(last);
+            last = next[last];
+        }
+
+        return last;
+    }
+
+    private int insertNode(int i, double px, double py, int last) {
+        int p = createNode(i, px, py);
+        if (last == -1) {
+            prev[p] = p;
+            next[p] = p;
+        } else {
+            next[p] = next[last];
+            prev[p] = last;
+            prev[next[last]] = p;
+            next[last] = p;
+        }
+
+        return p;
+    }
+
+    private int createNode(int i, double px, double py) {
+        if (size == vertex.length) {
+            int capacity = size * 2;
+            vertex = Arrays.copyOf(vertex, capacity);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            next = Arrays.copyOf(next, capacity);
+            steiner = Arrays.copyOf(steiner, capacity);
+        }
+
+        vertex[size] = i;
+        x[size] = px;
+        y[size] = py;
+        steiner[size] = false;
+        return size++;
+    }
+
+    private void removeNode(int p) {
+        prev[next[p]] = prev[p];
+        next[prev[p]] = next[p];
+    }
+
+    private void addTriangle(int a, int b, int c) {
+        if (flip)
+            triangles.addTriangle(vertex[a], vertex[c], vertex[b], 0);
+        else
+            triangles.addTriangle(vertex[a], vertex[b], vertex[c], 0);
+    }
+
+    private double area(int p, int q, int r) {
+        return (y[q] - y[p]) * (x[r] - x[q]) - (x[q] - x[p]) * (y[r] - y[q]);
+    }
+
+    private boolean equals(int p, int q) {
+        return x[p] == x[q] && y[p] == y[q];
+    }
+
+    private void sortByX(int[] nodes, int count) {
+        for (int i = 1; i < count; i++) {
+            int node = nodes[i];
+            int j = i - 1;
+            while (j >= 0 && x[nodes[j]] > x[node]) {
+                nodes[j + 1] = nodes[j];
+                j--;
+            }
+
+            nodes[j + 1] = node;
+        }
+    }
+
+    private static int sign(double value) {
+        return value > 0 ? 1 : value < 0 ? -1 : 0;
+    }
+
+    private static boolean pointInTriangle(double ax, double ay, double bx, double by, double cx, double cy, double px, double py) {
+        return (cx - px) * (ay - py) >= (ax - px) * (cy - py)
+                && (ax - px) * (by - py) >= (bx - px) * (ay - py)
+                && (bx - px) * (cy - py) >= (cx - px) * (by - py);
+    }
+
+    private static double signedArea(double[] coordinates, int start, int count, int u, int v) {
+        double sum = 0;
+        for (int i = start, j = start + count - 1; i < start + count; j = i++)
+            sum += (coordinates[j * 3 + u] - coordinates[i * 3 + u]) * (coordinates[i * 3 + v] + coordinates[j * 3 + v]);
+
+        return sum;
+    }
+
+    private static double getTriangleArea(double[] coordinates, Triangulation triangulation, int u, int v) {
+        double sum = 0;
+        for (int i = 0; i < triangulation.getIndexCount(); i += 3) {
+            int a = triangulation.getIndex(i), b = triangulation.getIndex(i + 1), c = triangulation.getIndex(i + 2);
+            double ux = coordinates[b * 3 + u] - coordinates[a * 3 + u], uy = coordinates[b * 3 + v] - coordinates[a * 3 + v];
+            double vx = coordinates[c * 3 + u] - coordinates[a * 3 + u], vy = coordinates[c * 3 + v] - coordinates[a * 3 + v];
+            sum += Math.abs(ux * vy - uy * vx);
+        }
+
+        // like the shoelace sums, this is twice the area
+        return sum;
+    }
+
+    private static double[] getNormal(double[] coordinates, int count) {
+        // Newell's method is robust for slightly non-planar and concave rings
+        double[] normal = new double[3];
+        for (int i = 0, j = count - 1; i < count; j = i++) {
+            double xi = coordinates[i * 3], yi = coordinates[i * 3 + 1], zi = coordinates[i * 3 + 2];
+            double xj = coordinates[j * 3], yj = coordinates[j * 3 + 1], zj = coordinates[j * 3 + 2];
+            normal[0] += (yj - yi) * (zj + zi);
+            normal[1] += (zj - zi) * (xj + xi);
+            normal[2] += (xj - xi) * (yj + yi);
+        }
+
+        return normal;
+    }
+}
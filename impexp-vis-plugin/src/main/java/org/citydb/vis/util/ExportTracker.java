@@ -34,6 +34,7 @@ public class ExportTracker {
 
     private final ConcurrentHashMap<Long, CityObject4JSON> map;
     private String currentWorkingDirectoryPath;
+    private B3dmWriter b3dmWriter;
 
     public ExportTracker() {
         map = new ConcurrentHashMap<Long, CityObject4JSON>();
@@ -63,4 +64,12 @@ public class ExportTracker {
         this.currentWorkingDirectoryPath = currentWorkingDirectoryPath;
     }
 
+    public B3dmWriter getB3dmWriter() {
+        return b3dmWriter;
+    }
+
+    public void setB3dmWriter(B3dmWriter b3dmWriter) {
+        this.b3dmWriter = b3dmWriter;
+    }
+
 }
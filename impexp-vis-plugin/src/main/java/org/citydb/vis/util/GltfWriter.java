@@ -0,0 +1,926 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.collada._2005._11.colladaschema.*;
+import org.w3c.dom.Element;
+
+import javax.imageio.ImageIO;
+import javax.xml.bind.JAXBElement;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+public class GltfWriter {
+    private static final int GLB_MAGIC = 0x46546C67;
+    private static final int GLB_VERSION = 2;
+    private static final int CHUNK_TYPE_JSON = 0x4E4F534A;
+    private static final int CHUNK_TYPE_BIN = 0x004E4942;
+
+    private static final int ARRAY_BUFFER = 34962;
+    private static final int ELEMENT_ARRAY_BUFFER = 34963;
+    private static final int BYTE = 5120;
+    private static final int UNSIGNED_SHORT = 5123;
+    private static final int UNSIGNED_INT = 5125;
+    private static final int FLOAT = 5126;
+
+    // COLLADA models are Z-up whereas glTF is Y-up
+    private static final double[] Z_UP_TO_Y_UP = {1, 0, 0, 0, 0, 0, -1, 0, 0, 1, 0, 0, 0, 0, 0, 1};
+
+    private final boolean embedTextures;
+    private final boolean quantize;
+
+    private final FloatList positions = new FloatList();
+    private final FloatList normals = new FloatList();
+    private final FloatList texCoords = new FloatList();
+    private final FloatList batchIds = new FloatList();
+    private final Map<String, Primitive> primitives = new LinkedHashMap<>();
+    private final Map<String, Integer> imageIndexes = new HashMap<>();
+    private final List<String> imageNames = new ArrayList<>();
+    private final Map<Integer, byte[]> imageData = new HashMap<>();
+    private final double[] position = new double[3];
+    private final double[] normal = new double[3];
+
+    private boolean hasNormals;
+    private boolean hasTexCoords;
+    private boolean hasBatchIds;
+    private int vertexCount;
+    private String name;
+
+    @FunctionalInterface
+    public interface ImageProvider {
+        byte[] getImageData(String imageName) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface VertexTransformer {
+        void transform(double[] position, double[] normal);
+    }
+
+    public GltfWriter(boolean embedTextures, boolean quantize) {
+        this.embedTextures = embedTextures;
+        this.quantize = quantize;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    public void addModel(COLLADA collada, ImageProvider imageProvider) throws IOException {
+        addModel(collada, null, -1, imageProvider);
+    }
+
+    public void addModel(COLLADA collada, VertexTransformer transformer, int batchId, ImageProvider imageProvider) throws IOException {
+        Mesh mesh = null;
+        Map<String, Material> materials = new HashMap<>();
+        Map<String, Effect> effects = new HashMap<>();
+        Map<String, String> materialBindings = new HashMap<>();
+
+        for (Object library : collada.getLibraryAnimationsOrLibraryAnimationClipsOrLibraryCameras()) {
+            if (library instanceof LibraryGeometries) {
+                for (Geometry geometry : ((LibraryGeometries) library).getGeometry()) {
+                    if (mesh == null)
+                        mesh = geometry.getMesh();
+                }
+            } else if (library instanceof LibraryMaterials) {
+                for (Material material : ((LibraryMaterials) library).getMaterial())
+                    materials.put(material.getId(), material);
+            } else if (library instanceof LibraryEffects) {
+                for (Effect effect : ((LibraryEffects) library).getEffect())
+                    effects.put(effect.getId(), effect);
+            } else if (library instanceof LibraryVisualScenes) {
+                for (VisualScene visualScene : ((LibraryVisualScenes) library).getVisualScene())
+                    collectMaterialBindings(visualScene.getNode(), materialBindings);
+            }
+        }
+
+        if (mesh == null || mesh.getVertices() == null)
+            return;
+
+        Map<String, List<Double>> sources = new HashMap<>();
+        for (Source source : mesh.getSource()) {
+            if (source.getFloatArray() != null)
+                sources.put(source.getId(), source.getFloatArray().getValue());
+        }
+
+        List<Double> positionValues = null;
+        for (InputLocal input : mesh.getVertices().getInput()) {
+            if ("POSITION".equals(input.getSemantic()))
+                positionValues = sources.get(stripHash(input.getSource()));
+        }
+
+        if (positionValues == null)
+            return;
+
+        // COLLADA triangles use separate indexes per input whereas glTF requires a single index per vertex.
+        // unique combinations of input indexes are therefore mapped to new vertices
+        Map<VertexKey, Integer> vertexIndexes = new HashMap<>();
+
+        for (Object item : mesh.getLinesOrLinestripsOrPolygons()) {
+            if (!(item instanceof Triangles))
+                continue;
+
+            Triangles triangles = (Triangles) item;
+            int stride = 0;
+            int positionOffset = -1, normalOffset = -1, texCoordsOffset = -1;
+            List<Double> normalValues = null, texCoordsValues = null;
+
+            for (InputLocalOffset input : triangles.getInput()) {
+                int offset = input.getOffset().intValue();
+                stride = Math.max(stride, offset + 1);
+                if ("VERTEX".equals(input.getSemantic())) {
+                    positionOffset = offset;
+                } else if ("NORMAL".equals(input.getSemantic())) {
+                    normalValues = sources.get(stripHash(input.getSource()));
+                    normalOffset = normalValues != null ? offset : -1;
+                } else if ("TEXCOORD".equals(input.getSemantic())) {
+                    texCoordsValues = sources.get(stripHash(input.getSource()));
+                    texCoordsOffset = texCoordsValues != null ? offset : -1;
+                }
+            }
+
+            if (positionOffset == -1)
+                continue;
+
+            String materialId = stripHash(materialBindings.get(triangles.getMaterial()));
+            Material material = materials.get(materialId);
+            Effect effect = material != null && material.getInstanceEffect() != null ?
+                    effects.get(stripHash(material.getInstanceEffect().getUrl())) :
+                    null;
+
+            ProfileCOMMON profile = getProfileCommon(effect);
+            String textureName = texCoordsOffset != -1 ? getTextureName(profile) : null;
+            if (textureName == null)
+                texCoordsOffset = -1;
+
+            // texture names are only unique per model, so keep the textures of batched models apart
+            String textureKey = textureName != null && batchId != -1 ? batchId + "/" + textureName : textureName;
+
+            String primitiveKey = textureKey != null ? textureKey : String.valueOf(materialId);
+            Primitive primitive = primitives.get(primitiveKey);
+            if (primitive == null) {
+                int textureIndex = textureName != null ? addImage(textureKey, textureName, imageProvider) : -1;
+                primitive = new Primitive(createMaterial(materialId, profile, textureIndex), textureIndex != -1);
+                primitives.put(primitiveKey, primitive);
+            }
+
+            List<BigInteger> p = triangles.getP();
+            for (int i = 0; i + stride <= p.size(); i += stride) {
+                int positionIndex = p.get(i + positionOffset).intValue();
+                int normalIndex = normalOffset != -1 ? p.get(i + normalOffset).intValue() : -1;
+                int texCoordsIndex = texCoordsOffset != -1 ? p.get(i + texCoordsOffset).intValue() : -1;
+
+                VertexKey key = new VertexKey(positionIndex, normalIndex, texCoordsIndex);
+                Integer index = vertexIndexes.get(key);
+                if (index == null) {
+                    index = addVertex(positionValues, positionIndex, normalValues, normalIndex,
+                            texCoordsValues, texCoordsIndex, transformer, batchId);
+                    vertexIndexes.put(key, index);
+                }
+
+                primitive.indexes.add(index);
+            }
+        }
+    }
+
+    public void write(Path file, boolean binary) throws IOException {
+        if (binary) {
+            try (OutputStream stream = Files.newOutputStream(file)) {
+                writeGlb(stream, null);
+            }
+        } else {
+            Encoder encoder = new Encoder();
+            JsonObject gltf = encoder.encode();
+            if (encoder.buffer.position() > 0) {
+                JsonObject buffer = gltf.getAsJsonArray("buffers").get(0).getAsJsonObject();
+                buffer.addProperty("uri", "data:application/octet-stream;base64," +
+                        Base64.getEncoder().encodeToString(Arrays.copyOf(encoder.buffer.array(), encoder.buffer.position())));
+            }
+
+            Files.write(file, new Gson().toJson(gltf).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public void writeGlb(OutputStream stream, JsonObject properties) throws IOException {
+        Encoder encoder = new Encoder();
+        JsonObject gltf = encoder.encode();
+        if (properties != null) {
+            for (String key : properties.keySet())
+                gltf.add(key, properties.get(key));
+        }
+
+        byte[] json = new Gson().toJson(gltf).getBytes(StandardCharsets.UTF_8);
+        int binLength = encoder.buffer.position();
+        int jsonLength = pad(json.length);
+
+        ByteBuffer header = ByteBuffer.allocate(20).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(GLB_MAGIC).putInt(GLB_VERSION).putInt(getGlbLength(json.length, binLength));
+        header.putInt(jsonLength).putInt(CHUNK_TYPE_JSON);
+        stream.write(header.array());
+        stream.write(json);
+        for (int i = json.length; i < jsonLength; i++)
+            stream.write(' ');
+
+        if (binLength > 0) {
+            ByteBuffer chunk = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            chunk.putInt(pad(binLength)).putInt(CHUNK_TYPE_BIN);
+            stream.write(chunk.array());
+            stream.write(encoder.buffer.array(), 0, binLength);
+            for (int i = binLength; i < pad(binLength); i++)
+                stream.write(0);
+        }
+    }
+
+    public byte[] toGlb(JsonObject properties) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writeGlb(stream, properties);
+        return stream.toByteArray();
+    }
+
+    private static int getGlbLength(int jsonLength, int binLength) {
+        return 12 + 8 + pad(jsonLength) + (binLength > 0 ? 8 + pad(binLength) : 0);
+    }
+
+    private int addVertex(List<Double> positionValues, int positionIndex,
+                          List<Double> normalValues, int normalIndex,
+                          List<Double> texCoordsValues, int texCoordsIndex,
+                          VertexTransformer transformer, int batchId) {
+        position[0] = positionValues.get(positionIndex * 3);
+        position[1] = positionValues.get(positionIndex * 3 + 1);
+        position[2] = positionValues.get(positionIndex * 3 + 2);
+
+        if (normalIndex != -1) {
+            normal[0] = normalValues.get(normalIndex * 3);
+            normal[1] = normalValues.get(normalIndex * 3 + 1);
+            normal[2] = normalValues.get(normalIndex * 3 + 2);
+        }
+
+        if (transformer != null)
+            transformer.transform(position, normalIndex != -1 ? normal : null);
+
+        positions.add((float) position[0]);
+        positions.add((float) position[1]);
+        positions.add((float) position[2]);
+
+        if (normalIndex != -1) {
+            if (!hasNormals) {
+                normals.fill(vertexCount * 3);
+                hasNormals = true;
+            }
+
+            normals.add((float) normal[0]);
+            normals.add((float) normal[1]);
+            normals.add((float) normal[2]);
+        } else if (hasNormals) {
+            normals.fill(normals.size() + 3);
+        }
+
+        if (texCoordsIndex != -1) {
+            if (!hasTexCoords) {
+                texCoords.fill(vertexCount * 2);
+                hasTexCoords = true;
+            }
+
+            // the origin of texture coordinates is the upper left corner in glTF
+            texCoords.add(texCoordsValues.get(texCoordsIndex * 2).floatValue());
+            texCoords.add(1 - texCoordsValues.get(texCoordsIndex * 2 + 1).floatValue());
+        } else if (hasTexCoords) {
+            texCoords.fill(texCoords.size() + 2);
+        }
+
+        if (batchId != -1) {
+            if (!hasBatchIds) {
+                batchIds.fill(vertexCount);
+                hasBatchIds = true;
+            }
+
+            batchIds.add(batchId);
+        } else if (hasBatchIds) {
+            batchIds.fill(batchIds.size() + 1);
+        }
+
+        return vertexCount++;
+    }
+
+    private int addImage(String key, String imageName, ImageProvider imageProvider) throws IOException {
+        Integer index = imageIndexes.get(key);
+        if (index == null) {
+            index = imageNames.size();
+            imageIndexes.put(key, index);
+            imageNames.add(imageName);
+            if (embedTextures && imageProvider != null) {
+                byte[] data = toSupportedImageFormat(imageProvider.getImageData(imageName));
+                if (data != null)
+                    imageData.put(index, data);
+            }
+        }
+
+        return index;
+    }
+
+    private JsonObject createMaterial(String materialId, ProfileCOMMON profile, int textureIndex) {
+        JsonObject material = new JsonObject();
+        if (materialId != null)
+            material.addProperty("name", materialId);
+
+        JsonObject pbr = new JsonObject();
+        double[] diffuse = {1, 1, 1, 1};
+        double[] emission = null;
+        boolean doubleSided = false;
+
+        ProfileCOMMON.Technique.Lambert lambert = profile != null && profile.getTechnique() != null ?
+                profile.getTechnique().getLambert() :
+                null;
+
+        if (lambert != null) {
+            if (textureIndex == -1 && lambert.getDiffuse() != null && lambert.getDiffuse().getColor() != null)
+                copyColor(lambert.getDiffuse().getColor().getValue(), diffuse);
+
+            if (lambert.getEmission() != null && lambert.getEmission().getColor() != null) {
+                emission = new double[4];
+                copyColor(lambert.getEmission().getColor().getValue(), emission);
+            }
+
+            // transparency values are written with opaque mode A_ONE and thus denote the opacity
+            if (lambert.getTransparency() != null && lambert.getTransparency().getFloat() != null)
+                diffuse[3] = lambert.getTransparency().getFloat().getValue();
+        }
+
+        if (profile != null) {
+            for (Extra extra : profile.getExtra()) {
+                for (Technique technique : extra.getTechnique()) {
+                    for (Object any : technique.getAny()) {
+                        if (any instanceof Element
+                                && "double_sided".equals(((Element) any).getLocalName())
+                                && "1".equals(((Element) any).getTextContent().trim()))
+                            doubleSided = true;
+                    }
+                }
+            }
+        }
+
+        JsonArray baseColorFactor = new JsonArray();
+        for (double value : diffuse)
+            baseColorFactor.add(value);
+        pbr.add("baseColorFactor", baseColorFactor);
+
+        if (textureIndex != -1) {
+            JsonObject baseColorTexture = new JsonObject();
+            baseColorTexture.addProperty("index", textureIndex);
+            pbr.add("baseColorTexture", baseColorTexture);
+        }
+
+        pbr.addProperty("metallicFactor", 0);
+        pbr.addProperty("roughnessFactor", 1);
+        material.add("pbrMetallicRoughness", pbr);
+
+        if (emission != null && (emission[0] > 0 || emission[1] > 0 || emission[2] > 0)) {
+            JsonArray emissiveFactor = new JsonArray();
+            for (int i = 0; i < 3; i++)
+                emissiveFactor.add(emission[i]);
+            material.add("emissiveFactor", emissiveFactor);
+        }
+
+        if (diffuse[3] < 1)
+            material.addProperty("alphaMode", "BLEND");
+
+        if (doubleSided)
+            material.addProperty("doubleSided", true);
+
+        return material;
+    }
+
+    private void collectMaterialBindings(List<org.collada._2005._11.colladaschema.Node> nodes, Map<String, String> materialBindings) {
+        for (org.collada._2005._11.colladaschema.Node node : nodes) {
+            for (InstanceGeometry instanceGeometry : node.getInstanceGeometry()) {
+                if (instanceGeometry.getBindMaterial() != null && instanceGeometry.getBindMaterial().getTechniqueCommon() != null) {
+                    for (InstanceMaterial instanceMaterial : instanceGeometry.getBindMaterial().getTechniqueCommon().getInstanceMaterial())
+                        materialBindings.put(instanceMaterial.getSymbol(), instanceMaterial.getTarget());
+                }
+            }
+
+            collectMaterialBindings(node.getNode(), materialBindings);
+        }
+    }
+
+    private ProfileCOMMON getProfileCommon(Effect effect) {
+        if (effect != null) {
+            for (JAXBElement<?> profile : effect.getFxProfileAbstract()) {
+                if (profile.getValue() instanceof ProfileCOMMON)
+                    return (ProfileCOMMON) profile.getValue();
+            }
+        }
+
+        return null;
+    }
+
+    private String getTextureName(ProfileCOMMON profile) {
+        if (profile == null
+                || profile.getTechnique() == null
+                || profile.getTechnique().getLambert() == null
+                || profile.getTechnique().getLambert().getDiffuse() == null
+                || profile.getTechnique().getLambert().getDiffuse().getTexture() == null)
+            return null;
+
+        // texture -> sampler -> surface -> image
+        String samplerId = profile.getTechnique().getLambert().getDiffuse().getTexture().getTexture();
+        CommonNewparamType sampler = getNewParam(profile, samplerId);
+        if (sampler == null || sampler.getSampler2D() == null)
+            return null;
+
+        CommonNewparamType surface = getNewParam(profile, sampler.getSampler2D().getSource());
+        if (surface == null || surface.getSurface() == null || surface.getSurface().getInitFrom().isEmpty())
+            return null;
+
+        Object image = surface.getSurface().getInitFrom().get(0).getValue();
+        return image instanceof Image ? ((Image) image).getInitFrom() : null;
+    }
+
+    private CommonNewparamType getNewParam(ProfileCOMMON profile, String sid) {
+        for (Object item : profile.getImageOrNewparam()) {
+            if (item instanceof CommonNewparamType && Objects.equals(((CommonNewparamType) item).getSid(), sid))
+                return (CommonNewparamType) item;
+        }
+
+        return null;
+    }
+
+    private void copyColor(List<Double> values, double[] color) {
+        for (int i = 0; i < values.size() && i < color.length; i++)
+            color[i] = values.get(i);
+    }
+
+    private byte[] toSupportedImageFormat(byte[] data) throws IOException {
+        if (data == null || getMimeType(data) != null)
+            return data;
+
+        // glTF only supports PNG and JPEG images
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(data));
+        if (image == null)
+            return null;
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", stream);
+        return stream.toByteArray();
+    }
+
+    private String getMimeType(byte[] data) {
+        if (data.length > 3 && (data[0] & 0xff) == 0x89 && data[1] == 'P' && data[2] == 'N' && data[3] == 'G')
+            return "image/png";
+        else if (data.length > 2 && (data[0] & 0xff) == 0xff && (data[1] & 0xff) == 0xd8 && (data[2] & 0xff) == 0xff)
+            return "image/jpeg";
+        else
+            return null;
+    }
+
+    private String stripHash(String uri) {
+        return uri != null && uri.startsWith("#") ? uri.substring(1) : uri;
+    }
+
+    private static int pad(int length) {
+        return (length + 3) & ~3;
+    }
+
+    private class Encoder {
+        private final JsonArray bufferViews = new JsonArray();
+        private final JsonArray accessors = new JsonArray();
+        private final ByteBuffer buffer;
+
+        Encoder() {
+            int size = vertexCount * 4 * (3 + 3 + 2 + 1);
+            for (Primitive primitive : primitives.values())
+                size += pad(primitive.indexes.size() * 4);
+            for (byte[] data : imageData.values())
+                size += pad(data.length);
+
+            buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        JsonObject encode() {
+            JsonObject gltf = new JsonObject();
+            JsonObject asset = new JsonObject();
+            asset.addProperty("version", "2.0");
+            asset.addProperty("generator", GltfWriter.class.getPackage().getImplementationTitle() + ", version " +
+                    GltfWriter.class.getPackage().getImplementationVersion());
+            gltf.add("asset", asset);
+
+            if (quantize && vertexCount > 0) {
+                JsonArray extensions = new JsonArray();
+                extensions.add("KHR_mesh_quantization");
+                gltf.add("extensionsUsed", extensions);
+                gltf.add("extensionsRequired", extensions.deepCopy());
+            }
+
+            JsonArray nodes = new JsonArray();
+            JsonObject root = new JsonObject();
+            if (name != null)
+                root.addProperty("name", name);
+
+            JsonArray matrix = new JsonArray();
+            for (double value : Z_UP_TO_Y_UP)
+                matrix.add(value);
+
+            root.add("matrix", matrix);
+            nodes.add(root);
+
+            if (vertexCount > 0) {
+                JsonObject attributes = new JsonObject();
+                JsonObject meshNode = root;
+
+                if (quantize) {
+                    // quantized positions are mapped back to model coordinates by the node transformation
+                    float[] min = new float[3];
+                    float[] scale = new float[3];
+                    attributes.addProperty("POSITION", addQuantizedPositions(min, scale));
+
+                    meshNode = new JsonObject();
+                    JsonArray translation = new JsonArray();
+                    JsonArray scaling = new JsonArray();
+                    for (int i = 0; i < 3; i++) {
+                        translation.add(min[i]);
+                        scaling.add(scale[i]);
+                    }
+
+                    meshNode.add("translation", translation);
+                    meshNode.add("scale", scaling);
+                    JsonArray children = new JsonArray();
+                    children.add(1);
+                    root.add("children", children);
+                    nodes.add(meshNode);
+
+                    if (hasNormals)
+                        attributes.addProperty("NORMAL", addQuantizedNormals());
+                    if (hasTexCoords)
+                        attributes.addProperty("TEXCOORD_0", addQuantizedTexCoords());
+                } else {
+                    attributes.addProperty("POSITION", addFloats(positions, 3, "VEC3", true));
+                    if (hasNormals)
+                        attributes.addProperty("NORMAL", addFloats(normals, 3, "VEC3", false));
+                    if (hasTexCoords)
+                        attributes.addProperty("TEXCOORD_0", addFloats(texCoords, 2, "VEC2", false));
+                }
+
+                if (hasBatchIds)
+                    attributes.addProperty("_BATCHID", addFloats(batchIds, 1, "SCALAR", false));
+
+                JsonArray meshPrimitives = new JsonArray();
+                JsonArray materials = new JsonArray();
+                for (Primitive primitive : primitives.values()) {
+                    if (primitive.indexes.size() == 0)
+                        continue;
+
+                    JsonObject item = new JsonObject();
+                    JsonObject primitiveAttributes = attributes.deepCopy();
+                    if (!primitive.textured)
+                        primitiveAttributes.remove("TEXCOORD_0");
+
+                    item.add("attributes", primitiveAttributes);
+                    item.addProperty("indices", addIndexes(primitive.indexes));
+                    item.addProperty("material", materials.size());
+                    item.addProperty("mode", 4);
+                    meshPrimitives.add(item);
+                    materials.add(primitive.material);
+                }
+
+                JsonObject mesh = new JsonObject();
+                mesh.add("primitives", meshPrimitives);
+                JsonArray meshes = new JsonArray();
+                meshes.add(mesh);
+                meshNode.addProperty("mesh", 0);
+                gltf.add("meshes", meshes);
+                gltf.add("materials", materials);
+
+                if (!imageNames.isEmpty()) {
+                    JsonArray images = new JsonArray();
+                    JsonArray textures = new JsonArray();
+                    for (String imageName : imageNames) {
+                        JsonObject image = new JsonObject();
+                        byte[] data = imageData.get(images.size());
+                        if (data != null) {
+                            image.addProperty("bufferView", addBufferView(data));
+                            image.addProperty("mimeType", getMimeType(data));
+                        } else {
+                            image.addProperty("uri", imageName.replace('\\', '/').replace(" ", "%20"));
+                        }
+
+                        images.add(image);
+                        JsonObject texture = new JsonObject();
+                        texture.addProperty("sampler", 0);
+                        texture.addProperty("source", textures.size());
+                        textures.add(texture);
+                    }
+
+                    JsonObject sampler = new JsonObject();
+                    sampler.addProperty("magFilter", 9729);
+                    sampler.addProperty("minFilter", 9987);
+                    sampler.addProperty("wrapS", 10497);
+                    sampler.addProperty("wrapT", 10497);
+                    JsonArray samplers = new JsonArray();
+                    samplers.add(sampler);
+
+                    gltf.add("images", images);
+                    gltf.add("samplers", samplers);
+                    gltf.add("textures", textures);
+                }
+            }
+
+            JsonArray sceneNodes = new JsonArray();
+            sceneNodes.add(0);
+            JsonObject scene = new JsonObject();
+            scene.add("nodes", sceneNodes);
+            JsonArray scenes = new JsonArray();
+            scenes.add(scene);
+            gltf.addProperty("scene", 0);
+            gltf.add("scenes", scenes);
+            gltf.add("nodes", nodes);
+
+            if (buffer.position() > 0) {
+                JsonObject bufferObject = new JsonObject();
+                bufferObject.addProperty("byteLength", buffer.position());
+                JsonArray buffers = new JsonArray();
+                buffers.add(bufferObject);
+                gltf.add("accessors", accessors);
+                gltf.add("bufferViews", bufferViews);
+                gltf.add("buffers", buffers);
+            }
+
+            return gltf;
+        }
+
+        private int addFloats(FloatList values, int components, String type, boolean bounds) {
+            int start = beginBufferView();
+            float[] min = new float[components];
+            float[] max = new float[components];
+            Arrays.fill(min, Float.MAX_VALUE);
+            Arrays.fill(max, -Float.MAX_VALUE);
+
+            for (int i = 0; i < values.size(); i++) {
+                float value = values.get(i);
+                buffer.putFloat(value);
+                min[i % components] = Math.min(min[i % components], value);
+                max[i % components] = Math.max(max[i % components], value);
+            }
+
+            JsonObject accessor = createAccessor(endBufferView(start, 0, ARRAY_BUFFER), FLOAT, false, vertexCount, type);
+            if (bounds) {
+                accessor.add("min", toJsonArray(min));
+                accessor.add("max", toJsonArray(max));
+            }
+
+            return addAccessor(accessor);
+        }
+
+        private int addQuantizedPositions(float[] min, float[] scale) {
+            float[] max = new float[3];
+            Arrays.fill(min, Float.MAX_VALUE);
+            Arrays.fill(max, -Float.MAX_VALUE);
+            for (int i = 0; i < positions.size(); i++) {
+                min[i % 3] = Math.min(min[i % 3], positions.get(i));
+                max[i % 3] = Math.max(max[i % 3], positions.get(i));
+            }
+
+            for (int i = 0; i < 3; i++)
+                scale[i] = max[i] > min[i] ? (max[i] - min[i]) / 65535 : 1;
+
+            // vertex attributes must be aligned to 4 bytes, so three shorts are padded to 8 bytes
+            int start = beginBufferView();
+            int[] quantizedMax = new int[3];
+            for (int i = 0; i < positions.size(); i += 3) {
+                for (int j = 0; j < 3; j++) {
+                    int value = Math.max(0, Math.min(65535, Math.round((positions.get(i + j) - min[j]) / scale[j])));
+                    quantizedMax[j] = Math.max(quantizedMax[j], value);
+                    buffer.putShort((short) value);
+                }
+
+                buffer.putShort((short) 0);
+            }
+
+            JsonObject accessor = createAccessor(endBufferView(start, 8, ARRAY_BUFFER), UNSIGNED_SHORT, false, vertexCount, "VEC3");
+            JsonArray accessorMin = new JsonArray();
+            JsonArray accessorMax = new JsonArray();
+            for (int i = 0; i < 3; i++) {
+                accessorMin.add(0);
+                accessorMax.add(quantizedMax[i]);
+            }
+
+            accessor.add("min", accessorMin);
+            accessor.add("max", accessorMax);
+            return addAccessor(accessor);
+        }
+
+        private int addQuantizedNormals() {
+            int start = beginBufferView();
+            for (int i = 0; i < normals.size(); i += 3) {
+                for (int j = 0; j < 3; j++)
+                    buffer.put((byte) Math.max(-127, Math.min(127, Math.round(normals.get(i + j) * 127))));
+
+                buffer.put((byte) 0);
+            }
+
+            return addAccessor(createAccessor(endBufferView(start, 4, ARRAY_BUFFER), BYTE, true, vertexCount, "VEC3"));
+        }
+
+        private int addQuantizedTexCoords() {
+            for (int i = 0; i < texCoords.size(); i++) {
+                if (texCoords.get(i) < 0 || texCoords.get(i) > 1)
+                    return addFloats(texCoords, 2, "VEC2", false);
+            }
+
+            int start = beginBufferView();
+            for (int i = 0; i < texCoords.size(); i++)
+                buffer.putShort((short) Math.round(texCoords.get(i) * 65535));
+
+            return addAccessor(createAccessor(endBufferView(start, 0, ARRAY_BUFFER), UNSIGNED_SHORT, true, vertexCount, "VEC2"));
+        }
+
+        private int addIndexes(IntList indexes) {
+            boolean useShort = vertexCount < 65535;
+            int start = beginBufferView();
+            for (int i = 0; i < indexes.size(); i++) {
+                if (useShort)
+                    buffer.putShort((short) indexes.get(i));
+                else
+                    buffer.putInt(indexes.get(i));
+            }
+
+            return addAccessor(createAccessor(endBufferView(start, 0, ELEMENT_ARRAY_BUFFER),
+                    useShort ? UNSIGNED_SHORT : UNSIGNED_INT, false, indexes.size(), "SCALAR"));
+        }
+
+        private int addBufferView(byte[] data) {
+            int start = beginBufferView();
+            buffer.put(data);
+            return endBufferView(start, 0, 0);
+        }
+
+        private int beginBufferView() {
+            while (buffer.position() % 4 != 0)
+                buffer.put((byte) 0);
+
+            return buffer.position();
+        }
+
+        private int endBufferView(int start, int byteStride, int target) {
+            JsonObject bufferView = new JsonObject();
+            bufferView.addProperty("buffer", 0);
+            bufferView.addProperty("byteOffset", start);
+            bufferView.addProperty("byteLength", buffer.position() - start);
+            if (byteStride > 0)
+                bufferView.addProperty("byteStride", byteStride);
+            if (target > 0)
+                bufferView.addProperty("target", target);
+
+            bufferViews.add(bufferView);
+            return bufferViews.size() - 1;
+        }
+
+        private JsonObject createAccessor(int bufferView, int componentType, boolean normalized, int count, String type) {
+            JsonObject accessor = new JsonObject();
+            accessor.addProperty("bufferView", bufferView);
+            accessor.addProperty("componentType", componentType);
+            if (normalized)
+                accessor.addProperty("normalized", true);
+            accessor.addProperty("count", count);
+            accessor.addProperty("type", type);
+            return accessor;
+        }
+
+        private int addAccessor(JsonObject accessor) {
+            accessors.add(accessor);
+            return accessors.size() - 1;
+        }
+
+        private JsonArray toJsonArray(float[] values) {
+            JsonArray array = new JsonArray();
+            for (float value : values)
+                array.add(value);
+
+            return array;
+        }
+    }
+
+    private static class VertexKey {
+        private final int position;
+        private final int normal;
+        private final int texCoords;
+
+        VertexKey(int position, int normal, int texCoords) {
+            this.position = position;
+            this.normal = normal;
+            this.texCoords = texCoords;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof VertexKey))
+                return false;
+
+            VertexKey other = (VertexKey) obj;
+            return position == other.position && normal == other.normal && texCoords == other.texCoords;
+        }
+
+        @Override
+        public int hashCode() {
+            return (position * 31 + normal) * 31 + texCoords;
+        }
+    }
+
+    private static class Primitive {
+        private final IntList indexes = new IntList();
+        private final JsonObject material;
+        private final boolean textured;
+
+        Primitive(JsonObject material, boolean textured) {
+            this.material = material;
+            this.textured = textured;
+        }
+    }
+
+    private static class FloatList {
+        private float[] values = new float[1024];
+        private int size;
+
+        void add(float value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+
+            values[size++] = value;
+        }
+
+        void fill(int newSize) {
+            while (size < newSize)
+                add(0);
+        }
+
+        float get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
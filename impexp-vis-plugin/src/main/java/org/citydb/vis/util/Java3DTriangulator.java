@@ -0,0 +1,100 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import com.sun.j3d.utils.geometry.GeometryInfo;
+import com.sun.j3d.utils.geometry.NormalGenerator;
+
+import javax.vecmath.Vector3f;
+
+public class Java3DTriangulator implements Triangulator {
+    private static final byte[] EDGES = {0, 1, 1, 2, 2, 0};
+
+    @Override
+    public boolean triangulate(double[] coordinates, int[] ringSizes, Triangulation result) {
+        GeometryInfo ginfo = new GeometryInfo(GeometryInfo.POLYGON_ARRAY);
+        ginfo.setCoordinates(coordinates);
+        ginfo.setContourCounts(new int[]{ringSizes.length});
+        ginfo.setStripCounts(ringSizes);
+        int outerRingCount = ringSizes[0];
+
+        // triangulate the surface geometry
+        ginfo.convertToIndexedTriangles();
+
+        // generate normals
+        NormalGenerator ng = new NormalGenerator();
+        ng.generateNormals(ginfo);
+
+        int[] indexes = ginfo.getCoordinateIndices();
+        int[] normalIndexes = ginfo.getNormalIndices();
+        Vector3f[] normals = ginfo.getNormals();
+
+        // fix a reversed orientation of the triangulated surface
+        boolean hasFound = false;
+        boolean reverse = false;
+
+        for (int i = 0; !hasFound && i < indexes.length; i += 3) {
+            // skip degenerated triangles
+            if (indexes[i] == indexes[i + 1] || indexes[i + 1] == indexes[i + 2] || indexes[i] == indexes[i + 2])
+                continue;
+
+            // find the first edge on the exterior ring
+            for (int j = 0; j < EDGES.length; j += 2) {
+                int first = i + EDGES[j];
+                int second = i + EDGES[j + 1];
+
+                if (indexes[first] < outerRingCount && indexes[second] < outerRingCount && Math.abs(indexes[first] - indexes[second]) == 1) {
+                    // ok, we found it. now check the order of the vertex indices
+                    hasFound = true;
+                    if (indexes[first] > indexes[second])
+                        reverse = true;
+
+                    break;
+                }
+            }
+        }
+
+        // reverse indexes and normals
+        if (reverse) {
+            ginfo.reverse();
+            for (Vector3f normal : normals)
+                normal.negate();
+        }
+
+        result.clear();
+        for (Vector3f normal : normals)
+            result.addNormal(normal.x, normal.y, normal.z);
+
+        for (int i = 0; i + 2 < indexes.length; i += 3) {
+            result.addTriangle(indexes[i], indexes[i + 1], indexes[i + 2],
+                    normalIndexes[i], normalIndexes[i + 1], normalIndexes[i + 2]);
+        }
+
+        return true;
+    }
+}
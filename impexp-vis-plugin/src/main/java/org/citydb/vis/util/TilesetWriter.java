@@ -0,0 +1,131 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.citydb.config.geometry.BoundingBox;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+public class TilesetWriter {
+    private static final String VERSION = "1.0";
+
+    private final JsonArray children = new JsonArray();
+    private final double[] region = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE,
+            Double.MAX_VALUE, -Double.MAX_VALUE};
+
+    public boolean isEmpty() {
+        return children.size() == 0;
+    }
+
+    public void addTile(BoundingBox tileExtent, Collection<CityObject4JSON> features, B3dmWriter content, String uri) {
+        // features are assigned to tiles by their center point and may therefore exceed the tile extent
+        double[] tileRegion = {
+                tileExtent.getLowerCorner().getX(),
+                tileExtent.getLowerCorner().getY(),
+                tileExtent.getUpperCorner().getX(),
+                tileExtent.getUpperCorner().getY(),
+                content.getMinHeight(),
+                content.getMaxHeight()
+        };
+
+        for (CityObject4JSON feature : features) {
+            tileRegion[0] = Math.min(tileRegion[0], feature.getEnvelopeXmin());
+            tileRegion[1] = Math.min(tileRegion[1], feature.getEnvelopeYmin());
+            tileRegion[2] = Math.max(tileRegion[2], feature.getEnvelopeXmax());
+            tileRegion[3] = Math.max(tileRegion[3], feature.getEnvelopeYmax());
+        }
+
+        JsonObject tile = new JsonObject();
+        tile.add("boundingVolume", createBoundingVolume(tileRegion));
+        tile.addProperty("geometricError", 0);
+
+        JsonObject tileContent = new JsonObject();
+        tileContent.addProperty("uri", uri);
+        tile.add("content", tileContent);
+        children.add(tile);
+
+        region[0] = Math.min(region[0], tileRegion[0]);
+        region[1] = Math.min(region[1], tileRegion[1]);
+        region[2] = Math.max(region[2], tileRegion[2]);
+        region[3] = Math.max(region[3], tileRegion[3]);
+        region[4] = Math.min(region[4], tileRegion[4]);
+        region[5] = Math.max(region[5], tileRegion[5]);
+    }
+
+    public void write(Path file) throws IOException {
+        JsonObject asset = new JsonObject();
+        asset.addProperty("version", VERSION);
+        asset.addProperty("generator", getClass().getPackage().getImplementationTitle());
+
+        // the tiles are refined once the root region covers a reasonable part of the screen
+        double geometricError = getGeometricError(region);
+
+        JsonObject root = new JsonObject();
+        root.add("boundingVolume", createBoundingVolume(region));
+        root.addProperty("geometricError", geometricError);
+        root.addProperty("refine", "ADD");
+        root.add("children", children);
+
+        JsonObject tileset = new JsonObject();
+        tileset.add("asset", asset);
+        tileset.addProperty("geometricError", geometricError);
+        tileset.add("root", root);
+
+        Files.write(file, new GsonBuilder().setPrettyPrinting().create().toJson(tileset)
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private JsonObject createBoundingVolume(double[] region) {
+        JsonArray values = new JsonArray();
+        for (int i = 0; i < 4; i++)
+            values.add(Math.toRadians(region[i]));
+
+        values.add(region[4]);
+        values.add(region[5]);
+
+        JsonObject boundingVolume = new JsonObject();
+        boundingVolume.add("region", values);
+        return boundingVolume;
+    }
+
+    private double getGeometricError(double[] region) {
+        double[] lowerCorner = B3dmWriter.toCartesian(region[0], region[1], region[4]);
+        double[] upperCorner = B3dmWriter.toCartesian(region[2], region[3], region[5]);
+        double dx = upperCorner[0] - lowerCorner[0];
+        double dy = upperCorner[1] - lowerCorner[1];
+        double dz = upperCorner[2] - lowerCorner[2];
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import java.util.Arrays;
+
+public class Triangulation {
+    private int[] indexes = new int[48];
+    private int[] normalIndexes = new int[48];
+    private float[] normals = new float[24];
+    private int indexCount;
+    private int normalCount;
+
+    public void clear() {
+        indexCount = 0;
+        normalCount = 0;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    public int getIndex(int i) {
+        return indexes[i];
+    }
+
+    public int getNormalIndex(int i) {
+        return normalIndexes[i];
+    }
+
+    public int getNormalCount() {
+        return normalCount;
+    }
+
+    public float getNormal(int i, int dimension) {
+        return normals[i * 3 + dimension];
+    }
+
+    public int addNormal(float x, float y, float z) {
+        if (normalCount * 3 + 3 > normals.length)
+            normals = Arrays.copyOf(normals, normals.length * 2);
+
+        normals[normalCount * 3] = x;
+        normals[normalCount * 3 + 1] = y;
+        normals[normalCount * 3 + 2] = z;
+        return normalCount++;
+    }
+
+    public void addTriangle(int a, int b, int c, int normalIndex) {
+        addTriangle(a, b, c, normalIndex, normalIndex, normalIndex);
+    }
+
+    public void addTriangle(int a, int b, int c, int normalA, int normalB, int normalC) {
+        if (indexCount + 3 > indexes.length) {
+            indexes = Arrays.copyOf(indexes, indexes.length * 2);
+            normalIndexes = Arrays.copyOf(normalIndexes, normalIndexes.length * 2);
+        }
+
+        indexes[indexCount] = a;
+        normalIndexes[indexCount++] = normalA;
+        indexes[indexCount] = b;
+        normalIndexes[indexCount++] = normalB;
+        indexes[indexCount] = c;
+        normalIndexes[indexCount++] = normalC;
+    }
+}
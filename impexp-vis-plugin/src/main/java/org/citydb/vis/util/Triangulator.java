@@ -0,0 +1,40 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+public interface Triangulator {
+    /**
+     * Triangulates a planar polygon given as a sequence of rings.
+     *
+     * @param coordinates the xyz coordinates of all rings without repeating the first point of a ring
+     * @param ringSizes   the number of points of each ring, the first ring is the exterior
+     * @param result      receives the vertex indexes and normals of the triangles
+     * @return {@code false} if the polygon could not be triangulated
+     */
+    boolean triangulate(double[] coordinates, int[] ringSizes, Triangulation result);
+}
@@ -0,0 +1,165 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import java.util.Arrays;
+
+/**
+ * Assigns an index to each distinct vertex. Two vertices are treated as equal if their
+ * coordinates differ by at most the tolerance on every axis, and a vertex is mapped to the
+ * first vertex that was added within that distance.
+ * <p>
+ * Vertices are hashed by their coordinates rounded to a grid whose cell size is the
+ * tolerance. A vertex within the tolerance of a stored vertex may have been rounded into a
+ * neighbouring cell, so neighbouring cells are searched as well before a new index is
+ * assigned.
+ */
+public class VertexIndex {
+    private final double tolerance;
+    private final double precision;
+    private int[] slots;
+    private long[] keys;
+    private double[] coordinates;
+    private int size;
+
+    public VertexIndex(double tolerance) {
+        this(tolerance, 64);
+    }
+
+    public VertexIndex(double tolerance, int expectedSize) {
+        this.tolerance = tolerance;
+        precision = 1 / tolerance;
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        slots = new int[capacity];
+        keys = new long[capacity / 2 * 3];
+        coordinates = new double[capacity / 2 * 3];
+    }
+
+    public int add(double x, double y, double z) {
+        long kx = Math.round(x * precision);
+        long ky = Math.round(y * precision);
+        long kz = Math.round(z * precision);
+
+        int index = find(kx, ky, kz);
+        if (index != -1)
+            return index;
+
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    if (dx == 0 && dy == 0 && dz == 0)
+                        continue;
+
+                    index = find(kx + dx, ky + dy, kz + dz);
+                    if (index != -1
+                            && Math.abs(coordinates[index * 3] - x) <= tolerance
+                            && Math.abs(coordinates[index * 3 + 1] - y) <= tolerance
+                            && Math.abs(coordinates[index * 3 + 2] - z) <= tolerance)
+                        return index;
+                }
+            }
+        }
+
+        index = size++;
+        if (size * 3 > keys.length) {
+            keys = Arrays.copyOf(keys, keys.length * 2);
+            coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+        }
+
+        keys[index * 3] = kx;
+        keys[index * 3 + 1] = ky;
+        keys[index * 3 + 2] = kz;
+        coordinates[index * 3] = x;
+        coordinates[index * 3 + 1] = y;
+        coordinates[index * 3 + 2] = z;
+        insert(index, slots);
+
+        // keep the load factor at or below one half
+        if (size * 2 > slots.length)
+            rehash(slots.length * 2);
+
+        return index;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int index) {
+        return coordinates[index * 3];
+    }
+
+    public double getY(int index) {
+        return coordinates[index * 3 + 1];
+    }
+
+    public double getZ(int index) {
+        return coordinates[index * 3 + 2];
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    private int find(long kx, long ky, long kz) {
+        int mask = slots.length - 1;
+        int slot = hash(kx, ky, kz) & mask;
+        while (slots[slot] != 0) {
+            int index = slots[slot] - 1;
+            if (keys[index * 3] == kx && keys[index * 3 + 1] == ky && keys[index * 3 + 2] == kz)
+                return index;
+
+            slot = (slot + 1) & mask;
+        }
+
+        return -1;
+    }
+
+    private void insert(int index, int[] slots) {
+        int mask = slots.length - 1;
+        int slot = hash(keys[index * 3], keys[index * 3 + 1], keys[index * 3 + 2]) & mask;
+        while (slots[slot] != 0)
+            slot = (slot + 1) & mask;
+
+        slots[slot] = index + 1;
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        for (int index = 0; index < size; index++)
+            insert(index, slots);
+    }
+
+    private int hash(long x, long y, long z) {
+        long h = x * 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 29) ^ y) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 32) ^ z) * 0x94D049BB133111EBL;
+        return (int) (h ^ (h >>> 31));
+    }
+}
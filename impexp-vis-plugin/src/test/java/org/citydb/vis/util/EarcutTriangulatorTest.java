@@ -0,0 +1,378 @@
+/*
+ * 3D City Database - The Open Source CityGML Database
+ * https://www.3dcitydb.org/
+ *
+ * Copyright 2013 - 2024
+ * Chair of Geoinformatics
+ * Technical University of Munich, Germany
+ * https://www.lrg.tum.de/gis/
+ *
+ * The 3D City Database is jointly developed with the following
+ * cooperation partners:
+ *
+ * Virtual City Systems, Berlin <https://vc.systems/>
+ * M.O.S.S. Computer Grafik Systeme GmbH, Taufkirchen <http://www.moss.de/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.citydb.vis.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the earcut triangulation with the output of the Java3D based triangulation
+ * that has been used for COLLADA and glTF surfaces before. As both algorithms may pick
+ * different triangles, the outputs are compared by the region they cover, which is
+ * sampled on a grid, and by the normals assigned to each vertex.
+ */
+class EarcutTriangulatorTest {
+    private static final double TOLERANCE = 1e-6;
+    private static final int SAMPLES = 60;
+
+    @Test
+    void concaveRing() {
+        assertSameAsJava3D(new double[]{
+                0, 0, 0, 10, 0, 0, 10, 4, 0, 4, 4, 0, 4, 10, 0, 0, 10, 0
+        }, 6);
+    }
+
+    @Test
+    void concaveClockwiseRing() {
+        assertSameAsJava3D(new double[]{
+                0, 0, 0, 0, 10, 0, 4, 10, 0, 4, 4, 0, 10, 4, 0, 10, 0, 0
+        }, 6);
+    }
+
+    @Test
+    void starShapedRing() {
+        int points = 24;
+        double[] coordinates = new double[points * 3];
+        for (int i = 0; i < points; i++) {
+            double radius = i % 2 == 0 ? 10 : 3;
+            double angle = 2 * Math.PI * i / points;
+            coordinates[i * 3] = 100 + radius * Math.cos(angle);
+            coordinates[i * 3 + 1] = 200 + radius * Math.sin(angle);
+            coordinates[i * 3 + 2] = 50;
+        }
+
+        assertSameAsJava3D(coordinates, points);
+    }
+
+    @Test
+    void ringWithHoles() {
+        assertSameAsJava3D(new double[]{
+                0, 0, 0, 10, 0, 0, 10, 10, 0, 0, 10, 0,
+                2, 2, 0, 2, 4, 0, 4, 4, 0, 4, 2, 0,
+                6, 6, 0, 6, 8, 0, 8, 8, 0, 8, 6, 0
+        }, 4, 4, 4);
+    }
+
+    @Test
+    void verticalWall() {
+        assertSameAsJava3D(new double[]{
+                0, 0, 0, 10, 0, 0, 10, 0, 6, 0, 0, 6
+        }, 4);
+    }
+
+    @Test
+    void verticalWallWithDoor() {
+        assertSameAsJava3D(new double[]{
+                0, 5, 0, 0, 5, 6, 0, 0, 6, 0, 0, 0, 0, 2, 0, 0, 2, 2, 0, 3, 2, 0, 3, 0
+        }, 8);
+    }
+
+    @Test
+    void slopedRoofWithHole() {
+        assertSameAsJava3D(new double[]{
+                0, 0, 10, 8, 0, 10, 8, 6, 14, 0, 6, 14,
+                2, 2, 11 + 1 / 3d, 2, 4, 12 + 2 / 3d, 4, 4, 12 + 2 / 3d, 4, 2, 11 + 1 / 3d
+        }, 4, 4);
+    }
+
+    @Test
+    void duplicatePoints() {
+        assertSameAsJava3D(new double[]{
+                0, 0, 0, 10, 0, 0, 10, 0, 0, 10, 10, 0, 5, 10, 0, 5, 10, 0, 0, 10, 0
+        }, 7);
+    }
+
+    @Test
+    void selfIntersectingRingUsesFallback() {
+        assertFallback(new double[]{
+                0, 0, 0, 10, 10, 0, 10, 0, 0, 0, 10, 0
+        }, 4);
+    }
+
+    @Test
+    void collinearRingUsesFallback() {
+        assertFallback(new double[]{
+                0, 0, 0, 5, 0, 0, 10, 0, 0, 7, 0, 0
+        }, 4);
+    }
+
+    @Test
+    void tooFewPointsUseFallback() {
+        assertFallback(new double[]{
+                0, 0, 0, 10, 0, 0
+        }, 2);
+    }
+
+    private void assertSameAsJava3D(double[] coordinates, int... ringSizes) {
+        MarkerTriangulator fallback = new MarkerTriangulator();
+        Triangulation earcut = new Triangulation();
+        Triangulation java3D = new Triangulation();
+
+        assertTrue(new EarcutTriangulator(fallback).triangulate(coordinates, ringSizes, earcut));
+        assertEquals(0, fallback.calls, "earcut must not use the fallback");
+        assertTrue(new Java3DTriangulator().triangulate(coordinates, ringSizes, java3D));
+
+        double[] normal = getUnitNormal(coordinates, 0, ringSizes[0]);
+        int[] axes = getProjectionAxes(normal);
+
+        // both triangulations must cover the same region, which is the polygon itself
+        double area = getPolygonArea(coordinates, ringSizes);
+        assertEquals(getTriangleArea(coordinates, java3D), getTriangleArea(coordinates, earcut), TOLERANCE * area);
+        assertSameCoverage(coordinates, ringSizes, earcut, java3D, axes);
+        assertEdgesInside(coordinates, ringSizes, earcut, axes);
+
+        assertWinding(coordinates, earcut, normal);
+        assertWinding(coordinates, java3D, normal);
+        assertSameNormals(coordinates, earcut, java3D);
+    }
+
+    private void assertFallback(double[] coordinates, int... ringSizes) {
+        MarkerTriangulator fallback = new MarkerTriangulator();
+        Triangulation result = new Triangulation();
+
+        assertTrue(new EarcutTriangulator(fallback).triangulate(coordinates, ringSizes, result));
+        assertEquals(1, fallback.calls, "degenerate input must reach the fallback");
+
+        // the result must consist of the fallback output only
+        assertEquals(3, result.getIndexCount());
+        assertEquals(1, result.getNormalCount());
+        assertEquals(MarkerTriangulator.MARKER, result.getNormal(0, 2));
+    }
+
+    private void assertSameCoverage(double[] coordinates, int[] ringSizes, Triangulation earcut, Triangulation java3D, int[] axes) {
+        int u = axes[0], v = axes[1];
+        double minU = Double.MAX_VALUE, maxU = -Double.MAX_VALUE, minV = Double.MAX_VALUE, maxV = -Double.MAX_VALUE;
+        for (int i = 0; i < coordinates.length; i += 3) {
+            minU = Math.min(minU, coordinates[i + u]);
+            maxU = Math.max(maxU, coordinates[i + u]);
+            minV = Math.min(minV, coordinates[i + v]);
+            maxV = Math.max(maxV, coordinates[i + v]);
+        }
+
+        // sample at irrational offsets so that no sample hits an edge
+        for (int i = 0; i < SAMPLES; i++) {
+            for (int j = 0; j < SAMPLES; j++) {
+                double pu = minU + (maxU - minU) * (i + 0.4142135) / SAMPLES;
+                double pv = minV + (maxV - minV) * (j + 0.7320508) / SAMPLES;
+                boolean inside = isInsidePolygon(coordinates, ringSizes, pu, pv, u, v);
+                assertEquals(inside, isCovered(coordinates, earcut, pu, pv, u, v),
+                        "earcut coverage differs from the polygon at (" + pu + ", " + pv + ")");
+                assertEquals(inside, isCovered(coordinates, java3D, pu, pv, u, v),
+                        "Java3D coverage differs from the polygon at (" + pu + ", " + pv + ")");
+            }
+        }
+    }
+
+    private void assertEdgesInside(double[] coordinates, int[] ringSizes, Triangulation triangulation, int[] axes) {
+        int u = axes[0], v = axes[1];
+        for (int i = 0; i < triangulation.getIndexCount(); i += 3) {
+            for (int j = 0; j < 3; j++) {
+                int a = triangulation.getIndex(i + j) * 3;
+                int b = triangulation.getIndex(i + (j + 1) % 3) * 3;
+                for (double t = 0.25; t < 1; t += 0.25) {
+                    double pu = coordinates[a + u] + t * (coordinates[b + u] - coordinates[a + u]);
+                    double pv = coordinates[a + v] + t * (coordinates[b + v] - coordinates[a + v]);
+                    assertTrue(isOnBoundary(coordinates, ringSizes, pu, pv, u, v)
+                                    || isInsidePolygon(coordinates, ringSizes, pu, pv, u, v),
+                            "edge of triangle " + i / 3 + " leaves the polygon");
+                }
+            }
+        }
+    }
+
+    private void assertWinding(double[] coordinates, Triangulation triangulation, double[] normal) {
+        for (int i = 0; i < triangulation.getIndexCount(); i += 3) {
+            double[] cross = getCross(coordinates, triangulation.getIndex(i),
+                    triangulation.getIndex(i + 1), triangulation.getIndex(i + 2));
+
+            // skip degenerated triangles
+            double length = length(cross);
+            if (length >= TOLERANCE)
+                assertTrue(dot(cross, normal) / length > 1 - TOLERANCE, "triangle " + i / 3 + " has the wrong winding");
+        }
+    }
+
+    private void assertSameNormals(double[] coordinates, Triangulation earcut, Triangulation java3D) {
+        Map<Integer, double[]> java3DNormals = new HashMap<>();
+        for (int i = 0; i < java3D.getIndexCount(); i += 3) {
+            if (length(getCross(coordinates, java3D.getIndex(i), java3D.getIndex(i + 1), java3D.getIndex(i + 2))) < TOLERANCE)
+                continue;
+
+            for (int j = i; j < i + 3; j++)
+                java3DNormals.putIfAbsent(java3D.getIndex(j), getNormal(java3D, java3D.getNormalIndex(j)));
+        }
+
+        for (int i = 0; i < earcut.getIndexCount(); i++) {
+            double[] expected = java3DNormals.get(earcut.getIndex(i));
+            if (expected != null) {
+                double[] actual = getNormal(earcut, earcut.getNormalIndex(i));
+                assertTrue(dot(expected, actual) / (length(expected) * length(actual)) > 0.999,
+                        "normal of vertex " + earcut.getIndex(i) + " differs from the Java3D normal");
+            }
+        }
+    }
+
+    private boolean isInsidePolygon(double[] coordinates, int[] ringSizes, double pu, double pv, int u, int v) {
+        // even-odd rule over all rings
+        boolean inside = false;
+        for (int ring = 0, start = 0; ring < ringSizes.length; start += ringSizes[ring++]) {
+            for (int i = 0, j = ringSizes[ring] - 1; i < ringSizes[ring]; j = i++) {
+                double ui = coordinates[(start + i) * 3 + u], vi = coordinates[(start + i) * 3 + v];
+                double uj = coordinates[(start + j) * 3 + u], vj = coordinates[(start + j) * 3 + v];
+                if ((vi > pv) != (vj > pv) && pu < (uj - ui) * (pv - vi) / (vj - vi) + ui)
+                    inside = !inside;
+            }
+        }
+
+        return inside;
+    }
+
+    private boolean isOnBoundary(double[] coordinates, int[] ringSizes, double pu, double pv, int u, int v) {
+        for (int ring = 0, start = 0; ring < ringSizes.length; start += ringSizes[ring++]) {
+            for (int i = 0, j = ringSizes[ring] - 1; i < ringSizes[ring]; j = i++) {
+                double ui = coordinates[(start + i) * 3 + u], vi = coordinates[(start + i) * 3 + v];
+                double uj = coordinates[(start + j) * 3 + u], vj = coordinates[(start + j) * 3 + v];
+                double cross = (uj - ui) * (pv - vi) - (vj - vi) * (pu - ui);
+                double length = Math.hypot(uj - ui, vj - vi);
+                if (Math.abs(cross) <= TOLERANCE * Math.max(length, 1)
+                        && pu >= Math.min(ui, uj) - TOLERANCE && pu <= Math.max(ui, uj) + TOLERANCE
+                        && pv >= Math.min(vi, vj) - TOLERANCE && pv <= Math.max(vi, vj) + TOLERANCE)
+                    return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isCovered(double[] coordinates, Triangulation triangulation, double pu, double pv, int u, int v) {
+        for (int i = 0; i < triangulation.getIndexCount(); i += 3) {
+            int a = triangulation.getIndex(i) * 3;
+            int b = triangulation.getIndex(i + 1) * 3;
+            int c = triangulation.getIndex(i + 2) * 3;
+            double d1 = side(coordinates[a + u], coordinates[a + v], coordinates[b + u], coordinates[b + v], pu, pv);
+            double d2 = side(coordinates[b + u], coordinates[b + v], coordinates[c + u], coordinates[c + v], pu, pv);
+            double d3 = side(coordinates[c + u], coordinates[c + v], coordinates[a + u], coordinates[a + v], pu, pv);
+            if ((d1 > 0 && d2 > 0 && d3 > 0) || (d1 < 0 && d2 < 0 && d3 < 0))
+                return true;
+        }
+
+        return false;
+    }
+
+    private double side(double au, double av, double bu, double bv, double pu, double pv) {
+        return (bu - au) * (pv - av) - (bv - av) * (pu - au);
+    }
+
+    private int[] getProjectionAxes(double[] normal) {
+        int axis = Math.abs(normal[0]) > Math.abs(normal[1]) ?
+                (Math.abs(normal[0]) > Math.abs(normal[2]) ? 0 : 2) :
+                (Math.abs(normal[1]) > Math.abs(normal[2]) ? 1 : 2);
+        return new int[]{(axis + 1) % 3, (axis + 2) % 3};
+    }
+
+    private double getPolygonArea(double[] coordinates, int[] ringSizes) {
+        double area = length(getNewellNormal(coordinates, 0, ringSizes[0])) / 2;
+        for (int i = 1, start = ringSizes[0]; i < ringSizes.length; start += ringSizes[i++])
+            area -= length(getNewellNormal(coordinates, start, ringSizes[i])) / 2;
+
+        return area;
+    }
+
+    private double getTriangleArea(double[] coordinates, Triangulation triangulation) {
+        double area = 0;
+        for (int i = 0; i < triangulation.getIndexCount(); i += 3) {
+            area += length(getCross(coordinates, triangulation.getIndex(i),
+                    triangulation.getIndex(i + 1), triangulation.getIndex(i + 2))) / 2;
+        }
+
+        return area;
+    }
+
+    private double[] getNormal(Triangulation triangulation, int index) {
+        return new double[]{
+                triangulation.getNormal(index, 0),
+                triangulation.getNormal(index, 1),
+                triangulation.getNormal(index, 2)};
+    }
+
+    private double[] getUnitNormal(double[] coordinates, int start, int size) {
+        double[] normal = getNewellNormal(coordinates, start, size);
+        double length = length(normal);
+        return new double[]{normal[0] / length, normal[1] / length, normal[2] / length};
+    }
+
+    private double[] getNewellNormal(double[] coordinates, int start, int size) {
+        double[] normal = new double[3];
+        for (int i = 0; i < size; i++) {
+            int current = (start + i) * 3;
+            int next = (start + (i + 1) % size) * 3;
+            normal[0] += (coordinates[current + 1] - coordinates[next + 1]) * (coordinates[current + 2] + coordinates[next + 2]);
+            normal[1] += (coordinates[current + 2] - coordinates[next + 2]) * (coordinates[current] + coordinates[next]);
+            normal[2] += (coordinates[current] - coordinates[next]) * (coordinates[current + 1] + coordinates[next + 1]);
+        }
+
+        return normal;
+    }
+
+    private double[] getCross(double[] coordinates, int a, int b, int c) {
+        double ux = coordinates[b * 3] - coordinates[a * 3];
+        double uy = coordinates[b * 3 + 1] - coordinates[a * 3 + 1];
+        double uz = coordinates[b * 3 + 2] - coordinates[a * 3 + 2];
+        double vx = coordinates[c * 3] - coordinates[a * 3];
+        double vy = coordinates[c * 3 + 1] - coordinates[a * 3 + 1];
+        double vz = coordinates[c * 3 + 2] - coordinates[a * 3 + 2];
+        return new double[]{uy * vz - uz * vy, uz * vx - ux * vz, ux * vy - uy * vx};
+    }
+
+    private double dot(double[] u, double[] v) {
+        return u[0] * v[0] + u[1] * v[1] + u[2] * v[2];
+    }
+
+    private double length(double[] v) {
+        return Math.sqrt(dot(v, v));
+    }
+
+    private static class MarkerTriangulator implements Triangulator {
+        private static final float MARKER = 42;
+        private int calls;
+
+        @Override
+        public boolean triangulate(double[] coordinates, int[] ringSizes, Triangulation result) {
+            calls++;
+            result.addNormal(0, 0, MARKER);
+            result.addTriangle(0, 1, 2, 0);
+            return true;
+        }
+    }
+}